@@ -18,11 +18,16 @@ package org.javalaboratories.core.concurrency.utils;
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import org.javalaboratories.core.concurrency.utils.FloodWorkerStatistics.Conclusion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import static org.javalaboratories.core.concurrency.utils.ResourceFloodStability.States.CLOSED;
@@ -47,6 +52,18 @@ import static org.javalaboratories.core.concurrency.utils.ResourceFloodStability
  * {@link AbstractConcurrentResourceFloodStability#open()} method is called but the
  * {@code flood} is unused for whatever reason, it is highly recommend to call
  * the {@link AbstractConcurrentResourceFloodStability#close()} method to clean up.
+ * <p>
+ * Post-flood, this object may be reused with the
+ * {@link AbstractConcurrentResourceFloodStability#reset()} method, which
+ * returns it to the {@code CLOSED} state with the same {@code target}. To avoid
+ * the cost of creating {@code flood workers} for every {@code flood}, supply a
+ * warm {@link FloodExecutorService} to the constructor: it is not closed
+ * post-flood, and so its threads are reused by subsequent {@code floods}.
+ * <pre>
+ *     {@code
+ *          CLOSED --> open() --> OPENED --> flood() --> CLOSED --> FLOODED --> reset() --> CLOSED
+ *     }
+ * </pre>
  *
  * @param <T> Type of value returned from the {@link ResourceFloodStability.Target}
  * {@code resource}
@@ -64,6 +81,8 @@ public abstract class AbstractConcurrentResourceFloodStability<T> extends Abstra
 
     private static final int MIN_THREADS = 1;
     private static final int MIN_ITERATIONS = 1;
+    private static final long MAX_DEADLINE_NANOS = Long.MAX_VALUE / 2;
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
 
     @Getter(AccessLevel.PROTECTED)
     private FloodExecutorService service;
@@ -73,11 +92,70 @@ public abstract class AbstractConcurrentResourceFloodStability<T> extends Abstra
     private final int iterations;
 
     private States state;
+    private volatile FloodPacer pacer;
 
+    @Getter(AccessLevel.NONE)
+    private final Consumer<? super T> sink;
     @Getter(AccessLevel.NONE)
     private boolean internalService;
     @Getter(AccessLevel.NONE)
     private List<Future<T>> futures;
+    @Getter(AccessLevel.NONE)
+    private final Queue<FloodWorkerStatistics> workerStatistics;
+
+    private volatile FloodStatistics floodStatistics;
+    @Getter(AccessLevel.NONE)
+    private volatile boolean stopped;
+    @Getter(AccessLevel.NONE)
+    private volatile long deadline;
+    @Getter(AccessLevel.NONE)
+    private volatile boolean expired;
+    @Getter(AccessLevel.NONE)
+    private volatile long timeoutNanos;
+    @Getter(AccessLevel.NONE)
+    private volatile FloodClock clock;
+
+    /**
+     * Marks the commencement and conclusion of the {@code flood workers} of a
+     * single {@code flood}. The elapsed time and garbage collection activity
+     * are measured from the first worker to commence to the last worker to
+     * conclude, and so are not skewed when the {@code flood} method is called
+     * after the workers are released, for example by a {@link Torrent}.
+     */
+    private static final class FloodClock {
+        private final int threads;
+        private final AtomicReference<Mark> commenced = new AtomicReference<>();
+        private final AtomicInteger concludedWorkers = new AtomicInteger();
+        private final Set<Thread> workers = ConcurrentHashMap.newKeySet();
+        private volatile Mark concluded;
+
+        private FloodClock(final int threads) {
+            this.threads = threads;
+        }
+
+        private boolean commence() {
+            return commenced.get() == null && commenced.compareAndSet(null,Mark.now());
+        }
+
+        private void conclude() {
+            if (concludedWorkers.incrementAndGet() == threads)
+                concluded = Mark.now();
+        }
+    }
+
+    private static final class Mark {
+        private final long nanos;
+        private final FloodProfiler.GarbageCollection gc;
+
+        private Mark(final long nanos, final FloodProfiler.GarbageCollection gc) {
+            this.nanos = nanos;
+            this.gc = gc;
+        }
+
+        private static Mark now() {
+            return new Mark(System.nanoTime(),FloodProfiler.garbageCollection());
+        }
+    }
 
     /**
      * Constructs an instance of this {@link ConcurrentResourceFloodStability} object.
@@ -129,14 +207,50 @@ public abstract class AbstractConcurrentResourceFloodStability<T> extends Abstra
      */
     public <U> AbstractConcurrentResourceFloodStability(final Class<U> clazz, final String tag, final int threads,
                                                         final int iterations, FloodExecutorService service) {
+        this(clazz,tag,threads,iterations,service,null);
+    }
+
+    /**
+     * Constructs an instance of this {@link ConcurrentResourceFloodStability} object.
+     * <p>
+     * If a {@code sink} is provided, every value returned from the {@code
+     * resource} is passed to the {@code sink} by the {@code flood worker} as soon
+     * as it is returned, and the values are not retained by this object: the
+     * {@link AbstractConcurrentResourceFloodStability#flood()} method returns an
+     * empty {@link List}. The {@code sink} is called concurrently by all
+     * {@code flood workers} and therefore must be thread-safe. Consider the
+     * {@link FloodResultCollector} to aggregate values without contention.
+     *
+     * @param clazz class of {@link ResourceFloodStability.Target} undergoing test.
+     * @param tag a meaningful name of the resource under test.
+     * @param threads number of active threads tasked with sending requests
+     *               to {@code resource}
+     * @param iterations number of request repetitions per request thread
+     * @param service alternative executor service. If null, then one will be
+     *                automatically created.
+     * @param sink receives every value returned from the {@code resource}. If
+     *             null, the last value returned to each {@code flood worker} is
+     *             retained instead.
+     * @param <U> Type of class currently under test.
+     * @throws IllegalArgumentException if {@code threads} or {@code iterations}
+     * are negative.
+     * @see FloodResultCollector
+     */
+    public <U> AbstractConcurrentResourceFloodStability(final Class<U> clazz, final String tag, final int threads,
+                                                        final int iterations, FloodExecutorService service,
+                                                        Consumer<? super T> sink) {
         super(clazz, tag);
         if (threads < MIN_THREADS || iterations < MIN_ITERATIONS)
             throw new IllegalArgumentException("Review constructor arguments");
         this.service = service;
+        this.sink = sink;
         this.threads = threads;
         this.iterations = iterations;
         this.futures = null;
+        this.workerStatistics = new ConcurrentLinkedQueue<>();
+        this.floodStatistics = null;
         this.internalService = false;
+        this.pacer = FloodPacer.YIELD;
         this.state = CLOSED;
     }
 
@@ -146,6 +260,11 @@ public abstract class AbstractConcurrentResourceFloodStability<T> extends Abstra
     @Override
     public boolean open() {
         if (state == CLOSED) {
+            this.stopped = false;
+            this.expired = false;
+            this.deadline = System.nanoTime() + MAX_DEADLINE_NANOS;
+            this.timeoutNanos = TimeUnit.MINUTES.toNanos(DEFAULT_TIMEOUT_MINUTES);
+            this.clock = new FloodClock(threads);
             this.service = createExecutor();
             Supplier<T> resource = primeResource();
             futures = primeThreads(resource);
@@ -164,6 +283,88 @@ public abstract class AbstractConcurrentResourceFloodStability<T> extends Abstra
         close(false);
     }
 
+    /**
+     * Resets this object post-flood, so that it can be opened and flooded
+     * again.
+     * <p>
+     * The {@code target} remains the same, but its stability is restored, and
+     * the results and {@link FloodStatistics} of the previous {@code flood} are
+     * discarded. {@code Flood workers} of the previous {@code flood} that are
+     * still active, having exceeded the {@code timeout}, are cancelled; those
+     * unresponsive to cancellation conclude as {@code STOPPED} at the next
+     * opportunity, without contributing to the subsequent {@code flood}. The
+     * {@link FloodExecutorService} supplied to the constructor, if any, is
+     * reused by the next {@code flood}, otherwise a new one is created.
+     *
+     * @throws IllegalStateException if this object is not in the {@code
+     * FLOODED} state.
+     */
+    public void reset() {
+        if (state != States.FLOODED)
+            throw new IllegalStateException(String.format("State not flooded, state=%s",state));
+        if (futures != null) {
+            int active = 0;
+            for (Future<T> future : futures) {
+                if (!future.isDone()) {
+                    future.cancel(true);
+                    active++;
+                }
+            }
+            if (active > 0)
+                logger.warn(message("Cancelled {} flood workers still active from previous flood"),active);
+        }
+        if (internalService)
+            service = null;
+        futures = null;
+        workerStatistics.clear();
+        floodStatistics = null;
+        getTarget().stable();
+        afterReset();
+        state = CLOSED;
+        logger.info(message("Reset for subsequent flood"));
+    }
+
+    /**
+     * Sets the {@link FloodPacer} with which {@code flood workers} pace their
+     * invocations of the {@code resource}.
+     * <p>
+     * The default is {@link FloodPacer#YIELD}, that is no pacing other than
+     * yielding between invocations. The latency of a paced invocation is
+     * measured from its scheduled start rather than its actual start, and so
+     * includes the delay of a {@code flood worker} behind schedule.
+     *
+     * @param pacer the pacer of the {@code flood workers}.
+     * @throws IllegalStateException if this object is not in the {@code
+     * CLOSED} state.
+     * @throws NullPointerException if {@code pacer} is null.
+     */
+    public void setPacer(final FloodPacer pacer) {
+        if (state != CLOSED)
+            throw new IllegalStateException(String.format("State not closed, state=%s",state));
+        this.pacer = Objects.requireNonNull(pacer,"No pacer");
+    }
+
+    /**
+     * Signals the {@code flood workers} to conclude their work.
+     * <p>
+     * {@code Flood workers} check for this signal before each iteration, and so
+     * a request already in progress is allowed to finish. Workers that stop
+     * early return their partial results, and their {@link FloodWorkerStatistics}
+     * report the iterations completed so far with a {@link
+     * FloodWorkerStatistics.Conclusion#STOPPED} conclusion. This method may be
+     * called from any thread at any time, including from the {@code resource}
+     * itself; the {@link AbstractConcurrentResourceFloodStability#flood(long, TimeUnit)}
+     * method calls it when the {@code timeout} has elapsed, having expired the
+     * deadline of the {@code flood workers} still active, which therefore
+     * conclude as {@code EXPIRED}.
+     */
+    public void stop() {
+        if (!stopped) {
+            stopped = true;
+            logger.info(message("Flood workers signalled to stop"));
+        }
+    }
+
     /**
      * Closes and releases all allocated resources pertaining to {@code flood
      * workers}.
@@ -213,7 +414,14 @@ public abstract class AbstractConcurrentResourceFloodStability<T> extends Abstra
      * {@link ResourceFloodStability} how long to wait for flood completion. If
      * the {@code flood workers} fail to complete their work within the allotted
      * time the threads are signalled to terminate regardless of the outcome
-     * of requests.
+     * of requests. {@code Flood workers} also observe the {@code timeout}
+     * themselves, and any worker that is still flooding when it elapses concludes
+     * its work at the next iteration, returning its partial result.
+     * <p>
+     * The {@code timeout}, elapsed time and garbage collection activity of the
+     * {@link FloodStatistics} are measured from the moment the first {@code
+     * flood worker} commences, which may precede this method call where the
+     * workers are released by an {@link ExternalFloodMarshal}.
      * <p>
      * However, this method is dependent on the implementation of the
      * {@link AbstractConcurrentResourceFloodStability#await(long, TimeUnit)}
@@ -224,26 +432,55 @@ public abstract class AbstractConcurrentResourceFloodStability<T> extends Abstra
      * @param timeout maximum time to wait.
      * @param unit the unit of the timeout.
      * @return a list of values returned from each {@code thread} request, if
-     * possible.
+     * possible, or an empty list if the values were passed to a {@code sink}.
      */
     public final List<T> flood(final long timeout, final TimeUnit unit) {
         if (this.getState() != OPENED)
             throw new IllegalStateException(String.format("State not open, state=%s",state));
         TimeUnit u = Objects.requireNonNull(unit);
         List<T> result;
+        FloodClock clock = this.clock;
+        Mark start = Mark.now();
+        timeoutNanos = Math.min(u.toNanos(timeout),MAX_DEADLINE_NANOS);
+        // Workers may have commenced already, released by an external marshal
+        Mark commenced = clock.commenced.get();
+        deadline = (commenced != null ? commenced.nanos : start.nanos) + timeoutNanos;
         try {
             superviseFlood();
-            await(timeout,u);
+            await(Math.max(0L,deadline - System.nanoTime()),TimeUnit.NANOSECONDS);
         } catch (InterruptedException ignore) {
         } finally {
+            Mark end = clock.concluded != null ? clock.concluded : Mark.now();
+            Mark begin = clock.commenced.get() != null ? clock.commenced.get() : start;
+            // Workers still active have exceeded the timeout
+            expired = true;
+            stop();
             close();
             result = finalise(futures);
+            floodStatistics = finaliseStatistics(Math.max(0L,end.nanos - begin.nanos),end.gc.since(begin.gc));
             state = States.FLOODED;
             afterFlood();
         }
         return result;
     }
 
+    /**
+     * Returns the Java Virtual Machine resources consumed by the {@code flood
+     * workers} during the {@code flood}.
+     * <p>
+     * Statistics are only available post-flood, that is when this object is in
+     * the {@link ResourceFloodStability.States#FLOODED} state. {@code Flood
+     * workers} that failed to conclude their work within the allotted time
+     * are not represented.
+     *
+     * @return statistics of the {@code flood}, or {@code null} if not yet
+     * flooded.
+     * @see FloodStatistics
+     */
+    public FloodStatistics getFloodStatistics() {
+        return floodStatistics;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -260,6 +497,16 @@ public abstract class AbstractConcurrentResourceFloodStability<T> extends Abstra
      */
     protected void afterFlood() {}
 
+    /**
+     * Override this method to restore the state of derived classes in
+     * readiness for a subsequent {@code flood}.
+     * <p>
+     * Default implementation is to do nothing. This is a life-cycle method,
+     * called by the {@link AbstractConcurrentResourceFloodStability#reset()}
+     * method.
+     */
+    protected void afterReset() {}
+
     /**
      * {@link AbstractConcurrentResourceFloodStability#flood(long, TimeUnit)} calls
      * this method during the {@code flood} process.
@@ -306,18 +553,63 @@ public abstract class AbstractConcurrentResourceFloodStability<T> extends Abstra
      * @return a primed {@code resource} for processing.
      */
     protected Supplier<T> primeResource() {
+        FloodClock clock = this.clock;
         return () -> {
             T result = null;
             if (getTarget().getStability() == Target.Stability.STABLE) {
+                // Only the first worker to commence sets the deadline
+                if (clock.commence())
+                    deadline = clock.commenced.get().nanos + timeoutNanos;
+                clock.workers.add(Thread.currentThread());
                 int i = 0;
+                Conclusion conclusion = Conclusion.COMPLETED;
+                FloodPacer pacer = this.pacer;
+                FloodProfiler.WorkerProbe probe = FloodProfiler.probe();
+                long scheduled = System.nanoTime();
                 try {
-                    while (i++ < getIterations()) {
-                        result = getResource().get();
-                        Thread.yield();
+                    while (i < getIterations()) {
+                        Conclusion interruption = interruption(clock);
+                        if (interruption != null) {
+                            conclusion = interruption;
+                            logger.info(message("Flood worker concluded after {} of {} iterations, conclusion={}"),
+                                    i,getIterations(),conclusion);
+                            break;
+                        }
+                        // Paced invocations are measured from their scheduled start, lest the
+                        // delay of a worker behind schedule is omitted (coordinated omission)
+                        long start = pacer != FloodPacer.YIELD ? scheduled : System.nanoTime();
+                        result = invoke(start);
+                        probe.record(System.nanoTime() - start);
+                        if (sink != null) {
+                            sink.accept(result);
+                            result = null;
+                        }
+                        long interval = pacer.interval(i++);
+                        if (interval <= 0) {
+                            scheduled = System.nanoTime();
+                            Thread.yield();
+                        } else if (i < getIterations()) {
+                            scheduled = scheduled + interval;
+                            pace(scheduled,clock);
+                        }
                     }
                 } catch (Throwable t) {
-                    logger.error(message("Targeted resource raised an exception during flood"),t);
-                    getTarget().unstable();
+                    if (isInterruption(t)) {
+                        conclusion = Conclusion.INTERRUPTED;
+                        logger.info(message("Flood worker interrupted after {} of {} iterations"),i,getIterations());
+                        Thread.currentThread().interrupt();
+                    } else {
+                        conclusion = Conclusion.FAILED;
+                        logger.error(message("Targeted resource raised an exception during flood"),t);
+                        probe.error(t);
+                        getTarget().unstable();
+                    }
+                } finally {
+                    // A straggler of a previous flood must not report to the current flood
+                    if (clock == this.clock)
+                        workerStatistics.add(probe.stop(i,conclusion));
+                    clock.workers.remove(Thread.currentThread());
+                    clock.conclude();
                 }
             } else {
                 logger.warn(message("Target state is unstable -- cannot flood"));
@@ -337,6 +629,69 @@ public abstract class AbstractConcurrentResourceFloodStability<T> extends Abstra
      */
     protected abstract Supplier<T> getResource();
 
+    /**
+     * Invokes the {@code resource} for a single iteration of a {@code flood
+     * worker}.
+     * <p>
+     * The {@code start} is the time from which the invocation is measured,
+     * that is its scheduled start when paced by a {@link FloodPacer}, otherwise
+     * its actual start. Default implementation is to return the value of the
+     * {@link AbstractConcurrentResourceFloodStability#getResource()} object.
+     *
+     * @param start the start of the invocation, as a {@link System#nanoTime()}
+     *              value.
+     * @return the value of the {@code resource}.
+     */
+    protected T invoke(final long start) {
+        return getResource().get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    List<Thread> activeWorkers() {
+        FloodClock clock = this.clock;
+        return clock == null ? Collections.emptyList() : new ArrayList<>(clock.workers);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * {@code Flood workers} park on this object whilst pacing their
+     * invocations.
+     */
+    @Override
+    List<Object> harnessBlockers() {
+        return Collections.singletonList(this);
+    }
+
+    private void pace(final long scheduled, final FloodClock clock) {
+        long remaining;
+        while ((remaining = scheduled - System.nanoTime()) > 0 && interruption(clock) == null)
+            LockSupport.parkNanos(this,Math.min(remaining,MAX_PARK_NANOS));
+    }
+
+    private Conclusion interruption(final FloodClock clock) {
+        Conclusion result = null;
+        if (Thread.currentThread().isInterrupted())
+            result = Conclusion.INTERRUPTED;
+        else if (clock != this.clock)
+            result = Conclusion.STOPPED;
+        else if (expired || System.nanoTime() - deadline >= 0)
+            result = Conclusion.EXPIRED;
+        else if (stopped)
+            result = Conclusion.STOPPED;
+        return result;
+    }
+
+    private boolean isInterruption(final Throwable t) {
+        boolean result = Thread.currentThread().isInterrupted();
+        for (Throwable cause = t; !result && cause != null; cause = cause.getCause())
+            result = cause instanceof InterruptedException;
+        return result;
+    }
+
     private FloodExecutorService createExecutor() {
         FloodExecutorService result;
         internalService = false;
@@ -359,9 +714,26 @@ public abstract class AbstractConcurrentResourceFloodStability<T> extends Abstra
         return result;
     }
 
+    private FloodStatistics finaliseStatistics(final long elapsed, final FloodProfiler.GarbageCollection gc) {
+        FloodStatistics result = new FloodStatistics(getTarget().getName(),getTarget().getStability(),elapsed,
+                gc.getCount(),gc.getMillis(),new ArrayList<>(workerStatistics));
+        if (result.isPartial()) {
+            long partial = result.getWorkers().stream()
+                    .filter(w -> !w.isCompleted())
+                    .count();
+            logger.warn(message("Flood statistics are partial: {} flood workers concluded early"),partial);
+        }
+        logger.info(message("Flood statistics: iterations={}, throughput={}/s, p99-latency={}ns, cpu-time={}ns, " +
+                "allocated={} bytes, gc-count={}, gc-time={}ms"),result.getIterations(),
+                String.format("%.2f",result.getThroughput()),result.getLatencies().getValueAtPercentile(99.0),
+                result.getCpuTimeNanos(),result.getAllocatedBytes(),result.getGarbageCollections(),
+                result.getGarbageCollectionMillis());
+        return result;
+    }
+
     private List<T> finalise(List<Future<T>> futures) {
         List<T> result = new ArrayList<>();
-        if (futures != null) {
+        if (futures != null && sink == null) {
             futures.forEach(f -> {
                 try {
                     if (f.isDone()) {
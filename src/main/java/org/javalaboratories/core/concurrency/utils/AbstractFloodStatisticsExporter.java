@@ -0,0 +1,164 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Partially implements the {@link FloodStatisticsExporter} interface, managing
+ * the life-cycle of the underlying {@link Writer}.
+ * <p>
+ * The {@link AbstractFloodStatisticsExporter#writeHeader(Writer)} method is
+ * called before the first {@link FloodStatistics} is written, and the
+ * {@link AbstractFloodStatisticsExporter#writeFooter(Writer)} method on
+ * closure, even if nothing was exported. Derived classes are only concerned
+ * with the format of the document. Writes are buffered and flushed after each
+ * export.
+ * <p>
+ * This object is thread-safe.
+ *
+ * @see FloodStatisticsExporter
+ */
+public abstract class AbstractFloodStatisticsExporter implements FloodStatisticsExporter {
+
+    /**
+     * Percentiles of the latencies reported by exporters.
+     */
+    protected static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+
+    private final Writer writer;
+    private boolean started;
+    private boolean closed;
+
+    /**
+     * Constructs this exporter writing UTF-8 encoded text to the {@code stream}.
+     *
+     * @param stream output stream to which statistics are exported.
+     * @throws NullPointerException if {@code stream} is null.
+     */
+    public AbstractFloodStatisticsExporter(final OutputStream stream) {
+        this(new OutputStreamWriter(Objects.requireNonNull(stream), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Constructs this exporter writing to the {@code writer}.
+     *
+     * @param writer writer to which statistics are exported.
+     * @throws NullPointerException if {@code writer} is null.
+     */
+    public AbstractFloodStatisticsExporter(final Writer writer) {
+        Writer w = Objects.requireNonNull(writer);
+        this.writer = w instanceof BufferedWriter ? w : new BufferedWriter(w);
+        this.started = false;
+        this.closed = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final synchronized void export(final FloodStatistics statistics) throws IOException {
+        FloodStatistics s = Objects.requireNonNull(statistics);
+        if (closed)
+            throw new IllegalStateException("Exporter closed");
+        start();
+        write(writer,s);
+        writer.flush();
+    }
+
+    /**
+     * Completes the document and closes the underlying stream.
+     *
+     * @throws IOException if the underlying stream cannot be written to.
+     */
+    @Override
+    public final synchronized void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            try {
+                start();
+                writeFooter(writer);
+            } finally {
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * Writes the beginning of the document.
+     * <p>
+     * Default implementation is to do nothing.
+     *
+     * @param writer the underlying writer.
+     * @throws IOException if the underlying stream cannot be written to.
+     */
+    protected void writeHeader(final Writer writer) throws IOException {}
+
+    /**
+     * Writes the end of the document.
+     * <p>
+     * Default implementation is to do nothing.
+     *
+     * @param writer the underlying writer.
+     * @throws IOException if the underlying stream cannot be written to.
+     */
+    protected void writeFooter(final Writer writer) throws IOException {}
+
+    /**
+     * Writes a single {@link FloodStatistics} object to the document.
+     *
+     * @param writer the underlying writer.
+     * @param statistics statistics to be written.
+     * @throws IOException if the underlying stream cannot be written to.
+     */
+    protected abstract void write(final Writer writer, final FloodStatistics statistics) throws IOException;
+
+    /**
+     * Formats a {@code double} value independently of the default locale.
+     *
+     * @param value value to format.
+     * @return formatted value.
+     */
+    protected static String format(final double value) {
+        return String.format(Locale.ROOT,"%.3f",value);
+    }
+
+    /**
+     * Returns the label of the given {@code percentile}, for example "p50" or
+     * "p99.9".
+     *
+     * @param percentile percentile for which a label is required.
+     * @return label of the percentile.
+     */
+    protected static String label(final double percentile) {
+        return "p" + BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString();
+    }
+
+    private void start() throws IOException {
+        if (!started) {
+            started = true;
+            writeHeader(writer);
+        }
+    }
+}
@@ -18,6 +18,8 @@ package org.javalaboratories.core.concurrency.utils;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -90,4 +92,31 @@ public abstract class AbstractResourceFloodStability<T> implements ResourceFlood
     protected String message(final String message) {
         return (target.getName()+": "+message);
     }
+
+    /**
+     * Returns the {@code flood worker} threads currently flooding the {@code
+     * target}, excluding workers yet to be authorised to commence.
+     * <p>
+     * Default implementation is to return an empty list.
+     *
+     * @return the active {@code flood worker} threads.
+     * @see FloodContentionSampler
+     */
+    List<Thread> activeWorkers() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Returns the objects on which {@code flood workers} park whilst waiting
+     * on this object rather than on the {@code target}, for example to pace
+     * their invocations.
+     * <p>
+     * Default implementation is to return an empty list.
+     *
+     * @return the blockers of the {@code flood workers} owned by this object.
+     * @see FloodContentionSampler
+     */
+    List<Object> harnessBlockers() {
+        return Collections.emptyList();
+    }
 }
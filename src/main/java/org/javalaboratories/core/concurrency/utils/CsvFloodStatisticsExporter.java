@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.stream.Collectors;
+
+/**
+ * Exports {@link FloodStatistics} objects as comma separated values, one row
+ * per {@code target}.
+ * <p>
+ * The first row is a header of column names, followed by a summary of each
+ * {@code target}: stability, timings, throughput, latency percentiles in
+ * nanoseconds, resource consumption and the number and types of exceptions
+ * raised. The types of exceptions are separated by the "|" character. Values
+ * are quoted if they contain commas, quotes or line breaks. For example:
+ * <pre>
+ *     {@code
+ *          target,stability,elapsed_nanos,iterations,throughput,latency_count,latency_min,latency_mean,...
+ *          {UnsafeStatistics-001},STABLE,1702345,25,14685.687,25,2100,5512.440,...
+ *     }
+ * </pre>
+ * Use this format to compare {@code flood} runs.
+ *
+ * @see FloodStatisticsExporter
+ * @see FloodRegressionGate
+ */
+public final class CsvFloodStatisticsExporter extends AbstractFloodStatisticsExporter {
+
+    /**
+     * Separator of exception types in the {@code error_types} column.
+     */
+    public static final String ERROR_TYPE_SEPARATOR = "|";
+
+    /**
+     * Constructs this exporter writing UTF-8 encoded text to the {@code stream}.
+     *
+     * @param stream output stream to which statistics are exported.
+     * @throws NullPointerException if {@code stream} is null.
+     */
+    public CsvFloodStatisticsExporter(final OutputStream stream) {
+        super(stream);
+    }
+
+    /**
+     * Constructs this exporter writing to the {@code writer}.
+     *
+     * @param writer writer to which statistics are exported.
+     * @throws NullPointerException if {@code writer} is null.
+     */
+    public CsvFloodStatisticsExporter(final Writer writer) {
+        super(writer);
+    }
+
+    @Override
+    protected void writeHeader(final Writer writer) throws IOException {
+        StringBuilder header = new StringBuilder("target,stability,elapsed_nanos,iterations,throughput," +
+                "latency_count,latency_min,latency_mean");
+        for (double percentile : PERCENTILES)
+            header.append(",latency_").append(label(percentile));
+        header.append(",latency_max,cpu_time_nanos,allocated_bytes,gc_count,gc_millis,errors,error_types\n");
+        writer.write(header.toString());
+    }
+
+    @Override
+    protected void write(final Writer writer, final FloodStatistics statistics) throws IOException {
+        FloodHistogram latencies = statistics.getLatencies();
+        StringBuilder row = new StringBuilder(quote(statistics.getTargetName()))
+                .append(',').append(statistics.getStability())
+                .append(',').append(statistics.getElapsedNanos())
+                .append(',').append(statistics.getIterations())
+                .append(',').append(format(statistics.getThroughput()))
+                .append(',').append(latencies.getCount())
+                .append(',').append(latencies.getMin())
+                .append(',').append(format(latencies.getMean()));
+        for (double percentile : PERCENTILES)
+            row.append(',').append(latencies.getValueAtPercentile(percentile));
+        String types = statistics.getErrors().stream()
+                .map(FloodError::getType)
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining(ERROR_TYPE_SEPARATOR));
+        row.append(',').append(latencies.getMax())
+           .append(',').append(statistics.getCpuTimeNanos())
+           .append(',').append(statistics.getAllocatedBytes())
+           .append(',').append(statistics.getGarbageCollections())
+           .append(',').append(statistics.getGarbageCollectionMillis())
+           .append(',').append(statistics.getErrors().size())
+           .append(',').append(quote(types))
+           .append('\n');
+        writer.write(row.toString());
+    }
+
+    private String quote(final String value) {
+        String result = value == null ? "" : value;
+        if (result.contains(",") || result.contains("\"") || result.contains("\n") || result.contains("\r"))
+            result = "\"" + result.replace("\"","\"\"") + "\"";
+        return result;
+    }
+}
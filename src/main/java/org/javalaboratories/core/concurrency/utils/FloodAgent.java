@@ -0,0 +1,159 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.net.Socket;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Floods a {@link Torrent} on the orders of a {@link FloodCoordinator}, which
+ * is typically in another Java Virtual Machine.
+ * <p>
+ * One Java Virtual Machine may not generate sufficient load against a shared
+ * {@code resource}, for example a local database or service. Several agents,
+ * each in its own Java Virtual Machine, connect to the {@link FloodCoordinator}
+ * over TCP, open their {@link Torrent} and wait for the coordinated signal to
+ * flood, much like the {@link ExternalFloodMarshal} authorises the {@code
+ * flood workers} of a {@link Torrent}. Post-flood, the {@link FloodStatistics}
+ * of each agent, including histograms, are sent back to the coordinator to be
+ * merged.
+ * <pre>
+ *     {@code
+ *          public static void main(String[] args) throws IOException {
+ *              Torrent torrent = Torrent.builder(Database.class)
+ *                  .withFloodgate("query", () -> database.query(sql))
+ *                  .build();
+ *
+ *              new FloodAgent("localhost",Integer.parseInt(args[0]),torrent).flood();
+ *          }
+ *     }
+ * </pre>
+ * The agent floods its {@link Torrent} once, and then disconnects.
+ *
+ * @see FloodCoordinator
+ */
+@Getter
+public final class FloodAgent {
+
+    private static final Logger logger = LoggerFactory.getLogger(FloodAgent.class);
+
+    private final String name;
+    private final String host;
+    private final int port;
+    private final Torrent torrent;
+
+    /**
+     * Constructs an instance of this {@link FloodAgent}, named after the
+     * current Java Virtual Machine, for example {@code 1234@localhost}.
+     *
+     * @param host host name of the {@link FloodCoordinator}
+     * @param port port of the {@link FloodCoordinator}
+     * @param torrent the {@link Torrent} to flood.
+     * @throws NullPointerException if {@code host} or {@code torrent} is null.
+     */
+    public FloodAgent(final String host, final int port, final Torrent torrent) {
+        this(ManagementFactory.getRuntimeMXBean().getName(),host,port,torrent);
+    }
+
+    /**
+     * Constructs an instance of this {@link FloodAgent}.
+     *
+     * @param name unique name of the agent for reporting purposes.
+     * @param host host name of the {@link FloodCoordinator}
+     * @param port port of the {@link FloodCoordinator}
+     * @param torrent the {@link Torrent} to flood.
+     * @throws NullPointerException if any argument is null.
+     * @throws IllegalArgumentException if {@code name} is too long to be
+     * transferred to the {@link FloodCoordinator}.
+     */
+    public FloodAgent(final String name, final String host, final int port, final Torrent torrent) {
+        this.name = FloodProtocol.checkName(name);
+        this.host = Objects.requireNonNull(host,"No host");
+        this.port = port;
+        this.torrent = Objects.requireNonNull(torrent,"No torrent");
+    }
+
+    /**
+     * Connects to the {@link FloodCoordinator}, and floods the {@link Torrent}
+     * on its signal.
+     * <p>
+     * This method opens the {@link Torrent} and blocks until the {@link
+     * FloodCoordinator} signals the {@code flood} to commence, and then blocks
+     * until the {@code flood} concludes.
+     *
+     * @return the results of the {@link Torrent#flood()} method.
+     * @throws IOException if the coordinator is unreachable, aborts the
+     * {@code flood} or the connection fails.
+     * @throws IllegalStateException if the {@link Torrent} is not closed.
+     */
+    public Map<String,List<?>> flood() throws IOException {
+        try (Socket socket = new Socket(host,port)) {
+            socket.setTcpNoDelay(true);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+
+            torrent.open();
+            boolean flooded = false;
+            try {
+                List<String> targets = StreamSupport.stream(torrent.spliterator(),false)
+                        .map(fg -> fg.getTarget().getName())
+                        .collect(Collectors.toList());
+                FloodProtocol.writeHello(out,name,targets);
+                out.flush();
+                logger.info("Flood agent {} waiting for coordinator {}:{} to signal flood",name,host,port);
+
+                byte signal = in.readByte();
+                if (signal != FloodProtocol.FLOOD)
+                    throw new IOException(String.format("Flood aborted by coordinator, signal=%d",signal));
+
+                Map<String,List<?>> result;
+                try {
+                    flooded = true;
+                    result = torrent.flood();
+                    FloodProtocol.writeResult(out,torrent.getFloodStatistics().values());
+                } catch (RuntimeException e) {
+                    FloodProtocol.writeFailed(out,e.toString());
+                    throw e;
+                } finally {
+                    out.flush();
+                }
+                logger.info("Flood agent {} sent flood statistics to coordinator",name);
+                return result;
+            } finally {
+                if (!flooded)
+                    torrent.close(true);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return String.format("[name=%s,coordinator=%s:%d,torrent=%s]",name,host,port,torrent);
+    }
+}
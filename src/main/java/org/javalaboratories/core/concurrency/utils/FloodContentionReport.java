@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import lombok.Value;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reports where {@code flood workers} blocked or waited during a {@code flood},
+ * as observed by the {@link FloodContentionSampler}.
+ * <p>
+ * Locks and stack frames are ordered by the number of samples in which they
+ * were observed, the most frequent first, and are limited to the top entries
+ * requested of the {@link FloodContentionSampler}. Workers are ordered by
+ * blocked time, the longest first. Blocked and waited times are measured by
+ * the Java Virtual Machine for the duration of the sampling, and are reported
+ * as {@link FloodWorkerStatistics#UNSUPPORTED} if contention monitoring is not
+ * supported.
+ * <p>
+ * This object is immutable.
+ *
+ * @see FloodContentionSampler
+ */
+@Value
+public class FloodContentionReport {
+    int samples;
+    List<LockContention> locks;
+    List<FrameSamples> frames;
+    List<WorkerContention> workers;
+
+    FloodContentionReport(final int samples, final List<LockContention> locks, final List<FrameSamples> frames,
+                          final List<WorkerContention> workers) {
+        this.samples = samples;
+        this.locks = Collections.unmodifiableList(locks);
+        this.frames = Collections.unmodifiableList(frames);
+        this.workers = Collections.unmodifiableList(workers);
+    }
+
+    /**
+     * A lock or monitor on which {@code flood workers} were observed to be
+     * blocked or waiting.
+     */
+    @Value
+    public static class LockContention {
+        String lockName;
+        List<String> lockOwners;
+        int blockedSamples;
+        int waitingSamples;
+
+        /**
+         * @return number of samples in which a {@code flood worker} was blocked
+         * or waiting on this lock.
+         */
+        public int getSamples() {
+            return blockedSamples + waitingSamples;
+        }
+    }
+
+    /**
+     * The top frame of the stack of a {@code flood worker}.
+     */
+    @Value
+    public static class FrameSamples {
+        String frame;
+        int samples;
+    }
+
+    /**
+     * The thread states of a single {@code flood worker} and the time it spent
+     * blocked and waiting.
+     */
+    @Value
+    public static class WorkerContention {
+        String workerName;
+        Map<Thread.State,Integer> states;
+        long blockedCount;
+        long blockedTimeMillis;
+        long waitedCount;
+        long waitedTimeMillis;
+    }
+}
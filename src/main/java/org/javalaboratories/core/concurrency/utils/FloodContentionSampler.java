@@ -0,0 +1,293 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import org.javalaboratories.core.concurrency.utils.FloodContentionReport.FrameSamples;
+import org.javalaboratories.core.concurrency.utils.FloodContentionReport.LockContention;
+import org.javalaboratories.core.concurrency.utils.FloodContentionReport.WorkerContention;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.javalaboratories.core.concurrency.utils.FloodWorkerStatistics.UNSUPPORTED;
+
+/**
+ * Samples the thread states of {@code flood workers} during a {@code flood},
+ * to determine where the workers block when the {@code target} scales poorly.
+ * <p>
+ * Whilst the {@code flood} is in progress, the states and the top stack frames
+ * of the active {@code flood workers} of the {@code flood} are sampled
+ * periodically, and the locks and monitors on which the workers are blocked or
+ * waiting are counted. Thread contention monitoring is enabled for the duration of the
+ * {@code flood}, if supported, so that the time each worker spent blocked and
+ * waiting is also reported. Sampling is optional and is performed in a
+ * separate daemon thread, and so the {@code flood} itself is unaffected other
+ * than by the cost of the samples:
+ * <pre>
+ *     {@code
+ *          FloodContentionSampler sampler = new FloodContentionSampler();
+ *          List<Integer> result = sampler.sample(floodgate);
+ *          // or
+ *          Map<String,List<?>> result = sampler.sample(torrent);
+ *
+ *          FloodContentionReport report = sampler.getReport();
+ *     }
+ * </pre>
+ * Only the {@code flood workers} of the {@code flood} sampled are reported, and
+ * only whilst they are authorised to flood the {@code target}, and so
+ * concurrent {@code floods} do not pollute the report. Samples of workers
+ * parked by the {@code flood} itself, for example whilst paced by a {@link
+ * FloodPacer}, are disregarded, although the waited time of the workers
+ * includes them.
+ *
+ * @see FloodContentionReport
+ */
+public final class FloodContentionSampler {
+
+    /**
+     * Default interval between samples, in milliseconds.
+     */
+    public static final long DEFAULT_INTERVAL_MILLIS = 10L;
+
+    /**
+     * Default number of locks and stack frames reported.
+     */
+    public static final int DEFAULT_TOP = 10;
+
+    private static final Logger logger = LoggerFactory.getLogger(FloodContentionSampler.class);
+
+    private static final String SAMPLER_THREAD_NAME = "Floodgate-Contention-Sampler";
+    private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+    private final long intervalNanos;
+    private final int top;
+    private volatile FloodContentionReport report;
+
+    /**
+     * Constructs an instance of this {@link FloodContentionSampler} with the
+     * {@link FloodContentionSampler#DEFAULT_INTERVAL_MILLIS} interval, reporting
+     * the {@link FloodContentionSampler#DEFAULT_TOP} locks and stack frames.
+     */
+    public FloodContentionSampler() {
+        this(DEFAULT_INTERVAL_MILLIS,TimeUnit.MILLISECONDS,DEFAULT_TOP);
+    }
+
+    /**
+     * Constructs an instance of this {@link FloodContentionSampler}.
+     *
+     * @param interval interval between samples.
+     * @param unit the unit of the interval.
+     * @param top number of locks and stack frames reported.
+     * @throws IllegalArgumentException if {@code interval} or {@code top} is
+     * not positive.
+     * @throws NullPointerException if {@code unit} is null.
+     */
+    public FloodContentionSampler(final long interval, final TimeUnit unit, final int top) {
+        this.intervalNanos = Objects.requireNonNull(unit).toNanos(interval);
+        if (intervalNanos <= 0 || top <= 0)
+            throw new IllegalArgumentException("Review sampler arguments");
+        this.top = top;
+        this.report = null;
+    }
+
+    /**
+     * Floods the {@code flood}, sampling its {@code flood workers} whilst the
+     * {@code flood} is in progress.
+     * <p>
+     * Sampling starts before and concludes after the {@code flood}, at which
+     * point the {@link FloodContentionReport} is available.
+     *
+     * @param flood the {@code flood} to perform, for example a {@link
+     *              Floodgate} or {@link Torrent}, in the {@code OPENED} state.
+     * @param <R> Type of result of the {@code flood}
+     * @return the result of the {@code flood}.
+     * @throws NullPointerException if {@code flood} is null.
+     */
+    public synchronized <R> R sample(final AbstractResourceFloodStability<R> flood) {
+        Objects.requireNonNull(flood);
+        Sampling sampling = new Sampling(flood);
+        boolean monitoring = enableContentionMonitoring();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread result = new Thread(r,SAMPLER_THREAD_NAME);
+            result.setDaemon(true);
+            return result;
+        });
+        try {
+            scheduler.scheduleAtFixedRate(sampling::sample,0L,intervalNanos,TimeUnit.NANOSECONDS);
+            return flood.flood();
+        } finally {
+            scheduler.shutdownNow();
+            try {
+                if (!scheduler.awaitTermination(1L,TimeUnit.SECONDS))
+                    logger.warn("Contention sampler still active, report may be incomplete");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (monitoring)
+                threadBean.setThreadContentionMonitoringEnabled(false);
+            report = sampling.report();
+            logger.info("Contention sampled {} times, top lock={}",report.getSamples(),
+                    report.getLocks().isEmpty() ? "none" : report.getLocks().get(0).getLockName());
+        }
+    }
+
+    /**
+     * @return the report of the most recent {@code flood} sampled, or {@code
+     * null} if nothing has been sampled.
+     */
+    public FloodContentionReport getReport() {
+        return report;
+    }
+
+    private static boolean enableContentionMonitoring() {
+        boolean result = false;
+        if (threadBean.isThreadContentionMonitoringSupported() && !threadBean.isThreadContentionMonitoringEnabled()) {
+            threadBean.setThreadContentionMonitoringEnabled(true);
+            result = true;
+        }
+        return result;
+    }
+
+    /**
+     * Accumulates the samples of a single {@code flood}. Samples are taken by
+     * the sampler thread only; the report is produced once the sampler thread
+     * has terminated.
+     */
+    private final class Sampling {
+        private final AbstractResourceFloodStability<?> flood;
+        private final Set<String> harnessLockNames;
+        private final Map<String,WorkerSampling> workers = new LinkedHashMap<>();
+        private final Map<String,LockSampling> locks = new HashMap<>();
+        private final Map<String,Integer> frames = new HashMap<>();
+        private int samples = 0;
+
+        private Sampling(final AbstractResourceFloodStability<?> flood) {
+            this.flood = flood;
+            this.harnessLockNames = flood.harnessBlockers().stream()
+                    .map(b -> b.getClass().getName() + '@' + Integer.toHexString(System.identityHashCode(b)))
+                    .collect(Collectors.toSet());
+        }
+
+        private void sample() {
+            long[] ids = flood.activeWorkers().stream()
+                    .mapToLong(Thread::getId)
+                    .toArray();
+            samples++;
+            for (ThreadInfo info : threadBean.getThreadInfo(ids,1)) {
+                if (info == null)
+                    continue;
+                WorkerSampling worker = workers.computeIfAbsent(info.getThreadName(),n -> new WorkerSampling(info));
+                if (harnessLockNames.contains(info.getLockName())) {
+                    worker.skip(info);
+                    continue;
+                }
+                worker.update(info);
+                Thread.State state = info.getThreadState();
+                if (info.getLockName() != null && state != Thread.State.RUNNABLE)
+                    locks.computeIfAbsent(info.getLockName(),LockSampling::new).update(info);
+                StackTraceElement[] stack = info.getStackTrace();
+                if (stack.length > 0)
+                    frames.merge(stack[0].toString(),1,Integer::sum);
+            }
+        }
+
+        private FloodContentionReport report() {
+            List<LockContention> lockContentions = locks.values().stream()
+                    .map(LockSampling::toLockContention)
+                    .sorted(Comparator.comparingInt(LockContention::getSamples).reversed())
+                    .limit(top)
+                    .collect(Collectors.toList());
+            List<FrameSamples> frameSamples = frames.entrySet().stream()
+                    .map(e -> new FrameSamples(e.getKey(),e.getValue()))
+                    .sorted(Comparator.comparingInt(FrameSamples::getSamples).reversed())
+                    .limit(top)
+                    .collect(Collectors.toList());
+            List<WorkerContention> workerContentions = workers.values().stream()
+                    .map(WorkerSampling::toWorkerContention)
+                    .sorted(Comparator.comparingLong(WorkerContention::getBlockedTimeMillis).reversed())
+                    .collect(Collectors.toList());
+            return new FloodContentionReport(samples,lockContentions,frameSamples,workerContentions);
+        }
+    }
+
+    private static final class WorkerSampling {
+        private final String workerName;
+        private final ThreadInfo first;
+        private final Map<Thread.State,Integer> states;
+        private ThreadInfo last;
+
+        private WorkerSampling(final ThreadInfo first) {
+            this.workerName = first.getThreadName();
+            this.first = first;
+            this.states = new EnumMap<>(Thread.State.class);
+        }
+
+        private void update(final ThreadInfo info) {
+            states.merge(info.getThreadState(),1,Integer::sum);
+            last = info;
+        }
+
+        private void skip(final ThreadInfo info) {
+            last = info;
+        }
+
+        private WorkerContention toWorkerContention() {
+            return new WorkerContention(workerName,Collections.unmodifiableMap(states),
+                    last.getBlockedCount() - first.getBlockedCount(),
+                    difference(first.getBlockedTime(),last.getBlockedTime()),
+                    last.getWaitedCount() - first.getWaitedCount(),
+                    difference(first.getWaitedTime(),last.getWaitedTime()));
+        }
+
+        private static long difference(final long start, final long end) {
+            return start < 0 || end < 0 ? UNSUPPORTED : end - start;
+        }
+    }
+
+    private static final class LockSampling {
+        private final String lockName;
+        private final Set<String> lockOwners;
+        private int blockedSamples;
+        private int waitingSamples;
+
+        private LockSampling(final String lockName) {
+            this.lockName = lockName;
+            this.lockOwners = new TreeSet<>();
+        }
+
+        private void update(final ThreadInfo info) {
+            if (info.getThreadState() == Thread.State.BLOCKED)
+                blockedSamples++;
+            else
+                waitingSamples++;
+            if (info.getLockOwnerName() != null)
+                lockOwners.add(info.getLockOwnerName());
+        }
+
+        private LockContention toLockContention() {
+            return new LockContention(lockName,Collections.unmodifiableList(new ArrayList<>(lockOwners)),
+                    blockedSamples,waitingSamples);
+        }
+    }
+}
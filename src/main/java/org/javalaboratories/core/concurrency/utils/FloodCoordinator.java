@@ -0,0 +1,314 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import org.javalaboratories.core.concurrency.utils.ResourceFloodStability.Target;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Coordinates the {@code floods} of several {@link FloodAgent} objects, each
+ * typically in its own Java Virtual Machine, so that they flood a shared
+ * {@code resource} simultaneously.
+ * <p>
+ * The coordinator listens for {@link FloodAgent} connections, by default on
+ * an ephemeral port of the loopback address. Once the required agents have
+ * connected and opened their {@link Torrent}, the {@link
+ * FloodCoordinator#flood(long, TimeUnit)} method signals all agents to flood,
+ * and then merges the {@link FloodStatistics} sent back by the agents.
+ * Statistics of the same {@code target} are merged irrespective of the
+ * sequence number of its name, which may differ between Java Virtual Machines,
+ * and the {@code flood workers} of each agent are prefixed with the agent name.
+ * <p>
+ * All agents must flood the same {@code targets}: the {@code targets}
+ * announced by the first agent to connect are expected of the others, and
+ * an agent announcing different {@code targets}, or reporting statistics of
+ * {@code targets} it did not announce, is rejected. Agent names must be
+ * unique, and so an agent with the name of a connected agent is rejected.
+ * <pre>
+ *     {@code
+ *          try (FloodCoordinator coordinator = new FloodCoordinator()) {
+ *              // Launch agents with coordinator.getPort()
+ *              ...
+ *              coordinator.awaitAgents(3,30,TimeUnit.SECONDS);
+ *              Map<String,FloodStatistics> statistics = coordinator.flood(5,TimeUnit.MINUTES);
+ *          }
+ *     }
+ * </pre>
+ * The signal is sent to all agents in quick succession, but the agents are
+ * unlikely to commence their {@code floods} at exactly the same moment. This
+ * object is thread-safe.
+ *
+ * @see FloodAgent
+ */
+public final class FloodCoordinator implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(FloodCoordinator.class);
+
+    private static final String AGENT_WORKER_NAME = "%s/%s";
+
+    private final ServerSocket server;
+    private final List<Agent> agents;
+    private Map<String,List<FloodStatistics>> agentStatistics;
+
+    /**
+     * Constructs an instance of this {@link FloodCoordinator}, listening on an
+     * ephemeral port of the loopback address.
+     *
+     * @throws IOException if the port cannot be opened.
+     */
+    public FloodCoordinator() throws IOException {
+        this(InetAddress.getLoopbackAddress(),0);
+    }
+
+    /**
+     * Constructs an instance of this {@link FloodCoordinator}.
+     *
+     * @param address address on which to listen for agents.
+     * @param port port on which to listen for agents, or {@code 0} for an
+     *             ephemeral port.
+     * @throws IOException if the port cannot be opened.
+     * @throws NullPointerException if {@code address} is null.
+     */
+    public FloodCoordinator(final InetAddress address, final int port) throws IOException {
+        this.server = new ServerSocket(port,50,Objects.requireNonNull(address,"No address"));
+        this.agents = new ArrayList<>();
+        this.agentStatistics = Collections.emptyMap();
+        logger.info("Flood coordinator listening on {}:{}",address.getHostAddress(),getPort());
+    }
+
+    /**
+     * @return port on which this coordinator listens for agents.
+     */
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Waits for agents to connect and open their {@link Torrent}.
+     *
+     * @param count number of agents required.
+     * @param timeout maximum time to wait.
+     * @param unit the unit of the timeout.
+     * @return names of the agents connected.
+     * @throws SocketTimeoutException if the agents fail to connect within the
+     * allotted time.
+     * @throws IOException if an I/O error occurs.
+     * @throws IllegalArgumentException if {@code count} is not positive.
+     */
+    public synchronized List<String> awaitAgents(final int count, final long timeout, final TimeUnit unit)
+            throws IOException {
+        if (count < 1)
+            throw new IllegalArgumentException("Review agent count");
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (agents.size() < count) {
+            server.setSoTimeout(remainingMillis(deadline));
+            Socket socket = server.accept();
+            try {
+                socket.setSoTimeout(remainingMillis(deadline));
+                socket.setTcpNoDelay(true);
+                Agent agent = new Agent(socket);
+                if (agents.stream().anyMatch(a -> a.name.equals(agent.name)))
+                    throw new IOException(String.format("Flood agent %s already connected",agent.name));
+                if (!agents.isEmpty() && !agent.targets.equals(agents.get(0).targets))
+                    throw new IOException(String.format("Flood agent %s targets %s, expected %s",agent.name,
+                            agent.targets,agents.get(0).targets));
+                agents.add(agent);
+                logger.info("Flood agent {} connected, {} of {} agents",agent.name,agents.size(),count);
+            } catch (IOException e) {
+                logger.error("Flood agent rejected",e);
+                socket.close();
+            }
+        }
+        List<String> result = new ArrayList<>();
+        agents.forEach(a -> result.add(a.name));
+        return result;
+    }
+
+    /**
+     * Signals all connected agents to flood, and waits for their {@link
+     * FloodStatistics}.
+     * <p>
+     * Post-flood, the agents are disconnected, and so subsequent {@code floods}
+     * require agents to connect again.
+     *
+     * @param timeout maximum time to wait for the agents to flood.
+     * @param unit the unit of the timeout.
+     * @return statistics of each {@code target} merged across all agents,
+     * keyed by {@code target} name.
+     * @throws IOException if an agent fails to flood, or an I/O error occurs.
+     * @throws IllegalStateException if no agents are connected.
+     */
+    public synchronized Map<String,FloodStatistics> flood(final long timeout, final TimeUnit unit)
+            throws IOException {
+        if (agents.isEmpty())
+            throw new IllegalStateException("No flood agents connected");
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        try {
+            for (Agent agent : agents)
+                agent.signal(FloodProtocol.FLOOD);
+            logger.info("Flood coordinator authorised {} agents to commence flood",agents.size());
+
+            Map<String,List<FloodStatistics>> statistics = new LinkedHashMap<>();
+            for (Agent agent : agents) {
+                agent.socket.setSoTimeout(remainingMillis(deadline));
+                List<FloodStatistics> result = FloodProtocol.readResult(agent.in,agent.name);
+                List<String> targets = targetKeys(result.stream().map(FloodStatistics::getTargetName));
+                if (!targets.equals(agent.targets))
+                    throw new IOException(String.format("Flood agent %s reported targets %s, announced %s",agent.name,
+                            targets,agent.targets));
+                statistics.put(agent.name,Collections.unmodifiableList(result));
+            }
+            agentStatistics = Collections.unmodifiableMap(statistics);
+            return merge(statistics);
+        } finally {
+            disconnect();
+        }
+    }
+
+    /**
+     * @return statistics of each agent of the most recent {@code flood},
+     * keyed by agent name.
+     */
+    public synchronized Map<String,List<FloodStatistics>> getAgentStatistics() {
+        return agentStatistics;
+    }
+
+    /**
+     * Aborts any agents waiting to flood and stops listening for agents.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            agents.forEach(a -> {
+                try {
+                    a.signal(FloodProtocol.ABORT);
+                } catch (IOException e) {
+                    logger.warn("Failed to abort flood agent {}",a.name);
+                }
+            });
+            disconnect();
+        } finally {
+            server.close();
+        }
+    }
+
+    private void disconnect() {
+        agents.forEach(a -> {
+            try {
+                a.socket.close();
+            } catch (IOException ignore) {
+                // Already disconnected
+            }
+        });
+        agents.clear();
+    }
+
+    private static Map<String,FloodStatistics> merge(final Map<String,List<FloodStatistics>> statistics) {
+        Map<String,String> names = new LinkedHashMap<>();
+        Map<String,List<FloodStatistics>> targets = new HashMap<>();
+        statistics.forEach((agent,list) -> {
+            Map<String,Integer> occurrences = new HashMap<>();
+            list.forEach(s -> {
+                String key = FloodStatistics.targetKey(s.getTargetName());
+                key = key + "#" + occurrences.merge(key,1,Integer::sum);
+                names.putIfAbsent(key,s.getTargetName());
+                targets.computeIfAbsent(key,k -> new ArrayList<>()).add(rename(agent,s));
+            });
+        });
+        Map<String,FloodStatistics> result = new LinkedHashMap<>();
+        names.forEach((key,name) -> result.put(name,merge(name,targets.get(key))));
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static FloodStatistics merge(final String targetName, final List<FloodStatistics> statistics) {
+        Target.Stability stability = Target.Stability.STABLE;
+        long elapsed = 0L;
+        long gcCount = 0L;
+        long gcMillis = 0L;
+        List<FloodWorkerStatistics> workers = new ArrayList<>();
+        for (FloodStatistics s : statistics) {
+            if (s.getStability() == Target.Stability.UNSTABLE)
+                stability = Target.Stability.UNSTABLE;
+            elapsed = Math.max(elapsed,s.getElapsedNanos());
+            gcCount = gcCount + s.getGarbageCollections();
+            gcMillis = gcMillis + s.getGarbageCollectionMillis();
+            workers.addAll(s.getWorkers());
+        }
+        return new FloodStatistics(targetName,stability,elapsed,gcCount,gcMillis,workers);
+    }
+
+    private static FloodStatistics rename(final String agent, final FloodStatistics statistics) {
+        List<FloodWorkerStatistics> workers = new ArrayList<>();
+        statistics.getWorkers().forEach(w -> {
+            String name = String.format(AGENT_WORKER_NAME,agent,w.getWorkerName());
+            FloodError error = w.hasError() ? new FloodError(name,w.getError().getType(),w.getError().getMessage()) : null;
+            workers.add(new FloodWorkerStatistics(name,w.getIterations(),w.getElapsedNanos(),w.getCpuTimeNanos(),
+                    w.getAllocatedBytes(),w.getLatencies(),error,w.getConclusion()));
+        });
+        return new FloodStatistics(statistics.getTargetName(),statistics.getStability(),statistics.getElapsedNanos(),
+                statistics.getGarbageCollections(),statistics.getGarbageCollectionMillis(),workers);
+    }
+
+    private static List<String> targetKeys(final Stream<String> targetNames) {
+        return targetNames.map(FloodStatistics::targetKey).sorted().collect(Collectors.toList());
+    }
+
+    private static int remainingMillis(final long deadline) throws SocketTimeoutException {
+        long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remaining <= 0)
+            throw new SocketTimeoutException("Flood coordinator timeout elapsed");
+        return (int) Math.min(remaining,Integer.MAX_VALUE);
+    }
+
+    /**
+     * A connected {@link FloodAgent}.
+     */
+    private static final class Agent {
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+        private final String name;
+        // Target names without sequence numbers, which may differ between agents
+        private final List<String> targets;
+
+        private Agent(final Socket socket) throws IOException {
+            this.socket = socket;
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            FloodProtocol.Hello hello = FloodProtocol.readHello(in);
+            this.name = hello.getAgentName();
+            this.targets = targetKeys(hello.getTargetNames().stream());
+        }
+
+        private void signal(final byte signal) throws IOException {
+            out.writeByte(signal);
+            out.flush();
+        }
+    }
+}
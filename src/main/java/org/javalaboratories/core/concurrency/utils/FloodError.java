@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import lombok.Value;
+
+/**
+ * A sample of an exception raised by the {@code resource} during a {@code
+ * flood}.
+ * <p>
+ * Only the exception type and message are retained, and so samples can be
+ * exported and compared between {@code flood} runs without retaining the
+ * exception object itself.
+ * <p>
+ * This object is immutable.
+ *
+ * @see FloodWorkerStatistics
+ * @see FloodStatistics
+ */
+@Value
+public class FloodError {
+    String workerName;
+    String type;
+    String message;
+
+    /**
+     * Creates a sample of the given {@code throwable}.
+     *
+     * @param workerName name of the {@code flood worker} that encountered the
+     *                   exception.
+     * @param throwable exception raised by the {@code resource}
+     * @return a new instance of {@link FloodError}
+     */
+    static FloodError of(final String workerName, final Throwable throwable) {
+        return new FloodError(workerName,throwable.getClass().getName(),throwable.getMessage());
+    }
+}
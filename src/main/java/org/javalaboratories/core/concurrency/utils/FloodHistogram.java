@@ -0,0 +1,302 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A compact histogram of latencies recorded in nanoseconds by {@code flood
+ * workers}.
+ * <p>
+ * Values are recorded into log-linear buckets: values below
+ * {@link FloodHistogram#SUB_BUCKETS} are recorded exactly, larger values are
+ * recorded with a relative precision of better than 2%. This means the memory
+ * footprint of the histogram is fixed regardless of the number of recorded
+ * values, and so it is suitable for long running floods. Histograms are
+ * mergeable with {@link FloodHistogram#add(FloodHistogram)}, for example to
+ * combine histograms of all {@code flood workers} of a {@link Floodgate}.
+ * <p>
+ * Reported values are the highest value equivalent to the bucket in which
+ * they were recorded, the exception being the minimum and maximum values,
+ * which are exact.
+ * <p>
+ * This object is not thread-safe: each {@code flood worker} is expected to
+ * record into its own histogram.
+ *
+ * @see FloodStatistics
+ */
+public final class FloodHistogram {
+
+    /**
+     * Number of linear sub-buckets within each power of two.
+     */
+    public static final int SUB_BUCKETS = 128;
+
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+    /**
+     * Number of buckets of the histogram.
+     */
+    public static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS;
+
+    private final long[] counts;
+    private long count;
+    private long total;
+    private long min;
+    private long max;
+
+    /**
+     * Constructs an empty histogram.
+     */
+    public FloodHistogram() {
+        counts = new long[BUCKETS];
+        count = 0L;
+        total = 0L;
+        min = Long.MAX_VALUE;
+        max = 0L;
+    }
+
+    /**
+     * Records a single value.
+     *
+     * @param value value to record, typically a latency in nanoseconds.
+     * @throws IllegalArgumentException if {@code value} is negative.
+     */
+    public void record(final long value) {
+        record(value,1L);
+    }
+
+    /**
+     * Records a value multiple times.
+     *
+     * @param value value to record, typically a latency in nanoseconds.
+     * @param times number of occurrences of the {@code value}
+     * @throws IllegalArgumentException if {@code value} or {@code times} is
+     * negative.
+     */
+    public void record(final long value, final long times) {
+        if (value < 0 || times < 0)
+            throw new IllegalArgumentException("Negative values not supported");
+        if (times == 0)
+            return;
+        counts[indexOf(value)] += times;
+        count = count + times;
+        total = total + value * times;
+        min = Math.min(min,value);
+        max = Math.max(max,value);
+    }
+
+    /**
+     * Adds all values of the {@code other} histogram to this histogram.
+     *
+     * @param other histogram from which to add values.
+     * @return this histogram.
+     * @throws NullPointerException if {@code other} is null.
+     */
+    public FloodHistogram add(final FloodHistogram other) {
+        FloodHistogram h = Objects.requireNonNull(other);
+        if (h.count > 0) {
+            for (int i = 0; i < BUCKETS; i++)
+                counts[i] += h.counts[i];
+            count = count + h.count;
+            total = total + h.total;
+            min = Math.min(min,h.min);
+            max = Math.max(max,h.max);
+        }
+        return this;
+    }
+
+    /**
+     * @return a copy of this histogram.
+     */
+    public FloodHistogram copy() {
+        return new FloodHistogram().add(this);
+    }
+
+    /**
+     * @return number of values recorded.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return smallest value recorded, or zero if empty.
+     */
+    public long getMin() {
+        return count == 0 ? 0L : min;
+    }
+
+    /**
+     * @return largest value recorded, or zero if empty.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return arithmetic mean of the values recorded, or zero if empty.
+     */
+    public double getMean() {
+        return count == 0 ? 0.0 : total / (double) count;
+    }
+
+    /**
+     * Returns the value at or below which the given {@code percentile} of
+     * recorded values fall.
+     *
+     * @param percentile a value between 0.0 and 100.0 inclusive.
+     * @return the value at the given percentile, or zero if empty.
+     * @throws IllegalArgumentException if {@code percentile} is out of range.
+     */
+    public long getValueAtPercentile(final double percentile) {
+        if (percentile < 0.0 || percentile > 100.0)
+            throw new IllegalArgumentException(String.format("Percentile out of range: (%f)",percentile));
+        if (count == 0)
+            return 0L;
+        long rank = Math.max(1L, (long) Math.ceil((percentile / 100.0) * count));
+        long accumulated = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            accumulated = accumulated + counts[i];
+            if (accumulated >= rank)
+                return Math.max(min,Math.min(max,highestEquivalentValue(i)));
+        }
+        return max;
+    }
+
+    /**
+     * Performs the given {@code action} on every non-empty bucket in ascending
+     * value order.
+     *
+     * @param action receives the bucket's lowest and highest equivalent values
+     *               and its count.
+     * @throws NullPointerException if {@code action} is null.
+     */
+    public void forEach(final BucketConsumer action) {
+        BucketConsumer a = Objects.requireNonNull(action);
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] > 0)
+                a.accept(lowestEquivalentValue(i),highestEquivalentValue(i),counts[i]);
+        }
+    }
+
+    /**
+     * Writes this histogram in a compact binary form, omitting empty buckets.
+     *
+     * @param out destination of the histogram.
+     * @throws IOException if an I/O error occurs.
+     * @see FloodHistogram#read(DataInput)
+     */
+    void write(final DataOutput out) throws IOException {
+        out.writeLong(count);
+        out.writeLong(total);
+        out.writeLong(min);
+        out.writeLong(max);
+        int buckets = (int) Arrays.stream(counts).filter(c -> c > 0).count();
+        out.writeInt(buckets);
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] > 0) {
+                out.writeShort(i);
+                out.writeLong(counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Reads a histogram written by the {@link FloodHistogram#write(DataOutput)}
+     * method.
+     *
+     * @param in source of the histogram.
+     * @return a new histogram.
+     * @throws IOException if an I/O error occurs, or the histogram is malformed.
+     */
+    static FloodHistogram read(final DataInput in) throws IOException {
+        FloodHistogram result = new FloodHistogram();
+        result.count = in.readLong();
+        result.total = in.readLong();
+        result.min = in.readLong();
+        result.max = in.readLong();
+        int buckets = in.readInt();
+        for (int i = 0; i < buckets; i++) {
+            int index = in.readUnsignedShort();
+            if (index >= BUCKETS)
+                throw new IOException(String.format("Malformed histogram bucket: %d",index));
+            result.counts[index] = in.readLong();
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[count=%d,min=%d,mean=%.1f,p50=%d,p99=%d,max=%d]",count,getMin(),getMean(),
+                getValueAtPercentile(50.0),getValueAtPercentile(99.0),getMax());
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FloodHistogram)) return false;
+        FloodHistogram that = (FloodHistogram) o;
+        return count == that.count && total == that.total && getMin() == that.getMin() && max == that.max &&
+                Arrays.equals(counts,that.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(count,total,getMin(),max) * 31 + Arrays.hashCode(counts);
+    }
+
+    private static int indexOf(final long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+        int sub = (int) (value >>> shift);
+        return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (sub - HALF_SUB_BUCKETS);
+    }
+
+    private static long lowestEquivalentValue(final int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+        int shift = (index - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+        long sub = (index - SUB_BUCKETS) % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        return sub << shift;
+    }
+
+    private static long highestEquivalentValue(final int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+        int shift = (index - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+        long result = lowestEquivalentValue(index) + (1L << shift) - 1;
+        return result < 0 ? Long.MAX_VALUE : result;
+    }
+
+    /**
+     * Receives the buckets of the {@link FloodHistogram}.
+     */
+    @FunctionalInterface
+    public interface BucketConsumer {
+        /**
+         * @param low lowest value equivalent to the bucket.
+         * @param high highest value equivalent to the bucket.
+         * @param count number of values recorded in the bucket.
+         */
+        void accept(long low, long high, long count);
+    }
+}
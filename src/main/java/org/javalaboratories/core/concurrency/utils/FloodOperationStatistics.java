@@ -0,0 +1,84 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.Value;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the outcome of a {@code flood} for a single operation of a
+ * {@link FloodWorkload}.
+ * <p>
+ * The latency of every invocation of the operation is recorded in a {@link
+ * FloodHistogram}, and if the operation raises an exception, a {@link
+ * FloodError} sample is retained.
+ * <p>
+ * This object is immutable.
+ *
+ * @see WorkloadFloodgate
+ * @see FloodWorkload
+ */
+@Value
+public class FloodOperationStatistics {
+    String name;
+    int weight;
+    long invocations;
+    @ToString.Exclude
+    @Getter(AccessLevel.NONE)
+    FloodHistogram latencies;
+    List<FloodError> errors;
+
+    /**
+     * Constructs an instance of this {@link FloodOperationStatistics} object.
+     *
+     * @param name name of the operation.
+     * @param weight relative weight of the operation.
+     * @param latencies latencies of all invocations of the operation.
+     * @param errors samples of exceptions raised by the operation.
+     */
+    FloodOperationStatistics(final String name, final int weight, final FloodHistogram latencies,
+                             final List<FloodError> errors) {
+        this.name = name;
+        this.weight = weight;
+        this.invocations = latencies.getCount() + errors.size();
+        this.latencies = latencies;
+        this.errors = Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Returns the latencies of all successful invocations of this operation.
+     * <p>
+     * The histogram is mutable, and so a copy is returned.
+     *
+     * @return latencies of all invocations in nanoseconds.
+     */
+    public FloodHistogram getLatencies() {
+        return latencies.copy();
+    }
+
+    /**
+     * @return proportion of invocations that raised an exception, ranging from
+     * 0.0 to 1.0.
+     */
+    public double getErrorRate() {
+        return invocations > 0 ? errors.size() / (double) invocations : 0.0;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Paces the invocations of the {@code resource} by a {@code flood worker}, to
+ * model the behaviour of realistic clients rather than a tight loop.
+ * <p>
+ * The pacer returns the interval between the scheduled starts of consecutive
+ * invocations. {@code Flood workers} park with
+ * {@link java.util.concurrent.locks.LockSupport#parkNanos(long)} until the next
+ * scheduled start, which is calculated from the previous scheduled start rather
+ * than the time the worker awoke, and so oversleeping and slow invocations do
+ * not accumulate drift: a worker that falls behind schedule invokes the {@code
+ * resource} immediately until it catches up. Latencies are measured from the
+ * scheduled start, and so include the time a worker spent behind schedule,
+ * which would otherwise be omitted. An interval of zero means no pacing, in
+ * which case the worker yields instead, which is the behaviour of the
+ * {@link FloodPacer#YIELD} default.
+ * <pre>
+ *     {@code
+ *          Floodgate<Integer> floodgate = new Floodgate<>(Cache.class,5,1000,() -> cache.get(key()));
+ *          floodgate.setPacer(FloodPacer.exponential(10,TimeUnit.MILLISECONDS));
+ *     }
+ * </pre>
+ * A pacer is shared by all {@code flood workers} and so implementations must
+ * be thread-safe.
+ *
+ * @see AbstractConcurrentResourceFloodStability#setPacer(FloodPacer)
+ */
+@FunctionalInterface
+public interface FloodPacer {
+
+    /**
+     * No pacing: {@code flood workers} yield between invocations.
+     */
+    FloodPacer YIELD = iteration -> 0L;
+
+    /**
+     * Returns the interval between the scheduled start of the invocation at
+     * {@code iteration} and the start of the following invocation.
+     *
+     * @param iteration zero-based index of the invocation of the {@code flood
+     *                  worker}.
+     * @return interval in nanoseconds, or zero for no pacing.
+     */
+    long interval(int iteration);
+
+    /**
+     * Paces invocations at a fixed interval, for example to model clients with
+     * a constant think time.
+     *
+     * @param interval interval between the starts of invocations.
+     * @param unit the unit of the interval.
+     * @return a fixed interval pacer.
+     * @throws IllegalArgumentException if {@code interval} is negative.
+     * @throws NullPointerException if {@code unit} is null.
+     */
+    static FloodPacer fixed(final long interval, final TimeUnit unit) {
+        long nanos = Objects.requireNonNull(unit).toNanos(interval);
+        if (nanos < 0)
+            throw new IllegalArgumentException("Negative interval");
+        return iteration -> nanos;
+    }
+
+    /**
+     * Paces invocations with exponentially distributed intervals, that is
+     * invocations arrive as a Poisson process, typical of independent clients.
+     *
+     * @param mean mean interval between the starts of invocations.
+     * @param unit the unit of the interval.
+     * @return an exponential interval pacer.
+     * @throws IllegalArgumentException if {@code mean} is not positive.
+     * @throws NullPointerException if {@code unit} is null.
+     */
+    static FloodPacer exponential(final long mean, final TimeUnit unit) {
+        double nanos = Objects.requireNonNull(unit).toNanos(mean);
+        if (nanos <= 0)
+            throw new IllegalArgumentException("Mean interval must be positive");
+        return iteration -> (long) (-Math.log(1.0 - ThreadLocalRandom.current().nextDouble()) * nanos);
+    }
+
+    /**
+     * Paces invocations by replaying the intervals recorded in a trace file.
+     * <p>
+     * The file contains one interval per line in the given {@code unit}; blank
+     * lines and lines starting with {@code #} are ignored. Each {@code flood
+     * worker} replays the trace from the beginning, repeating it if the worker
+     * has more iterations than there are intervals in the trace.
+     *
+     * @param trace path of the trace file.
+     * @param unit the unit of the intervals in the file.
+     * @return a replay pacer.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if the file contains no intervals or a
+     * malformed or negative interval.
+     * @throws NullPointerException if {@code trace} or {@code unit} is null.
+     */
+    static FloodPacer replay(final Path trace, final TimeUnit unit) throws IOException {
+        Objects.requireNonNull(unit);
+        List<String> lines = Files.readAllLines(Objects.requireNonNull(trace),StandardCharsets.UTF_8).stream()
+                .map(String::trim)
+                .filter(l -> !l.isEmpty() && !l.startsWith("#"))
+                .collect(Collectors.toList());
+        if (lines.isEmpty())
+            throw new IllegalArgumentException(String.format("No intervals in trace: %s",trace));
+        long[] intervals = new long[lines.size()];
+        for (int i = 0; i < intervals.length; i++) {
+            try {
+                intervals[i] = unit.toNanos(Long.parseLong(lines.get(i)));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(String.format("Malformed interval in trace: %s",lines.get(i)),e);
+            }
+            if (intervals[i] < 0)
+                throw new IllegalArgumentException(String.format("Negative interval in trace: %s",lines.get(i)));
+        }
+        return iteration -> intervals[iteration % intervals.length];
+    }
+}
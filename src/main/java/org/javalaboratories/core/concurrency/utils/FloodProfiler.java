@@ -0,0 +1,173 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+import static org.javalaboratories.core.concurrency.utils.FloodWorkerStatistics.UNSUPPORTED;
+
+/**
+ * Samples Java Virtual Machine metrics on behalf of {@code flood workers} and
+ * {@link ResourceFloodStability} objects.
+ * <p>
+ * Per-thread allocated bytes are read from the {@code com.sun.management}
+ * extension of the {@link ThreadMXBean}, if available. Garbage collection
+ * metrics are accumulated from all {@link GarbageCollectorMXBean} objects.
+ * Metrics that cannot be measured are reported as
+ * {@link FloodWorkerStatistics#UNSUPPORTED}.
+ *
+ * @see FloodStatistics
+ * @see FloodWorkerStatistics
+ */
+final class FloodProfiler {
+
+    private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+    private FloodProfiler() {}
+
+    /**
+     * Starts sampling the current {@code flood worker} thread.
+     * <p>
+     * The returned {@link WorkerProbe} must be stopped by the same thread.
+     *
+     * @return a started {@link WorkerProbe} object.
+     */
+    static WorkerProbe probe() {
+        return new WorkerProbe();
+    }
+
+    /**
+     * @return a snapshot of the accumulated garbage collection metrics of the
+     * Java Virtual Machine.
+     */
+    static GarbageCollection garbageCollection() {
+        long count = 0L;
+        long time = 0L;
+        List<GarbageCollectorMXBean> beans = ManagementFactory.getGarbageCollectorMXBeans();
+        for (GarbageCollectorMXBean bean : beans) {
+            count = count + Math.max(0L, bean.getCollectionCount());
+            time = time + Math.max(0L, bean.getCollectionTime());
+        }
+        return new GarbageCollection(count,time);
+    }
+
+    private static long currentThreadCpuTime() {
+        return threadBean.isCurrentThreadCpuTimeSupported() && threadBean.isThreadCpuTimeEnabled()
+                ? threadBean.getCurrentThreadCpuTime() : UNSUPPORTED;
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        long result = UNSUPPORTED;
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threadBean;
+            if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled())
+                result = bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return result;
+    }
+
+    private static long difference(final long start, final long end) {
+        return start == UNSUPPORTED || end == UNSUPPORTED ? UNSUPPORTED : end - start;
+    }
+
+    /**
+     * Samples the resources consumed by a {@code flood worker} thread between
+     * its construction and the {@link WorkerProbe#stop(int, FloodWorkerStatistics.Conclusion)} method, as well as
+     * the latencies of the requests and any exception raised.
+     */
+    static final class WorkerProbe {
+        private final long startNanos;
+        private final long startCpuTime;
+        private final long startAllocatedBytes;
+        private final FloodHistogram latencies;
+        private Throwable error;
+
+        private WorkerProbe() {
+            latencies = new FloodHistogram();
+            error = null;
+            startAllocatedBytes = currentThreadAllocatedBytes();
+            startCpuTime = currentThreadCpuTime();
+            startNanos = System.nanoTime();
+        }
+
+        /**
+         * Records the latency of a single request.
+         *
+         * @param nanos latency in nanoseconds.
+         */
+        void record(final long nanos) {
+            latencies.record(nanos);
+        }
+
+        /**
+         * Records the exception raised by the {@code resource}
+         *
+         * @param throwable exception raised.
+         */
+        void error(final Throwable throwable) {
+            error = throwable;
+        }
+
+        /**
+         * Stops sampling the current {@code flood worker} thread.
+         *
+         * @param iterations number of iterations completed by the worker.
+         * @param conclusion how the worker concluded its work.
+         * @return statistics of this {@code flood worker}.
+         */
+        FloodWorkerStatistics stop(final int iterations, final FloodWorkerStatistics.Conclusion conclusion) {
+            long elapsed = System.nanoTime() - startNanos;
+            long cpuTime = difference(startCpuTime,currentThreadCpuTime());
+            long allocated = difference(startAllocatedBytes,currentThreadAllocatedBytes());
+            String name = Thread.currentThread().getName();
+            return new FloodWorkerStatistics(name,iterations,elapsed,cpuTime,allocated,latencies,
+                    error == null ? null : FloodError.of(name,error),conclusion);
+        }
+    }
+
+    /**
+     * Snapshot of accumulated garbage collection count and time.
+     */
+    static final class GarbageCollection {
+        private final long count;
+        private final long millis;
+
+        private GarbageCollection(final long count, final long millis) {
+            this.count = count;
+            this.millis = millis;
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        long getMillis() {
+            return millis;
+        }
+
+        /**
+         * @param since earlier snapshot.
+         * @return garbage collection activity between the {@code since}
+         * snapshot and this snapshot.
+         */
+        GarbageCollection since(final GarbageCollection since) {
+            return new GarbageCollection(count - since.count,millis - since.millis);
+        }
+    }
+}
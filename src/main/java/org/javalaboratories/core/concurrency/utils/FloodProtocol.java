@@ -0,0 +1,264 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import org.javalaboratories.core.concurrency.utils.ResourceFloodStability.Target;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The wire protocol between the {@link FloodCoordinator} and its {@link
+ * FloodAgent} objects.
+ * <p>
+ * Messages are exchanged with {@link DataInput} and {@link DataOutput}
+ * streams as follows:
+ * <pre>
+ *     {@code
+ *          Agent --> HELLO(magic, version, agent name, target names) --> Coordinator
+ *          Agent <-- FLOOD | ABORT <-- Coordinator
+ *          Agent --> RESULT(flood statistics...) | FAILED(message) --> Coordinator
+ *     }
+ * </pre>
+ * {@link FloodStatistics} are transferred in full, including histograms, and
+ * so they can be merged by the {@link FloodCoordinator} as if the {@code flood}
+ * was performed in a single Java Virtual Machine.
+ * <p>
+ * Agent and {@code target} names identify the statistics, and so they are
+ * validated rather than truncated to fit the modified UTF-8 limit; other
+ * strings, for example worker names and error messages, are truncated.
+ */
+final class FloodProtocol {
+
+    static final int MAGIC = 0x464C4F44;
+    static final int VERSION = 1;
+
+    static final byte FLOOD = 1;
+    static final byte ABORT = 2;
+    static final byte RESULT = 3;
+    static final byte FAILED = 4;
+
+    // Modified UTF-8 encodes a character in at most three bytes, and strings
+    // are limited to 65535 bytes.
+    private static final int MAX_STRING_LENGTH = 65535 / 3;
+
+    private FloodProtocol() {}
+
+    /**
+     * Validates a name for transfer, that is an agent or {@code target} name.
+     *
+     * @param name the name to validate.
+     * @return the {@code name}.
+     * @throws IllegalArgumentException if the {@code name} is too long to be
+     * transferred.
+     * @throws NullPointerException if {@code name} is null.
+     */
+    static String checkName(final String name) {
+        if (Objects.requireNonNull(name,"No name").length() > MAX_STRING_LENGTH)
+            throw new IllegalArgumentException(String.format("Name exceeds %d characters",MAX_STRING_LENGTH));
+        return name;
+    }
+
+    /**
+     * Writes the greeting of an agent.
+     * <p>
+     * The names are validated before anything is written.
+     *
+     * @param out destination stream.
+     * @param agentName name of the agent.
+     * @param targetNames names of the {@code targets} the agent will flood.
+     * @throws IOException if an I/O error occurs.
+     * @throws IllegalArgumentException if a name is too long to be transferred.
+     */
+    static void writeHello(final DataOutput out, final String agentName, final Collection<String> targetNames)
+            throws IOException {
+        checkName(agentName);
+        targetNames.forEach(FloodProtocol::checkName);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(agentName);
+        out.writeInt(targetNames.size());
+        for (String name : targetNames)
+            out.writeUTF(name);
+    }
+
+    /**
+     * Reads the greeting of an agent.
+     *
+     * @param in source stream.
+     * @return the greeting of the agent.
+     * @throws IOException if an I/O error occurs, or the greeting is not
+     * recognised.
+     */
+    static Hello readHello(final DataInput in) throws IOException {
+        if (in.readInt() != MAGIC)
+            throw new IOException("Unrecognised flood agent");
+        int version = in.readInt();
+        if (version != VERSION)
+            throw new IOException(String.format("Unsupported flood protocol version: %d",version));
+        String agentName = in.readUTF();
+        int targets = in.readInt();
+        if (targets < 0)
+            throw new IOException(String.format("Malformed greeting from flood agent %s",agentName));
+        List<String> targetNames = new ArrayList<>();
+        for (int i = 0; i < targets; i++)
+            targetNames.add(in.readUTF());
+        return new Hello(agentName,targetNames);
+    }
+
+    /**
+     * Writes the statistics of a successful {@code flood}.
+     *
+     * @param out destination stream.
+     * @param statistics statistics of each {@code target} flooded.
+     * @throws IOException if an I/O error occurs.
+     * @throws IllegalArgumentException if a {@code target} name is too long to
+     * be transferred.
+     */
+    static void writeResult(final DataOutput out, final Collection<FloodStatistics> statistics) throws IOException {
+        statistics.forEach(s -> checkName(s.getTargetName()));
+        out.writeByte(RESULT);
+        out.writeInt(statistics.size());
+        for (FloodStatistics s : statistics)
+            write(out,s);
+    }
+
+    /**
+     * Writes the reason for an unsuccessful {@code flood}.
+     *
+     * @param out destination stream.
+     * @param message reason for failure.
+     * @throws IOException if an I/O error occurs.
+     */
+    static void writeFailed(final DataOutput out, final String message) throws IOException {
+        out.writeByte(FAILED);
+        out.writeUTF(truncate(String.valueOf(message)));
+    }
+
+    /**
+     * Reads the outcome of a {@code flood}.
+     *
+     * @param in source stream.
+     * @param agentName name of the agent, for reporting purposes.
+     * @return statistics of each {@code target} flooded by the agent.
+     * @throws IOException if an I/O error occurs, the agent failed to flood or
+     * the outcome is malformed.
+     */
+    static List<FloodStatistics> readResult(final DataInput in, final String agentName) throws IOException {
+        byte type = in.readByte();
+        if (type == FAILED)
+            throw new IOException(String.format("Flood agent %s failed: %s",agentName,in.readUTF()));
+        if (type != RESULT)
+            throw new IOException(String.format("Unexpected message from flood agent %s: %d",agentName,type));
+        int count = in.readInt();
+        List<FloodStatistics> result = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+            result.add(read(in));
+        return result;
+    }
+
+    private static void write(final DataOutput out, final FloodStatistics statistics) throws IOException {
+        out.writeUTF(statistics.getTargetName());
+        out.writeUTF(statistics.getStability().name());
+        out.writeLong(statistics.getElapsedNanos());
+        out.writeLong(statistics.getGarbageCollections());
+        out.writeLong(statistics.getGarbageCollectionMillis());
+        out.writeInt(statistics.getWorkers().size());
+        for (FloodWorkerStatistics worker : statistics.getWorkers()) {
+            out.writeUTF(truncate(worker.getWorkerName()));
+            out.writeInt(worker.getIterations());
+            out.writeLong(worker.getElapsedNanos());
+            out.writeLong(worker.getCpuTimeNanos());
+            out.writeLong(worker.getAllocatedBytes());
+            worker.getLatencies().write(out);
+            out.writeBoolean(worker.hasError());
+            if (worker.hasError()) {
+                out.writeUTF(truncate(worker.getError().getType()));
+                writeNullable(out,worker.getError().getMessage());
+            }
+            writeNullable(out,worker.getConclusion() == null ? null : worker.getConclusion().name());
+        }
+    }
+
+    private static FloodStatistics read(final DataInput in) throws IOException {
+        try {
+            String targetName = in.readUTF();
+            Target.Stability stability = Target.Stability.valueOf(in.readUTF());
+            long elapsed = in.readLong();
+            long gcCount = in.readLong();
+            long gcMillis = in.readLong();
+            int count = in.readInt();
+            List<FloodWorkerStatistics> workers = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                String workerName = in.readUTF();
+                int iterations = in.readInt();
+                long workerElapsed = in.readLong();
+                long cpuTime = in.readLong();
+                long allocated = in.readLong();
+                FloodHistogram latencies = FloodHistogram.read(in);
+                FloodError error = in.readBoolean() ? new FloodError(workerName,in.readUTF(),readNullable(in)) : null;
+                String conclusion = readNullable(in);
+                workers.add(new FloodWorkerStatistics(workerName,iterations,workerElapsed,cpuTime,allocated,latencies,
+                        error,conclusion == null ? null : FloodWorkerStatistics.Conclusion.valueOf(conclusion)));
+            }
+            return new FloodStatistics(targetName,stability,elapsed,gcCount,gcMillis,workers);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Malformed flood statistics",e);
+        }
+    }
+
+    private static void writeNullable(final DataOutput out, final String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null)
+            out.writeUTF(truncate(value));
+    }
+
+    private static String truncate(final String value) {
+        return value.length() > MAX_STRING_LENGTH ? value.substring(0,MAX_STRING_LENGTH) : value;
+    }
+
+    private static String readNullable(final DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * The greeting of an agent: its name and the names of the {@code targets}
+     * it will flood.
+     */
+    static final class Hello {
+        private final String agentName;
+        private final List<String> targetNames;
+
+        private Hello(final String agentName, final List<String> targetNames) {
+            this.agentName = agentName;
+            this.targetNames = Collections.unmodifiableList(targetNames);
+        }
+
+        String getAgentName() {
+            return agentName;
+        }
+
+        List<String> getTargetNames() {
+            return targetNames;
+        }
+    }
+}
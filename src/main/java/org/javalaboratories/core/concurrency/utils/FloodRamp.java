@@ -0,0 +1,372 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.Value;
+import org.javalaboratories.core.concurrency.utils.ResourceFloodStability.Target;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Finds the number of {@code flood workers} at which a {@code resource}
+ * saturates.
+ * <p>
+ * Choosing the number of {@code threads} for a {@link Floodgate} is often
+ * guesswork. This class repeatedly floods the same {@code resource} with a new
+ * {@link Floodgate} at each level of concurrency, increasing the number of
+ * {@code flood workers} either by doubling or by a fixed increment. At each
+ * level, the throughput and 99th percentile latency are measured from the
+ * {@link FloodStatistics}, and the ramp stops as soon as any of the following
+ * occurs:
+ * <ol>
+ *     <li>The throughput fails to improve on the best throughput so far by at
+ *     least the {@code plateau} percentage -- the {@code resource} is
+ *     saturated</li>
+ *     <li>The 99th percentile latency exceeds the service level objective, if
+ *     one is configured</li>
+ *     <li>The {@code target} becomes {@code UNSTABLE}</li>
+ *     <li>The maximum number of {@code flood workers} is reached</li>
+ * </ol>
+ * The concurrency level reported at saturation is the level that achieved the
+ * best throughput within the latency objective. Example usage is as follows:
+ * <pre>
+ *     {@code
+ *          FloodRamp.Saturation saturation = FloodRamp.builder(Statistics.class, () -> safe.add(10))
+ *              .withThreads(1, 64)
+ *              .withIterations(1000)
+ *              .withLatencyObjective(2, TimeUnit.MILLISECONDS)
+ *              .build()
+ *              .ramp();
+ *
+ *          int threads = saturation.getThreads();
+ *     }
+ * </pre>
+ * It is not the role of this object to evaluate the state of the {@code
+ * target}, and so {@code resources} used in a ramp should be thread-safe.
+ *
+ * @param <T> Type of value returned from the {@code resource}
+ * @see Floodgate
+ * @see FloodStatistics
+ */
+@Getter
+public final class FloodRamp<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(FloodRamp.class);
+
+    /**
+     * Default minimum throughput improvement between levels, in percent.
+     */
+    public static final double DEFAULT_PLATEAU = 5.0;
+
+    /**
+     * Default maximum number of {@code flood workers}.
+     */
+    public static final int DEFAULT_MAXIMUM_THREADS = Runtime.getRuntime().availableProcessors() * 4;
+
+    private static final long NO_LATENCY_OBJECTIVE = Long.MAX_VALUE;
+
+    /**
+     * Strategies with which to increase the number of {@code flood workers}
+     * between levels.
+     */
+    public enum Step {DOUBLING,INCREMENTAL}
+
+    /**
+     * The reasons for the ramp to conclude.
+     */
+    public enum Reason {PLATEAU,LATENCY,UNSTABLE,MAXIMUM_THREADS}
+
+    @Getter(AccessLevel.NONE)
+    private final Class<?> clazz;
+    @Getter(AccessLevel.NONE)
+    private final Supplier<T> resource;
+    private final int minimumThreads;
+    private final int maximumThreads;
+    private final int iterations;
+    private final Step step;
+    private final int increment;
+    private final double plateau;
+    private final long latencyObjective;
+
+    private FloodRamp(final FloodRampBuilder<T> builder) {
+        this.clazz = builder.clazz;
+        this.resource = builder.resource;
+        this.minimumThreads = builder.minimumThreads;
+        this.maximumThreads = builder.maximumThreads;
+        this.iterations = builder.iterations;
+        this.step = builder.step;
+        this.increment = builder.increment;
+        this.plateau = builder.plateau;
+        this.latencyObjective = builder.latencyObjective;
+    }
+
+    /**
+     * Floods the {@code resource} at increasing levels of concurrency until
+     * it saturates.
+     * <p>
+     * This method blocks until the ramp concludes. Each level is flooded with
+     * its own {@link Floodgate}, which is opened, flooded and closed before
+     * the next level commences.
+     *
+     * @return the outcome of the ramp, including the measurements of every
+     * level.
+     */
+    public Saturation ramp() {
+        List<Level> levels = new ArrayList<>();
+        Level best = null;
+        Level acceptable = null;
+        Reason reason = Reason.MAXIMUM_THREADS;
+        int threads = minimumThreads;
+        while (true) {
+            Floodgate<T> floodgate = new Floodgate<>(clazz,threads,iterations,resource);
+            floodgate.open();
+            floodgate.flood();
+            FloodStatistics statistics = floodgate.getFloodStatistics();
+            Level level = new Level(threads,statistics.getThroughput(),
+                    statistics.getLatencies().getValueAtPercentile(99.0),statistics);
+            levels.add(level);
+            logger.info("Flood ramp level: threads={}, throughput={}/s, p99-latency={}ns",threads,
+                    String.format("%.2f",level.getThroughput()),level.getLatency());
+
+            if (statistics.getStability() == Target.Stability.UNSTABLE) {
+                reason = Reason.UNSTABLE;
+                break;
+            }
+            if (level.getLatency() > latencyObjective) {
+                reason = Reason.LATENCY;
+                break;
+            }
+            acceptable = level;
+            if (best != null && level.getThroughput() < best.getThroughput() * (1.0 + plateau / 100.0)) {
+                reason = Reason.PLATEAU;
+                if (level.getThroughput() > best.getThroughput())
+                    best = level;
+                break;
+            }
+            best = level;
+            if (threads >= maximumThreads)
+                break;
+            threads = Math.min(maximumThreads, step == Step.DOUBLING ? threads * 2 : threads + increment);
+        }
+        Level saturated = best != null ? best : acceptable;
+        Saturation result = new Saturation(saturated == null ? 0 : saturated.getThreads(),reason,levels);
+        logger.info("Flood ramp concluded: saturation threads={}, reason={}",result.getThreads(),reason);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[threads=%d..%d,iterations=%d,step=%s,plateau=%.1f%%]",minimumThreads,maximumThreads,
+                iterations,step,plateau);
+    }
+
+    /**
+     * Measurements of a single level of concurrency of the ramp.
+     * <p>
+     * This object is immutable.
+     */
+    @Value
+    public static class Level {
+        int threads;
+        double throughput;
+        long latency;
+        @ToString.Exclude
+        FloodStatistics statistics;
+    }
+
+    /**
+     * The outcome of the ramp: the number of {@code flood workers} at which the
+     * {@code resource} saturates, the reason for concluding the ramp, and the
+     * measurements of each level.
+     * <p>
+     * The number of {@code threads} is zero if the first level already breached
+     * the latency objective or destabilised the {@code target}.
+     * <p>
+     * This object is immutable.
+     */
+    @Value
+    public static class Saturation {
+        int threads;
+        Reason reason;
+        List<Level> levels;
+
+        private Saturation(final int threads, final Reason reason, final List<Level> levels) {
+            this.threads = threads;
+            this.reason = reason;
+            this.levels = Collections.unmodifiableList(levels);
+        }
+    }
+
+    /**
+     * The builder class to facilitate the creation of {@link FloodRamp} objects.
+     *
+     * @param <T> Type of value returned from the {@code resource}
+     */
+    public static final class FloodRampBuilder<T> {
+        private final Class<?> clazz;
+        private final Supplier<T> resource;
+        private int minimumThreads;
+        private int maximumThreads;
+        private int iterations;
+        private Step step;
+        private int increment;
+        private double plateau;
+        private long latencyObjective;
+
+        private FloodRampBuilder(final Class<?> clazz, final Supplier<T> resource) {
+            this.clazz = clazz;
+            this.resource = resource;
+            this.minimumThreads = 1;
+            this.maximumThreads = DEFAULT_MAXIMUM_THREADS;
+            this.iterations = Floodgate.DEFAULT_FLOOD_ITERATIONS;
+            this.step = Step.DOUBLING;
+            this.increment = 1;
+            this.plateau = DEFAULT_PLATEAU;
+            this.latencyObjective = NO_LATENCY_OBJECTIVE;
+        }
+
+        /**
+         * @param minimum number of {@code flood workers} of the first level.
+         * @param maximum number of {@code flood workers} of the last level.
+         * @return this {@link FloodRampBuilder}.
+         * @throws IllegalArgumentException if {@code minimum} is less than one or
+         * greater than {@code maximum}.
+         */
+        public FloodRampBuilder<T> withThreads(final int minimum, final int maximum) {
+            if (minimum < 1 || maximum < minimum)
+                throw new IllegalArgumentException("Review flood ramp threads");
+            this.minimumThreads = minimum;
+            this.maximumThreads = maximum;
+            return this;
+        }
+
+        /**
+         * @param iterations number of request repetitions each {@code flood
+         *                   worker} performs at each level.
+         * @return this {@link FloodRampBuilder}.
+         * @throws IllegalArgumentException if {@code iterations} is less than
+         * one.
+         */
+        public FloodRampBuilder<T> withIterations(final int iterations) {
+            if (iterations < 1)
+                throw new IllegalArgumentException("Review flood ramp iterations");
+            this.iterations = iterations;
+            return this;
+        }
+
+        /**
+         * Doubles the number of {@code flood workers} between levels, which is
+         * the default.
+         *
+         * @return this {@link FloodRampBuilder}.
+         */
+        public FloodRampBuilder<T> withDoubling() {
+            this.step = Step.DOUBLING;
+            return this;
+        }
+
+        /**
+         * Increases the number of {@code flood workers} by the {@code increment}
+         * between levels.
+         *
+         * @param increment number of {@code flood workers} to add at each level.
+         * @return this {@link FloodRampBuilder}.
+         * @throws IllegalArgumentException if {@code increment} is less than one.
+         */
+        public FloodRampBuilder<T> withIncrement(final int increment) {
+            if (increment < 1)
+                throw new IllegalArgumentException("Review flood ramp increment");
+            this.step = Step.INCREMENTAL;
+            this.increment = increment;
+            return this;
+        }
+
+        /**
+         * @param percent minimum throughput improvement over the best level so
+         *                far for the ramp to continue.
+         * @return this {@link FloodRampBuilder}.
+         * @throws IllegalArgumentException if {@code percent} is negative.
+         */
+        public FloodRampBuilder<T> withPlateau(final double percent) {
+            if (percent < 0.0 || Double.isNaN(percent))
+                throw new IllegalArgumentException("Review flood ramp plateau");
+            this.plateau = percent;
+            return this;
+        }
+
+        /**
+         * @param latency maximum 99th percentile latency of the {@code resource}.
+         * @param unit unit of the {@code latency}
+         * @return this {@link FloodRampBuilder}.
+         * @throws IllegalArgumentException if {@code latency} is negative.
+         * @throws NullPointerException if {@code unit} is null.
+         */
+        public FloodRampBuilder<T> withLatencyObjective(final long latency, final TimeUnit unit) {
+            TimeUnit u = Objects.requireNonNull(unit);
+            if (latency < 0)
+                throw new IllegalArgumentException("Review flood ramp latency objective");
+            this.latencyObjective = u.toNanos(latency);
+            return this;
+        }
+
+        /**
+         * @return a {@link FloodRamp} object with the configured parameters.
+         */
+        public FloodRamp<T> build() {
+            return new FloodRamp<>(this);
+        }
+    }
+
+    /**
+     * Factory method supplying a {@code builder} object with which to construct
+     * a {@link FloodRamp} object.
+     *
+     * @param clazz {@code class} type of {@code target} subjected to tests.
+     * @param resource the actual resource of the {@code target}, expected type
+     *                 is {@link Supplier}
+     * @param <T> Type of value returned from the {@code resource}
+     * @return FloodRampBuilder object.
+     * @throws NullPointerException if {@code clazz} or {@code resource} is null.
+     */
+    public static <T> FloodRampBuilder<T> builder(final Class<?> clazz, final Supplier<T> resource) {
+        return new FloodRampBuilder<>(Objects.requireNonNull(clazz),Objects.requireNonNull(resource));
+    }
+
+    /**
+     * Factory method supplying a {@code builder} object with which to construct
+     * a {@link FloodRamp} object.
+     *
+     * @param clazz {@code class} type of {@code target} subjected to tests.
+     * @param resource the actual resource of the {@code target}, expected type
+     *                 is {@link Runnable}
+     * @return FloodRampBuilder object.
+     * @throws NullPointerException if {@code clazz} or {@code resource} is null.
+     */
+    public static FloodRampBuilder<Void> builder(final Class<?> clazz, final Runnable resource) {
+        Runnable r = Objects.requireNonNull(resource);
+        return builder(clazz,() -> {r.run(); return null;});
+    }
+}
@@ -0,0 +1,416 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import lombok.Getter;
+import org.javalaboratories.core.concurrency.utils.ResourceFloodStability.Target;
+
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Compares a {@code flood} run against a baseline run, and reports whether any
+ * of the {@code targets} have regressed.
+ * <p>
+ * Both runs are expected to be in the format written by the
+ * {@link CsvFloodStatisticsExporter}, although the current run may also be
+ * supplied as {@link FloodStatistics} objects straight from a {@link Floodgate}
+ * or {@link Torrent}. A {@code target} regresses if any of the following
+ * thresholds are breached:
+ * <ol>
+ *     <li>The 99th percentile latency increases by more than the allowed
+ *     percentage</li>
+ *     <li>The throughput decreases by more than the allowed percentage</li>
+ *     <li>The {@code resource} raises exception types that are absent in the
+ *     baseline, or the {@code target} becomes {@code UNSTABLE} -- this check
+ *     may be disabled</li>
+ * </ol>
+ * A baseline {@code target} absent from the current run is also regarded as a
+ * regression, lest a {@code target} that no longer floods passes unnoticed --
+ * this check may be disabled too.
+ * {@code Target} names contain a sequence number that differs from one run to
+ * another, and so {@code targets} are matched by class name and {@code tag},
+ * and by order of appearance should there be several {@code targets} with the
+ * same class name and {@code tag}. Use {@code tags} to avoid ambiguity.
+ * <pre>
+ *     {@code
+ *          FloodRegressionGate gate = FloodRegressionGate.builder()
+ *              .withLatencyIncrease(15.0)
+ *              .withThroughputDecrease(10.0)
+ *              .build();
+ *
+ *          FloodVerdict verdict = gate.compare(Paths.get("baseline.csv"), Paths.get("current.csv"));
+ *          assertFalse(verdict.isRegressed(), () -> String.join("\n", verdict.getRegressions()));
+ *     }
+ * </pre>
+ * This object is immutable.
+ *
+ * @see CsvFloodStatisticsExporter
+ * @see FloodVerdict
+ */
+@Getter
+public final class FloodRegressionGate {
+
+    /**
+     * Default allowed increase of the 99th percentile latency, in percent.
+     */
+    public static final double DEFAULT_LATENCY_INCREASE = 10.0;
+
+    /**
+     * Default allowed decrease of the throughput, in percent.
+     */
+    public static final double DEFAULT_THROUGHPUT_DECREASE = 10.0;
+
+    private static final String TARGET_COLUMN = "target";
+    private static final String STABILITY_COLUMN = "stability";
+    private static final String THROUGHPUT_COLUMN = "throughput";
+    private static final String LATENCY_COLUMN = "latency_p99";
+    private static final String ERROR_TYPES_COLUMN = "error_types";
+
+    private final double latencyIncrease;
+    private final double throughputDecrease;
+    private final boolean newExceptions;
+    private final boolean absentTargets;
+
+    private FloodRegressionGate(final double latencyIncrease, final double throughputDecrease,
+                                final boolean newExceptions, final boolean absentTargets) {
+        this.latencyIncrease = latencyIncrease;
+        this.throughputDecrease = throughputDecrease;
+        this.newExceptions = newExceptions;
+        this.absentTargets = absentTargets;
+    }
+
+    /**
+     * Compares the {@code current} run against the {@code baseline} run, both
+     * files written by the {@link CsvFloodStatisticsExporter}.
+     *
+     * @param baseline path of the baseline file.
+     * @param current path of the current file.
+     * @return the verdict of the comparison.
+     * @throws IOException if either file cannot be read.
+     * @throws IllegalArgumentException if either file is malformed.
+     */
+    public FloodVerdict compare(final Path baseline, final Path current) throws IOException {
+        try (Reader b = Files.newBufferedReader(Objects.requireNonNull(baseline), StandardCharsets.UTF_8);
+             Reader c = Files.newBufferedReader(Objects.requireNonNull(current), StandardCharsets.UTF_8)) {
+            return compare(b,c);
+        }
+    }
+
+    /**
+     * Compares the {@code current} run against the {@code baseline} run, both
+     * in the format written by the {@link CsvFloodStatisticsExporter}.
+     *
+     * @param baseline reader of the baseline run.
+     * @param current reader of the current run.
+     * @return the verdict of the comparison.
+     * @throws IOException if either reader fails.
+     * @throws IllegalArgumentException if either run is malformed.
+     */
+    public FloodVerdict compare(final Reader baseline, final Reader current) throws IOException {
+        return compare(read(Objects.requireNonNull(baseline)),read(Objects.requireNonNull(current)));
+    }
+
+    /**
+     * Compares the {@code current} run, supplied as {@link FloodStatistics}
+     * objects, against the {@code baseline} run in the format written by the
+     * {@link CsvFloodStatisticsExporter}.
+     *
+     * @param baseline reader of the baseline run.
+     * @param current statistics of the current run.
+     * @return the verdict of the comparison.
+     * @throws IOException if the reader fails.
+     * @throws IllegalArgumentException if the baseline is malformed.
+     */
+    public FloodVerdict compare(final Reader baseline, final Collection<FloodStatistics> current) throws IOException {
+        List<Summary> summaries = Objects.requireNonNull(current).stream()
+                .map(Summary::new)
+                .collect(Collectors.toList());
+        return compare(read(Objects.requireNonNull(baseline)),summaries);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[latency-increase=%.1f%%,throughput-decrease=%.1f%%,new-exceptions=%s," +
+                "absent-targets=%s]",latencyIncrease,throughputDecrease,newExceptions,absentTargets);
+    }
+
+    private FloodVerdict compare(final List<Summary> baseline, final List<Summary> current) {
+        List<String> regressions = new ArrayList<>();
+        List<String> details = new ArrayList<>();
+        Map<String,Summary> baselines = index(baseline);
+        Map<String,Summary> currents = index(current);
+        currents.forEach((key, c) -> {
+            Summary b = baselines.get(key);
+            if (b == null) {
+                details.add(String.format("%s: no baseline -- not compared",c.getTargetName()));
+                return;
+            }
+            double latencyChange = change(b.getLatency(),c.getLatency());
+            double throughputChange = change(b.getThroughput(),c.getThroughput());
+            details.add(String.format(Locale.ROOT,"%s: p99 latency %.0f -> %.0f ns (%+.1f%%), throughput %.2f -> " +
+                    "%.2f/s (%+.1f%%), stability %s -> %s",c.getTargetName(),b.getLatency(),c.getLatency(),
+                    latencyChange,b.getThroughput(),c.getThroughput(),throughputChange,b.getStability(),
+                    c.getStability()));
+            if (latencyChange > latencyIncrease)
+                regressions.add(String.format(Locale.ROOT,"%s: p99 latency increased by %.1f%%, allowed %.1f%%",
+                        c.getTargetName(),latencyChange,latencyIncrease));
+            if (-throughputChange > throughputDecrease)
+                regressions.add(String.format(Locale.ROOT,"%s: throughput decreased by %.1f%%, allowed %.1f%%",
+                        c.getTargetName(),-throughputChange,throughputDecrease));
+            if (newExceptions) {
+                Set<String> types = new TreeSet<>(c.getErrorTypes());
+                types.removeAll(b.getErrorTypes());
+                if (!types.isEmpty())
+                    regressions.add(String.format("%s: new exceptions raised %s",c.getTargetName(),types));
+                if (b.getStability() == Target.Stability.STABLE && c.getStability() == Target.Stability.UNSTABLE)
+                    regressions.add(String.format("%s: target became unstable",c.getTargetName()));
+            }
+        });
+        baselines.keySet().stream()
+            .filter(key -> !currents.containsKey(key))
+            .map(key -> baselines.get(key).getTargetName())
+            .forEach(name -> {
+                if (absentTargets)
+                    regressions.add(String.format("%s: absent from current run",name));
+                else
+                    details.add(String.format("%s: absent from current run -- not compared",name));
+            });
+        return new FloodVerdict(regressions,details);
+    }
+
+    private static double change(final double baseline, final double current) {
+        return baseline > 0.0 ? ((current - baseline) / baseline) * 100.0 : 0.0;
+    }
+
+    private static Map<String,Summary> index(final List<Summary> summaries) {
+        Map<String,Summary> result = new LinkedHashMap<>();
+        Map<String,Integer> occurrences = new HashMap<>();
+        summaries.forEach(s -> {
+            String key = key(s.getTargetName());
+            int occurrence = occurrences.merge(key,1,Integer::sum);
+            result.put(key + "#" + occurrence,s);
+        });
+        return result;
+    }
+
+    private static String key(final String targetName) {
+        return FloodStatistics.targetKey(targetName);
+    }
+
+    private static List<Summary> read(final Reader reader) throws IOException {
+        List<List<String>> records = parse(reader);
+        if (records.isEmpty())
+            throw new IllegalArgumentException("Flood statistics header missing");
+        List<String> header = records.get(0);
+        int target = column(header,TARGET_COLUMN);
+        int stability = column(header,STABILITY_COLUMN);
+        int throughput = column(header,THROUGHPUT_COLUMN);
+        int latency = column(header,LATENCY_COLUMN);
+        int errorTypes = column(header,ERROR_TYPES_COLUMN);
+        List<Summary> result = new ArrayList<>();
+        for (List<String> record : records.subList(1,records.size())) {
+            if (record.size() != header.size())
+                throw new IllegalArgumentException(String.format("Malformed flood statistics record: %s",record));
+            try {
+                String types = record.get(errorTypes);
+                result.add(new Summary(record.get(target),Target.Stability.valueOf(record.get(stability)),
+                        Double.parseDouble(record.get(throughput)),Double.parseDouble(record.get(latency)),
+                        types.isEmpty() ? Collections.emptySet() : new HashSet<>(Arrays.asList(types.split(
+                        Pattern.quote(CsvFloodStatisticsExporter.ERROR_TYPE_SEPARATOR))))));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format("Malformed flood statistics record: %s",record),e);
+            }
+        }
+        return result;
+    }
+
+    private static int column(final List<String> header, final String name) {
+        int result = header.indexOf(name);
+        if (result < 0)
+            throw new IllegalArgumentException(String.format("Flood statistics column missing: %s",name));
+        return result;
+    }
+
+    private static List<List<String>> parse(final Reader source) throws IOException {
+        PushbackReader reader = new PushbackReader(source);
+        List<List<String>> result = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean pending = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            char ch = (char) c;
+            if (quoted) {
+                if (ch == '"') {
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) reader.unread(next);
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+                pending = true;
+            } else if (ch == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+                pending = true;
+            } else if (ch == '\n' || ch == '\r') {
+                if (pending || field.length() > 0) {
+                    record.add(field.toString());
+                    result.add(record);
+                    record = new ArrayList<>();
+                    field.setLength(0);
+                    pending = false;
+                }
+            } else {
+                field.append(ch);
+                pending = true;
+            }
+        }
+        if (pending || field.length() > 0) {
+            record.add(field.toString());
+            result.add(record);
+        }
+        return result;
+    }
+
+    /**
+     * Summary of a {@code target} from either run, sufficient for comparison.
+     */
+    @Getter
+    private static final class Summary {
+        private final String targetName;
+        private final Target.Stability stability;
+        private final double throughput;
+        private final double latency;
+        private final Set<String> errorTypes;
+
+        private Summary(final String targetName, final Target.Stability stability, final double throughput,
+                        final double latency, final Set<String> errorTypes) {
+            this.targetName = targetName;
+            this.stability = stability;
+            this.throughput = throughput;
+            this.latency = latency;
+            this.errorTypes = errorTypes;
+        }
+
+        private Summary(final FloodStatistics statistics) {
+            this(statistics.getTargetName(),statistics.getStability(),statistics.getThroughput(),
+                    statistics.getLatencies().getValueAtPercentile(99.0),statistics.getErrors().stream()
+                        .map(FloodError::getType)
+                        .collect(Collectors.toSet()));
+        }
+    }
+
+    /**
+     * The builder class to facilitate the creation of {@link FloodRegressionGate}
+     * objects.
+     */
+    public static final class FloodRegressionGateBuilder {
+        private double latencyIncrease;
+        private double throughputDecrease;
+        private boolean newExceptions;
+        private boolean absentTargets;
+
+        private FloodRegressionGateBuilder() {
+            latencyIncrease = DEFAULT_LATENCY_INCREASE;
+            throughputDecrease = DEFAULT_THROUGHPUT_DECREASE;
+            newExceptions = true;
+            absentTargets = true;
+        }
+
+        /**
+         * @param percent allowed increase of the 99th percentile latency.
+         * @return this {@link FloodRegressionGateBuilder}.
+         * @throws IllegalArgumentException if {@code percent} is negative.
+         */
+        public FloodRegressionGateBuilder withLatencyIncrease(final double percent) {
+            latencyIncrease = requirePercent(percent);
+            return this;
+        }
+
+        /**
+         * @param percent allowed decrease of the throughput.
+         * @return this {@link FloodRegressionGateBuilder}.
+         * @throws IllegalArgumentException if {@code percent} is negative.
+         */
+        public FloodRegressionGateBuilder withThroughputDecrease(final double percent) {
+            throughputDecrease = requirePercent(percent);
+            return this;
+        }
+
+        /**
+         * @param fail {@code true} to regard new exception types and unstable
+         *             {@code targets} as regressions, which is the default.
+         * @return this {@link FloodRegressionGateBuilder}.
+         */
+        public FloodRegressionGateBuilder withNewExceptions(final boolean fail) {
+            newExceptions = fail;
+            return this;
+        }
+
+        /**
+         * @param fail {@code true} to regard baseline {@code targets} absent
+         *             from the current run as regressions, which is the default.
+         * @return this {@link FloodRegressionGateBuilder}.
+         */
+        public FloodRegressionGateBuilder withAbsentTargets(final boolean fail) {
+            absentTargets = fail;
+            return this;
+        }
+
+        /**
+         * @return a {@link FloodRegressionGate} with the configured thresholds.
+         */
+        public FloodRegressionGate build() {
+            return new FloodRegressionGate(latencyIncrease,throughputDecrease,newExceptions,absentTargets);
+        }
+
+        private static double requirePercent(final double percent) {
+            if (percent < 0.0 || Double.isNaN(percent))
+                throw new IllegalArgumentException(String.format("Review threshold: (%f)",percent));
+            return percent;
+        }
+    }
+
+    /**
+     * Factory method supplying a {@code builder} object with which to construct
+     * a {@link FloodRegressionGate} object.
+     * <p>
+     * The thresholds default to {@link FloodRegressionGate#DEFAULT_LATENCY_INCREASE}
+     * and {@link FloodRegressionGate#DEFAULT_THROUGHPUT_DECREASE}, and new
+     * exceptions and absent {@code targets} are regarded as regressions.
+     *
+     * @return FloodRegressionGateBuilder object.
+     */
+    public static FloodRegressionGateBuilder builder() {
+        return new FloodRegressionGateBuilder();
+    }
+}
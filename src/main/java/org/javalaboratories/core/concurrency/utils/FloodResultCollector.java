@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * A {@code sink} that aggregates the values returned from a {@code resource}
+ * with a {@link Collector}, as the values are returned.
+ * <p>
+ * Every {@code flood worker} accumulates values into its own container, and so
+ * there is no contention between workers and no need for the {@link Collector}
+ * to be concurrent. The containers are combined and finished when the
+ * {@link FloodResultCollector#getResult()} is called, which must be after the
+ * {@code flood}. For example, to sum the values returned from the
+ * {@code resource} without retaining all values:
+ * <pre>
+ *     {@code
+ *          FloodResultCollector<Integer,?,Long> total = new FloodResultCollector<>(Collectors.summingLong(i -> i));
+ *          Floodgate<Integer> floodgate = new Floodgate<>(Statistics.class, 5, 1000, () -> safe.add(10), total);
+ *          floodgate.open();
+ *          floodgate.flood();
+ *
+ *          long result = total.getResult();
+ *     }
+ * </pre>
+ * To discard values altogether, simply provide a {@code sink} that does
+ * nothing.
+ *
+ * @param <T> Type of value returned from the {@code resource}
+ * @param <A> Type of mutable accumulation container of the {@link Collector}
+ * @param <R> Type of result of the {@link Collector}
+ * @see Floodgate
+ * @see AbstractConcurrentResourceFloodStability
+ */
+public final class FloodResultCollector<T,A,R> implements Consumer<T> {
+
+    private final Supplier<A> supplier;
+    private final BiConsumer<A,? super T> accumulator;
+    private final BinaryOperator<A> combiner;
+    private final Collector<? super T,A,R> collector;
+    private final Map<Thread,A> containers;
+
+    /**
+     * Constructs an instance of this {@link FloodResultCollector}.
+     *
+     * @param collector the {@link Collector} with which to aggregate values.
+     * @throws NullPointerException if {@code collector} is null.
+     */
+    public FloodResultCollector(final Collector<? super T,A,R> collector) {
+        this.collector = Objects.requireNonNull(collector);
+        this.supplier = collector.supplier();
+        this.accumulator = collector.accumulator();
+        this.combiner = collector.combiner();
+        this.containers = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Accumulates the {@code value} into the container of the current
+     * {@code flood worker}.
+     *
+     * @param value value returned from the {@code resource}
+     */
+    @Override
+    public void accept(final T value) {
+        A container = containers.computeIfAbsent(Thread.currentThread(),t -> supplier.get());
+        accumulator.accept(container,value);
+    }
+
+    /**
+     * Combines the containers of all {@code flood workers} and returns the
+     * result of the {@link Collector}.
+     * <p>
+     * Call this method post-flood: values accumulated by {@code flood workers}
+     * that are still active are not guaranteed to be visible. The containers
+     * are combined into a new container, and so they are left intact and this
+     * method may be called repeatedly.
+     *
+     * @return the aggregated result.
+     */
+    public R getResult() {
+        A result = containers.values().stream()
+                .reduce(supplier.get(),combiner::apply,combiner::apply);
+        return collector.finisher().apply(result);
+    }
+}
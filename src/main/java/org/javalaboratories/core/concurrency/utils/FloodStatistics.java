@@ -0,0 +1,183 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import lombok.ToString;
+import lombok.Value;
+import org.javalaboratories.core.concurrency.utils.ResourceFloodStability.Target;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.javalaboratories.core.concurrency.utils.FloodWorkerStatistics.UNSUPPORTED;
+
+/**
+ * Represents the outcome of a {@code flood} from the perspective of the Java
+ * Virtual Machine resources consumed by the {@link ResourceFloodStability.Target}.
+ * <p>
+ * Each {@code flood worker} reports its iterations, CPU time and allocated bytes
+ * in a {@link FloodWorkerStatistics} object, along with the latencies of its
+ * requests and a sample of any exception raised by the {@code resource}. The
+ * latencies of all workers are merged into a single {@link FloodHistogram}
+ * for the {@code target}. The garbage collection metrics
+ * are JVM wide, being the difference of all {@code garbage collectors} counts
+ * and times before and after the {@code flood}. Use these metrics to determine
+ * whether a slowdown experienced during the {@code flood} is the result of
+ * garbage collection activity rather than the {@code resource} itself.
+ * <p>
+ * This object is immutable.
+ *
+ * @see Floodgate
+ * @see Torrent
+ * @see FloodWorkerStatistics
+ */
+@Value
+public class FloodStatistics {
+    private static final Pattern TARGET_NAME = Pattern.compile("^\\{(.+)-\\d+}(.*)$");
+
+    String targetName;
+    Target.Stability stability;
+    long elapsedNanos;
+    long garbageCollections;
+    long garbageCollectionMillis;
+    List<FloodWorkerStatistics> workers;
+    @ToString.Exclude
+    FloodHistogram latencies;
+
+    /**
+     * Constructs an instance of this {@link FloodStatistics} object.
+     *
+     * @param targetName name of the {@code target} flooded.
+     * @param stability stability of the {@code target} post-flood.
+     * @param elapsedNanos overall duration of the {@code flood}
+     * @param garbageCollections number of garbage collections during the
+     *                           {@code flood}
+     * @param garbageCollectionMillis accumulated garbage collection time during
+     *                                the {@code flood}
+     * @param workers statistics of each {@code flood worker}
+     */
+    public FloodStatistics(final String targetName, final Target.Stability stability, final long elapsedNanos,
+                           final long garbageCollections, final long garbageCollectionMillis,
+                           final List<FloodWorkerStatistics> workers) {
+        this.targetName = targetName;
+        this.stability = stability;
+        this.elapsedNanos = elapsedNanos;
+        this.garbageCollections = garbageCollections;
+        this.garbageCollectionMillis = garbageCollectionMillis;
+        this.workers = Collections.unmodifiableList(workers);
+        this.latencies = new FloodHistogram();
+        workers.forEach(w -> latencies.add(w.getLatencies()));
+    }
+
+    /**
+     * Returns the latencies of all {@code flood workers} merged into a single
+     * histogram.
+     * <p>
+     * The histogram is mutable, and so a copy is returned.
+     *
+     * @return latencies of all requests in nanoseconds.
+     */
+    public FloodHistogram getLatencies() {
+        return latencies.copy();
+    }
+
+    /**
+     * @return samples of exceptions raised by the {@code resource}, one for
+     * each {@code flood worker} that encountered an exception.
+     */
+    public List<FloodError> getErrors() {
+        return workers.stream()
+                .filter(FloodWorkerStatistics::hasError)
+                .map(FloodWorkerStatistics::getError)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return {@code true} if at least one {@code flood worker} concluded its
+     * work before completing all of its iterations, in which case the
+     * statistics represent a partial {@code flood}.
+     */
+    public boolean isPartial() {
+        return workers.stream()
+                .anyMatch(w -> !w.isCompleted());
+    }
+
+    /**
+     * @return total number of iterations completed by all {@code flood workers}
+     */
+    public long getIterations() {
+        return workers.stream()
+                .mapToLong(FloodWorkerStatistics::getIterations)
+                .sum();
+    }
+
+    /**
+     * @return total bytes allocated by all {@code flood workers}, or
+     * {@link FloodWorkerStatistics#UNSUPPORTED} if not measurable.
+     */
+    public long getAllocatedBytes() {
+        return sum(FloodWorkerStatistics::getAllocatedBytes);
+    }
+
+    /**
+     * @return total CPU time consumed by all {@code flood workers}, or
+     * {@link FloodWorkerStatistics#UNSUPPORTED} if not measurable.
+     */
+    public long getCpuTimeNanos() {
+        return sum(FloodWorkerStatistics::getCpuTimeNanos);
+    }
+
+    /**
+     * Returns the number of completed iterations per second across all
+     * {@code flood workers}.
+     *
+     * @return throughput of the {@code resource} under test.
+     */
+    public double getThroughput() {
+        return elapsedNanos > 0 ? getIterations() / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1)) : 0.0;
+    }
+
+    /**
+     * Returns the name of the {@code target} without its sequence number, so
+     * that {@code targets} can be matched between {@code flood} runs or Java
+     * Virtual Machines.
+     *
+     * @param targetName name of the {@code target}, for example
+     *                   {@code {UnsafeStatistics-001}-(add)}
+     * @return the {@code target} name without sequence number, for example
+     * {@code UnsafeStatistics-(add)}
+     */
+    static String targetKey(final String targetName) {
+        Matcher matcher = TARGET_NAME.matcher(targetName);
+        return matcher.matches() ? matcher.group(1) + matcher.group(2) : targetName;
+    }
+
+    private long sum(final ToLongFunction<FloodWorkerStatistics> metric) {
+        long result = 0L;
+        for (FloodWorkerStatistics worker : workers) {
+            long value = metric.applyAsLong(worker);
+            if (value == UNSUPPORTED)
+                return UNSUPPORTED;
+            result = result + value;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Implementors of this interface write {@link FloodStatistics} objects to a
+ * file or stream in a machine-readable format.
+ * <p>
+ * Exporters write each {@link FloodStatistics} as it is exported rather than
+ * accumulating them, and so a single exporter may be used throughout a long
+ * series of {@code floods} without retaining the results in memory. Closing
+ * the exporter completes the document and closes the underlying stream.
+ * <pre>
+ *     {@code
+ *          try (FloodStatisticsExporter exporter = new JsonFloodStatisticsExporter(
+ *                  Files.newBufferedWriter(Paths.get("flood.json")))) {
+ *              floodgate.open();
+ *              floodgate.flood();
+ *              exporter.export(floodgate.getFloodStatistics());
+ *          }
+ *     }
+ * </pre>
+ *
+ * @see JsonFloodStatisticsExporter
+ * @see CsvFloodStatisticsExporter
+ * @see HistogramFloodStatisticsExporter
+ */
+public interface FloodStatisticsExporter extends Closeable {
+
+    /**
+     * Writes the {@code statistics} of a single {@code target} to the
+     * underlying stream.
+     *
+     * @param statistics statistics to export.
+     * @throws IOException if the underlying stream cannot be written to.
+     * @throws NullPointerException if {@code statistics} is null.
+     * @throws IllegalStateException if this exporter is closed.
+     */
+    void export(FloodStatistics statistics) throws IOException;
+
+    /**
+     * Writes the {@code statistics} of several {@code targets} to the
+     * underlying stream, for example those of a {@link Torrent} object.
+     *
+     * @param statistics collection of statistics to export.
+     * @throws IOException if the underlying stream cannot be written to.
+     * @throws NullPointerException if {@code statistics} is null.
+     * @throws IllegalStateException if this exporter is closed.
+     */
+    default void export(Collection<FloodStatistics> statistics) throws IOException {
+        for (FloodStatistics s : Objects.requireNonNull(statistics))
+            export(s);
+    }
+}
@@ -21,6 +21,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -62,10 +63,26 @@ public class FloodThreadPoolExecutor extends ThreadPoolExecutor implements Flood
     private static final ThreadGroup FLOODGATE_GROUP = new ThreadGroup(FLOODGATE_GROUP_NAME);
     private static final AtomicInteger threadIndex = new AtomicInteger(0);
     private final static AtomicInteger roundRobinPriority = new AtomicInteger(0);
+    private static final long INTERRUPT_GRACE_SECONDS = 1;
 
     private Target target;
     protected List<Future<?>> futures;
 
+    /**
+     * Creates an instance of this thread pool that may be shared by several
+     * {@code floods}.
+     * <p>
+     * The pool is not associated with a particular {@code target}. Call the
+     * {@link FloodThreadPoolExecutor#prestartAllCoreThreads()} method to create
+     * the {@link FloodWorker} threads in advance of the {@code floods}.
+     *
+     * @param threads the number {@link FloodWorker} threads required in core pool.
+     * @see Floodgate#Floodgate(Class, int, int, java.util.function.Supplier, FloodExecutorService)
+     */
+    public FloodThreadPoolExecutor(final int threads) {
+        this(Target.getIndeterminateTarget(),threads);
+    }
+
     /**
      * Creates an instance of this thread pool.
      *
@@ -88,7 +105,8 @@ public class FloodThreadPoolExecutor extends ThreadPoolExecutor implements Flood
     public FloodThreadPoolExecutor(final Target target, final int corePoolSize, int maximumPoolSize) {
         super(corePoolSize,maximumPoolSize,0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
                 FloodThreadPoolExecutor::newFloodWorkerThread);
-        futures = new ArrayList<>();
+        // Guarded, as the pool may be shared by the floods of several floodgates
+        futures = Collections.synchronizedList(new ArrayList<>());
         this.target = target;
     }
 
@@ -142,6 +160,7 @@ public class FloodThreadPoolExecutor extends ThreadPoolExecutor implements Flood
 
     public <T> Future<T> submit(Callable<T> callable) {
         RunnableFuture<T> ftask = newTaskFor(callable);
+        futures.removeIf(Future::isDone);
         futures.add(ftask);
         execute(ftask);
         return ftask;
@@ -155,6 +174,11 @@ public class FloodThreadPoolExecutor extends ThreadPoolExecutor implements Flood
      * unfinished {@link FloodWorker} to conclude its task. It is recommended to use
      * the {@link FloodExecutorService#close} and allow the pool to take the
      * appropriate action.
+     * <p>
+     * Without {@code force}, workers still active after the
+     * {@link FloodExecutorService#SHUTDOWN_TIMEOUT_SECONDS} are interrupted, and
+     * given a brief grace period to conclude with their partial results before
+     * their tasks are cancelled.
      *
      * @param force {@code true} to instruct {@link FloodWorker} objects to stop
      *              working; {@code false} to wait for natural termination, if
@@ -172,6 +196,7 @@ public class FloodThreadPoolExecutor extends ThreadPoolExecutor implements Flood
                     shutdownNow();
                     logger.error(target.getName()+": Flood workers still active, but SHUTDOWN_TIMEOUT {} seconds exceeded -- " +
                             "forcing shutdown",SHUTDOWN_TIMEOUT_SECONDS);
+                    awaitTermination(INTERRUPT_GRACE_SECONDS, TimeUnit.SECONDS);
                     futures.forEach(cancel);
                 }
             } else {
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import lombok.Value;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of comparing a {@code flood} run against a baseline run with the
+ * {@link FloodRegressionGate}.
+ * <p>
+ * The {@code details} describe the comparison of every {@code target}, whereas
+ * the {@code regressions} only describe those comparisons that breached the
+ * thresholds of the {@link FloodRegressionGate}. If there are any
+ * {@code regressions}, the outcome is {@link Outcome#REGRESSED}.
+ * <p>
+ * This object is immutable.
+ *
+ * @see FloodRegressionGate
+ */
+@Value
+public class FloodVerdict {
+
+    public enum Outcome {PASSED,REGRESSED}
+
+    Outcome outcome;
+    List<String> regressions;
+    List<String> details;
+
+    /**
+     * Constructs an instance of this {@link FloodVerdict}.
+     *
+     * @param regressions descriptions of the thresholds breached.
+     * @param details descriptions of the comparison of each {@code target}.
+     */
+    FloodVerdict(final List<String> regressions, final List<String> details) {
+        this.outcome = regressions.isEmpty() ? Outcome.PASSED : Outcome.REGRESSED;
+        this.regressions = Collections.unmodifiableList(regressions);
+        this.details = Collections.unmodifiableList(details);
+    }
+
+    /**
+     * @return {@code true} if any of the {@code targets} regressed.
+     */
+    public boolean isRegressed() {
+        return outcome == Outcome.REGRESSED;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.Value;
+
+/**
+ * Represents the resource consumption of a single {@code flood worker} for the
+ * duration of its {@code flood}.
+ * <p>
+ * The {@code flood worker} samples its own thread metrics before and after
+ * sending its requests to the {@code resource}, and so the time the worker
+ * spends waiting for {@link FloodMarshal} authorisation is excluded. The
+ * latency of every request is recorded in a {@link FloodHistogram}, and if the
+ * {@code resource} raises an exception, a {@link FloodError} sample is
+ * retained. Metrics that are not supported by the Java Virtual Machine are
+ * reported as {@link FloodWorkerStatistics#UNSUPPORTED}.
+ * <p>
+ * A {@code flood worker} may conclude its work before completing all of its
+ * iterations, for example when it is interrupted or its {@code flood} is
+ * stopped, in which case the {@link FloodWorkerStatistics#getIterations()}
+ * represents the iterations completed so far and the {@link Conclusion}
+ * describes why the worker concluded early.
+ * <p>
+ * This object is immutable.
+ *
+ * @see FloodStatistics
+ */
+@Value
+public class FloodWorkerStatistics {
+
+    /**
+     * Value of a metric that the Java Virtual Machine is unable to measure.
+     */
+    public static final long UNSUPPORTED = -1L;
+
+    /**
+     * Describes how a {@code flood worker} concluded its work.
+     */
+    public enum Conclusion {
+        /**
+         * All iterations completed.
+         */
+        COMPLETED,
+        /**
+         * The {@code resource} raised an exception.
+         */
+        FAILED,
+        /**
+         * The worker thread was interrupted, for example by a forced shutdown.
+         */
+        INTERRUPTED,
+        /**
+         * The {@code flood} timeout elapsed before all iterations completed,
+         * regardless of whether the {@code flood} was subsequently stopped.
+         */
+        EXPIRED,
+        /**
+         * The {@code flood} was stopped before all iterations completed.
+         */
+        STOPPED
+    }
+
+    String workerName;
+    int iterations;
+    long elapsedNanos;
+    long cpuTimeNanos;
+    long allocatedBytes;
+    @ToString.Exclude
+    @Getter(AccessLevel.NONE)
+    FloodHistogram latencies;
+    FloodError error;
+    Conclusion conclusion;
+
+    /**
+     * Returns the latencies of the requests of this {@code flood worker}.
+     * <p>
+     * The histogram is mutable, and so a copy is returned.
+     *
+     * @return latencies of all requests in nanoseconds.
+     */
+    public FloodHistogram getLatencies() {
+        return latencies.copy();
+    }
+
+    /**
+     * @return {@code true} if the {@code resource} raised an exception whilst
+     * this {@code flood worker} was flooding it.
+     */
+    public boolean hasError() {
+        return error != null;
+    }
+
+    /**
+     * @return {@code true} if this {@code flood worker} completed all of its
+     * iterations.
+     */
+    public boolean isCompleted() {
+        return conclusion == Conclusion.COMPLETED;
+    }
+}
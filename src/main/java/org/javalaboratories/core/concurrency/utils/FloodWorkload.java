@@ -0,0 +1,183 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * A weighted set of operations with which to flood a {@code target}, for
+ * example a cache that experiences 80% reads, 15% writes and 5% evictions.
+ * <p>
+ * For every invocation, the {@code flood worker} chooses one of the operations
+ * at random in proportion to its weight. Weights are relative to each other
+ * and are not required to total 100. The random number generator is the
+ * {@link ThreadLocalRandom}, and so choosing an operation does not introduce
+ * contention between {@code flood workers}.
+ * <pre>
+ *     {@code
+ *          FloodWorkload workload = FloodWorkload.builder()
+ *              .withOperation("read",80,() -> cache.get(key()))
+ *              .withOperation("write",15,() -> cache.put(key(),value()))
+ *              .withOperation("evict",5,() -> cache.evict(key()))
+ *              .build();
+ *
+ *          WorkloadFloodgate floodgate = new WorkloadFloodgate(Cache.class,5,1000,workload);
+ *     }
+ * </pre>
+ * This object is immutable.
+ *
+ * @see WorkloadFloodgate
+ */
+@Getter
+public final class FloodWorkload {
+
+    private final List<Operation> operations;
+    @Getter(AccessLevel.NONE)
+    private final int[] cumulativeWeights;
+
+    /**
+     * A named and weighted operation of the {@link FloodWorkload}.
+     */
+    @Value
+    public static class Operation {
+        String name;
+        int weight;
+        @ToString.Exclude
+        Supplier<?> resource;
+    }
+
+    private FloodWorkload(final List<Operation> operations) {
+        this.operations = Collections.unmodifiableList(operations);
+        this.cumulativeWeights = new int[operations.size()];
+        int total = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            total = Math.addExact(total,operations.get(i).getWeight());
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * @return sum of the weights of all operations.
+     */
+    public int getTotalWeight() {
+        return cumulativeWeights[cumulativeWeights.length - 1];
+    }
+
+    /**
+     * @return number of operations in this workload.
+     */
+    public int size() {
+        return operations.size();
+    }
+
+    /**
+     * Chooses the index of an operation at random in proportion to its weight.
+     *
+     * @return index of the chosen operation.
+     */
+    int choose() {
+        int value = ThreadLocalRandom.current().nextInt(getTotalWeight());
+        int result = Arrays.binarySearch(cumulativeWeights,value + 1);
+        return result >= 0 ? result : -result - 1;
+    }
+
+    /**
+     * Factory method supplying a {@code builder} object with which to construct
+     * a {@link FloodWorkload} object.
+     *
+     * @return a new {@link FloodWorkloadBuilder} object.
+     */
+    public static FloodWorkloadBuilder builder() {
+        return new FloodWorkloadBuilder();
+    }
+
+    /**
+     * The builder class to facilitate the creation of {@link FloodWorkload}
+     * objects.
+     */
+    public static final class FloodWorkloadBuilder {
+        private final List<Operation> operations;
+
+        private FloodWorkloadBuilder() {
+            operations = new ArrayList<>();
+        }
+
+        /**
+         * Adds an operation that does not return a value to the workload.
+         *
+         * @param name unique name of the operation for reporting purposes.
+         * @param weight relative weight of the operation.
+         * @param resource the operation of the {@code target} to flood.
+         * @return this {@link FloodWorkloadBuilder}.
+         * @throws IllegalArgumentException if the {@code weight} is not
+         * positive, or the {@code name} is not unique.
+         * @throws NullPointerException if {@code name} or {@code resource} is
+         * null.
+         */
+        public FloodWorkloadBuilder withOperation(final String name, final int weight, final Runnable resource) {
+            Objects.requireNonNull(resource,"No resource");
+            return withOperation(name,weight,() -> {resource.run(); return null;});
+        }
+
+        /**
+         * Adds an operation that returns a value to the workload.
+         *
+         * @param name unique name of the operation for reporting purposes.
+         * @param weight relative weight of the operation.
+         * @param resource the operation of the {@code target} to flood.
+         * @param <U> Type of value returned from the {@code resource}.
+         * @return this {@link FloodWorkloadBuilder}.
+         * @throws IllegalArgumentException if the {@code weight} is not
+         * positive, or the {@code name} is not unique.
+         * @throws NullPointerException if {@code name} or {@code resource} is
+         * null.
+         */
+        public <U> FloodWorkloadBuilder withOperation(final String name, final int weight, final Supplier<U> resource) {
+            Objects.requireNonNull(name,"No name");
+            Objects.requireNonNull(resource,"No resource");
+            if (weight <= 0)
+                throw new IllegalArgumentException(String.format("Weight of operation %s must be positive",name));
+            if (operations.stream().anyMatch(o -> o.getName().equals(name)))
+                throw new IllegalArgumentException(String.format("Operation %s already exists",name));
+            operations.add(new Operation(name,weight,resource));
+            return this;
+        }
+
+        /**
+         * Builds the {@link FloodWorkload} object from the added operations.
+         *
+         * @return a new {@link FloodWorkload} object.
+         * @throws IllegalArgumentException if no operations were added.
+         * @throws ArithmeticException if the total weight overflows.
+         */
+        public FloodWorkload build() {
+            if (operations.isEmpty())
+                throw new IllegalArgumentException("Workload has nothing to do");
+            return new FloodWorkload(new ArrayList<>(operations));
+        }
+    }
+}
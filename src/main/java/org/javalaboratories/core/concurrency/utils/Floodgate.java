@@ -21,8 +21,11 @@ import org.javalaboratories.core.util.Arguments;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
@@ -82,9 +85,9 @@ public class Floodgate<T> extends AbstractConcurrentResourceFloodStability<T> {
     public static final String UNTAGGED = null;
 
     @Getter(AccessLevel.NONE)
-    private final FloodMarshal floodMarshal;
+    private FloodMarshal floodMarshal;
     @Getter(AccessLevel.NONE)
-    private final CountDownLatch workLatch;
+    private CountDownLatch workLatch;
 
     @Getter(AccessLevel.NONE)
     private final Supplier<T> resource;
@@ -165,7 +168,68 @@ public class Floodgate<T> extends AbstractConcurrentResourceFloodStability<T> {
      * @param <U> Type of {@code target} under test.
      */
     public <U> Floodgate(final Class<U> clazz, final int threads, final int iterations, final Supplier<T> resource) {
-        this(clazz,UNTAGGED,threads,iterations,resource,null,getMarshal());
+        this(clazz,threads,iterations,resource,(Consumer<? super T>) null);
+    }
+
+    /**
+     * Constructs this {@link Floodgate} object with targeted {@code resource},
+     * flooded by the {@code flood workers} of the given {@code service}.
+     * <p>
+     * The {@code service} is not closed post-flood, and so it can be shared by
+     * several {@code floodgates}, or by successive {@code floods} of this
+     * {@code floodgate} with the {@link Floodgate#reset()} method. Creating the
+     * {@code flood worker} threads in advance, for example with the {@link
+     * FloodThreadPoolExecutor#prestartAllCoreThreads()} method, ensures thread
+     * creation does not perturb measurements. The {@code service} must be able
+     * to run all {@code threads} simultaneously, and it is the responsibility
+     * of the client to close it.
+     *
+     * @param clazz {@code class} type of {@code target} subjected to tests.
+     * @param threads number of threads {@code flood workers} required for the
+     *                flood.
+     * @param iterations number of request repetitions each thread will perform.
+     * @param resource the actual resource of the {@code target}. Consider the
+     *                 {@code resource} as the method or API of the targeted
+     *                 object,
+     *                 expected type is {@link Supplier}
+     * @param service executor service providing the {@code flood workers}.
+     * @param <U> Type of {@code target} under test.
+     * @throws NullPointerException if {@code service} is null.
+     * @see FloodThreadPoolExecutor#FloodThreadPoolExecutor(int)
+     */
+    public <U> Floodgate(final Class<U> clazz, final int threads, final int iterations, final Supplier<T> resource,
+                         final FloodExecutorService service) {
+        this(clazz,UNTAGGED,threads,iterations,resource,Objects.requireNonNull(service,"No service"),getMarshal(),
+                null);
+    }
+
+    /**
+     * Constructs this {@link Floodgate} object with targeted {@code resource}.
+     * <p>
+     * The number of {@code threads} and {@code iterations/repetitions} are
+     * configurable with {@code threads} and {@code iterations} parameters.
+     * <p>
+     * Values returned from the {@code resource} are passed to the {@code sink}
+     * as soon as they are returned, rather than retained by this object, and so
+     * the {@link Floodgate#flood()} method will return an empty {@link List}.
+     * Use this constructor for long floods or when values are large. The
+     * {@code sink} must be thread-safe.
+     *
+     * @param clazz {@code class} type of {@code target} subjected to tests.
+     * @param threads number of threads {@code flood workers} required for the
+     *                flood.
+     * @param iterations number of request repetitions each thread will perform.
+     * @param resource the actual resource of the {@code target}. Consider the
+     *                 {@code resource} as the method or API of the targeted
+     *                 object,
+     *                 expected type is {@link Supplier}
+     * @param sink receives every value returned from the {@code resource}.
+     * @param <U> Type of {@code target} under test.
+     * @see FloodResultCollector
+     */
+    public <U> Floodgate(final Class<U> clazz, final int threads, final int iterations, final Supplier<T> resource,
+                         final Consumer<? super T> sink) {
+        this(clazz,UNTAGGED,threads,iterations,resource,null,getMarshal(),sink);
     }
 
     /**
@@ -196,13 +260,16 @@ public class Floodgate<T> extends AbstractConcurrentResourceFloodStability<T> {
      *                 expected type is {@link Supplier}
      * @param marshal  the {@link FloodMarshal} object that will manage the
      *                 {@code flood workers}.
+     * @param sink receives every value returned from the {@code resource}, if
+     *             not null.
      * @param <U> Type of {@code target} under test.
      * @see FloodMarshal
      * @see ExternalFloodMarshal
      */
     <U> Floodgate(final Class<U> clazz, final String tag, final int threads, final int iterations,
-                  final Supplier<T> resource, final FloodExecutorService service, final FloodMarshal marshal) {
-        super(clazz,tag,threads,iterations,service);
+                  final Supplier<T> resource, final FloodExecutorService service, final FloodMarshal marshal,
+                  final Consumer<? super T> sink) {
+        super(clazz,tag,threads,iterations,service,sink);
         Arguments.requireNonNull(() -> new IllegalArgumentException("Review floodgate constructor arguments"),
                 resource,marshal);
         this.workLatch = new CountDownLatch(threads);
@@ -237,17 +304,21 @@ public class Floodgate<T> extends AbstractConcurrentResourceFloodStability<T> {
      */
     protected final Supplier<T> primeResource() {
         Supplier<T> resource = super.primeResource();
+        // Captured, so that stragglers of a previous flood cannot affect a
+        // subsequent flood post-reset
+        FloodMarshal marshal = floodMarshal;
+        CountDownLatch latch = workLatch;
         return () -> {
             T result = null;
             try {
-                floodMarshal.halt();
+                marshal.halt();
                 logger.info(message("Received authorisation to commence flood"));
                 result = resource.get();
                 logger.info(message("Finished flooding resource object successfully"));
             } catch (InterruptedException e) {
                 logger.error(message("Finished flooding resource object but with interruption"));
             } finally {
-                workLatch.countDown();
+                latch.countDown();
             }
             return result;
         };
@@ -303,6 +374,20 @@ public class Floodgate<T> extends AbstractConcurrentResourceFloodStability<T> {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * In this {@link Floodgate} implementation, the {@link FloodMarshal} is
+     * replaced unless it is an {@link ExternalFloodMarshal}, which belongs to
+     * another object.
+     */
+    @Override
+    protected void afterReset() {
+        workLatch = new CountDownLatch(getThreads());
+        if (!(floodMarshal instanceof ExternalFloodMarshal))
+            floodMarshal = getMarshal();
+    }
+
     private static FloodMarshal getMarshal() {
         return new FloodMarshal() {
             final CountDownLatch latch = new CountDownLatch(1);
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Exports the latencies of {@link FloodStatistics} objects in the percentile
+ * distribution format of {@code HdrHistogram}.
+ * <p>
+ * This is the text format produced by {@code HdrHistogram's}
+ * {@code outputPercentileDistribution} method, and so the output may be plotted
+ * with the {@code HdrHistogram} plotting tools. Values are in microseconds.
+ * Each {@code target} is introduced with a comment line bearing its name,
+ * followed by a row for each non-empty bucket of its {@link FloodHistogram}
+ * and a summary. For example:
+ * <pre>
+ *     {@code
+ *          #[Target = {UnsafeStatistics-001}]
+ *                 Value     Percentile TotalCount 1/(1-Percentile)
+ *
+ *                 2.111 0.120000000000          3           1.14
+ *                 ...
+ *                45.311 1.000000000000         25
+ *          #[Mean    =        5.512, StdDeviation   =        8.412]
+ *          #[Max     =       45.311, Total count    =           25]
+ *          #[Buckets =         3776, SubBuckets     =          128]
+ *     }
+ * </pre>
+ * The native {@code HdrHistogram} interval log format is a compressed binary
+ * encoding, and so it is not supported without the {@code HdrHistogram}
+ * library.
+ *
+ * @see FloodStatisticsExporter
+ * @see FloodHistogram
+ */
+public final class HistogramFloodStatisticsExporter extends AbstractFloodStatisticsExporter {
+
+    private static final double NANOS_PER_MICROSECOND = 1000.0;
+
+    /**
+     * Constructs this exporter writing UTF-8 encoded text to the {@code stream}.
+     *
+     * @param stream output stream to which statistics are exported.
+     * @throws NullPointerException if {@code stream} is null.
+     */
+    public HistogramFloodStatisticsExporter(final OutputStream stream) {
+        super(stream);
+    }
+
+    /**
+     * Constructs this exporter writing to the {@code writer}.
+     *
+     * @param writer writer to which statistics are exported.
+     * @throws NullPointerException if {@code writer} is null.
+     */
+    public HistogramFloodStatisticsExporter(final Writer writer) {
+        super(writer);
+    }
+
+    @Override
+    protected void write(final Writer writer, final FloodStatistics statistics) throws IOException {
+        FloodHistogram latencies = statistics.getLatencies();
+        long total = latencies.getCount();
+        StringBuilder buffer = new StringBuilder();
+        buffer.append(String.format(Locale.ROOT,"#[Target = %s]%n",statistics.getTargetName()));
+        buffer.append(String.format(Locale.ROOT,"%12s %14s %10s %14s%n%n","Value","Percentile","TotalCount",
+                "1/(1-Percentile)"));
+        long[] accumulated = {0L};
+        double[] variance = {0.0};
+        double mean = latencies.getMean();
+        latencies.forEach((low, high, count) -> {
+            accumulated[0] = accumulated[0] + count;
+            double percentile = accumulated[0] / (double) total;
+            double value = Math.min(high,latencies.getMax()) / NANOS_PER_MICROSECOND;
+            if (accumulated[0] < total) {
+                buffer.append(String.format(Locale.ROOT,"%12.3f %2.12f %10d %14.2f%n",value,percentile,accumulated[0],
+                        1.0 / (1.0 - percentile)));
+            } else {
+                buffer.append(String.format(Locale.ROOT,"%12.3f %2.12f %10d%n",value,percentile,accumulated[0]));
+            }
+            double deviation = ((low + high) / 2.0) - mean;
+            variance[0] = variance[0] + deviation * deviation * count;
+        });
+        double deviation = total == 0 ? 0.0 : Math.sqrt(variance[0] / total) / NANOS_PER_MICROSECOND;
+        buffer.append(String.format(Locale.ROOT,"#[Mean    = %12.3f, StdDeviation   = %12.3f]%n",
+                mean / NANOS_PER_MICROSECOND,deviation));
+        buffer.append(String.format(Locale.ROOT,"#[Max     = %12.3f, Total count    = %12d]%n",
+                latencies.getMax() / NANOS_PER_MICROSECOND,total));
+        buffer.append(String.format(Locale.ROOT,"#[Buckets = %12d, SubBuckets     = %12d]%n",
+                FloodHistogram.BUCKETS,FloodHistogram.SUB_BUCKETS));
+        writer.write(buffer.toString());
+    }
+}
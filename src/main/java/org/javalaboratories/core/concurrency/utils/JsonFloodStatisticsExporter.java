@@ -0,0 +1,165 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * Exports {@link FloodStatistics} objects as a JSON array, one object per
+ * {@code target}.
+ * <p>
+ * Each object contains the timings, resource consumption, latency percentiles
+ * and histogram buckets, error samples and the statistics of each {@code
+ * flood worker}. Latencies are in nanoseconds. The array is written
+ * incrementally and is terminated when the exporter is closed, for example:
+ * <pre>
+ *     {@code
+ *          [{"target":"{UnsafeStatistics-001}","stability":"STABLE","elapsedNanos":1702345,"iterations":25,...,
+ *            "latencies":{"count":25,"min":2100,...,"buckets":[[2048,2079,3],...]},
+ *            "errors":[],"workers":[{"name":"Floodgate-Worker-1","iterations":5,"conclusion":"COMPLETED",...}]}]
+ *     }
+ * </pre>
+ *
+ * @see FloodStatisticsExporter
+ */
+public final class JsonFloodStatisticsExporter extends AbstractFloodStatisticsExporter {
+
+    private boolean first;
+
+    /**
+     * Constructs this exporter writing UTF-8 encoded JSON to the {@code stream}.
+     *
+     * @param stream output stream to which statistics are exported.
+     * @throws NullPointerException if {@code stream} is null.
+     */
+    public JsonFloodStatisticsExporter(final OutputStream stream) {
+        super(stream);
+        first = true;
+    }
+
+    /**
+     * Constructs this exporter writing JSON to the {@code writer}.
+     *
+     * @param writer writer to which statistics are exported.
+     * @throws NullPointerException if {@code writer} is null.
+     */
+    public JsonFloodStatisticsExporter(final Writer writer) {
+        super(writer);
+        first = true;
+    }
+
+    @Override
+    protected void writeHeader(final Writer writer) throws IOException {
+        writer.write('[');
+    }
+
+    @Override
+    protected void writeFooter(final Writer writer) throws IOException {
+        writer.write("]\n");
+    }
+
+    @Override
+    protected void write(final Writer writer, final FloodStatistics statistics) throws IOException {
+        if (!first)
+            writer.write(",\n");
+        first = false;
+        writer.write("{\"target\":");
+        writeString(writer,statistics.getTargetName());
+        writer.write(",\"stability\":");
+        writeString(writer,String.valueOf(statistics.getStability()));
+        writer.write(",\"elapsedNanos\":" + statistics.getElapsedNanos());
+        writer.write(",\"iterations\":" + statistics.getIterations());
+        writer.write(",\"throughput\":" + format(statistics.getThroughput()));
+        writer.write(",\"cpuTimeNanos\":" + statistics.getCpuTimeNanos());
+        writer.write(",\"allocatedBytes\":" + statistics.getAllocatedBytes());
+        writer.write(",\"garbageCollections\":" + statistics.getGarbageCollections());
+        writer.write(",\"garbageCollectionMillis\":" + statistics.getGarbageCollectionMillis());
+        writer.write(",\"latencies\":");
+        writeHistogram(writer,statistics.getLatencies());
+        writer.write(",\"errors\":[");
+        boolean firstError = true;
+        for (FloodError error : statistics.getErrors()) {
+            if (!firstError)
+                writer.write(',');
+            firstError = false;
+            writer.write("{\"worker\":");
+            writeString(writer,error.getWorkerName());
+            writer.write(",\"type\":");
+            writeString(writer,error.getType());
+            writer.write(",\"message\":");
+            writeString(writer,error.getMessage());
+            writer.write('}');
+        }
+        writer.write("],\"workers\":[");
+        boolean firstWorker = true;
+        for (FloodWorkerStatistics worker : statistics.getWorkers()) {
+            if (!firstWorker)
+                writer.write(',');
+            firstWorker = false;
+            writer.write("{\"name\":");
+            writeString(writer,worker.getWorkerName());
+            writer.write(",\"iterations\":" + worker.getIterations());
+            writer.write(",\"conclusion\":");
+            writeString(writer,String.valueOf(worker.getConclusion()));
+            writer.write(",\"elapsedNanos\":" + worker.getElapsedNanos());
+            writer.write(",\"cpuTimeNanos\":" + worker.getCpuTimeNanos());
+            writer.write(",\"allocatedBytes\":" + worker.getAllocatedBytes());
+            writer.write('}');
+        }
+        writer.write("]}");
+    }
+
+    private void writeHistogram(final Writer writer, final FloodHistogram histogram) throws IOException {
+        writer.write("{\"count\":" + histogram.getCount());
+        writer.write(",\"min\":" + histogram.getMin());
+        writer.write(",\"mean\":" + format(histogram.getMean()));
+        for (double percentile : PERCENTILES)
+            writer.write(",\"" + label(percentile).replace(".","") + "\":" + histogram.getValueAtPercentile(percentile));
+        writer.write(",\"max\":" + histogram.getMax());
+        StringBuilder buckets = new StringBuilder();
+        histogram.forEach((low, high, count) -> buckets.append(buckets.length() > 0 ? "," : "")
+                .append('[').append(low).append(',').append(high).append(',').append(count).append(']'));
+        writer.write(",\"buckets\":[");
+        writer.write(buckets.toString());
+        writer.write("]}");
+    }
+
+    private void writeString(final Writer writer, final String value) throws IOException {
+        if (value == null) {
+            writer.write("null");
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': writer.write("\\\""); break;
+                case '\\': writer.write("\\\\"); break;
+                case '\n': writer.write("\\n"); break;
+                case '\r': writer.write("\\r"); break;
+                case '\t': writer.write("\\t"); break;
+                default:
+                    if (c < 0x20)
+                        writer.write(String.format("\\u%04x",(int) c));
+                    else
+                        writer.write(c);
+            }
+        }
+        writer.write('"');
+    }
+}
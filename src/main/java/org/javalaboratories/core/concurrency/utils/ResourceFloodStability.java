@@ -17,9 +17,10 @@ package org.javalaboratories.core.concurrency.utils;
 
 import lombok.*;
 
-import java.util.HashSet;
 import java.util.Objects;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The object that implements this interface can target an object or a resource
@@ -46,10 +47,13 @@ public interface ResourceFloodStability<T> {
      * <prep>
      *     {@code
      *          CLOSED --> open() --> OPENED --> flood() --> CLOSED --> FLOODED
+     *          FLOODED --> reset() --> CLOSED --> open() --> OPENED
      *     }
      * </prep>
      * Initially, {@link ResourceFloodStability} objects starts with the
-     * {@code CLOSED} state.
+     * {@code CLOSED} state. Only implementations supporting a reset, for
+     * example {@link AbstractConcurrentResourceFloodStability#reset()}, may
+     * transition from the {@code FLOODED} state.
      */
     enum States {CLOSED,OPENED,FLOODED}
 
@@ -70,7 +74,7 @@ public interface ResourceFloodStability<T> {
      * Initialises the {@code target} preparing it for the {@code flood}.
      * <p>
      * This method must be called ahead of the {@link ResourceFloodStability#flood()},
-     * and it can only be used once. It is probable that this object requires
+     * and it can only be used once per {@code flood}. It is probable that this object requires
      * access to resources and/or I/O components in order to facilitate testing
      * of the test resource. Successive calls will result in the exception
      * {@link  IllegalStateException} being thrown.
@@ -87,7 +91,10 @@ public interface ResourceFloodStability<T> {
      * <p>
      * This method will block waiting for the conclusion of the requests, after
      * which the state of this object transitions from {@code OPENED} to
-     * {@code CLOSED} and finally to {@code FLOODED} but will not be re-runnable.
+     * {@code CLOSED} and finally to {@code FLOODED}. It is not re-runnable
+     * unless the implementation supports a reset, for example
+     * {@link AbstractConcurrentResourceFloodStability#reset()}, which restores
+     * the {@code CLOSED} state in readiness to be opened and flooded again.
      * <p>
      * It is important no matter the outcome of the {@code flood}, this method
      * must release all allocated resources pertaining to the requests.
@@ -105,10 +112,13 @@ public interface ResourceFloodStability<T> {
      * <prep>
      *     {@code
      *          CLOSED --> open() --> OPENED --> flood() --> CLOSED --> FLOODED
+     *          FLOODED --> reset() --> CLOSED --> open() --> OPENED
      *     }
      * </prep>
      * Initially, {@link ResourceFloodStability} objects starts with the
-     * {@code CLOSED} state.
+     * {@code CLOSED} state. Only implementations supporting a reset, for
+     * example {@link AbstractConcurrentResourceFloodStability#reset()}, may
+     * transition from the {@code FLOODED} state.
      * <p>
      * @return current state of this object.
      */
@@ -150,7 +160,9 @@ public interface ResourceFloodStability<T> {
      * <p>
      * {@link Target} will uniquely generate a name of the target based on the
      * {@link Class} and unique integer value. The integer value will increment
-     * by one and will repeat, but it is unique by class name.
+     * by one, and it is unique by class name. Each class name has its own
+     * counter, and so generating a name is a constant time operation that does
+     * not serialise construction of {@code targets} of different classes.
      * <p>
      * This object is thread-safe.
      * <p>
@@ -164,7 +176,7 @@ public interface ResourceFloodStability<T> {
         public enum Stability {STABLE,UNSTABLE}
 
         @Getter(AccessLevel.NONE)
-        private static final Set<String> index = new HashSet<>();
+        private static final ConcurrentMap<String,AtomicInteger> index = new ConcurrentHashMap<>();
 
         @EqualsAndHashCode.Include
         private final String name;
@@ -204,16 +216,8 @@ public interface ResourceFloodStability<T> {
         public <U> Target(final Class<U> clazz, final String tag) {
             Class<U> c = Objects.requireNonNull(clazz);
             String cname = c.getSimpleName();
-            String value;
-            synchronized(this) {
-                value = index.stream()
-                    .filter(s -> s.contains(cname))
-                    .map(this::transform)
-                    .findFirst()
-                    .orElse("{"+cname+"-001}");
-                index.removeIf(s -> s.contains(cname));
-                index.add(value);
-            }
+            int sequence = index.computeIfAbsent(cname, k -> new AtomicInteger()).incrementAndGet();
+            String value = String.format("{%s-%03d}",cname,sequence);
             name = tag == null ? value : String.format("%s-(%s)",value,tag);
             stability = Stability.STABLE;
         }
@@ -225,8 +229,11 @@ public interface ResourceFloodStability<T> {
          * If the {@link Target} is {@code UNSTABLE} prior to the {@code flood},
          * the target must not be subjected to requests.
          * <p>
-         * This method is impotent in that once used, reverting the state
-         * is no longer possible.
+         * This method is idempotent. The {@code STABLE} state is only restored
+         * with the {@link Target#stable()} method, when the {@link
+         * ResourceFloodStability} is reset for a subsequent {@code flood}.
+         *
+         * @see AbstractConcurrentResourceFloodStability#reset()
          */
         public void unstable() {
             if (stability == Stability.STABLE) {
@@ -234,6 +241,14 @@ public interface ResourceFloodStability<T> {
             }
         }
 
+        /**
+         * Restores the stability of this {@code target} for a subsequent
+         * {@code flood}, reverting the {@link Target#unstable()} method.
+         */
+        void stable() {
+            stability = Stability.STABLE;
+        }
+
         /**
          * Use to indicate the {@link Target} of the {@link ResourceFloodStability} is
          * not determinable.
@@ -242,11 +257,6 @@ public interface ResourceFloodStability<T> {
             return new Target(IndeterminateTarget.class);
         }
 
-        private String transform(String s) {
-            String[] p = s.split("[{\\-}]");
-            return(String.format("{%s-%03d}",p[1],Integer.parseInt(p[2])+1));
-        }
-
         @Value
         private static class IndeterminateTarget { }
     }
@@ -26,10 +26,12 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.*;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -153,6 +155,20 @@ public final class Torrent extends AbstractResourceFloodStability<Map<String,Lis
         close(false);
     }
 
+    /**
+     * Signals the {@code flood workers} of all {@link Floodgate} objects to
+     * conclude their work.
+     * <p>
+     * {@code Flood workers} check for this signal before each iteration and
+     * return their partial results. This method may be called from any thread
+     * whilst the {@link Torrent#flood()} is in progress.
+     *
+     * @see AbstractConcurrentResourceFloodStability#stop()
+     */
+    public void stop() {
+        floodgates.forEach(Floodgate::stop);
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -217,6 +233,52 @@ public final class Torrent extends AbstractResourceFloodStability<Map<String,Lis
         return result;
     }
 
+    /**
+     * Returns the Java Virtual Machine resources consumed by the {@code flood
+     * workers} of each {@link Floodgate} object.
+     * <p>
+     * Statistics are only available post-flood, and are keyed by the
+     * {@code target} name of the {@link Floodgate}, the same keys of the
+     * {@link Map} returned from the {@link Torrent#flood()} method.
+     *
+     * @return a {@link Map} of {@link FloodStatistics} objects for each
+     * {@code floodgate}, or an empty {@link Map} if not yet flooded.
+     * @see FloodStatistics
+     */
+    public Map<String,FloodStatistics> getFloodStatistics() {
+        Map<String,FloodStatistics> result = new LinkedHashMap<>();
+        floodgates.stream()
+            .filter(fg -> fg.getFloodStatistics() != null)
+            .forEach(fg -> result.put(fg.getTarget().getName(),fg.getFloodStatistics()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation returns the active {@code flood workers} of all
+     * {@link Floodgate} objects.
+     */
+    @Override
+    List<Thread> activeWorkers() {
+        return floodgates.stream()
+            .flatMap(fg -> fg.activeWorkers().stream())
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation returns the blockers of all {@link Floodgate}
+     * objects.
+     */
+    @Override
+    List<Object> harnessBlockers() {
+        return floodgates.stream()
+            .flatMap(fg -> fg.harnessBlockers().stream())
+            .collect(Collectors.toList());
+    }
+
     /**
      * Method provides a {@link List} of {@link ConcurrentResourceFloodStability}
      * objects.
@@ -492,15 +554,22 @@ public final class Torrent extends AbstractResourceFloodStability<Map<String,Lis
      * Supplier} objects.
      *
      * @param <T> Type of {@code target} object under test.
-     * @param <U> Type of {@code resource} function with which to {@code target}
-     *           the underlying {@code resource}.
+     * @param <U> Type of value returned from the {@code resource} with which
+     *           to {@code target} the underlying {@code resource}.
      */
     @Getter
-    private static class SupplierFloodgateParameters<U extends Supplier<?>,T> extends FloodgateParameters<T> {
-        private final U resource;
-        private SupplierFloodgateParameters(Class<T> clazz, String tag, int threads, int iterations, U resource) {
+    private static class SupplierFloodgateParameters<U,T> extends FloodgateParameters<T> {
+        private final Supplier<U> resource;
+        private final Consumer<? super U> sink;
+        private SupplierFloodgateParameters(Class<T> clazz, String tag, int threads, int iterations,
+                                            Supplier<U> resource) {
+            this(clazz,tag,threads,iterations,resource,null);
+        }
+        private SupplierFloodgateParameters(Class<T> clazz, String tag, int threads, int iterations,
+                                            Supplier<U> resource, Consumer<? super U> sink) {
             super(clazz,tag,threads,iterations);
             this.resource = resource;
+            this.sink = sink;
         }
     }
 
@@ -515,6 +584,7 @@ public final class Torrent extends AbstractResourceFloodStability<Map<String,Lis
         private final Class<T> clazz;
         private final int threads;
         private final int iterations;
+        private FloodPacer pacer;
 
         /**
          * Constructs an instance of this builder.
@@ -534,6 +604,23 @@ public final class Torrent extends AbstractResourceFloodStability<Map<String,Lis
             this.clazz = clazz;
             this.threads = threads;
             this.iterations = iterations;
+            this.pacer = FloodPacer.YIELD;
+        }
+
+        /**
+         * Instructs the {@link TorrentBuilder} builder to pace the {@code flood
+         * workers} of all {@link Floodgate} objects with the {@code pacer}.
+         * <p>
+         * The default is {@link FloodPacer#YIELD}, that is no pacing other than
+         * yielding between invocations.
+         *
+         * @param pacer the pacer of the {@code flood workers}.
+         * @return this {@link TorrentBuilder}.
+         * @throws NullPointerException if {@code pacer} is null.
+         */
+        public TorrentBuilder<T> withPacer(FloodPacer pacer) {
+            this.pacer = Objects.requireNonNull(pacer,"No pacer");
+            return this;
         }
 
         /**
@@ -693,6 +780,34 @@ public final class Torrent extends AbstractResourceFloodStability<Map<String,Lis
             return this;
         }
 
+        /**
+         * Instructs the {@link TorrentBuilder} builder to construct an instance
+         * of {@link Floodgate} object with a {@link Supplier} {@code resource},
+         * the values of which are streamed to the {@code sink}.
+         * <p>
+         * Values are passed to the {@code sink} as soon as they are returned
+         * from the {@code resource}, and so the {@link Floodgate} will not
+         * retain them, reducing the memory footprint of long floods. The
+         * {@code sink} must be thread-safe.
+         * <p>
+         * @param tag supply a meaningful name for the {@code resource} for
+         *            reporting purposes.
+         * @param threads override {@code thread} parameter default.
+         * @param iterations  override {@code iterations} parameter default.
+         * @param resource a {@link Supplier} {@code resource} with which to
+         * {@code target}.
+         * @param sink receives every value returned from the {@code resource}.
+         * @return this {@link TorrentBuilder}.
+         * @throws NullPointerException if {@code sink} is null.
+         * @see FloodResultCollector
+         */
+        public <U> TorrentBuilder<T> withFloodgate(String tag, int threads, int iterations, Supplier<U> resource,
+                                                   Consumer<? super U> sink) {
+            Objects.requireNonNull(sink,"No sink");
+            parameters.add(new SupplierFloodgateParameters<>(clazz,tag,threads,iterations,resource,sink));
+            return this;
+        }
+
         /**
          * Builds the {@link Torrent} object from the supplied {@code parameter}
          * objects.
@@ -717,18 +832,24 @@ public final class Torrent extends AbstractResourceFloodStability<Map<String,Lis
                 if (p instanceof RunnableFloodgateParameters) {
                     floodgate = new Floodgate<>(p.getClazz(), p.getTag(), p.getThreads(), p.getIterations(),
                             () -> {((RunnableFloodgateParameters<Runnable,T>) p).getResource().run(); return null;},
-                            service,result.floodMarshal);
+                            service,result.floodMarshal,null);
                 } else {
-                    floodgate = new Floodgate<>(p.getClazz(),p.getTag(), p.getThreads(), p.getIterations(),
-                            ((SupplierFloodgateParameters<Supplier<?>,T>) p).getResource(),
-                            service,result.floodMarshal);
+                    floodgate = newFloodgate((SupplierFloodgateParameters<?,T>) p,service,result.floodMarshal);
                 }
+                floodgate.setPacer(pacer);
                 result.floodgates.add(floodgate);
 
             });
 
             return result;
         }
+
+        private static <U,T> Floodgate<U> newFloodgate(final SupplierFloodgateParameters<U,T> p,
+                                                       final FloodExecutorService service,
+                                                       final FloodMarshal marshal) {
+            return new Floodgate<>(p.getClazz(),p.getTag(),p.getThreads(),p.getIterations(),p.getResource(),service,
+                    marshal,p.getSink());
+        }
     }
 
     /**
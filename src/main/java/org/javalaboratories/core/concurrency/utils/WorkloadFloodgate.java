@@ -0,0 +1,274 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Floodgate} that floods the {@code target} with a weighted mix of
+ * operations rather than a single {@code resource}.
+ * <p>
+ * For every iteration, each {@code flood worker} chooses an operation of the
+ * {@link FloodWorkload} at random in proportion to its weight, and records the
+ * latency of the invocation against that operation, measured from its
+ * scheduled start when paced by a {@link FloodPacer}. Recording is performed in
+ * structures owned by the {@code flood worker}, which are merged post-flood,
+ * and so there is no contention between workers. Like the {@link Floodgate},
+ * an operation that raises an exception renders the {@code target} unstable,
+ * and the exception is reported against the operation that raised it. Unlike
+ * the {@link Floodgate}, the {@code flood worker} carries on with its
+ * iterations, and so the error rate of each operation is reported over all of
+ * its invocations, unless configured to halt with the
+ * {@link WorkloadFloodgate#setHaltOnError(boolean)} method.
+ * <pre>
+ *     {@code
+ *          FloodWorkload workload = FloodWorkload.builder()
+ *              .withOperation("read",80,() -> cache.get(key()))
+ *              .withOperation("write",15,() -> cache.put(key(),value()))
+ *              .withOperation("evict",5,() -> cache.evict(key()))
+ *              .build();
+ *
+ *          WorkloadFloodgate floodgate = new WorkloadFloodgate(Cache.class,5,1000,workload);
+ *          floodgate.open();
+ *          floodgate.flood();
+ *
+ *          FloodOperationStatistics reads = floodgate.getOperationStatistics().get("read");
+ *     }
+ * </pre>
+ * The {@link WorkloadFloodgate#getFloodStatistics()} method continues to
+ * report the statistics of all operations combined.
+ *
+ * @see FloodWorkload
+ * @see FloodOperationStatistics
+ */
+public class WorkloadFloodgate extends Floodgate<Object> {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkloadFloodgate.class);
+
+    @Getter(AccessLevel.NONE)
+    private final WorkloadResource workload;
+
+    private volatile Map<String,FloodOperationStatistics> operationStatistics;
+
+    /**
+     * Constructs this {@link WorkloadFloodgate} object with the targeted
+     * {@code workload}.
+     * <p>
+     * The number of {@code threads} and {@code iterations/repetitions} are
+     * defaulted to {@link Floodgate#DEFAULT_FLOOD_WORKERS} and
+     * {@link Floodgate#DEFAULT_FLOOD_ITERATIONS} respectively.
+     *
+     * @param clazz {@code class} type of {@code target} subjected to tests.
+     * @param workload the weighted operations of the {@code target}.
+     * @param <U> Type of {@code target} under test.
+     * @throws NullPointerException if {@code workload} is null.
+     */
+    public <U> WorkloadFloodgate(final Class<U> clazz, final FloodWorkload workload) {
+        this(clazz,DEFAULT_FLOOD_WORKERS,DEFAULT_FLOOD_ITERATIONS,workload);
+    }
+
+    /**
+     * Constructs this {@link WorkloadFloodgate} object with the targeted
+     * {@code workload}.
+     *
+     * @param clazz {@code class} type of {@code target} subjected to tests.
+     * @param threads number of threads {@code flood workers} required for the
+     *                flood.
+     * @param iterations number of operations each thread will perform.
+     * @param workload the weighted operations of the {@code target}.
+     * @param <U> Type of {@code target} under test.
+     * @throws NullPointerException if {@code workload} is null.
+     */
+    public <U> WorkloadFloodgate(final Class<U> clazz, final int threads, final int iterations,
+                                 final FloodWorkload workload) {
+        this(clazz,threads,iterations,new WorkloadResource(workload));
+    }
+
+    private <U> WorkloadFloodgate(final Class<U> clazz, final int threads, final int iterations,
+                                  final WorkloadResource workload) {
+        super(clazz,threads,iterations,workload);
+        this.workload = workload;
+        this.operationStatistics = null;
+    }
+
+    /**
+     * Sets whether a {@code flood worker} concludes at the first exception
+     * raised by an operation, as the {@link Floodgate} does.
+     * <p>
+     * The default is {@code false}, that is the exception is recorded against
+     * the operation and the {@code flood worker} carries on with its
+     * iterations. The {@code target} is rendered unstable post-flood, so that
+     * {@code flood workers} yet to commence are not turned away.
+     *
+     * @param haltOnError {@code true} to conclude the {@code flood worker} at
+     *                    the first exception.
+     * @throws IllegalStateException if this object is not in the {@code
+     * CLOSED} state.
+     */
+    public void setHaltOnError(final boolean haltOnError) {
+        if (getState() != States.CLOSED)
+            throw new IllegalStateException(String.format("State not closed, state=%s",getState()));
+        workload.haltOnError = haltOnError;
+    }
+
+    /**
+     * Returns the statistics of each operation of the {@link FloodWorkload},
+     * keyed by operation name in the order the operations were added.
+     * <p>
+     * Statistics are only available post-flood.
+     *
+     * @return an unmodifiable map of operation statistics, or {@code null} if
+     * not yet flooded.
+     */
+    public Map<String,FloodOperationStatistics> getOperationStatistics() {
+        return operationStatistics;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation records the latency of the operation chosen from the
+     * {@code start}.
+     */
+    @Override
+    protected Object invoke(final long start) {
+        return workload.get(start);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation merges the operation statistics of all {@code flood
+     * workers}, and renders the {@code target} unstable if any operation
+     * raised an exception.
+     */
+    @Override
+    protected void afterFlood() {
+        Map<String,FloodOperationStatistics> result = new LinkedHashMap<>();
+        workload.finalise().forEach(s -> {
+            result.put(s.getName(),s);
+            if (!s.getErrors().isEmpty())
+                getTarget().unstable();
+            logger.info(message("Operation {}: invocations={}, p99-latency={}ns, errors={}"),s.getName(),
+                    s.getInvocations(),s.getLatencies().getValueAtPercentile(99.0),s.getErrors().size());
+        });
+        operationStatistics = Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation also discards the operation statistics of the
+     * previous {@code flood}.
+     */
+    @Override
+    protected void afterReset() {
+        super.afterReset();
+        workload.recorders.clear();
+        operationStatistics = null;
+    }
+
+    /**
+     * The {@code resource} of this {@link WorkloadFloodgate}, choosing an
+     * operation for each invocation.
+     */
+    private static final class WorkloadResource implements Supplier<Object> {
+        private final FloodWorkload workload;
+        private final Map<Thread,OperationRecorder[]> recorders;
+        private volatile boolean haltOnError;
+
+        private WorkloadResource(final FloodWorkload workload) {
+            this.workload = Objects.requireNonNull(workload,"No workload");
+            this.recorders = new ConcurrentHashMap<>();
+        }
+
+        @Override
+        public Object get() {
+            return get(System.nanoTime());
+        }
+
+        private Object get(final long start) {
+            OperationRecorder[] recorder = recorders.computeIfAbsent(Thread.currentThread(),t -> newRecorders());
+            int index = workload.choose();
+            try {
+                Object result = workload.getOperations().get(index).getResource().get();
+                recorder[index].record(System.nanoTime() - start);
+                return result;
+            } catch (RuntimeException | Error e) {
+                if (Thread.currentThread().isInterrupted())
+                    throw e;
+                recorder[index].error(FloodError.of(Thread.currentThread().getName(),e));
+                if (haltOnError)
+                    throw e;
+                return null;
+            }
+        }
+
+        private List<FloodOperationStatistics> finalise() {
+            List<FloodOperationStatistics> result = new ArrayList<>();
+            List<FloodWorkload.Operation> operations = workload.getOperations();
+            for (int i = 0; i < operations.size(); i++) {
+                FloodHistogram latencies = new FloodHistogram();
+                List<FloodError> errors = new ArrayList<>();
+                for (OperationRecorder[] recorder : recorders.values())
+                    recorder[i].mergeInto(latencies,errors);
+                FloodWorkload.Operation operation = operations.get(i);
+                result.add(new FloodOperationStatistics(operation.getName(),operation.getWeight(),latencies,errors));
+            }
+            return result;
+        }
+
+        private OperationRecorder[] newRecorders() {
+            OperationRecorder[] result = new OperationRecorder[workload.size()];
+            for (int i = 0; i < result.length; i++)
+                result[i] = new OperationRecorder();
+            return result;
+        }
+    }
+
+    /**
+     * Records the invocations of a single operation by a single {@code flood
+     * worker}.
+     * <p>
+     * The lock is uncontended whilst the {@code flood worker} records, but
+     * guards the merge post-flood against {@code flood workers} that exceeded
+     * the {@code timeout} and are still recording.
+     */
+    private static final class OperationRecorder {
+        private final FloodHistogram latencies = new FloodHistogram();
+        private final List<FloodError> errors = new ArrayList<>();
+
+        private synchronized void record(final long latency) {
+            latencies.record(latency);
+        }
+
+        private synchronized void error(final FloodError error) {
+            errors.add(error);
+        }
+
+        private synchronized void mergeInto(final FloodHistogram latencies, final List<FloodError> errors) {
+            latencies.add(this.latencies);
+            errors.addAll(this.errors);
+        }
+    }
+}
@@ -19,10 +19,8 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 
-import java.util.Arrays;
 import java.util.EventObject;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import static org.javalaboratories.core.event.EventSource.EVENT_SOURCE_UNKNOWN;
 
@@ -30,6 +28,15 @@ import static org.javalaboratories.core.event.EventSource.EVENT_SOURCE_UNKNOWN;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
 public abstract class AbstractEvent extends EventObject implements Event {
 
+    // Event identifiers derive from the class name only, and so are computed
+    // once per event class and shared by all of its instances.
+    private static final ClassValue<String> EVENT_IDS = new ClassValue<String>() {
+        @Override
+        protected String computeValue(final Class<?> type) {
+            return toEventId(type.getSimpleName());
+        }
+    };
+
     @EqualsAndHashCode.Include
     private final String eventId;
 
@@ -39,13 +46,7 @@ public abstract class AbstractEvent extends EventObject implements Event {
 
     public AbstractEvent(EventSource source) {
         super(source);
-        String name = this.getClass().getSimpleName();
-        String identity = Arrays.stream(name.split(""))
-                .skip(1)
-                .map(s -> Character.isUpperCase(s.charAt(0)) ? "_"+s : s)
-                .map(String::toUpperCase)
-                .collect(Collectors.joining("",name.charAt(0)+"",""));
-        this.eventId = String.format("{%s}",identity);
+        this.eventId = EVENT_IDS.get(this.getClass());
     }
 
     @Override
@@ -56,6 +57,8 @@ public abstract class AbstractEvent extends EventObject implements Event {
     @Override
     public AbstractEvent assign(final EventSource source) {
         EventSource s = Objects.requireNonNull(source,"No source?");
+        if (s == getSource())
+            return this;
         AbstractEvent result;
         try {
             result = clone();
@@ -74,4 +77,17 @@ public abstract class AbstractEvent extends EventObject implements Event {
     public String toString() {
         return "[eventId=" + this.getEventId() + ", source=" + this.getSource() + "]";
     }
+
+    private static String toEventId(final String name) {
+        StringBuilder result = new StringBuilder(name.length() + 8)
+                .append('{')
+                .append(name.charAt(0));
+        for (int i = 1; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c))
+                result.append('_');
+            result.append(Character.toUpperCase(c));
+        }
+        return result.append('}').toString();
+    }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.event;
+
+import lombok.AllArgsConstructor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Flyweight of {@link Event} objects already assigned to a publisher's
+ * {@link EventSource}.
+ * <p>
+ * {@link Event#assign(EventSource)} returns a new instance of the {@code event}
+ * for each assignment. Since {@code events} are expected to be immutable, the
+ * assigned {@code event} is reused whilst the same {@code event} instance is
+ * published, avoiding an assignment per publication. An {@code event} type is
+ * identified by its {@link Event#getEventId()}, of which there are few, and
+ * so the cache holds at most one {@code event} per type.
+ * <p>
+ * This object is thread-safe.
+ */
+final class AssignedEvents {
+
+    private final EventSource source;
+    private final Map<String,AssignedEvent> events;
+
+    @AllArgsConstructor
+    private static final class AssignedEvent {
+        private final Event event;
+        private final Event assigned;
+    }
+
+    AssignedEvents(final EventSource source) {
+        this.source = source;
+        this.events = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the {@code event} assigned to the {@link EventSource}, reusing a
+     * previous assignment of the same {@code event} instance.
+     *
+     * @param event the {@link Event} to assign.
+     * @return the {@code event} with the publisher's {@link EventSource}.
+     * @throws EventException if the {@code event} could not be assigned.
+     */
+    Event assign(final Event event) {
+        String eventId = event.getEventId();
+        if (eventId == null)
+            return event.assign(source);
+
+        AssignedEvent cached = events.get(eventId);
+        if (cached != null && cached.event == event)
+            return cached.assigned;
+
+        Event result = event.assign(source);
+        events.put(eventId,new AssignedEvent(event,result));
+        return result;
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.event;
+
+import lombok.AllArgsConstructor;
+import org.javalaboratories.core.Maybe;
+import org.javalaboratories.core.util.Generics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This {@link EventPublisher} notifies its {@link EventSubscriber} recipients
+ * asynchronously, and so a slow {@code subscriber} does not stall the threads
+ * publishing {@code events}.
+ * <p>
+ * Each {@code subscriber} has its own bounded queue of {@code events}. The
+ * publishing thread places the {@code event} and its value on the queues of
+ * the interested {@code subscribers}, and the queues are drained by the
+ * {@link Executor} provided at construction. A queue is drained by at most
+ * one thread at a time, and so each {@code subscriber} receives its
+ * {@code events} in the order in which they were published, but different
+ * {@code subscribers} are notified concurrently.
+ * <p>
+ * When a queue is full, the {@link OverflowPolicy} determines whether the
+ * publishing thread waits for space, or which {@code event} is discarded.
+ * Use the {@link AsyncEventBroadcaster#getQueueStatistics(EventSubscriber)}
+ * method to monitor the depth of a {@code subscriber's} queue and the number
+ * of {@code events} discarded.
+ * <p>
+ * As with the {@link EventBroadcaster}, "toxic" {@code subscribers}, those
+ * that raise an exception, are automatically unsubscribed and their
+ * outstanding {@code events} discarded. Internally, this object is a
+ * composite of an {@link EventBroadcaster}, and so the same dispatch
+ * characteristics apply.
+ *
+ * @param <T> Type of source in which the event originated.
+ * @param <V> Type of value and/or state forwarded to the {@code subscribers}
+ *
+ * @see EventBroadcaster
+ * @see EventQueueStatistics
+ */
+public class AsyncEventBroadcaster<T extends EventSource,V> implements EventPublisher<V>, EventSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncEventBroadcaster.class);
+
+    /**
+     * Default capacity of each {@code subscriber's} queue.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private final EventBroadcaster<T,V> broadcaster;
+    private final Executor executor;
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final Map<EventSubscriber<V>,QueuedSubscriber> subscriptions;
+
+    /**
+     * Determines the action taken when publishing to a {@code subscriber}
+     * whose queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Discard the oldest {@code event} in the queue to make room for the
+         * published {@code event}.
+         */
+        DROP_OLDEST,
+        /**
+         * Discard the published {@code event}.
+         */
+        DROP_NEWEST,
+        /**
+         * Publishing thread waits until there is room in the queue. Avoid this
+         * policy if publishing threads also drain the queues, for example
+         * publishing from a {@code subscriber} with a single threaded
+         * {@link Executor}.
+         */
+        BLOCK
+    }
+
+    @AllArgsConstructor
+    private static final class Envelope<V> {
+        private final Event event;
+        private final V value;
+    }
+
+    /**
+     * Constructs an instance of this object with {@link EventSource} unknown,
+     * a queue capacity of {@link AsyncEventBroadcaster#DEFAULT_QUEUE_CAPACITY}
+     * and {@link OverflowPolicy#BLOCK} policy.
+     *
+     * @param executor drains the {@code subscribers'} queues.
+     * @throws NullPointerException if {@code executor} is null.
+     */
+    public AsyncEventBroadcaster(final Executor executor) {
+        this(Generics.unchecked(EVENT_SOURCE_UNKNOWN),executor);
+    }
+
+    /**
+     * Constructs an instance of this object with a queue capacity of
+     * {@link AsyncEventBroadcaster#DEFAULT_QUEUE_CAPACITY} and
+     * {@link OverflowPolicy#BLOCK} policy.
+     *
+     * @param source the {@link EventSource} of published {@code events}.
+     * @param executor drains the {@code subscribers'} queues.
+     * @throws NullPointerException if {@code executor} is null.
+     */
+    public AsyncEventBroadcaster(final T source, final Executor executor) {
+        this(source,executor,DEFAULT_QUEUE_CAPACITY,OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Constructs an instance of this object.
+     *
+     * @param source the {@link EventSource} of published {@code events}.
+     * @param executor drains the {@code subscribers'} queues.
+     * @param capacity maximum number of {@code events} queued per
+     *                 {@code subscriber}.
+     * @param policy action taken when a {@code subscriber's} queue is full.
+     * @throws NullPointerException if {@code executor} or {@code policy} is null.
+     * @throws IllegalArgumentException if {@code capacity} is less than 1.
+     */
+    public AsyncEventBroadcaster(final T source, final Executor executor, final int capacity,
+                                 final OverflowPolicy policy) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Queue capacity must be greater than zero");
+        this.broadcaster = new EventBroadcaster<>(source);
+        this.executor = Objects.requireNonNull(executor,"No executor?");
+        this.policy = Objects.requireNonNull(policy,"No overflow policy?");
+        this.capacity = capacity;
+        this.subscriptions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The {@code event} is queued for each interested {@code subscriber}, and
+     * this method returns without waiting for notification, unless the
+     * {@link OverflowPolicy#BLOCK} policy is in effect and a queue is full.
+     */
+    @Override
+    public void publish(final Event event, final V value) {
+        broadcaster.publish(event,value);
+    }
+
+    @Override
+    public void subscribe(final EventSubscriber<V> subscriber, final Event... captureEvents) {
+        subscribe(subscriber,SubscriptionOptions.immediate(),captureEvents);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * {@code Events} are buffered according to the {@code options} once
+     * drained from the {@code subscriber's} queue.
+     */
+    @Override
+    public void subscribe(final EventSubscriber<V> subscriber, final SubscriptionOptions<V> options,
+                          final Event... captureEvents) {
+        EventSubscriber<V> aSubscriber = Objects.requireNonNull(subscriber,"No subscriber?");
+        Objects.requireNonNull(options,"No options?");
+
+        if ( captureEvents == null || captureEvents.length < 1 )
+            throw new IllegalArgumentException("No events to capture");
+
+        QueuedSubscriber queued = new QueuedSubscriber(aSubscriber,
+                options.decorate(aSubscriber,() -> unsubscribe(aSubscriber)));
+        if (subscriptions.putIfAbsent(aSubscriber,queued) != null)
+            throw new EventException("Subscriber exists -- unsubscribe first");
+        try {
+            broadcaster.subscribe(queued,captureEvents);
+        } catch (RuntimeException e) {
+            subscriptions.remove(aSubscriber,queued);
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Outstanding {@code events} in the {@code subscriber's} queue are
+     * discarded.
+     */
+    @Override
+    public boolean unsubscribe(final EventSubscriber<V> subscriber) {
+        EventSubscriber<V> aSubscriber = Objects.requireNonNull(subscriber,"No subscriber?");
+
+        QueuedSubscriber queued = subscriptions.remove(aSubscriber);
+        if (queued == null)
+            return false;
+
+        queued.cancel();
+        return broadcaster.unsubscribe(queued);
+    }
+
+    @Override
+    public boolean isSubscribed(final EventSubscriber<V> subscriber) {
+        EventSubscriber<V> aSubscriber = Objects.requireNonNull(subscriber,"No subscriber?");
+        return subscriptions.containsKey(aSubscriber);
+    }
+
+    @Override
+    public int subscribers() {
+        return broadcaster.subscribers();
+    }
+
+    /**
+     * Returns the current state of the {@code subscriber's} queue.
+     *
+     * @param subscriber the registered {@link EventSubscriber}.
+     * @return the {@link EventQueueStatistics} of the {@code subscriber}, or
+     * empty if not registered with this {@code publisher}.
+     * @throws NullPointerException if {@code subscriber} is null.
+     */
+    public Maybe<EventQueueStatistics> getQueueStatistics(final EventSubscriber<V> subscriber) {
+        EventSubscriber<V> aSubscriber = Objects.requireNonNull(subscriber,"No subscriber?");
+        QueuedSubscriber queued = subscriptions.get(aSubscriber);
+        return queued == null ? Maybe.empty() : Maybe.of(queued.getStatistics());
+    }
+
+    @Override
+    public String toString() {
+        return broadcaster.toString();
+    }
+
+    /**
+     * Receives {@code events} from the underlying {@link EventBroadcaster} on
+     * the publishing thread, and queues them for delivery to the
+     * {@code subscriber} on the {@code executor}.
+     */
+    private final class QueuedSubscriber implements EventSubscriber<V> {
+        private final EventSubscriber<V> subscriber;
+        private final EventSubscriber<V> delivery;
+        private final BlockingQueue<Envelope<V>> queue;
+        private final AtomicBoolean scheduled;
+        private final AtomicLong delivered;
+        private final AtomicLong dropped;
+        private volatile boolean canceled;
+
+        private QueuedSubscriber(final EventSubscriber<V> subscriber, final EventSubscriber<V> delivery) {
+            this.subscriber = subscriber;
+            this.delivery = delivery;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.scheduled = new AtomicBoolean();
+            this.delivered = new AtomicLong();
+            this.dropped = new AtomicLong();
+        }
+
+        @Override
+        public void notify(final Event event, final V value) {
+            if (canceled)
+                return;
+            if (offer(new Envelope<>(event,value)))
+                schedule();
+        }
+
+        private boolean offer(final Envelope<V> envelope) {
+            switch (policy) {
+                case DROP_NEWEST:
+                    if (queue.offer(envelope))
+                        return true;
+                    dropped.incrementAndGet();
+                    return false;
+                case DROP_OLDEST:
+                    while (!queue.offer(envelope)) {
+                        if (queue.poll() != null)
+                            dropped.incrementAndGet();
+                    }
+                    return true;
+                default:
+                    try {
+                        queue.put(envelope);
+                        return true;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        dropped.incrementAndGet();
+                        return false;
+                    }
+            }
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false,true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    logger.error("Executor rejected delivery of events to subscriber", e);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                // Limit the batch so that one busy subscriber does not hog an
+                // executor thread; remaining events are rescheduled.
+                Envelope<V> envelope;
+                for (int i = 0; i < capacity && !canceled && (envelope = queue.poll()) != null; i++) {
+                    try {
+                        delivery.notify(envelope.event,envelope.value);
+                        delivered.incrementAndGet();
+                    } catch (Throwable e) {
+                        logger.error("Subscriber raised an uncaught exception -- canceled subscription", e);
+                        if (subscriptions.remove(subscriber,this))
+                            broadcaster.unsubscribe(this);
+                        cancel();
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+            }
+            if (!canceled && !queue.isEmpty())
+                schedule();
+        }
+
+        private void cancel() {
+            canceled = true;
+            queue.clear();
+            if (delivery instanceof BufferedEventSubscriber)
+                ((BufferedEventSubscriber<V>) delivery).cancel();
+        }
+
+        private EventQueueStatistics getStatistics() {
+            return new EventQueueStatistics(capacity,queue.size(),delivered.get(),dropped.get());
+        }
+    }
+}
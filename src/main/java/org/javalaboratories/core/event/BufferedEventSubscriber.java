@@ -0,0 +1,169 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Decorates an {@link EventSubscriber} with {@link SubscriptionOptions},
+ * buffering the {@code events} received from the {@link EventPublisher} and
+ * delivering them in batches on the {@code scheduler}.
+ * <p>
+ * Buffering takes place on the publishing thread, and so is brief. Deliveries
+ * are serialised and take the whole buffer, and so the {@code subscriber}
+ * receives {@code events} in order of publication, and {@code events}
+ * published during a delivery are buffered (and coalesced) for the next.
+ */
+final class BufferedEventSubscriber<V> implements EventSubscriber<V> {
+
+    private static final Logger logger = LoggerFactory.getLogger(BufferedEventSubscriber.class);
+
+    private final EventSubscriber<V> subscriber;
+    private final SubscriptionOptions<V> options;
+    private final Runnable cancel;
+    private final Object deliveryLock;
+
+    // Buffer and scheduling state guarded by this object's monitor.
+    private List<EventNotification<V>> batch;
+    private Map<List<Object>,EventNotification<V>> coalesced;
+    private boolean flushPending;
+    private ScheduledFuture<?> window;
+    private volatile boolean canceled;
+
+    BufferedEventSubscriber(final EventSubscriber<V> subscriber, final SubscriptionOptions<V> options,
+                            final Runnable cancel) {
+        this.subscriber = subscriber;
+        this.options = options;
+        this.cancel = cancel;
+        this.deliveryLock = new Object();
+        this.batch = new ArrayList<>();
+        this.coalesced = new LinkedHashMap<>();
+    }
+
+    @Override
+    public synchronized void notify(final Event event, final V value) {
+        if (canceled)
+            return;
+
+        EventNotification<V> notification = new EventNotification<>(event,value);
+        Function<? super V,?> key = options.getCoalescingKey();
+        if (key != null)
+            coalesced.put(Arrays.asList(event.getEventId(),key.apply(value)),notification);
+        else
+            batch.add(notification);
+        trigger();
+    }
+
+    /**
+     * Discards outstanding {@code events}, and refrains from further delivery.
+     */
+    synchronized void cancel() {
+        canceled = true;
+        cancelWindow();
+        batch = new ArrayList<>();
+        coalesced = new LinkedHashMap<>();
+    }
+
+    private void trigger() {
+        int size = options.isCoalescing() ? coalesced.size() : batch.size();
+        if (size == 0)
+            return;
+
+        int batchSize = options.getBatchSize();
+        long windowNanos = options.getWindowNanos();
+        if ((batchSize > 0 && size >= batchSize) || (batchSize == 0 && windowNanos == 0)) {
+            if (!flushPending)
+                flushPending = schedule(0L) != null;
+        } else if (windowNanos > 0 && window == null) {
+            window = schedule(windowNanos);
+        }
+    }
+
+    private ScheduledFuture<?> schedule(final long delayNanos) {
+        try {
+            return options.getScheduler().schedule(this::deliver,delayNanos,TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            logger.error("Scheduler rejected delivery of events to subscriber", e);
+            return null;
+        }
+    }
+
+    private void cancelWindow() {
+        // The window may be pending still, if the buffer was taken by a flush
+        if (window != null) {
+            window.cancel(false);
+            window = null;
+        }
+    }
+
+    private void deliver() {
+        synchronized (deliveryLock) {
+            List<EventNotification<V>> notifications = take();
+            if (notifications.isEmpty() || canceled)
+                return;
+            try {
+                if (subscriber instanceof EventBatchSubscriber) {
+                    ((EventBatchSubscriber<V>) subscriber).notify(notifications);
+                } else {
+                    for (EventNotification<V> notification : notifications)
+                        subscriber.notify(notification.getEvent(),notification.getValue());
+                }
+            } catch (Throwable e) {
+                logger.error("Subscriber raised an uncaught exception -- canceled subscription", e);
+                cancel();
+                cancel.run();
+            }
+        }
+    }
+
+    private synchronized List<EventNotification<V>> take() {
+        int limit = options.getBatchSize() > 0 ? options.getBatchSize() : Integer.MAX_VALUE;
+        List<EventNotification<V>> result;
+        if (options.isCoalescing()) {
+            result = new ArrayList<>(Math.min(limit,coalesced.size()));
+            Iterator<EventNotification<V>> iterator = coalesced.values().iterator();
+            while (result.size() < limit && iterator.hasNext()) {
+                result.add(iterator.next());
+                iterator.remove();
+            }
+        } else if (batch.size() <= limit) {
+            result = batch;
+            batch = new ArrayList<>();
+        } else {
+            List<EventNotification<V>> head = batch.subList(0,limit);
+            result = new ArrayList<>(head);
+            head.clear();
+        }
+
+        // Schedule delivery of the remainder, if any, as though newly buffered
+        flushPending = false;
+        cancelWindow();
+        trigger();
+        return result;
+    }
+}
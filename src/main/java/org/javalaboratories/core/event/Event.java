@@ -45,7 +45,9 @@ public interface Event extends Serializable, Cloneable {
      * {@link EventSource} is the origin of the {@code event}, in other words
      * the {@code source} of the behaviour change that triggered the event. To
      * maintain immutability, a new instance of the {@link Event} object is
-     * returned encapsulating the {@link EventSource}.
+     * returned encapsulating the {@link EventSource}, unless this {@code event}
+     * already encapsulates the {@code source}, in which case this object may
+     * be returned.
      *
      * @param source {@link EventSource} of the {@code event}
      * @return an {@link Event} object with new {@link EventSource}
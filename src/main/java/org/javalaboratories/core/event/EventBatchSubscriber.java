@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.event;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An {@link EventSubscriber} that receives its {@code events} in batches.
+ * <p>
+ * When subscribed with {@link SubscriptionOptions} that batch or coalesce
+ * {@code events}, the {@link EventPublisher} delivers each batch in a single
+ * notification, in order of publication. Otherwise, each {@code event} is
+ * delivered as a batch of one.
+ *
+ * @param <V> Type of value and/or state forwarded to the {@code subscribers}
+ *
+ * @see EventNotification
+ * @see SubscriptionOptions
+ */
+@FunctionalInterface
+public interface EventBatchSubscriber<V> extends EventSubscriber<V> {
+
+    /**
+     * This method is invoked to notify this object of a batch of state changes
+     * that occurred in the source of the {@code events}.
+     *
+     * @param notifications the {@code events} and their values, in order of
+     *                      publication.
+     */
+    void notify(final List<EventNotification<V>> notifications);
+
+    @Override
+    default void notify(final Event event, final V value) {
+        notify(Collections.singletonList(new EventNotification<>(event,value)));
+    }
+}
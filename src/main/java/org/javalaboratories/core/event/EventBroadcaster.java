@@ -16,12 +16,17 @@
 package org.javalaboratories.core.event;
 
 import lombok.*;
+import org.javalaboratories.core.Maybe;
 import org.javalaboratories.core.util.Generics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This class has the ability to notify {@link EventSubscriber} recipients with
@@ -53,7 +58,28 @@ import java.util.stream.Collectors;
  *     events to a "canceled" subscriber, and so all threads publishing with this
  *     publisher are notified to refrain from sending events to "canceled"
  *     subscribers.</li>
+ *     <li>Subscriptions are held in an immutable array that is replaced as a
+ *     whole on {@code subscribe} and {@code unsubscribe} (copy-on-write).
+ *     Publishing reads the current array without locking or allocation, and
+ *     so notifies {@code subscribers} in the order in which they subscribed.
+ *     The snapshot indexes {@code subscriptions} by {@link Event#getEventId()},
+ *     and so only interested {@code subscribers} are visited.
+ *     A {@code subscription} made during publication is not guaranteed to
+ *     receive the {@code event} currently being published.</li>
+ *     <li>{@code Events} are assigned this publisher's {@link EventSource} once
+ *     per {@code event} instance, and the assigned {@code event} is reused on
+ *     subsequent publications, so {@code events} should be immutable.</li>
+ *     <li>{@code Subscribers} registered with the
+ *     {@link EventBroadcaster#subscribeWeakly} method are weakly referenced,
+ *     and so do not prevent their garbage collection. Subscriptions of
+ *     collected {@code subscribers} are purged lazily on the next
+ *     {@code publish}.</li>
  * </ul>
+ * Optionally, this object records the notification latency of each
+ * {@code subscriber}, {@code subscriber} exceptions and publications per
+ * {@code event} type, flagging slow {@code subscribers}. See
+ * {@link EventBroadcaster#getMetrics()}.
+ * <p>
  * To conclude,it is possible to {@link EventBroadcaster#publish},
  * {@link EventBroadcaster#subscribe} and {@link EventBroadcaster#unsubscribe}
  * and maintain reasonable concurrency in an multi-threaded context.
@@ -70,25 +96,152 @@ public class EventBroadcaster<T extends EventSource,V> implements EventPublisher
 
     private static final Logger logger = LoggerFactory.getLogger(EventPublisher.class);
 
-    // uniqueIdentity variable has its own lock (intrinsic). Retrieving identity
-    // should not be obstructed by the main Lock object.
-    private static int uniqueIdentity = 0;
+    // Subscription identities are unique across all publishers. Retrieving
+    // identity should not be obstructed by the main Lock object.
+    private static final AtomicLong uniqueIdentity = new AtomicLong();
+
+    private static final Subscription<?>[] NO_SUBSCRIPTIONS = new Subscription<?>[0];
 
     private final Object mainLock;
-    private final Map<String,Subscription> subscriptions;
     private final T source;
+    private final AssignedEvents assignedEvents;
+    private final EventMetricsRecorder metrics;
+
+    // Reverse index of subscriber to its subscription, guarded by mainLock.
+    // Weakly keyed so that weak subscriptions do not retain their subscribers.
+    private final Map<EventSubscriber<V>,Subscription<V>> subscribers;
+
+    // Weakly referenced subscribers are enqueued here once collected.
+    private final ReferenceQueue<EventSubscriber<V>> collected;
+    private final AtomicLong purged;
+
+    // Immutable snapshot of subscriptions and their dispatch index, replaced
+    // under mainLock by subscribe/unsubscribe. Publishers read it lock-free.
+    private volatile Subscriptions<V> subscriptions;
 
     @Getter
-    @AllArgsConstructor
     @EqualsAndHashCode(onlyExplicitlyIncluded = true)
-    private class Subscription {
+    private static class Subscription<V> {
         private final Object lock = new Object();
         @EqualsAndHashCode.Include
-        private final String identity;
+        private final long identity;
 
+        // Either the subscriber and its delivery are held, or the reference.
         private final EventSubscriber<V> subscriber;
+        private final EventSubscriber<V> delivery;
+        private final SubscriberReference<V> reference;
         private final Set<Event> captureEvents;
+        private final EventMetricsRecorder.Recorder recorder;
         private boolean canceled;
+
+        private Subscription(final long identity, final EventSubscriber<V> subscriber,
+                             final EventSubscriber<V> delivery, final Set<Event> captureEvents,
+                             final EventMetricsRecorder.Recorder recorder,
+                             final ReferenceQueue<EventSubscriber<V>> queue) {
+            this.identity = identity;
+            this.reference = queue != null ? new SubscriberReference<>(subscriber,queue,this) : null;
+            this.subscriber = reference == null ? subscriber : null;
+            this.delivery = reference == null ? delivery : null;
+            this.captureEvents = captureEvents;
+            this.recorder = recorder;
+        }
+
+        /**
+         * @return the {@code subscriber}, or null if weakly referenced and
+         * collected.
+         */
+        private EventSubscriber<V> getSubscriber() {
+            return reference == null ? subscriber : reference.get();
+        }
+
+        /**
+         * @return the {@code subscriber} to notify, or null if weakly referenced
+         * and collected.
+         */
+        private EventSubscriber<V> getDelivery() {
+            return reference == null ? delivery : reference.get();
+        }
+    }
+
+    /**
+     * Weak reference to a {@code subscriber}, enqueued with the
+     * {@code subscription} to purge once the {@code subscriber} is collected.
+     */
+    private static final class SubscriberReference<V> extends WeakReference<EventSubscriber<V>> {
+        private final Subscription<V> subscription;
+
+        private SubscriberReference(final EventSubscriber<V> subscriber,
+                                    final ReferenceQueue<EventSubscriber<V>> queue,
+                                    final Subscription<V> subscription) {
+            super(subscriber,queue);
+            this.subscription = subscription;
+        }
+    }
+
+    /**
+     * Immutable snapshot of the {@code subscriptions} in order of subscription,
+     * together with an index of the {@code subscriptions} interested in each
+     * {@link Event} type, keyed by {@link Event#getEventId()}.
+     */
+    private static final class Subscriptions<V> {
+        private final Subscription<V>[] ordered;
+        private final Map<String,Subscription<V>[]> dispatch;
+
+        private Subscriptions(final Subscription<V>[] ordered, final Map<String,Subscription<V>[]> dispatch) {
+            this.ordered = ordered;
+            this.dispatch = dispatch;
+        }
+
+        private Subscriptions<V> add(final Subscription<V> subscription) {
+            Map<String,Subscription<V>[]> index = new HashMap<>(dispatch);
+            for (Event event : subscription.getCaptureEvents())
+                index.merge(event.getEventId(),single(subscription),Subscriptions::append);
+            return new Subscriptions<>(append(ordered,single(subscription)),index);
+        }
+
+        private Subscriptions<V> remove(final Subscription<V> subscription) {
+            Map<String,Subscription<V>[]> index = new HashMap<>(dispatch);
+            for (Event event : subscription.getCaptureEvents())
+                index.computeIfPresent(event.getEventId(),(id,interested) -> {
+                    Subscription<V>[] result = remove(interested,subscription);
+                    return result.length == 0 ? null : result;
+                });
+            return new Subscriptions<>(remove(ordered,subscription),index);
+        }
+
+        private Subscription<V>[] interested(final Event event) {
+            Subscription<V>[] result = dispatch.get(event.getEventId());
+            return result == null ? newSubscriptions(0) : result;
+        }
+
+        private static <V> Subscription<V>[] single(final Subscription<V> subscription) {
+            Subscription<V>[] result = newSubscriptions(1);
+            result[0] = subscription;
+            return result;
+        }
+
+        private static <V> Subscription<V>[] append(final Subscription<V>[] subscriptions,
+                                                    final Subscription<V>[] others) {
+            Subscription<V>[] result = Arrays.copyOf(subscriptions,subscriptions.length + others.length);
+            System.arraycopy(others,0,result,subscriptions.length,others.length);
+            return result;
+        }
+
+        private static <V> Subscription<V>[] remove(final Subscription<V>[] subscriptions,
+                                                    final Subscription<V> subscription) {
+            int index = -1;
+            for (int i = 0; i < subscriptions.length && index < 0; i++) {
+                if (subscriptions[i] == subscription)
+                    index = i;
+            }
+            if (index < 0)
+                return subscriptions;
+
+            Subscription<V>[] result = newSubscriptions(subscriptions.length - 1);
+            System.arraycopy(subscriptions,0,result,0,index);
+            System.arraycopy(subscriptions,index + 1,result,index,subscriptions.length - index - 1);
+            return result;
+        }
     }
 
     /**
@@ -111,57 +264,129 @@ public class EventBroadcaster<T extends EventSource,V> implements EventPublisher
      * Create an instance of this object with {@link EventSource} set to this.
      */
     public EventBroadcaster(final T source) {
+        this(source,null);
+    }
+
+    /**
+     * Constructs an instance of this object that records metrics.
+     * <p>
+     * The notification latency of each {@code subscriber}, the number of
+     * exceptions raised by {@code subscribers} and the publications of each
+     * {@code event} type are recorded. Use the {@link #getMetrics()} method to
+     * obtain a snapshot of the metrics, in which {@code subscribers} whose 99th
+     * percentile latency exceeds the {@code slowThreshold} are flagged as slow.
+     *
+     * @param source the {@link EventSource} of published {@code events}.
+     * @param slowThreshold 99th percentile latency beyond which a
+     *                      {@code subscriber} is considered slow.
+     * @param unit unit of the {@code slowThreshold}.
+     * @throws NullPointerException if {@code unit} is null.
+     * @throws IllegalArgumentException if {@code slowThreshold} is negative.
+     */
+    public EventBroadcaster(final T source, final long slowThreshold, final TimeUnit unit) {
+        this(source,new EventMetricsRecorder(requireThreshold(slowThreshold,unit)));
+    }
+
+    private EventBroadcaster(final T source, final EventMetricsRecorder metrics) {
         this.source = source;
-        this.subscriptions = new LinkedHashMap<>();
+        this.metrics = metrics;
+        this.assignedEvents = new AssignedEvents(source);
+        this.subscriptions = new Subscriptions<>(newSubscriptions(0),Collections.emptyMap());
+        this.subscribers = new WeakHashMap<>();
+        this.collected = new ReferenceQueue<>();
+        this.purged = new AtomicLong();
         this.mainLock = new Object();
     }
 
     @Override
     public void publish(final Event event, final V value) {
-        Event anEvent = Objects.requireNonNull(event,"No event?")
-                .assign(source);
+        Event anEvent = assignedEvents.assign(Objects.requireNonNull(event,"No event?"));
+        purge();
+        if (metrics != null)
+            metrics.published(anEvent);
 
-        Set<Subscription> observers;
-        synchronized(mainLock) {
-            observers = new HashSet<>(subscriptions.values());
-        }
-
-        observers.forEach(subscription -> {
-            if (subscription.getCaptureEvents().contains(anEvent)) {
-                EventSubscriber<V> subscriber = subscription.getSubscriber();
-                synchronized (subscription.lock) {
-                    try {
-                        if (!subscription.canceled)
-                            subscriber.notify(anEvent, value);
-                    } catch (Throwable e) {
-                        logger.error("Subscriber raised an uncaught exception -- canceled subscription", e);
-                        subscription.canceled = true;
-                        unsubscribe(subscriber);
-                    }
+        Subscription<V>[] observers = subscriptions.interested(anEvent);
+        for (Subscription<V> subscription : observers) {
+            synchronized (subscription.lock) {
+                try {
+                    if (!subscription.canceled)
+                        notify(subscription,anEvent,value);
+                } catch (Throwable e) {
+                    logger.error("Subscriber raised an uncaught exception -- canceled subscription", e);
+                    subscription.canceled = true;
+                    failed(subscription);
+                    cancel(subscription);
                 }
             }
-        });
+        }
     }
 
     @Override
     public void subscribe(final EventSubscriber<V> subscriber, final Event... captureEvents) {
+        subscribe(subscriber,SubscriptionOptions.immediate(),captureEvents);
+    }
+
+    @Override
+    public void subscribe(final EventSubscriber<V> subscriber, final SubscriptionOptions<V> options,
+                          final Event... captureEvents) {
         EventSubscriber<V> aSubscriber = Objects.requireNonNull(subscriber,"No subscriber?");
+        Objects.requireNonNull(options,"No options?");
+
+        EventMetricsRecorder.Recorder recorder = metrics != null ? metrics.newRecorder() : null;
+        subscribe(aSubscriber,options.decorate(aSubscriber,() -> {
+                    Subscription<V> subscription;
+                    synchronized(mainLock) {
+                        subscription = subscribers.get(aSubscriber);
+                    }
+                    if (subscription != null)
+                        failed(subscription);
+                    unsubscribe(aSubscriber);
+                }),recorder,null,captureEvents);
+    }
 
+    /**
+     * Registers the {@link EventSubscriber} with this {@code publisher}, holding
+     * only a weak reference to the {@code subscriber}.
+     * <p>
+     * The subscription does not prevent the {@code subscriber} from being
+     * garbage collected, and so a short-lived {@code subscriber} that does not
+     * unsubscribe is not retained by this {@code publisher}. Once collected,
+     * the subscription is purged on the next {@code publish} and counted by
+     * {@link #getPurgedSubscriptions()}. The owner of the {@code subscriber}
+     * must therefore hold a strong reference to it for as long as it wishes to
+     * receive {@code events}, for example in a field rather than a lambda
+     * passed directly to this method.
+     * <p>
+     * Otherwise, the subscription behaves as those made with
+     * {@link #subscribe(EventSubscriber,Event...)}.
+     *
+     * @param subscriber the {@link EventSubscriber} object to register.
+     * @param captureEvents varargs of {@link Event} objects the
+     *                      {@link EventSubscriber} is interested in.
+     * @throws NullPointerException if {@code subscriber} is null.
+     * @throws IllegalArgumentException if {@code captureEvents} is null or less
+     * than 1.
+     * @throws EventException if the {@code subscriber} is already subscribed.
+     */
+    public void subscribeWeakly(final EventSubscriber<V> subscriber, final Event... captureEvents) {
+        EventSubscriber<V> aSubscriber = Objects.requireNonNull(subscriber,"No subscriber?");
+        subscribe(aSubscriber,aSubscriber,metrics != null ? metrics.newRecorder() : null,collected,captureEvents);
+    }
+
+    private void subscribe(final EventSubscriber<V> subscriber, final EventSubscriber<V> delivery,
+                           final EventMetricsRecorder.Recorder recorder,
+                           final ReferenceQueue<EventSubscriber<V>> queue, final Event... captureEvents) {
         if ( captureEvents == null || captureEvents.length < 1 )
             throw new IllegalArgumentException("No events to capture");
 
-        synchronized(mainLock) {
-            subscriptions.values().stream()
-                .filter(s -> s.getSubscriber().equals(subscriber))
-                .findAny()
-                .ifPresent(s -> {
-                    throw new EventException("Subscriber exists -- unsubscribe first");
-                });
+        Subscription<V> subscription = new Subscription<>(uniqueIdentity.getAndIncrement(),subscriber,delivery,
+                Collections.unmodifiableSet(new HashSet<>(Arrays.asList(captureEvents))),recorder,queue);
 
-            Subscription subscription = new Subscription(getUniqueIdentity(), aSubscriber,
-                    Collections.unmodifiableSet(new HashSet<>(Arrays.asList(captureEvents))),false);
+        synchronized(mainLock) {
+            if (subscribers.putIfAbsent(subscriber,subscription) != null)
+                throw new EventException("Subscriber exists -- unsubscribe first");
 
-            subscriptions.put(subscription.getIdentity(), subscription);
+            subscriptions = subscriptions.add(subscription);
         }
     }
 
@@ -170,37 +395,131 @@ public class EventBroadcaster<T extends EventSource,V> implements EventPublisher
         EventSubscriber<V> aSubscriber = Objects.requireNonNull(subscriber,"No subscriber?");
 
         synchronized(mainLock) {
-            // Derive subscription identity
-            String identity = subscriptions.values().stream()
-                    .filter(s -> s.getSubscriber().equals(aSubscriber))
-                    .map(Subscription::getIdentity)
-                    .collect(Collectors.joining());
+            Subscription<V> subscription = subscribers.remove(aSubscriber);
+            if (subscription == null)
+                return false;
 
-            // Remove subscription
-            return subscriptions.remove(identity) != null;
+            subscriptions = subscriptions.remove(subscription);
+            if (subscription.reference != null)
+                subscription.reference.clear();
+            if (subscription.getDelivery() instanceof BufferedEventSubscriber)
+                ((BufferedEventSubscriber<V>) subscription.getDelivery()).cancel();
+            return true;
         }
     }
 
+    @Override
+    public boolean isSubscribed(final EventSubscriber<V> subscriber) {
+        EventSubscriber<V> aSubscriber = Objects.requireNonNull(subscriber,"No subscriber?");
+
+        synchronized(mainLock) {
+            return subscribers.containsKey(aSubscriber);
+        }
+    }
+
+    /**
+     * Returns the number of weak subscriptions purged because their
+     * {@code subscribers} were garbage collected.
+     *
+     * @return number of purged subscriptions.
+     * @see #subscribeWeakly(EventSubscriber,Event...)
+     */
+    public long getPurgedSubscriptions() {
+        return purged.get();
+    }
+
+    /**
+     * Returns a snapshot of the metrics of this {@code publisher}, provided it
+     * was constructed to record metrics.
+     *
+     * @return the {@link EventMetrics} of this {@code publisher}, or empty if
+     * metrics are not recorded.
+     * @see EventBroadcaster#EventBroadcaster(EventSource,long,TimeUnit)
+     */
+    public Maybe<EventMetrics> getMetrics() {
+        if (metrics == null)
+            return Maybe.empty();
+
+        Subscription<V>[] current = subscriptions.ordered;
+        List<SubscriberMetrics> result = new ArrayList<>(current.length);
+        for (Subscription<V> subscription : current) {
+            EventSubscriber<V> subscriber = subscription.getSubscriber();
+            if (subscriber != null)
+                result.add(subscription.recorder.snapshot(subscription.getIdentity(),subscriber));
+        }
+        return Maybe.of(metrics.snapshot(result));
+    }
+
     @Override
     public String toString() {
         String source = this.source.getClass().getSimpleName();
         source = source.isEmpty() ? "UNKNOWN" : source;
-        synchronized (mainLock) {
-            return String.format("[subscribers=%s,source=%s]", subscriptions.size(), source);
-        }
+        return String.format("[subscribers=%s,source=%s]", subscriptions.ordered.length, source);
     }
 
     @Override
     public int subscribers() {
+        return subscriptions.ordered.length;
+    }
+
+    private void failed(final Subscription<V> subscription) {
+        if (subscription.recorder != null)
+            subscription.recorder.failed(subscription.getIdentity(),subscription.getSubscriber());
+    }
+
+    /**
+     * Removes the subscriptions of weakly referenced {@code subscribers} that
+     * have been garbage collected. Polling the queue is inexpensive, and so
+     * the lock is only acquired when there are subscriptions to purge.
+     */
+    private void purge() {
+        Reference<? extends EventSubscriber<V>> reference = collected.poll();
+        if (reference == null)
+            return;
+
+        synchronized(mainLock) {
+            for (; reference != null; reference = collected.poll()) {
+                SubscriberReference<V> subscriberReference = Generics.unchecked(reference);
+                Subscriptions<V> current = subscriptions;
+                subscriptions = current.remove(subscriberReference.subscription);
+                if (subscriptions.ordered.length < current.ordered.length)
+                    purged.incrementAndGet();
+            }
+        }
+    }
+
+    private void cancel(final Subscription<V> subscription) {
         synchronized(mainLock) {
-            return subscriptions.size();
+            EventSubscriber<V> subscriber = subscription.getSubscriber();
+            if (subscriber != null)
+                subscribers.remove(subscriber,subscription);
+            subscriptions = subscriptions.remove(subscription);
         }
     }
 
-    private String getUniqueIdentity() {
-         Observable j;
-        synchronized (EventBroadcaster.class) {
-            return String.format("{subscription-%s}",uniqueIdentity++);
+    private static <V> void notify(final Subscription<V> subscription, final Event event, final V value) {
+        EventSubscriber<V> delivery = subscription.getDelivery();
+        if (delivery == null)
+            return; // Collected, and so awaiting purge
+
+        EventMetricsRecorder.Recorder recorder = subscription.recorder;
+        if (recorder == null) {
+            delivery.notify(event,value);
+        } else {
+            long start = System.nanoTime();
+            delivery.notify(event,value);
+            recorder.delivered(System.nanoTime() - start);
         }
     }
+
+    private static long requireThreshold(final long slowThreshold, final TimeUnit unit) {
+        Objects.requireNonNull(unit,"No unit?");
+        if (slowThreshold < 0)
+            throw new IllegalArgumentException("Slow threshold must not be negative");
+        return unit.toNanos(slowThreshold);
+    }
+
+    private static <V> Subscription<V>[] newSubscriptions(final int length) {
+        return Generics.unchecked(length == 0 ? NO_SUBSCRIPTIONS : new Subscription<?>[length]);
+    }
 }
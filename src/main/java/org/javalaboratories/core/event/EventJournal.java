@@ -0,0 +1,471 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A durable, append-only journal of published {@code events} and their values,
+ * stored in memory-mapped segment files.
+ * <p>
+ * Each {@code event} appended is assigned the next offset, starting at zero.
+ * The journal is a directory of segment files of a fixed size, each named
+ * after the offset of its first record. When a record does not fit the
+ * current segment, a new segment is started. Records hold the offset, the
+ * {@link Event#getEventId()} and the value converted to bytes by the
+ * {@link EventValueSerializer}. The {@code event} object itself is not
+ * stored, and so replayed {@code events} are resolved from the
+ * {@code events} captured by the {@code subscriber}.
+ * <p>
+ * Appended records are written to the memory-mapped segment and so survive
+ * the failure of the Java Virtual Machine, but are only guaranteed to
+ * survive the failure of the operating system once forced to the storage
+ * device. To sustain high publish rates, forcing is batched: the segment is
+ * forced after the configured number of appends, or at the first append
+ * after the configured interval elapsed, and when the journal is closed.
+ * Use {@link EventJournal#sync()} to force the journal explicitly.
+ * <p>
+ * On opening an existing journal, the last segment is scanned to determine
+ * the next offset, and so appending continues where it left off.
+ * <pre>
+ *     {@code
+ *          EventJournal<String> journal = EventJournal.<String>builder(directory)
+ *              .withSerializer(EventValueSerializer.serializable())
+ *              .withSyncBatch(1024)
+ *              .build();
+ *
+ *          JournaledEventPublisher<String> publisher = new JournaledEventPublisher<>(new EventBroadcaster<>(),journal);
+ *     }
+ * </pre>
+ * This object is thread-safe.
+ *
+ * @param <V> Type of value and/or state forwarded to the {@code subscribers}
+ *
+ * @see JournaledEventPublisher
+ * @see EventValueSerializer
+ */
+public final class EventJournal<V> implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventJournal.class);
+
+    /**
+     * Default size of each segment file in bytes.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * Default number of appends between forcing the journal to storage.
+     */
+    public static final int DEFAULT_SYNC_BATCH = 256;
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int NULL_VALUE = -1;
+    // Record: payload length, offset, event id length and bytes, value length and bytes.
+    private static final int RECORD_HEADER = Integer.BYTES + Long.BYTES;
+
+    private final Path directory;
+    private final EventValueSerializer<V> serializer;
+    private final int segmentSize;
+    private final int syncBatch;
+    private final long syncIntervalNanos;
+    private final NavigableMap<Long,Path> segments;
+
+    private MappedByteBuffer segment;
+    private long nextOffset;
+    private int unsynced;
+    private long synced;
+    private boolean closed;
+
+    /**
+     * Receives the records of the journal during replay.
+     *
+     * @param <V> Type of value and/or state forwarded to the {@code subscribers}
+     */
+    @FunctionalInterface
+    interface RecordConsumer<V> {
+        void accept(final long offset, final String eventId, final V value);
+    }
+
+    private EventJournal(final EventJournalBuilder<V> builder) throws IOException {
+        this.directory = builder.directory;
+        this.serializer = builder.serializer;
+        this.segmentSize = builder.segmentSize;
+        this.syncBatch = builder.syncBatch;
+        this.syncIntervalNanos = builder.syncIntervalNanos;
+        this.segments = new TreeMap<>();
+        this.synced = System.nanoTime();
+        open();
+    }
+
+    /**
+     * @return the offset that the next appended {@code event} will be
+     * assigned.
+     */
+    public synchronized long getNextOffset() {
+        return nextOffset;
+    }
+
+    /**
+     * @return the directory of the journal's segment files.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return number of segment files of the journal.
+     */
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Forces appended records to the storage device.
+     *
+     * @throws IllegalStateException if the journal is closed.
+     */
+    public synchronized void sync() {
+        requireOpen();
+        segment.force();
+        unsynced = 0;
+        synced = System.nanoTime();
+    }
+
+    /**
+     * Forces appended records to the storage device and closes the journal.
+     * Closing a closed journal has no effect.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed)
+            return;
+        segment.force();
+        segment = null;
+        closed = true;
+    }
+
+    /**
+     * Appends the {@code event} and its {@code value} to the journal.
+     *
+     * @param event the published {@link Event}.
+     * @param value the published value, may be null.
+     * @return the offset of the record.
+     * @throws EventException if the record could not be written.
+     * @throws IllegalArgumentException if the record exceeds the segment size.
+     * @throws IllegalStateException if the journal is closed.
+     */
+    synchronized long append(final Event event, final V value) {
+        requireOpen();
+        byte[] eventId = Objects.requireNonNull(event.getEventId(),"No event id?").getBytes(StandardCharsets.UTF_8);
+        byte[] bytes;
+        try {
+            bytes = value == null ? null : serializer.serialize(value);
+        } catch (IOException e) {
+            throw new EventException("Failed to serialize value of journaled event",e,event);
+        }
+
+        int payload = Short.BYTES + eventId.length + Integer.BYTES + (bytes == null ? 0 : bytes.length);
+        int size = RECORD_HEADER + payload;
+        if (size > segmentSize || eventId.length > Short.MAX_VALUE)
+            throw new IllegalArgumentException("Event record exceeds journal segment size");
+        if (segment.remaining() < size)
+            roll(event);
+
+        // Length is written last, and so a partially written record reads as the end of the segment
+        long offset = nextOffset++;
+        int position = segment.position();
+        segment.position(position + Integer.BYTES);
+        segment.putLong(offset)
+                .putShort((short) eventId.length)
+                .put(eventId)
+                .putInt(bytes == null ? NULL_VALUE : bytes.length);
+        if (bytes != null)
+            segment.put(bytes);
+        segment.putInt(position,payload);
+
+        if (++unsynced >= syncBatch || System.nanoTime() - synced >= syncIntervalNanos)
+            sync();
+        return offset;
+    }
+
+    /**
+     * Replays the records from the {@code fromOffset} to the end of the
+     * journal, at the time of the invocation, to the {@code consumer}.
+     * <p>
+     * Only records of {@code events} in {@code eventIds} are deserialized and
+     * passed to the {@code consumer}. Appending is not obstructed during the
+     * replay, other than whilst determining the end of the journal.
+     *
+     * @param fromOffset offset of the first record to replay.
+     * @param eventIds identities of {@code events} of interest.
+     * @param consumer receives the records of interest in order of offset.
+     * @return offset following the last record replayed.
+     * @throws EventException if the journal could not be read.
+     */
+    long replay(final long fromOffset, final Set<String> eventIds, final RecordConsumer<V> consumer) {
+        NavigableMap<Long,Path> paths;
+        ByteBuffer active;
+        long end;
+        synchronized (this) {
+            requireOpen();
+            if (fromOffset >= nextOffset)
+                return nextOffset;
+            Long first = segments.floorKey(fromOffset);
+            paths = new TreeMap<>(segments.tailMap(first == null ? segments.firstKey() : first,true));
+            active = segment.duplicate();
+            active.flip();
+            end = nextOffset;
+        }
+
+        Long last = paths.lastKey();
+        for (Map.Entry<Long,Path> entry : paths.entrySet()) {
+            ByteBuffer buffer = entry.getKey().equals(last) ? active : map(entry.getValue());
+            read(buffer,fromOffset,end,eventIds,consumer);
+        }
+        return end;
+    }
+
+    private void read(final ByteBuffer buffer, final long fromOffset, final long end, final Set<String> eventIds,
+                      final RecordConsumer<V> consumer) {
+        while (buffer.remaining() >= RECORD_HEADER) {
+            int payload = buffer.getInt();
+            if (payload == 0)
+                break;
+            long offset = buffer.getLong();
+            if (offset >= end)
+                break;
+            int next = buffer.position() + payload;
+            if (offset >= fromOffset) {
+                byte[] id = new byte[buffer.getShort()];
+                buffer.get(id);
+                String eventId = new String(id,StandardCharsets.UTF_8);
+                if (eventIds.contains(eventId))
+                    consumer.accept(offset,eventId,readValue(buffer));
+            }
+            buffer.position(next);
+        }
+    }
+
+    private V readValue(final ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_VALUE)
+            return null;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        try {
+            return serializer.deserialize(bytes);
+        } catch (IOException e) {
+            throw new EventException("Failed to deserialize value of journaled event",e);
+        }
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,"*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                try {
+                    segments.put(Long.parseLong(name.substring(0,name.length() - SEGMENT_SUFFIX.length())),path);
+                } catch (NumberFormatException e) {
+                    logger.warn("Ignoring unrecognised journal file {}",path);
+                }
+            }
+        }
+
+        if (segments.isEmpty()) {
+            segment = create(0L);
+            return;
+        }
+
+        // Recover next offset and position from the last segment
+        Map.Entry<Long,Path> last = segments.lastEntry();
+        segment = map(last.getValue(),FileChannel.MapMode.READ_WRITE);
+        nextOffset = last.getKey();
+        while (segment.remaining() >= RECORD_HEADER) {
+            int position = segment.position();
+            int payload = segment.getInt();
+            if (payload == 0) {
+                segment.position(position);
+                break;
+            }
+            nextOffset = segment.getLong() + 1;
+            segment.position(segment.position() + payload);
+        }
+    }
+
+    private void roll(final Event event) {
+        try {
+            segment.force();
+            segment = create(nextOffset);
+            unsynced = 0;
+            synced = System.nanoTime();
+        } catch (IOException e) {
+            throw new EventException("Failed to create journal segment",e,event);
+        }
+    }
+
+    private MappedByteBuffer create(final long baseOffset) throws IOException {
+        Path path = directory.resolve(String.format("%020d%s",baseOffset,SEGMENT_SUFFIX));
+        segments.put(baseOffset,path);
+        return map(path,FileChannel.MapMode.READ_WRITE);
+    }
+
+    private MappedByteBuffer map(final Path path, final FileChannel.MapMode mode) throws IOException {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[] {StandardOpenOption.READ}
+                : new StandardOpenOption[] {StandardOpenOption.READ,StandardOpenOption.WRITE,StandardOpenOption.CREATE};
+        try (FileChannel channel = FileChannel.open(path,options)) {
+            long size = mode == FileChannel.MapMode.READ_ONLY ? channel.size() : Math.max(channel.size(),segmentSize);
+            return channel.map(mode,0,size);
+        }
+    }
+
+    private ByteBuffer map(final Path path) {
+        try {
+            return map(path,FileChannel.MapMode.READ_ONLY);
+        } catch (IOException e) {
+            throw new EventException("Failed to read journal segment",e);
+        }
+    }
+
+    private void requireOpen() {
+        if (closed)
+            throw new IllegalStateException("Event journal closed");
+    }
+
+    /**
+     * Factory method supplying a {@code builder} object with which to construct
+     * an {@link EventJournal} object.
+     *
+     * @param directory directory of the journal's segment files, created if
+     *                  necessary.
+     * @param <V> Type of value and/or state forwarded to the {@code subscribers}
+     * @return a new {@link EventJournalBuilder} object.
+     * @throws NullPointerException if {@code directory} is null.
+     */
+    public static <V> EventJournalBuilder<V> builder(final Path directory) {
+        return new EventJournalBuilder<>(Objects.requireNonNull(directory,"No directory?"));
+    }
+
+    /**
+     * The builder class to facilitate the creation of {@link EventJournal}
+     * objects.
+     *
+     * @param <V> Type of value and/or state forwarded to the {@code subscribers}
+     */
+    public static final class EventJournalBuilder<V> {
+        private final Path directory;
+        private EventValueSerializer<V> serializer;
+        private int segmentSize;
+        private int syncBatch;
+        private long syncIntervalNanos;
+
+        private EventJournalBuilder(final Path directory) {
+            this.directory = directory;
+            this.segmentSize = DEFAULT_SEGMENT_SIZE;
+            this.syncBatch = DEFAULT_SYNC_BATCH;
+            this.syncIntervalNanos = Long.MAX_VALUE;
+        }
+
+        /**
+         * @param serializer converts published values to and from bytes.
+         * @return this {@link EventJournalBuilder}.
+         * @throws NullPointerException if {@code serializer} is null.
+         */
+        public EventJournalBuilder<V> withSerializer(final EventValueSerializer<V> serializer) {
+            this.serializer = Objects.requireNonNull(serializer,"No serializer?");
+            return this;
+        }
+
+        /**
+         * @param segmentSize size of each segment file in bytes.
+         * @return this {@link EventJournalBuilder}.
+         * @throws IllegalArgumentException if {@code segmentSize} is less than
+         * 1024 bytes.
+         */
+        public EventJournalBuilder<V> withSegmentSize(final int segmentSize) {
+            if (segmentSize < 1024)
+                throw new IllegalArgumentException("Segment size must be at least 1024 bytes");
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        /**
+         * @param syncBatch number of appends between forcing the journal to
+         *                  storage.
+         * @return this {@link EventJournalBuilder}.
+         * @throws IllegalArgumentException if {@code syncBatch} is less than 1.
+         */
+        public EventJournalBuilder<V> withSyncBatch(final int syncBatch) {
+            if (syncBatch < 1)
+                throw new IllegalArgumentException("Sync batch must be greater than zero");
+            this.syncBatch = syncBatch;
+            return this;
+        }
+
+        /**
+         * Forces the journal to storage at the first append after the
+         * {@code interval} has elapsed since the journal was last forced.
+         *
+         * @param interval maximum interval between forcing the journal.
+         * @param unit unit of the {@code interval}.
+         * @return this {@link EventJournalBuilder}.
+         * @throws IllegalArgumentException if {@code interval} is not positive.
+         * @throws NullPointerException if {@code unit} is null.
+         */
+        public EventJournalBuilder<V> withSyncInterval(final long interval, final TimeUnit unit) {
+            Objects.requireNonNull(unit,"No unit?");
+            if (interval <= 0)
+                throw new IllegalArgumentException("Sync interval must be positive");
+            this.syncIntervalNanos = unit.toNanos(interval);
+            return this;
+        }
+
+        /**
+         * Opens the journal, recovering the next offset of an existing journal.
+         *
+         * @return a new {@link EventJournal} object.
+         * @throws NullPointerException if no serializer was provided.
+         * @throws EventException if the journal could not be opened.
+         */
+        public EventJournal<V> build() {
+            Objects.requireNonNull(serializer,"No serializer?");
+            try {
+                return new EventJournal<>(this);
+            } catch (IOException e) {
+                throw new EventException("Failed to open event journal",e);
+            }
+        }
+    }
+}
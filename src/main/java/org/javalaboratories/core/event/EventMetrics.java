@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.event;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Represents a snapshot of the metrics of an {@link EventBroadcaster}, suitable
+ * for dashboards.
+ * <p>
+ * Publications are counted per {@code event} type, keyed by
+ * {@link Event#getEventId()}, since the metrics were enabled. Subscriber
+ * exceptions are counted across all {@code subscriptions}, including those
+ * canceled as a result of the exception. {@link SubscriberMetrics} are
+ * reported for current {@code subscriptions}, and separately for the most
+ * recent {@code subscriptions} canceled as a result of an exception, as at
+ * their cancellation.
+ * <p>
+ * This object is immutable.
+ *
+ * @see SubscriberMetrics
+ * @see EventBroadcaster#getMetrics()
+ */
+@Value
+public class EventMetrics {
+    long elapsedNanos;
+    long slowThresholdNanos;
+    long subscriberExceptions;
+    Map<String,Long> publications;
+    List<SubscriberMetrics> subscribers;
+    List<SubscriberMetrics> canceledSubscribers;
+
+    /**
+     * Returns the number of publications per second of the given {@code event}
+     * type.
+     *
+     * @param eventId identity of the {@code event} type.
+     * @return rate of publication, or zero if never published.
+     */
+    public double getPublishRate(final String eventId) {
+        long count = publications.getOrDefault(eventId,0L);
+        return elapsedNanos > 0 ? count / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1)) : 0.0;
+    }
+
+    /**
+     * @return metrics of {@code subscribers} whose 99th percentile latency
+     * exceeds the slow threshold.
+     */
+    public List<SubscriberMetrics> getSlowSubscribers() {
+        return subscribers.stream()
+                .filter(SubscriberMetrics::isSlow)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.event;
+
+import org.javalaboratories.core.concurrency.utils.FloodHistogram;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the metrics of an {@link EventBroadcaster}: publications per
+ * {@code event} type, subscriber exceptions and, via {@link Recorder} objects,
+ * the notification latencies of each {@code subscription}. The metrics of the
+ * most recent {@code subscriptions} canceled as a result of an exception are
+ * retained, up to {@link EventMetricsRecorder#MAX_CANCELED_SUBSCRIBERS}.
+ * <p>
+ * This object is thread-safe.
+ */
+final class EventMetricsRecorder {
+
+    static final int MAX_CANCELED_SUBSCRIBERS = 100;
+
+    private final long slowThresholdNanos;
+    private final long started;
+    private final Map<String,LongAdder> publications;
+    private final AtomicLong exceptions;
+    private final Deque<SubscriberMetrics> canceled;
+
+    /**
+     * Records the notifications of a single {@code subscription}. Notifications
+     * are recorded under this object's monitor, separate from the lock held
+     * during notification, so that a snapshot is not obstructed by a slow
+     * {@code subscriber}.
+     */
+    final class Recorder {
+        private final FloodHistogram latencies = new FloodHistogram();
+        private long exceptions;
+
+        synchronized void delivered(final long nanos) {
+            latencies.record(nanos);
+        }
+
+        /**
+         * Records the exception that canceled the {@code subscription}.
+         *
+         * @param identity identity of the canceled {@code subscription}.
+         * @param subscriber the {@code subscriber}, for reporting purposes.
+         */
+        void failed(final long identity, final Object subscriber) {
+            SubscriberMetrics metrics;
+            synchronized (this) {
+                exceptions++;
+                metrics = snapshot(identity,subscriber);
+            }
+            EventMetricsRecorder.this.exceptions.incrementAndGet();
+            synchronized (canceled) {
+                if (canceled.size() == MAX_CANCELED_SUBSCRIBERS)
+                    canceled.removeFirst();
+                canceled.addLast(metrics);
+            }
+        }
+
+        synchronized SubscriberMetrics snapshot(final long identity, final Object subscriber) {
+            long p99 = latencies.getValueAtPercentile(99.0);
+            return new SubscriberMetrics(identity,String.valueOf(subscriber),latencies.getCount(),exceptions,
+                    latencies.getCount() > 0 && p99 > slowThresholdNanos,latencies.copy());
+        }
+    }
+
+    EventMetricsRecorder(final long slowThresholdNanos) {
+        this.slowThresholdNanos = slowThresholdNanos;
+        this.started = System.nanoTime();
+        this.publications = new ConcurrentHashMap<>();
+        this.exceptions = new AtomicLong();
+        this.canceled = new ArrayDeque<>();
+    }
+
+    Recorder newRecorder() {
+        return new Recorder();
+    }
+
+    void published(final Event event) {
+        String eventId = String.valueOf(event.getEventId());
+        LongAdder count = publications.get(eventId);
+        if (count == null)
+            count = publications.computeIfAbsent(eventId,k -> new LongAdder());
+        count.increment();
+    }
+
+    EventMetrics snapshot(final List<SubscriberMetrics> subscribers) {
+        Map<String,Long> counts = new LinkedHashMap<>();
+        publications.forEach((id,count) -> counts.put(id,count.sum()));
+        List<SubscriberMetrics> canceledSubscribers;
+        synchronized (canceled) {
+            canceledSubscribers = new ArrayList<>(canceled);
+        }
+        return new EventMetrics(System.nanoTime() - started,slowThresholdNanos,exceptions.get(),
+                Collections.unmodifiableMap(counts),Collections.unmodifiableList(subscribers),
+                Collections.unmodifiableList(canceledSubscribers));
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.event;
+
+import lombok.Value;
+
+/**
+ * An {@link Event} and its value as published by the {@link EventPublisher},
+ * delivered to {@link EventBatchSubscriber} objects in batches.
+ * <p>
+ * This object is immutable.
+ *
+ * @param <V> Type of value and/or state forwarded to the {@code subscribers}
+ *
+ * @see EventBatchSubscriber
+ * @see SubscriptionOptions
+ */
+@Value
+public class EventNotification<V> {
+    Event event;
+    V value;
+}
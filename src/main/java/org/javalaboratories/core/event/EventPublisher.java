@@ -15,6 +15,8 @@
  */
 package org.javalaboratories.core.event;
 
+import java.util.Objects;
+
 /**
  * An object that implements this interface can notify its subscribed
  * dependencies with events.
@@ -81,6 +83,44 @@ public interface EventPublisher<V> {
      */
     void subscribe(final EventSubscriber<V> subscriber, final Event... captureEvents);
 
+    /**
+     * Registers the {@link EventSubscriber} with this {@link EventPublisher},
+     * delivering {@code events} according to the {@link SubscriptionOptions}.
+     * <p>
+     * The {@code options} determine whether {@code events} are delivered in
+     * batches, based on size and/or time window, and/or coalesced by key so
+     * that only the latest {@code event} per key is delivered. Unregister the
+     * {@code subscriber} with the {@link EventPublisher#unsubscribe} method as
+     * usual, in which case outstanding {@code events} are discarded.
+     * <p>
+     * The default implementation registers the {@code subscriber} with
+     * {@link #subscribe(EventSubscriber,Event...)} if the {@code options} are
+     * {@link SubscriptionOptions#isImmediate() immediate}, otherwise it raises
+     * an {@link UnsupportedOperationException}: publishers that support
+     * subscription options override this method.
+     *
+     * @param subscriber the {@link EventSubscriber} object to register.
+     * @param options delivery options of the {@code subscription}.
+     * @param captureEvents varargs of {@link Event} objects the
+     *                      {@link EventSubscriber} is interested in.
+     * @throws NullPointerException if {@code subscriber} or {@code options} is
+     * null.
+     * @throws IllegalArgumentException if {@code captureEvents} is null or less
+     * than 1.
+     * @throws UnsupportedOperationException if the {@code options} are not
+     * immediate, and this {@code publisher} does not support subscription
+     * options.
+     * @see SubscriptionOptions
+     * @see EventBatchSubscriber
+     */
+    default void subscribe(final EventSubscriber<V> subscriber, final SubscriptionOptions<V> options,
+                           final Event... captureEvents) {
+        Objects.requireNonNull(options,"No options?");
+        if (!options.isImmediate())
+            throw new UnsupportedOperationException("Subscription options not supported");
+        subscribe(subscriber,captureEvents);
+    }
+
     /**
      * Unregisters the {@link EventSubscriber} from this {@link EventPublisher}.
      * <p>
@@ -94,6 +134,25 @@ public interface EventPublisher<V> {
      */
     boolean unsubscribe(final EventSubscriber<V> subscriber);
 
+    /**
+     * Determines whether the {@link EventSubscriber} is registered with this
+     * {@link EventPublisher}.
+     * <p>
+     * The default implementation raises an {@link UnsupportedOperationException}:
+     * publishers able to look up their {@code subscribers} override this
+     * method.
+     *
+     * @param subscriber the {@link EventSubscriber} object to look up.
+     * @return {@code true} if the {@code subscriber} is registered.
+     * @throws NullPointerException if {@code subscriber} is null.
+     * @throws UnsupportedOperationException if this {@code publisher} does not
+     * support the look up of {@code subscribers}.
+     */
+    default boolean isSubscribed(final EventSubscriber<V> subscriber) {
+        Objects.requireNonNull(subscriber,"No subscriber?");
+        throw new UnsupportedOperationException("Subscriber look up not supported");
+    }
+
     /**
      * @return number of subscribers registered with this {@code publisher}
      */
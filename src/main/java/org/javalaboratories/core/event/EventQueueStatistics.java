@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.event;
+
+import lombok.Value;
+
+/**
+ * Represents the state of a {@code subscriber's} event queue in an
+ * {@link AsyncEventBroadcaster} at the time of the request.
+ * <p>
+ * This object is immutable.
+ *
+ * @see AsyncEventBroadcaster
+ */
+@Value
+public class EventQueueStatistics {
+    /**
+     * Maximum number of {@code events} the queue holds.
+     */
+    int capacity;
+
+    /**
+     * Number of {@code events} waiting to be delivered.
+     */
+    int depth;
+
+    /**
+     * Number of {@code events} delivered to the {@code subscriber}.
+     */
+    long delivered;
+
+    /**
+     * Number of {@code events} discarded by the overflow policy.
+     */
+    long dropped;
+}
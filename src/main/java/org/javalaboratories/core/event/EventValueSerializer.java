@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.event;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+/**
+ * An object that implements this interface converts the values published with
+ * {@code events} to and from bytes for the {@link EventJournal}.
+ * <p>
+ * Implementations must be thread-safe. The {@link EventValueSerializer#serializable()}
+ * method provides an implementation based on Java serialization, which is
+ * convenient but relatively slow and verbose; consider a dedicated
+ * implementation for high publish rates.
+ *
+ * @param <V> Type of value and/or state forwarded to the {@code subscribers}
+ *
+ * @see EventJournal
+ * @see JournaledEventPublisher
+ */
+public interface EventValueSerializer<V> {
+
+    /**
+     * Converts the {@code value} to bytes.
+     *
+     * @param value the value to serialize, never null.
+     * @return the bytes representing the {@code value}.
+     * @throws IOException if the {@code value} could not be serialized.
+     */
+    byte[] serialize(final V value) throws IOException;
+
+    /**
+     * Converts the bytes to a value.
+     *
+     * @param bytes the bytes previously returned from {@link #serialize}.
+     * @return the value the {@code bytes} represent.
+     * @throws IOException if the {@code bytes} could not be deserialized.
+     */
+    V deserialize(final byte[] bytes) throws IOException;
+
+    /**
+     * Returns a serializer of {@link Serializable} values using Java
+     * serialization.
+     *
+     * @param <V> Type of value and/or state forwarded to the {@code subscribers}
+     * @return a Java serialization based {@link EventValueSerializer}.
+     */
+    static <V extends Serializable> EventValueSerializer<V> serializable() {
+        return new EventValueSerializer<V>() {
+            @Override
+            public byte[] serialize(final V value) throws IOException {
+                ByteArrayOutputStream result = new ByteArrayOutputStream();
+                try (ObjectOutputStream out = new ObjectOutputStream(result)) {
+                    out.writeObject(value);
+                }
+                return result.toByteArray();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public V deserialize(final byte[] bytes) throws IOException {
+                try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    return (V) in.readObject();
+                } catch (ClassNotFoundException e) {
+                    throw new IOException("Unknown class of journaled value",e);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.event;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An {@link EventPublisher} decorator that appends every published
+ * {@code event} to an {@link EventJournal} before publishing it with the
+ * underlying {@code publisher}, providing a durable audit stream of
+ * {@code events}.
+ * <p>
+ * New {@code subscribers} may replay the journal from a given offset before
+ * receiving live {@code events}, with the
+ * {@link JournaledEventPublisher#subscribe(EventSubscriber,long,Event...)}
+ * method. Replayed {@code events} are delivered on the subscribing thread,
+ * and their {@link EventSource} is this {@code publisher}. The switch from
+ * replay to live delivery is seamless: each {@code event} is delivered
+ * exactly once, either replayed or live. To achieve this, publishing is
+ * suspended whilst the {@code subscriber} replays {@code events} published
+ * since its replay started, but not during the bulk of the replay.
+ * <p>
+ * Otherwise, the behaviour of this object is that of the underlying
+ * {@code publisher}, for example whether {@code subscribers} are notified
+ * synchronously.
+ *
+ * @param <V> Type of value and/or state forwarded to the {@code subscribers}
+ *
+ * @see EventJournal
+ * @see EventBroadcaster
+ */
+public class JournaledEventPublisher<V> implements EventPublisher<V>, EventSource {
+
+    private final EventPublisher<V> delegate;
+    private final EventJournal<V> journal;
+    private final ReentrantReadWriteLock lock;
+    private final Lock publishLock;
+    private final Lock replayLock;
+
+    /**
+     * Constructs an instance of this object.
+     *
+     * @param delegate the underlying {@code publisher} of live {@code events}.
+     * @param journal the {@link EventJournal} to which {@code events} are
+     *                appended.
+     * @throws NullPointerException if {@code delegate} or {@code journal} is
+     * null.
+     */
+    public JournaledEventPublisher(final EventPublisher<V> delegate, final EventJournal<V> journal) {
+        this.delegate = Objects.requireNonNull(delegate,"No publisher?");
+        this.journal = Objects.requireNonNull(journal,"No journal?");
+        this.lock = new ReentrantReadWriteLock();
+        this.publishLock = lock.readLock();
+        this.replayLock = lock.writeLock();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The {@code event} is appended to the journal first, and so it is durable
+     * regardless of the outcome of the notification of {@code subscribers}.
+     *
+     * @throws EventException if the {@code event} could not be journaled, in
+     * which case it is not published.
+     */
+    @Override
+    public void publish(final Event event, final V value) {
+        Objects.requireNonNull(event,"No event?");
+        publishLock.lock();
+        try {
+            journal.append(event,value);
+            delegate.publish(event,value);
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    @Override
+    public void subscribe(final EventSubscriber<V> subscriber, final Event... captureEvents) {
+        delegate.subscribe(subscriber,captureEvents);
+    }
+
+    @Override
+    public void subscribe(final EventSubscriber<V> subscriber, final SubscriptionOptions<V> options,
+                          final Event... captureEvents) {
+        delegate.subscribe(subscriber,options,captureEvents);
+    }
+
+    /**
+     * Registers the {@link EventSubscriber} with this {@link EventPublisher},
+     * having replayed the journaled {@code events} from the {@code fromOffset}.
+     * <p>
+     * Only {@code events} in {@code captureEvents} are replayed. Should the
+     * {@code subscriber} raise an exception during the replay, it is not
+     * registered.
+     * <p>
+     * The replay suspends publishing, and so this method may not be called by
+     * a {@code subscriber} whilst it is notified synchronously of a published
+     * {@code event}, as the publishing thread cannot wait for itself.
+     *
+     * @param subscriber the {@link EventSubscriber} object to register.
+     * @param fromOffset offset of the first journaled {@code event} to replay;
+     *                   zero replays the whole journal.
+     * @param captureEvents varargs of {@link Event} objects the
+     *                      {@link EventSubscriber} is interested in.
+     * @return the journal offset from which the {@code subscriber} receives
+     * live {@code events}.
+     * @throws NullPointerException if {@code subscriber} is null.
+     * @throws IllegalArgumentException if {@code captureEvents} is null or less
+     * than 1, or {@code fromOffset} is negative.
+     * @throws EventException if the {@code subscriber} is already subscribed,
+     * failed during the replay, or the journal could not be read. A duplicate
+     * {@code subscriber} is rejected before the replay, provided the underlying
+     * {@code publisher} supports {@link EventPublisher#isSubscribed}.
+     * @throws IllegalStateException if called whilst the current thread is
+     * publishing an {@code event}.
+     */
+    public long subscribe(final EventSubscriber<V> subscriber, final long fromOffset, final Event... captureEvents) {
+        EventSubscriber<V> aSubscriber = Objects.requireNonNull(subscriber,"No subscriber?");
+
+        if ( captureEvents == null || captureEvents.length < 1 )
+            throw new IllegalArgumentException("No events to capture");
+        if (fromOffset < 0)
+            throw new IllegalArgumentException("Negative journal offset");
+        if (lock.getReadHoldCount() > 0)
+            throw new IllegalStateException("Cannot replay journal whilst publishing");
+        if (isSubscribedToDelegate(aSubscriber))
+            throw new EventException("Subscriber exists -- unsubscribe first");
+
+        Map<String,Event> events = new HashMap<>();
+        for (Event event : captureEvents)
+            events.put(event.getEventId(),event.assign(this));
+
+        EventJournal.RecordConsumer<V> replay = (offset,eventId,value) -> {
+            try {
+                aSubscriber.notify(events.get(eventId),value);
+            } catch (Throwable e) {
+                throw new EventException("Subscriber raised an uncaught exception during replay",e,events.get(eventId));
+            }
+        };
+
+        // Replay bulk of journal whilst publishing, then the remainder exclusively
+        long offset = journal.replay(fromOffset,events.keySet(),replay);
+        replayLock.lock();
+        try {
+            offset = journal.replay(offset,events.keySet(),replay);
+            delegate.subscribe(aSubscriber,captureEvents);
+            return offset;
+        } finally {
+            replayLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean unsubscribe(final EventSubscriber<V> subscriber) {
+        return delegate.unsubscribe(subscriber);
+    }
+
+    @Override
+    public boolean isSubscribed(final EventSubscriber<V> subscriber) {
+        return delegate.isSubscribed(subscriber);
+    }
+
+    @Override
+    public int subscribers() {
+        return delegate.subscribers();
+    }
+
+    private boolean isSubscribedToDelegate(final EventSubscriber<V> subscriber) {
+        try {
+            return delegate.isSubscribed(subscriber);
+        } catch (UnsupportedOperationException e) {
+            // The delegate rejects a duplicate subscriber post-replay instead
+            return false;
+        }
+    }
+
+    /**
+     * @return the underlying {@link EventJournal}.
+     */
+    public EventJournal<V> getJournal() {
+        return journal;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[journal=%s,next-offset=%s,publisher=%s]",journal.getDirectory().getFileName(),
+                journal.getNextOffset(),delegate);
+    }
+}
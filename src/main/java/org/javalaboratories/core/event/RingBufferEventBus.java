@@ -0,0 +1,353 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.event;
+
+import org.javalaboratories.core.util.Generics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This {@link EventPublisher} passes {@code events} to its {@link EventSubscriber}
+ * recipients through a pre-allocated ring buffer, in the style of the LMAX
+ * Disruptor.
+ * <p>
+ * The ring buffer consists of mutable slots, each holding an {@code event} and
+ * its value. Publishing threads claim the next sequence number, write the slot
+ * at that sequence and mark it as published; no object is allocated per
+ * publication. Each {@code subscriber} is a consumer with its own sequence,
+ * and reads every published slot in sequence order, notifying the
+ * {@code subscriber} of the {@code events} it captures. Consumers drain all
+ * available slots in batches on the {@link Executor} provided at construction,
+ * and are scheduled by the publishing threads only when idle, and so no
+ * thread is dedicated to a {@code subscriber}.
+ * <p>
+ * A slot is not reused until all consumers have read it, and so a slow
+ * {@code subscriber} eventually causes publishing threads to wait for space:
+ * the capacity of the ring buffer bounds the distance between the fastest
+ * publisher and the slowest {@code subscriber}. Slots retain their
+ * {@code event} and value until overwritten.
+ * <p>
+ * A {@code subscriber} receives {@code events} published after its
+ * subscription, in order of publication. "Toxic" {@code subscribers}, those
+ * that raise an exception, are automatically unsubscribed. {@code Events} are
+ * assigned this publisher's {@link EventSource} once per {@code event}
+ * instance, and so {@code events} should be immutable.
+ *
+ * @param <T> Type of source in which the event originated.
+ * @param <V> Type of value and/or state forwarded to the {@code subscribers}
+ *
+ * @see EventBroadcaster
+ * @see AsyncEventBroadcaster
+ */
+public class RingBufferEventBus<T extends EventSource,V> implements EventPublisher<V>, EventSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(RingBufferEventBus.class);
+
+    /**
+     * Default number of slots in the ring buffer.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final long WAIT_NANOS = 1_000L;
+    private static final Consumer<?>[] NO_CONSUMERS = new Consumer<?>[0];
+
+    private final T source;
+    private final Executor executor;
+    private final AssignedEvents assignedEvents;
+    private final Slot<V>[] slots;
+    private final AtomicLongArray published;
+    private final AtomicLong cursor;
+    private final int mask;
+    private final Object mainLock;
+
+    // Immutable snapshot of consumers, replaced under mainLock by subscribe
+    // and unsubscribe. Publishers read it lock-free to gate slot reuse.
+    private volatile Consumer<V>[] consumers;
+
+    private static final class Slot<V> {
+        private Event event;
+        private V value;
+    }
+
+    /**
+     * Constructs an instance of this object with {@link EventSource} unknown
+     * and a ring buffer of {@link RingBufferEventBus#DEFAULT_CAPACITY} slots.
+     *
+     * @param executor drains the ring buffer for the {@code subscribers}.
+     * @throws NullPointerException if {@code executor} is null.
+     */
+    public RingBufferEventBus(final Executor executor) {
+        this(Generics.unchecked(EVENT_SOURCE_UNKNOWN),executor);
+    }
+
+    /**
+     * Constructs an instance of this object with a ring buffer of
+     * {@link RingBufferEventBus#DEFAULT_CAPACITY} slots.
+     *
+     * @param source the {@link EventSource} of published {@code events}.
+     * @param executor drains the ring buffer for the {@code subscribers}.
+     * @throws NullPointerException if {@code executor} is null.
+     */
+    public RingBufferEventBus(final T source, final Executor executor) {
+        this(source,executor,DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an instance of this object.
+     *
+     * @param source the {@link EventSource} of published {@code events}.
+     * @param executor drains the ring buffer for the {@code subscribers}.
+     * @param capacity number of slots in the ring buffer, a power of two.
+     * @throws NullPointerException if {@code executor} is null.
+     * @throws IllegalArgumentException if {@code capacity} is not a positive
+     * power of two.
+     */
+    public RingBufferEventBus(final T source, final Executor executor, final int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1)
+            throw new IllegalArgumentException("Capacity must be a positive power of two");
+        this.source = source;
+        this.executor = Objects.requireNonNull(executor,"No executor?");
+        this.assignedEvents = new AssignedEvents(source);
+        this.slots = Generics.unchecked(new Slot<?>[capacity]);
+        for (int i = 0; i < capacity; i++)
+            slots[i] = new Slot<>();
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++)
+            published.set(i,-1L);
+        this.cursor = new AtomicLong();
+        this.mask = capacity - 1;
+        this.mainLock = new Object();
+        this.consumers = Generics.unchecked(NO_CONSUMERS);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The {@code event} is written to the ring buffer, and this method returns
+     * without waiting for notification, unless the ring buffer is full, in
+     * which case the publishing thread waits for the slowest {@code subscriber}
+     * to release a slot.
+     */
+    @Override
+    public void publish(final Event event, final V value) {
+        Event anEvent = assignedEvents.assign(Objects.requireNonNull(event,"No event?"));
+        if (consumers.length == 0)
+            return;
+
+        long sequence = cursor.getAndIncrement();
+        Consumer<V>[] gating;
+        while (sequence - slots.length >= minimumSequence(gating = consumers))
+            LockSupport.parkNanos(WAIT_NANOS);
+
+        int index = (int) sequence & mask;
+        Slot<V> slot = slots[index];
+        slot.event = anEvent;
+        slot.value = value;
+        published.set(index,sequence);
+
+        for (Consumer<V> consumer : gating)
+            consumer.schedule();
+    }
+
+    @Override
+    public void subscribe(final EventSubscriber<V> subscriber, final Event... captureEvents) {
+        subscribe(subscriber,SubscriptionOptions.immediate(),captureEvents);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * {@code Events} are buffered according to the {@code options} as they
+     * are read from the ring buffer, releasing their slots.
+     */
+    @Override
+    public void subscribe(final EventSubscriber<V> subscriber, final SubscriptionOptions<V> options,
+                          final Event... captureEvents) {
+        EventSubscriber<V> aSubscriber = Objects.requireNonNull(subscriber,"No subscriber?");
+        Objects.requireNonNull(options,"No options?");
+
+        if ( captureEvents == null || captureEvents.length < 1 )
+            throw new IllegalArgumentException("No events to capture");
+
+        Set<String> eventIds = new HashSet<>();
+        for (Event event : captureEvents)
+            eventIds.add(event.getEventId());
+
+        synchronized(mainLock) {
+            Consumer<V>[] current = consumers;
+            if (indexOf(current,aSubscriber) > -1)
+                throw new EventException("Subscriber exists -- unsubscribe first");
+
+            // Consumer gates all slots until it starts at the cursor, and so no
+            // publisher overwrites a slot the consumer has yet to read.
+            Consumer<V> consumer = new Consumer<>(this,aSubscriber,
+                    options.decorate(aSubscriber,() -> unsubscribe(aSubscriber)),eventIds);
+            Consumer<V>[] result = Arrays.copyOf(current,current.length + 1);
+            result[current.length] = consumer;
+            consumers = result;
+            consumer.sequence = cursor.get();
+        }
+    }
+
+    @Override
+    public boolean unsubscribe(final EventSubscriber<V> subscriber) {
+        EventSubscriber<V> aSubscriber = Objects.requireNonNull(subscriber,"No subscriber?");
+
+        synchronized(mainLock) {
+            Consumer<V>[] current = consumers;
+            int index = indexOf(current,aSubscriber);
+            if (index < 0)
+                return false;
+
+            current[index].cancel();
+            Consumer<V>[] result = Generics.unchecked(current.length == 1 ? NO_CONSUMERS : new Consumer<?>[current.length - 1]);
+            System.arraycopy(current,0,result,0,index);
+            System.arraycopy(current,index + 1,result,index,current.length - index - 1);
+            consumers = result;
+            return true;
+        }
+    }
+
+    @Override
+    public boolean isSubscribed(final EventSubscriber<V> subscriber) {
+        EventSubscriber<V> aSubscriber = Objects.requireNonNull(subscriber,"No subscriber?");
+        return indexOf(consumers,aSubscriber) > -1;
+    }
+
+    @Override
+    public int subscribers() {
+        return consumers.length;
+    }
+
+    /**
+     * @return number of slots in the ring buffer.
+     */
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    @Override
+    public String toString() {
+        String source = this.source.getClass().getSimpleName();
+        source = source.isEmpty() ? "UNKNOWN" : source;
+        return String.format("[subscribers=%s,source=%s,capacity=%s]", consumers.length, source, slots.length);
+    }
+
+    private static <V> long minimumSequence(final Consumer<V>[] consumers) {
+        long result = Long.MAX_VALUE;
+        for (Consumer<V> consumer : consumers)
+            result = Math.min(result,consumer.sequence);
+        return result;
+    }
+
+    private static <V> int indexOf(final Consumer<V>[] consumers, final EventSubscriber<V> subscriber) {
+        for (int i = 0; i < consumers.length; i++) {
+            if (consumers[i].subscriber.equals(subscriber))
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Reads the ring buffer on behalf of a {@code subscriber}. Its sequence is
+     * the next slot to read, and is only advanced by the draining thread.
+     */
+    private static final class Consumer<V> {
+        private final RingBufferEventBus<?,V> bus;
+        private final EventSubscriber<V> subscriber;
+        private final EventSubscriber<V> delivery;
+        private final Set<String> eventIds;
+        private final AtomicBoolean scheduled;
+        private volatile long sequence;
+        private volatile boolean canceled;
+
+        private Consumer(final RingBufferEventBus<?,V> bus, final EventSubscriber<V> subscriber,
+                         final EventSubscriber<V> delivery, final Set<String> eventIds) {
+            this.bus = bus;
+            this.subscriber = subscriber;
+            this.delivery = delivery;
+            this.eventIds = eventIds;
+            this.scheduled = new AtomicBoolean();
+            this.sequence = Long.MIN_VALUE;
+        }
+
+        private void schedule() {
+            if (!canceled && scheduled.compareAndSet(false,true)) {
+                try {
+                    bus.executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    logger.error("Executor rejected delivery of events to subscriber", e);
+                }
+            }
+        }
+
+        private void drain() {
+            long next = sequence;
+            try {
+                // Drain available slots in batches, releasing each batch to the
+                // publishers. Limit the batches so that one busy subscriber does
+                // not hog an executor thread; remaining slots are rescheduled.
+                long limit = next + bus.slots.length;
+                while (!canceled && next < limit && isPublished(next)) {
+                    long end = next;
+                    while (end < limit && isPublished(end))
+                        end++;
+                    for (; next < end && !canceled; next++)
+                        deliver(bus.slots[(int) next & bus.mask]);
+                    sequence = next;
+                }
+            } finally {
+                scheduled.set(false);
+            }
+            if (!canceled && isPublished(next))
+                schedule();
+        }
+
+        private void deliver(final Slot<V> slot) {
+            Event event = slot.event;
+            if (!eventIds.contains(event.getEventId()))
+                return;
+            try {
+                delivery.notify(event,slot.value);
+            } catch (Throwable e) {
+                logger.error("Subscriber raised an uncaught exception -- canceled subscription", e);
+                bus.unsubscribe(subscriber);
+            }
+        }
+
+        private void cancel() {
+            canceled = true;
+            if (delivery instanceof BufferedEventSubscriber)
+                ((BufferedEventSubscriber<V>) delivery).cancel();
+        }
+
+        private boolean isPublished(final long sequence) {
+            return bus.published.get((int) sequence & bus.mask) == sequence;
+        }
+    }
+}
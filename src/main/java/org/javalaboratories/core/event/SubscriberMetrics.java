@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.event;
+
+import lombok.ToString;
+import lombok.Value;
+import org.javalaboratories.core.concurrency.utils.FloodHistogram;
+
+/**
+ * Represents the delivery metrics of a single {@code subscription} of an
+ * {@link EventBroadcaster} at the time of the snapshot.
+ * <p>
+ * Latency is the duration of each notification of the {@code subscriber} on
+ * the publishing thread. A {@code subscriber} is considered slow when its
+ * 99th percentile latency exceeds the threshold configured on the
+ * {@link EventBroadcaster}.
+ * <p>
+ * This object is immutable.
+ *
+ * @see EventMetrics
+ * @see EventBroadcaster#getMetrics()
+ */
+@Value
+public class SubscriberMetrics {
+    long identity;
+    String subscriber;
+    long deliveries;
+    long exceptions;
+    boolean slow;
+    @ToString.Exclude
+    FloodHistogram latencies;
+
+    /**
+     * Returns the latencies of all notifications of the {@code subscriber}.
+     * <p>
+     * The histogram is mutable, and so a copy is returned.
+     *
+     * @return latencies of notifications in nanoseconds.
+     */
+    public FloodHistogram getLatencies() {
+        return latencies.copy();
+    }
+
+    /**
+     * @return 99th percentile latency of notifications in nanoseconds.
+     */
+    @ToString.Include
+    public long getP99LatencyNanos() {
+        return latencies.getValueAtPercentile(99.0);
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.event;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.javalaboratories.core.util.Generics;
+
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Options that determine how an {@link EventPublisher} delivers {@code events}
+ * to a {@link EventSubscriber}.
+ * <p>
+ * By default, {@code subscribers} are notified of each {@code event} as it is
+ * published. With these options, {@code events} are buffered and delivered
+ * later on the {@code scheduler} thread, either in batches or coalesced, so
+ * that high-frequency publishers do not overwhelm slow {@code subscribers}:
+ * <ul>
+ *     <li>Batch size: {@code events} are delivered once the given number of
+ *     {@code events} are buffered.</li>
+ *     <li>Batch window: {@code events} are delivered once the given time has
+ *     elapsed since the first {@code event} was buffered.</li>
+ *     <li>Coalescing: only the latest {@code event} of each key is buffered,
+ *     and so the {@code subscriber} receives only the latest state. Without a
+ *     batch size or window, {@code events} are delivered as soon as possible,
+ *     and those published whilst the {@code subscriber} is busy are
+ *     coalesced.</li>
+ * </ul>
+ * {@link EventBatchSubscriber} objects receive each batch in a single
+ * notification; other {@code subscribers} are notified of each {@code event}
+ * of the batch in turn. Outstanding {@code events} are discarded when the
+ * {@code subscriber} unsubscribes.
+ * <pre>
+ *     {@code
+ *          SubscriptionOptions<Progress> options = SubscriptionOptions.<Progress>builder()
+ *              .withWindow(100,TimeUnit.MILLISECONDS)
+ *              .withCoalescing(Progress::getStage)
+ *              .build();
+ *
+ *          publisher.subscribe(subscriber,options,PROGRESS_EVENT);
+ *     }
+ * </pre>
+ * Unless a {@code scheduler} is provided, buffered {@code events} are delivered
+ * on a shared daemon thread, and so a slow {@code subscriber} delays the
+ * delivery to other {@code subscribers} with options.
+ * <p>
+ * This object is immutable.
+ *
+ * @param <V> Type of value and/or state forwarded to the {@code subscribers}
+ *
+ * @see EventPublisher#subscribe(EventSubscriber,SubscriptionOptions,Event...)
+ * @see EventBatchSubscriber
+ */
+@Getter
+public final class SubscriptionOptions<V> {
+
+    private final int batchSize;
+    private final long windowNanos;
+    private final Function<? super V,?> coalescingKey;
+    @Getter(AccessLevel.NONE)
+    private final ScheduledExecutorService scheduler;
+
+    private static final class SharedScheduler {
+        private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread result = new Thread(r,"event-subscription-scheduler");
+            result.setDaemon(true);
+            return result;
+        });
+    }
+
+    private static final SubscriptionOptions<?> IMMEDIATE = SubscriptionOptions.builder().build();
+
+    private SubscriptionOptions(final SubscriptionOptionsBuilder<V> builder) {
+        this.batchSize = builder.batchSize;
+        this.windowNanos = builder.windowNanos;
+        this.coalescingKey = builder.coalescingKey;
+        this.scheduler = builder.scheduler;
+    }
+
+    /**
+     * @return {@code true} if only the latest {@code event} of each key is
+     * delivered.
+     */
+    public boolean isCoalescing() {
+        return coalescingKey != null;
+    }
+
+    /**
+     * @return {@code true} if {@code events} are delivered as they are
+     * published, in which case the {@code subscriber} is not decorated.
+     */
+    public boolean isImmediate() {
+        return batchSize == 0 && windowNanos == 0 && coalescingKey == null;
+    }
+
+    /**
+     * Decorates the {@code subscriber} with these options.
+     *
+     * @param subscriber the {@code subscriber} to decorate.
+     * @param cancel invoked should the {@code subscriber} raise an exception.
+     * @return the {@code subscriber} to register with the {@code publisher},
+     * or the {@code subscriber} itself if {@link #isImmediate()}.
+     */
+    EventSubscriber<V> decorate(final EventSubscriber<V> subscriber, final Runnable cancel) {
+        return isImmediate() ? subscriber : new BufferedEventSubscriber<>(subscriber,this,cancel);
+    }
+
+    /**
+     * @param <V> Type of value and/or state forwarded to the {@code subscribers}
+     * @return options delivering {@code events} as they are published.
+     */
+    static <V> SubscriptionOptions<V> immediate() {
+        return Generics.unchecked(IMMEDIATE);
+    }
+
+    ScheduledExecutorService getScheduler() {
+        return scheduler != null ? scheduler : SharedScheduler.INSTANCE;
+    }
+
+    /**
+     * Factory method supplying a {@code builder} object with which to construct
+     * a {@link SubscriptionOptions} object.
+     *
+     * @param <V> Type of value and/or state forwarded to the {@code subscribers}
+     * @return a new {@link SubscriptionOptionsBuilder} object.
+     */
+    public static <V> SubscriptionOptionsBuilder<V> builder() {
+        return new SubscriptionOptionsBuilder<>();
+    }
+
+    /**
+     * The builder class to facilitate the creation of {@link SubscriptionOptions}
+     * objects.
+     *
+     * @param <V> Type of value and/or state forwarded to the {@code subscribers}
+     */
+    public static final class SubscriptionOptionsBuilder<V> {
+        private int batchSize;
+        private long windowNanos;
+        private Function<? super V,?> coalescingKey;
+        private ScheduledExecutorService scheduler;
+
+        private SubscriptionOptionsBuilder() {}
+
+        /**
+         * Delivers {@code events} once the given number of {@code events} are
+         * buffered. Without a window, a partial batch is not delivered until
+         * it is complete.
+         *
+         * @param batchSize number of {@code events} in a batch.
+         * @return this {@link SubscriptionOptionsBuilder}.
+         * @throws IllegalArgumentException if {@code batchSize} is less than 1.
+         */
+        public SubscriptionOptionsBuilder<V> withBatchSize(final int batchSize) {
+            if (batchSize < 1)
+                throw new IllegalArgumentException("Batch size must be greater than zero");
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Delivers {@code events} once the {@code window} has elapsed since the
+         * first {@code event} was buffered.
+         *
+         * @param window duration of the window.
+         * @param unit unit of the {@code window}.
+         * @return this {@link SubscriptionOptionsBuilder}.
+         * @throws IllegalArgumentException if {@code window} is not positive.
+         * @throws NullPointerException if {@code unit} is null.
+         */
+        public SubscriptionOptionsBuilder<V> withWindow(final long window, final TimeUnit unit) {
+            Objects.requireNonNull(unit,"No unit?");
+            if (window <= 0)
+                throw new IllegalArgumentException("Window must be positive");
+            this.windowNanos = unit.toNanos(window);
+            return this;
+        }
+
+        /**
+         * Buffers only the latest {@code event} of each key, where the key is
+         * derived from the {@code event's} value. {@code Events} of different
+         * types never coalesce.
+         *
+         * @param key function deriving the key from the value.
+         * @return this {@link SubscriptionOptionsBuilder}.
+         * @throws NullPointerException if {@code key} is null.
+         */
+        public SubscriptionOptionsBuilder<V> withCoalescing(final Function<? super V,?> key) {
+            this.coalescingKey = Objects.requireNonNull(key,"No key?");
+            return this;
+        }
+
+        /**
+         * Buffers only the latest {@code event} of each {@code event} type.
+         *
+         * @return this {@link SubscriptionOptionsBuilder}.
+         */
+        public SubscriptionOptionsBuilder<V> withCoalescing() {
+            return withCoalescing(value -> Boolean.TRUE);
+        }
+
+        /**
+         * Delivers buffered {@code events} on the {@code scheduler} rather than
+         * the shared daemon thread.
+         *
+         * @param scheduler the {@code scheduler} with which to deliver.
+         * @return this {@link SubscriptionOptionsBuilder}.
+         * @throws NullPointerException if {@code scheduler} is null.
+         */
+        public SubscriptionOptionsBuilder<V> withScheduler(final ScheduledExecutorService scheduler) {
+            this.scheduler = Objects.requireNonNull(scheduler,"No scheduler?");
+            return this;
+        }
+
+        /**
+         * Builds the {@link SubscriptionOptions} object.
+         *
+         * @return a new {@link SubscriptionOptions} object.
+         */
+        public SubscriptionOptions<V> build() {
+            return new SubscriptionOptions<>(this);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package org.javalaboratories.core.statistics;
 
+import org.javalaboratories.core.util.Generics;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -25,15 +27,31 @@ public abstract class AbstractStatisticalCalculators<T extends Number> implement
     }
 
     public void combine(AbstractStatisticalCalculators<T> other) {
-        // Source data from the first calculator for now
-        if (other.calculators.size() > 0)
-            other.calculators.get(0).getData()
-                    .forEach(v -> calculators
-                            .forEach (c -> c.accept(v)));
+        // Combinable calculators combine directly, others are sourced data
+        // from the first calculator that retains it.
+        List<StatisticalCalculator<T,?>> sourced = new ArrayList<>();
+        for (int i = 0; i < calculators.size(); i++) {
+            StatisticalCalculator<T,?> calculator = calculators.get(i);
+            StatisticalCalculator<T,?> that = i < other.calculators.size() ? other.calculators.get(i) : null;
+            if (calculator instanceof CombinableStatisticalCalculator && that != null
+                    && that.getClass() == calculator.getClass()) {
+                CombinableStatisticalCalculator<T,Object> combinable = Generics.unchecked(calculator);
+                combinable.combine(Generics.unchecked(that));
+            } else {
+                sourced.add(calculator);
+            }
+        }
+        if (sourced.size() > 0)
+            other.calculators.stream()
+                    .filter(c -> !(c instanceof CombinableStatisticalCalculator))
+                    .findFirst()
+                    .ifPresent(c -> c.getData()
+                            .forEach(v -> sourced
+                                    .forEach(s -> s.accept(v))));
         delegate.combine(other.delegate);
     }
 
-    @SuppressWarnings("unchecked")
+    @SafeVarargs
     protected final void add(StatisticalCalculator<T,?>... calculators) {
         Objects.requireNonNull(calculators);
         this.calculators.addAll(Arrays.asList(calculators));
@@ -0,0 +1,23 @@
+package org.javalaboratories.core.statistics;
+
+/**
+ * Objects that implement this interface can perform a statistical function,
+ * and combine their state with another calculator of the same type.
+ * <p>
+ * Such calculators do not need to retain the sample data in order to
+ * combine the results of calculations performed in parallel, and so the
+ * {@link StatisticalCalculator#getData()} may not return all of the data.
+ *
+ * @param <T> type of terms (data)
+ * @param <R> type of calculated result
+ */
+public interface CombinableStatisticalCalculator<T,R> extends StatisticalCalculator<T,R> {
+    /**
+     * Combine the state of the other calculator with this calculator.
+     * <p>
+     * @param other calculator of the same type as this calculator.
+     * @throws IllegalArgumentException if {@code other} is not of the same
+     * type as this calculator.
+     */
+    void combine(CombinableStatisticalCalculator<T,R> other);
+}
@@ -2,24 +2,73 @@ package org.javalaboratories.core.statistics;
 
 import org.javalaboratories.core.Maybe;
 
+import java.util.Objects;
+
 public abstract class ComprehensiveStatisticalCalculators<T extends Number> extends AbstractStatisticalCalculators<T> {
 
+    /**
+     * Determines how calculations are performed.
+     * <ul>
+     *     <li>EXACT: the mode and median are calculated from all of the sample
+     *     data, which is retained.</li>
+     *     <li>STREAMING: the median is estimated with the
+     *     {@link QuantileCalculator}, whose memory is bounded regardless of
+     *     the sample size. The mode, which requires the occurrences of every
+     *     distinct value, is not calculated and is always empty.</li>
+     * </ul>
+     * In either case, the variance and standard deviation are calculated in a
+     * single pass without retaining the sample data.
+     */
+    public enum Calculation {EXACT, STREAMING}
+
+    private final Calculation calculation;
     private StatisticalCalculator<T, Maybe<Double>> mode;
     private StatisticalCalculator<T,Double> median;
     private StatisticalCalculator<T,Double> variance;
     private StatisticalCalculator<T,Double> standardDeviation;
 
     public ComprehensiveStatisticalCalculators(SummaryStatisticsAdapter<T> summary) {
+        this(summary,Calculation.EXACT);
+    }
+
+    public ComprehensiveStatisticalCalculators(SummaryStatisticsAdapter<T> summary, Calculation calculation) {
         super(summary);
-        mode = new ModeCalculator<>();
-        median = new MedianCalculator<>();
-        variance = new VarianceCalculator<>();
-        standardDeviation = new StandardDeviationCalculator<>();
-        add(mode,median,variance,standardDeviation);
+        this.calculation = Objects.requireNonNull(calculation,"Calculation required");
+        variance = new OnlineVarianceCalculator<>();
+        standardDeviation = new OnlineStandardDeviationCalculator<>();
+        if (calculation == Calculation.STREAMING) {
+            mode = null;
+            median = new QuantileCalculator<>();
+            add(median,variance,standardDeviation);
+        } else {
+            mode = new ModeCalculator<>();
+            median = new MedianCalculator<>();
+            add(mode,median,variance,standardDeviation);
+        }
+    }
+
+    public final Calculation getCalculation() {
+        return calculation;
+    }
+
+    /**
+     * Combines the state of the {@code other} calculators with this object.
+     *
+     * @param other calculators to combine with this object.
+     * @throws IllegalArgumentException if the {@code other} calculators are
+     * of a different {@link Calculation}, whose data could not be combined.
+     */
+    @Override
+    public void combine(AbstractStatisticalCalculators<T> other) {
+        if (other instanceof ComprehensiveStatisticalCalculators
+                && ((ComprehensiveStatisticalCalculators<T>) other).calculation != calculation)
+            throw new IllegalArgumentException(String.format("Cannot combine %s with %s calculation",
+                    calculation,((ComprehensiveStatisticalCalculators<T>) other).calculation));
+        super.combine(other);
     }
 
     public final Maybe<Double> getMode() {
-        return mode.getResult();
+        return mode != null ? mode.getResult() : Maybe.empty();
     }
 
     public final double getMedian() {
@@ -0,0 +1,101 @@
+package org.javalaboratories.core.statistics;
+
+import org.javalaboratories.core.Maybe;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.Objects;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Calculates statistics of {@code double} terms without boxing.
+ * <p>
+ * This object calculates the same statistics as the
+ * {@link DoubleStatisticalCalculators}, but as an {@link DoubleConsumer}, and
+ * retains the terms in primitive arrays and hash maps rather than collections
+ * of boxed values, which is considerably more economical on large numeric
+ * streams. For example:
+ * <pre>
+ *     {@code
+ *          DoublePrimitiveStatisticalCalculators calculators = DoubleStream.of(terms)
+ *              .collect(DoublePrimitiveStatisticalCalculators::new,
+ *                       DoublePrimitiveStatisticalCalculators::accept,
+ *                       DoublePrimitiveStatisticalCalculators::combine);
+ *     }
+ * </pre>
+ */
+public class DoublePrimitiveStatisticalCalculators implements DoubleConsumer {
+
+    private final DoubleSummaryStatistics summary;
+    private final DoubleTerms terms;
+
+    public DoublePrimitiveStatisticalCalculators() {
+        summary = new DoubleSummaryStatistics();
+        terms = new DoubleTerms();
+    }
+
+    @Override
+    public void accept(double value) {
+        summary.accept(value);
+        terms.accept(value);
+    }
+
+    public void combine(DoublePrimitiveStatisticalCalculators other) {
+        Objects.requireNonNull(other,"Calculators required");
+        summary.combine(other.summary);
+        terms.combine(other.terms);
+    }
+
+    public long getCount() {
+        return summary.getCount();
+    }
+
+    public double getSum() {
+        return summary.getSum();
+    }
+
+    public double getMin() {
+        return summary.getMin();
+    }
+
+    public double getMax() {
+        return summary.getMax();
+    }
+
+    public double getAverage() {
+        return summary.getAverage();
+    }
+
+    public Maybe<Double> getMode() {
+        return terms.getMode();
+    }
+
+    public double getMedian() {
+        return terms.getMedian();
+    }
+
+    public double getVariance() {
+        return terms.getVariance();
+    }
+
+    public double getStandardDeviation() {
+        if (getCount() == 0)
+            throw new InsufficientPopulationException("Could not calculate standard deviation");
+        return Math.sqrt(getVariance());
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%s{count=%d, sum=%s, min=%s, average=%s, max=%s, mode=%s, median=%f, variance=%f, standard-deviation=%f}",
+                this.getClass().getSimpleName(),
+                getCount(),
+                getSum(),
+                getMin(),
+                getAverage(),
+                getMax(),
+                getMode(),
+                getMedian(),
+                getVariance(),
+                getStandardDeviation());
+    }
+}
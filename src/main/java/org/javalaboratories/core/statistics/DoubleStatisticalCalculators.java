@@ -5,4 +5,8 @@ public class DoubleStatisticalCalculators extends ComprehensiveStatisticalCalcul
     public DoubleStatisticalCalculators() {
         super(new DoubleSummaryStatisticsAdapter());
     }
+
+    public DoubleStatisticalCalculators(Calculation calculation) {
+        super(new DoubleSummaryStatisticsAdapter(),calculation);
+    }
 }
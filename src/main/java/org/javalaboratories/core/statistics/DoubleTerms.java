@@ -0,0 +1,74 @@
+package org.javalaboratories.core.statistics;
+
+import org.javalaboratories.core.Maybe;
+
+import java.util.Arrays;
+
+/**
+ * Retains {@code double} terms in a growable primitive array, and their
+ * occurrences in a {@link LongCountMap}, keyed by their bits, to calculate the
+ * median, mode and variance without boxing.
+ * <p>
+ * The array is sorted in place on calculating the median, and remains sorted
+ * until further terms are accepted.
+ */
+final class DoubleTerms {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final LongCountMap occurrences;
+    private final OnlineVarianceCalculator<Double> variance;
+    private double[] terms;
+    private int size;
+    private boolean sorted;
+
+    DoubleTerms() {
+        occurrences = new LongCountMap();
+        variance = new OnlineVarianceCalculator<>();
+        terms = new double[INITIAL_CAPACITY];
+        sorted = true;
+    }
+
+    void accept(final double term) {
+        if (size == terms.length)
+            terms = Arrays.copyOf(terms,size + (size >> 1));
+        terms[size++] = term;
+        occurrences.add(Double.doubleToLongBits(term),1);
+        sorted = false;
+        variance.add(term);
+    }
+
+    void combine(final DoubleTerms other) {
+        if (size + other.size > terms.length)
+            terms = Arrays.copyOf(terms,Math.max(size + other.size,size + (size >> 1)));
+        System.arraycopy(other.terms,0,terms,size,other.size);
+        size += other.size;
+        occurrences.combine(other.occurrences);
+        sorted = false;
+        variance.combine(other.variance);
+    }
+
+    double getMedian() {
+        if (size == 0)
+            throw new InsufficientPopulationException("Could not calculate median");
+        if (!sorted) {
+            Arrays.sort(terms,0,size);
+            sorted = true;
+        }
+        int index = (size + 1) / 2;
+        if (size % 2 != 0)
+            return terms[index - 1];
+        else
+            return (terms[index - 1] + terms[index]) / 2.0;
+    }
+
+    Maybe<Double> getMode() {
+        if (size == 0)
+            throw new InsufficientPopulationException("Could not calculate mode");
+        return occurrences.getMode().map(Double::longBitsToDouble);
+    }
+
+    double getVariance() {
+        return variance.getVariance();
+    }
+}
@@ -0,0 +1,101 @@
+package org.javalaboratories.core.statistics;
+
+import org.javalaboratories.core.Maybe;
+
+import java.util.IntSummaryStatistics;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * Calculates statistics of {@code int} terms without boxing.
+ * <p>
+ * This object calculates the same statistics as the
+ * {@link IntStatisticalCalculators}, but as an {@link IntConsumer}, and
+ * retains the terms in primitive arrays and hash maps rather than collections
+ * of boxed values, which is considerably more economical on large numeric
+ * streams. For example:
+ * <pre>
+ *     {@code
+ *          IntPrimitiveStatisticalCalculators calculators = IntStream.of(terms)
+ *              .collect(IntPrimitiveStatisticalCalculators::new,
+ *                       IntPrimitiveStatisticalCalculators::accept,
+ *                       IntPrimitiveStatisticalCalculators::combine);
+ *     }
+ * </pre>
+ */
+public class IntPrimitiveStatisticalCalculators implements IntConsumer {
+
+    private final IntSummaryStatistics summary;
+    private final LongTerms terms;
+
+    public IntPrimitiveStatisticalCalculators() {
+        summary = new IntSummaryStatistics();
+        terms = new LongTerms();
+    }
+
+    @Override
+    public void accept(int value) {
+        summary.accept(value);
+        terms.accept(value);
+    }
+
+    public void combine(IntPrimitiveStatisticalCalculators other) {
+        Objects.requireNonNull(other,"Calculators required");
+        summary.combine(other.summary);
+        terms.combine(other.terms);
+    }
+
+    public long getCount() {
+        return summary.getCount();
+    }
+
+    public long getSum() {
+        return summary.getSum();
+    }
+
+    public int getMin() {
+        return summary.getMin();
+    }
+
+    public int getMax() {
+        return summary.getMax();
+    }
+
+    public double getAverage() {
+        return summary.getAverage();
+    }
+
+    public Maybe<Double> getMode() {
+        return terms.getMode();
+    }
+
+    public double getMedian() {
+        return terms.getMedian();
+    }
+
+    public double getVariance() {
+        return terms.getVariance();
+    }
+
+    public double getStandardDeviation() {
+        if (getCount() == 0)
+            throw new InsufficientPopulationException("Could not calculate standard deviation");
+        return Math.sqrt(getVariance());
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%s{count=%d, sum=%s, min=%s, average=%s, max=%s, mode=%s, median=%f, variance=%f, standard-deviation=%f}",
+                this.getClass().getSimpleName(),
+                getCount(),
+                getSum(),
+                getMin(),
+                getAverage(),
+                getMax(),
+                getMode(),
+                getMedian(),
+                getVariance(),
+                getStandardDeviation());
+    }
+}
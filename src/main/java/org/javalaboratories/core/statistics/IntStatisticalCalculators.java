@@ -4,4 +4,8 @@ public class IntStatisticalCalculators extends ComprehensiveStatisticalCalculato
     public IntStatisticalCalculators() {
         super(new IntSummaryStatisticsAdapter());
     }
+
+    public IntStatisticalCalculators(Calculation calculation) {
+        super(new IntSummaryStatisticsAdapter(),calculation);
+    }
 }
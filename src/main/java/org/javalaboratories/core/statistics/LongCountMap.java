@@ -0,0 +1,95 @@
+package org.javalaboratories.core.statistics;
+
+import org.javalaboratories.core.Maybe;
+
+/**
+ * Counts occurrences of {@code long} keys without boxing.
+ * <p>
+ * Keys are held in an open addressing hash table with linear probing, and so
+ * the table is two primitive arrays. A zero count marks an empty slot.
+ */
+final class LongCountMap {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys;
+    private long[] counts;
+    private int size;
+
+    LongCountMap() {
+        keys = new long[INITIAL_CAPACITY];
+        counts = new long[INITIAL_CAPACITY];
+    }
+
+    void add(final long key, final long count) {
+        if ((size + 1) * 4L > keys.length * 3L)
+            resize();
+        int index = indexOf(key);
+        if (counts[index] == 0) {
+            keys[index] = key;
+            size++;
+        }
+        counts[index] += count;
+    }
+
+    void combine(final LongCountMap other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.counts[i] != 0)
+                add(other.keys[i],other.counts[i]);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the most frequent key. As with the {@link ModeCalculator}, there
+     * is no mode where all of two or more keys occur equally often.
+     *
+     * @return the most frequent key, or empty if there is no mode.
+     */
+    Maybe<Long> getMode() {
+        long most = 0, least = Long.MAX_VALUE;
+        long key = 0;
+        for (int i = 0; i < keys.length; i++) {
+            long count = counts[i];
+            if (count == 0)
+                continue;
+            if (count > most) {
+                most = count;
+                key = keys[i];
+            }
+            least = Math.min(least,count);
+        }
+        return size == 1 || (size > 1 && most != least) ? Maybe.of(key) : Maybe.empty();
+    }
+
+    private int indexOf(final long key) {
+        int mask = keys.length - 1;
+        long hash = key * 0x9E3779B97F4A7C15L;
+        int index = (int) (hash ^ (hash >>> 32)) & mask;
+        while (counts[index] != 0 && keys[index] != key)
+            index = (index + 1) & mask;
+        return index;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldCounts = counts;
+        keys = new long[oldKeys.length * 2];
+        counts = new long[oldCounts.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] != 0) {
+                int index = indexOf(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                counts[index] = oldCounts[i];
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{size=%d, capacity=%d}",this.getClass().getSimpleName(),size,keys.length);
+    }
+}
@@ -0,0 +1,101 @@
+package org.javalaboratories.core.statistics;
+
+import org.javalaboratories.core.Maybe;
+
+import java.util.LongSummaryStatistics;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+
+/**
+ * Calculates statistics of {@code long} terms without boxing.
+ * <p>
+ * This object calculates the same statistics as the
+ * {@link LongStatisticalCalculators}, but as an {@link LongConsumer}, and
+ * retains the terms in primitive arrays and hash maps rather than collections
+ * of boxed values, which is considerably more economical on large numeric
+ * streams. For example:
+ * <pre>
+ *     {@code
+ *          LongPrimitiveStatisticalCalculators calculators = LongStream.of(terms)
+ *              .collect(LongPrimitiveStatisticalCalculators::new,
+ *                       LongPrimitiveStatisticalCalculators::accept,
+ *                       LongPrimitiveStatisticalCalculators::combine);
+ *     }
+ * </pre>
+ */
+public class LongPrimitiveStatisticalCalculators implements LongConsumer {
+
+    private final LongSummaryStatistics summary;
+    private final LongTerms terms;
+
+    public LongPrimitiveStatisticalCalculators() {
+        summary = new LongSummaryStatistics();
+        terms = new LongTerms();
+    }
+
+    @Override
+    public void accept(long value) {
+        summary.accept(value);
+        terms.accept(value);
+    }
+
+    public void combine(LongPrimitiveStatisticalCalculators other) {
+        Objects.requireNonNull(other,"Calculators required");
+        summary.combine(other.summary);
+        terms.combine(other.terms);
+    }
+
+    public long getCount() {
+        return summary.getCount();
+    }
+
+    public long getSum() {
+        return summary.getSum();
+    }
+
+    public long getMin() {
+        return summary.getMin();
+    }
+
+    public long getMax() {
+        return summary.getMax();
+    }
+
+    public double getAverage() {
+        return summary.getAverage();
+    }
+
+    public Maybe<Double> getMode() {
+        return terms.getMode();
+    }
+
+    public double getMedian() {
+        return terms.getMedian();
+    }
+
+    public double getVariance() {
+        return terms.getVariance();
+    }
+
+    public double getStandardDeviation() {
+        if (getCount() == 0)
+            throw new InsufficientPopulationException("Could not calculate standard deviation");
+        return Math.sqrt(getVariance());
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%s{count=%d, sum=%s, min=%s, average=%s, max=%s, mode=%s, median=%f, variance=%f, standard-deviation=%f}",
+                this.getClass().getSimpleName(),
+                getCount(),
+                getSum(),
+                getMin(),
+                getAverage(),
+                getMax(),
+                getMode(),
+                getMedian(),
+                getVariance(),
+                getStandardDeviation());
+    }
+}
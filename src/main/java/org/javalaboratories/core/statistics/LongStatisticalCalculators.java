@@ -5,4 +5,8 @@ public class LongStatisticalCalculators extends ComprehensiveStatisticalCalculat
     public LongStatisticalCalculators() {
         super(new LongSummaryStatisticsAdapter());
     }
+
+    public LongStatisticalCalculators(Calculation calculation) {
+        super(new LongSummaryStatisticsAdapter(),calculation);
+    }
 }
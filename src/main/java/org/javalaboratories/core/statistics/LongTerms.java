@@ -0,0 +1,74 @@
+package org.javalaboratories.core.statistics;
+
+import org.javalaboratories.core.Maybe;
+
+import java.util.Arrays;
+
+/**
+ * Retains {@code long} terms in a growable primitive array, and their
+ * occurrences in a {@link LongCountMap}, to calculate the median, mode and
+ * variance without boxing.
+ * <p>
+ * The array is sorted in place on calculating the median, and remains sorted
+ * until further terms are accepted.
+ */
+final class LongTerms {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final LongCountMap occurrences;
+    private final OnlineVarianceCalculator<Long> variance;
+    private long[] terms;
+    private int size;
+    private boolean sorted;
+
+    LongTerms() {
+        occurrences = new LongCountMap();
+        variance = new OnlineVarianceCalculator<>();
+        terms = new long[INITIAL_CAPACITY];
+        sorted = true;
+    }
+
+    void accept(final long term) {
+        if (size == terms.length)
+            terms = Arrays.copyOf(terms,size + (size >> 1));
+        terms[size++] = term;
+        occurrences.add(term,1);
+        sorted = false;
+        variance.add(term);
+    }
+
+    void combine(final LongTerms other) {
+        if (size + other.size > terms.length)
+            terms = Arrays.copyOf(terms,Math.max(size + other.size,size + (size >> 1)));
+        System.arraycopy(other.terms,0,terms,size,other.size);
+        size += other.size;
+        occurrences.combine(other.occurrences);
+        sorted = false;
+        variance.combine(other.variance);
+    }
+
+    double getMedian() {
+        if (size == 0)
+            throw new InsufficientPopulationException("Could not calculate median");
+        if (!sorted) {
+            Arrays.sort(terms,0,size);
+            sorted = true;
+        }
+        int index = (size + 1) / 2;
+        if (size % 2 != 0)
+            return terms[index - 1];
+        else
+            return ((double) terms[index - 1] + terms[index]) / 2.0;
+    }
+
+    Maybe<Double> getMode() {
+        if (size == 0)
+            throw new InsufficientPopulationException("Could not calculate mode");
+        return occurrences.getMode().map(Long::doubleValue);
+    }
+
+    double getVariance() {
+        return variance.getVariance();
+    }
+}
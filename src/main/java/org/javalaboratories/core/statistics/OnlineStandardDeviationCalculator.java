@@ -0,0 +1,41 @@
+package org.javalaboratories.core.statistics;
+
+import java.util.List;
+
+/**
+ * Calculates the standard deviation of the sample data in a single pass,
+ * without retaining the data.
+ *
+ * @param <T> type of terms (data)
+ * @see OnlineVarianceCalculator
+ */
+public class OnlineStandardDeviationCalculator<T extends Number> implements CombinableStatisticalCalculator<T,Double> {
+
+    private final OnlineVarianceCalculator<T> variance;
+
+    public OnlineStandardDeviationCalculator() {
+        variance = new OnlineVarianceCalculator<>();
+    }
+
+    @Override
+    public void accept(T data) {
+        variance.accept(data);
+    }
+
+    @Override
+    public void combine(CombinableStatisticalCalculator<T,Double> o) {
+        if (!(o instanceof OnlineStandardDeviationCalculator))
+            throw new IllegalArgumentException("Could not combine with calculator of another type");
+        variance.combine(((OnlineStandardDeviationCalculator<T>) o).variance);
+    }
+
+    @Override
+    public List<T> getData() {
+        return variance.getData();
+    }
+
+    @Override
+    public Double getResult() {
+        return variance.getStandardDeviation();
+    }
+}
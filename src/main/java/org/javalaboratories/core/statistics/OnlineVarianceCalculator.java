@@ -0,0 +1,95 @@
+package org.javalaboratories.core.statistics;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Calculates the variance of the sample data in a single pass, without
+ * retaining the data.
+ * <p>
+ * Unlike the {@link VarianceCalculator}, which subtracts the square of the
+ * mean from the mean of the squares and so loses precision where the terms
+ * are large relative to their spread, this calculator maintains the running
+ * mean and sum of squared differences from the mean with Welford's algorithm.
+ * Calculators combine exactly with Chan's parallel algorithm, and so are
+ * suitable for parallel streams.
+ * <p>
+ * The {@link #getData()} method returns an empty list, as terms are not
+ * retained.
+ *
+ * @param <T> type of terms (data)
+ */
+public class OnlineVarianceCalculator<T extends Number> implements CombinableStatisticalCalculator<T,Double> {
+
+    private long count;
+    private double mean;
+    private double m2;
+
+    @Override
+    public void accept(T data) {
+        add(data.doubleValue());
+    }
+
+    @Override
+    public void combine(CombinableStatisticalCalculator<T,Double> o) {
+        if (!(o instanceof OnlineVarianceCalculator))
+            throw new IllegalArgumentException("Could not combine with calculator of another type");
+        OnlineVarianceCalculator<T> other = (OnlineVarianceCalculator<T>) o;
+        combine(other.count,other.mean,other.m2);
+    }
+
+    @Override
+    public List<T> getData() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Double getResult() {
+        return getVariance();
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        if (count == 0)
+            throw new InsufficientPopulationException("Could not calculate mean");
+        return mean;
+    }
+
+    public double getVariance() {
+        if (count == 0)
+            throw new InsufficientPopulationException("Could not calculate variance");
+        return m2 / count;
+    }
+
+    public double getStandardDeviation() {
+        if (count == 0)
+            throw new InsufficientPopulationException("Could not calculate standard deviation");
+        return Math.sqrt(getVariance());
+    }
+
+    void add(final double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+    }
+
+    private void combine(final long otherCount, final double otherMean, final double otherM2) {
+        if (otherCount == 0)
+            return;
+        long total = count + otherCount;
+        double delta = otherMean - mean;
+        mean += delta * otherCount / total;
+        m2 += otherM2 + delta * delta * ((double) count * otherCount / total);
+        count = total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{count=%d, mean=%s, variance=%s}",
+                this.getClass().getSimpleName(),count,mean,count > 0 ? m2 / count : Double.NaN);
+    }
+}
@@ -0,0 +1,254 @@
+package org.javalaboratories.core.statistics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Estimates a quantile of the sample data with bounded memory.
+ * <p>
+ * Unlike the {@link MedianCalculator}, this calculator does not retain the
+ * sample data, but summarises it in a t-digest: a sorted set of centroids,
+ * each holding the mean and weight of neighbouring terms. Centroids near the
+ * tails of the distribution hold fewer terms than those in the middle, and
+ * so extreme quantiles, such as the 99th percentile, remain accurate.
+ * <p>
+ * The {@code compression} determines the accuracy: the number of centroids,
+ * and therefore memory, is proportional to it, whilst the error is inversely
+ * proportional. Small populations are held in single term centroids, and so
+ * their quantiles are exact. Calculators of the same quantile combine
+ * without loss of accuracy, which is suitable for parallel streams.
+ * <p>
+ * The {@link #getData()} method returns an empty list, as terms are not
+ * retained.
+ *
+ * @param <T> type of terms (data)
+ */
+public class QuantileCalculator<T extends Number> implements CombinableStatisticalCalculator<T,Double> {
+
+    public static final double MEDIAN = 0.5;
+    public static final double DEFAULT_COMPRESSION = 100.0;
+
+    private final double quantile;
+    private final double compression;
+
+    // Centroids sorted by mean
+    private double[] means;
+    private double[] weights;
+    private int centroids;
+
+    // Terms and combined centroids awaiting compression
+    private final double[] bufferMeans;
+    private final double[] bufferWeights;
+    private int buffered;
+
+    private long count;
+    private double min;
+    private double max;
+
+    public QuantileCalculator() {
+        this(MEDIAN);
+    }
+
+    public QuantileCalculator(final double quantile) {
+        this(quantile,DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Constructs a calculator estimating the given quantile.
+     *
+     * @param quantile quantile to estimate, between 0.0 and 1.0 inclusive.
+     * @param compression accuracy of the estimate, at least 10.
+     * @throws IllegalArgumentException if {@code quantile} or
+     * {@code compression} is out of range.
+     */
+    public QuantileCalculator(final double quantile, final double compression) {
+        this.quantile = requireQuantile(quantile);
+        if (!(compression >= 10.0))
+            throw new IllegalArgumentException("Compression must be at least 10");
+        this.compression = compression;
+        int capacity = (int) Math.ceil(compression);
+        this.means = new double[capacity];
+        this.weights = new double[capacity];
+        this.bufferMeans = new double[capacity * 5];
+        this.bufferWeights = new double[capacity * 5];
+        this.min = Double.POSITIVE_INFINITY;
+        this.max = Double.NEGATIVE_INFINITY;
+    }
+
+    @Override
+    public void accept(T data) {
+        double value = data.doubleValue();
+        if (Double.isNaN(value))
+            throw new IllegalArgumentException("Could not accept NaN");
+        add(value,1.0);
+        count++;
+        min = Math.min(min,value);
+        max = Math.max(max,value);
+    }
+
+    @Override
+    public void combine(CombinableStatisticalCalculator<T,Double> o) {
+        if (!(o instanceof QuantileCalculator) || ((QuantileCalculator<T>) o).quantile != quantile)
+            throw new IllegalArgumentException("Could not combine with calculator of another quantile");
+        QuantileCalculator<T> other = (QuantileCalculator<T>) o;
+        other.compress();
+        for (int i = 0; i < other.centroids; i++)
+            add(other.means[i],other.weights[i]);
+        count += other.count;
+        min = Math.min(min,other.min);
+        max = Math.max(max,other.max);
+    }
+
+    @Override
+    public List<T> getData() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Double getResult() {
+        return getQuantile(quantile);
+    }
+
+    /**
+     * Estimates any quantile of the sample data.
+     *
+     * @param quantile quantile to estimate, between 0.0 and 1.0 inclusive.
+     * @return the estimated quantile.
+     * @throws IllegalArgumentException if {@code quantile} is out of range.
+     * @throws InsufficientPopulationException if there is no sample data.
+     */
+    public double getQuantile(final double quantile) {
+        requireQuantile(quantile);
+        if (count == 0)
+            throw new InsufficientPopulationException("Could not calculate quantile");
+        compress();
+
+        // Interpolate between centroid centres, and the extremes at either end
+        double index = quantile * count;
+        double cumulative = weights[0] / 2.0;
+        if (index <= cumulative)
+            return interpolate(min,means[0],index / cumulative);
+        for (int i = 1; i < centroids; i++) {
+            double centre = cumulative + (weights[i - 1] + weights[i]) / 2.0;
+            if (index <= centre)
+                return interpolate(means[i - 1],means[i],(index - cumulative) / (centre - cumulative));
+            cumulative = centre;
+        }
+        double remaining = count - cumulative;
+        return interpolate(means[centroids - 1],max,remaining > 0 ? (index - cumulative) / remaining : 1.0);
+    }
+
+    public double getCompression() {
+        return compression;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    int getCentroids() {
+        compress();
+        return centroids;
+    }
+
+    private void add(final double mean, final double weight) {
+        if (buffered == bufferMeans.length)
+            compress();
+        bufferMeans[buffered] = mean;
+        bufferWeights[buffered] = weight;
+        buffered++;
+    }
+
+    /**
+     * Merges buffered terms with the centroids, keeping the weight of each
+     * centroid within the limit of the scale function for its quantile.
+     */
+    private void compress() {
+        if (buffered == 0)
+            return;
+
+        int size = centroids + buffered;
+        double[] allMeans = Arrays.copyOf(means,size);
+        double[] allWeights = Arrays.copyOf(weights,size);
+        System.arraycopy(bufferMeans,0,allMeans,centroids,buffered);
+        System.arraycopy(bufferWeights,0,allWeights,centroids,buffered);
+        sort(allMeans,allWeights,0,size - 1);
+
+        double total = 0.0;
+        for (int i = 0; i < size; i++)
+            total += allWeights[i];
+
+        int result = 0;
+        double soFar = 0.0;
+        double limit = total * toQuantile(toScale(0.0) + 1.0);
+        for (int i = 1; i < size; i++) {
+            double proposed = soFar + allWeights[result] + allWeights[i];
+            if (proposed <= limit) {
+                allWeights[result] += allWeights[i];
+                allMeans[result] += (allMeans[i] - allMeans[result]) * allWeights[i] / allWeights[result];
+            } else {
+                soFar += allWeights[result];
+                limit = total * toQuantile(toScale(soFar / total) + 1.0);
+                result++;
+                allMeans[result] = allMeans[i];
+                allWeights[result] = allWeights[i];
+            }
+        }
+        centroids = result + 1;
+        means = Arrays.copyOf(allMeans,Math.max(centroids,means.length));
+        weights = Arrays.copyOf(allWeights,Math.max(centroids,weights.length));
+        buffered = 0;
+    }
+
+    private double toScale(final double q) {
+        return compression * Math.asin(2.0 * Math.min(1.0,q) - 1.0) / (2.0 * Math.PI);
+    }
+
+    private double toQuantile(final double k) {
+        double scale = Math.min(k * 2.0 * Math.PI / compression,Math.PI / 2.0);
+        return (Math.sin(scale) + 1.0) / 2.0;
+    }
+
+    private static double interpolate(final double from, final double to, final double fraction) {
+        return from + (to - from) * Math.max(0.0,Math.min(1.0,fraction));
+    }
+
+    private static void sort(final double[] keys, final double[] values, final int low, final int high) {
+        if (low >= high)
+            return;
+        double pivot = keys[(low + high) >>> 1];
+        int i = low, j = high;
+        while (i <= j) {
+            while (keys[i] < pivot) i++;
+            while (keys[j] > pivot) j--;
+            if (i <= j) {
+                swap(keys,i,j);
+                swap(values,i,j);
+                i++;
+                j--;
+            }
+        }
+        sort(keys,values,low,j);
+        sort(keys,values,i,high);
+    }
+
+    private static void swap(final double[] array, final int i, final int j) {
+        double temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+    }
+
+    private static double requireQuantile(final double quantile) {
+        if (!(quantile >= 0.0 && quantile <= 1.0))
+            throw new IllegalArgumentException("Quantile must be between 0.0 and 1.0");
+        return quantile;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{quantile=%s, compression=%s, count=%d}",
+                this.getClass().getSimpleName(),quantile,compression,count);
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Flood agent launched in a separate Java Virtual Machine by the
+ * {@link FloodCoordinatorTest}.
+ * <p>
+ * Usage: {@code FloodAgentProcess <port>}
+ */
+public class FloodAgentProcess {
+
+    public static void main(String[] args) throws IOException {
+        AtomicLong counter = new AtomicLong();
+        Torrent torrent = Torrent.builder(AtomicLong.class)
+                .withFloodgate("increment",2,25,counter::incrementAndGet)
+                .build();
+
+        new FloodAgent("localhost",Integer.parseInt(args[0]),torrent).flood();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import org.javalaboratories.core.concurrency.utils.FloodContentionReport.LockContention;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FloodContentionSamplerTest extends AbstractResourceFloodStabilityTest {
+
+    private final Object monitor = new Object();
+
+    @BeforeEach
+    public void setup() {
+        unsafe = new UnsafeStatistics();
+        safe = new SafeStatistics();
+    }
+
+    @Test
+    public void testNew_FloodContentionSamplerException_Fail() {
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> new FloodContentionSampler(0,TimeUnit.MILLISECONDS,10));
+        assertThrows(IllegalArgumentException.class, () -> new FloodContentionSampler(10,TimeUnit.MILLISECONDS,0));
+        assertThrows(NullPointerException.class, () -> new FloodContentionSampler(10,null,10));
+        assertThrows(NullPointerException.class, () -> new FloodContentionSampler().sample(null));
+    }
+
+    @Test
+    public void testSample_FloodgateContention_Pass() {
+        // Given
+        FloodContentionSampler sampler = new FloodContentionSampler(2,TimeUnit.MILLISECONDS,5);
+        Floodgate<Integer> floodgate = new Floodgate<>(UnsafeStatistics.class,4,50,() -> {
+            synchronized (monitor) {
+                sleep(2);
+                return unsafe.add(10);
+            }
+        });
+
+        // When
+        assertNull(sampler.getReport());
+        floodgate.open();
+        List<Integer> result = sampler.sample(floodgate);
+
+        // Then
+        FloodContentionReport report = sampler.getReport();
+        LockContention lock = report.getLocks().get(0);
+        assertEquals(4,result.size());
+        assertTrue(report.getSamples() > 0);
+        assertTrue(report.getLocks().size() <= 5);
+        assertTrue(report.getFrames().size() <= 5);
+        assertTrue(lock.getLockName().startsWith(Object.class.getName()));
+        assertTrue(lock.getBlockedSamples() > 0);
+        assertFalse(lock.getLockOwners().isEmpty());
+        assertTrue(report.getWorkers().size() >= 4);
+        assertTrue(report.getWorkers().stream()
+                .anyMatch(w -> w.getStates().getOrDefault(Thread.State.BLOCKED,0) > 0));
+        assertTrue(report.getWorkers().get(0).getBlockedCount() > 0);
+    }
+
+    @Test
+    public void testSample_PacedFloodgateConcurrentFlood_Pass() {
+        // Given
+        FloodContentionSampler sampler = new FloodContentionSampler(2,TimeUnit.MILLISECONDS,5);
+        Floodgate<Integer> floodgate = new Floodgate<>(SafeStatistics.class,2,20,() -> safe.add(10));
+        floodgate.setPacer(FloodPacer.fixed(5,TimeUnit.MILLISECONDS));
+        Floodgate<Integer> other = new Floodgate<>(UnsafeStatistics.class,2,50,() -> {
+            synchronized (monitor) {
+                sleep(2);
+                return unsafe.add(10);
+            }
+        });
+
+        // When
+        floodgate.open();
+        other.open();
+        CompletableFuture<List<Integer>> concurrent = CompletableFuture.supplyAsync(other::flood);
+        List<Integer> result = sampler.sample(floodgate);
+        concurrent.join();
+
+        // Then
+        FloodContentionReport report = sampler.getReport();
+        assertEquals(2,result.size());
+        assertTrue(report.getSamples() > 0);
+        assertTrue(report.getWorkers().size() <= 2);
+        assertTrue(report.getLocks().isEmpty(),() -> "Locks " + report.getLocks());
+        assertTrue(report.getWorkers().stream()
+                .noneMatch(w -> w.getStates().getOrDefault(Thread.State.BLOCKED,0) > 0));
+    }
+
+    @Test
+    public void testSample_TorrentContention_Pass() {
+        // Given
+        FloodContentionSampler sampler = new FloodContentionSampler();
+        Torrent torrent = Torrent.builder(UnsafeStatistics.class)
+                .withFloodgate("add",2,20,() -> {synchronized (monitor) {sleep(2); return unsafe.add(10);}})
+                .withFloodgate("print",2,20,() -> {synchronized (monitor) {sleep(2); unsafe.print();}})
+                .build();
+
+        // When
+        torrent.open();
+        Map<String,List<?>> result = sampler.sample(torrent);
+
+        // Then
+        FloodContentionReport report = sampler.getReport();
+        assertEquals(2,result.size());
+        assertTrue(report.getSamples() > 0);
+        assertTrue(report.getLocks().stream()
+                .anyMatch(l -> l.getLockName().startsWith(Object.class.getName()) && l.getBlockedSamples() > 0));
+    }
+}
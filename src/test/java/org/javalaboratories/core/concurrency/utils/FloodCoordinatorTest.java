@@ -0,0 +1,254 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import org.javalaboratories.core.concurrency.utils.ResourceFloodStability.Target;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.javalaboratories.core.concurrency.utils.ResourceFloodStability.States.CLOSED;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FloodCoordinatorTest extends AbstractResourceFloodStabilityTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        unsafe = new UnsafeStatistics();
+        safe = new SafeStatistics();
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @Test
+    public void testFlood_InProcessAgents_Pass() throws Exception {
+        try (FloodCoordinator coordinator = new FloodCoordinator()) {
+            // Given
+            Future<Map<String,List<?>>> agent1 = launch("agent-1",coordinator.getPort());
+            Future<Map<String,List<?>>> agent2 = launch("agent-2",coordinator.getPort());
+
+            // When
+            List<String> agents = coordinator.awaitAgents(2,10,TimeUnit.SECONDS);
+            Map<String,FloodStatistics> result = coordinator.flood(30,TimeUnit.SECONDS);
+
+            // Then
+            assertEquals(2,agents.size());
+            assertTrue(agents.contains("agent-1") && agents.contains("agent-2"));
+            assertEquals(1,agent1.get(10,TimeUnit.SECONDS).size());
+            assertEquals(1,agent2.get(10,TimeUnit.SECONDS).size());
+            assertEquals(1,result.size());
+
+            FloodStatistics statistics = result.values().iterator().next();
+            assertTrue(statistics.getTargetName().endsWith("-(add)"));
+            assertEquals(Target.Stability.STABLE,statistics.getStability());
+            assertEquals(40,statistics.getIterations());
+            assertEquals(40,statistics.getLatencies().getCount());
+            assertEquals(4,statistics.getWorkers().size());
+            assertEquals(2,statistics.getWorkers().stream()
+                    .filter(w -> w.getWorkerName().startsWith("agent-1/Floodgate-Worker-"))
+                    .count());
+            assertEquals(2,coordinator.getAgentStatistics().size());
+            assertEquals(20,coordinator.getAgentStatistics().get("agent-2").get(0).getIterations());
+            assertEquals(400,safe.getTotal());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFlood_MultipleJvmAgents_Pass() throws Exception {
+        List<Process> processes = new ArrayList<>();
+        try (FloodCoordinator coordinator = new FloodCoordinator()) {
+            // Given
+            for (int i = 0; i < 2; i++)
+                processes.add(launch(coordinator.getPort()));
+
+            // When
+            List<String> agents = coordinator.awaitAgents(2,60,TimeUnit.SECONDS);
+            Map<String,FloodStatistics> result = coordinator.flood(60,TimeUnit.SECONDS);
+
+            // Then
+            assertEquals(2,agents.size());
+            assertNotEquals(agents.get(0),agents.get(1));
+            assertEquals(1,result.size());
+
+            FloodStatistics statistics = result.values().iterator().next();
+            assertTrue(statistics.getTargetName().endsWith("-(increment)"));
+            assertEquals(100,statistics.getIterations());
+            assertEquals(100,statistics.getLatencies().getCount());
+            assertEquals(4,statistics.getWorkers().size());
+            for (Process process : processes) {
+                assertTrue(process.waitFor(30,TimeUnit.SECONDS));
+                assertEquals(0,process.exitValue());
+            }
+        } finally {
+            processes.forEach(Process::destroyForcibly);
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testAwaitAgents_Timeout_Fail() throws IOException {
+        try (FloodCoordinator coordinator = new FloodCoordinator()) {
+            // Then
+            assertThrows(SocketTimeoutException.class, () -> coordinator.awaitAgents(1,100,TimeUnit.MILLISECONDS));
+            assertThrows(IllegalArgumentException.class, () -> coordinator.awaitAgents(0,100,TimeUnit.MILLISECONDS));
+            assertThrows(IllegalStateException.class, () -> coordinator.flood(100,TimeUnit.MILLISECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testAwaitAgents_UnexpectedTargets_Fail() throws Exception {
+        try (FloodCoordinator coordinator = new FloodCoordinator()) {
+            // Given
+            Torrent torrent = Torrent.builder(SafeStatistics.class)
+                    .withFloodgate("div",2,10,() -> safe.div(2))
+                    .build();
+            launch("agent-1",coordinator.getPort());
+            coordinator.awaitAgents(1,10,TimeUnit.SECONDS);
+
+            // When
+            Future<Map<String,List<?>>> agent2 = executor.submit(() -> new FloodAgent("agent-2","localhost",
+                    coordinator.getPort(),torrent).flood());
+
+            // Then
+            assertThrows(SocketTimeoutException.class, () -> coordinator.awaitAgents(2,1,TimeUnit.SECONDS));
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> agent2.get(10,TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof IOException);
+            assertEquals(CLOSED,torrent.getState());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testAwaitAgents_DuplicateName_Fail() throws Exception {
+        try (FloodCoordinator coordinator = new FloodCoordinator()) {
+            // Given
+            launch("agent-1",coordinator.getPort());
+            coordinator.awaitAgents(1,10,TimeUnit.SECONDS);
+
+            // When
+            Future<Map<String,List<?>>> duplicate = launch("agent-1",coordinator.getPort());
+
+            // Then
+            assertThrows(SocketTimeoutException.class, () -> coordinator.awaitAgents(2,1,TimeUnit.SECONDS));
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> duplicate.get(10,TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof IOException);
+            Map<String,FloodStatistics> result = coordinator.flood(30,TimeUnit.SECONDS);
+            assertEquals(Collections.singleton("agent-1"),coordinator.getAgentStatistics().keySet());
+            assertEquals(20,result.values().iterator().next().getIterations());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWriteHello_NameLength_Fail() throws IOException {
+        // Given
+        String name = String.join("",Collections.nCopies(65535 / 3 + 1,"x"));
+        Torrent torrent = Torrent.builder(SafeStatistics.class)
+                .withFloodgate("add",() -> safe.add(10))
+                .build();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> new FloodAgent(name,"localhost",0,torrent));
+        assertThrows(IllegalArgumentException.class, () -> FloodProtocol.writeHello(out,"agent-1",
+                Arrays.asList("{SafeStatistics-001}-(add)",name)));
+        assertEquals(0,bytes.size());
+        FloodProtocol.writeHello(out,name.substring(1),Collections.singletonList("{SafeStatistics-001}-(add)"));
+        FloodProtocol.Hello hello = FloodProtocol.readHello(new DataInputStream(
+                new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(name.substring(1),hello.getAgentName());
+        assertEquals(Collections.singletonList("{SafeStatistics-001}-(add)"),hello.getTargetNames());
+    }
+
+    @Test
+    public void testWriteResult_LongWorkerName_Pass() throws IOException {
+        // Given
+        String name = String.join("",Collections.nCopies(70_000,"x"));
+        FloodStatistics statistics = new FloodStatistics("{SafeStatistics-001}-(add)",Target.Stability.STABLE,
+                1_000L,0,0,Collections.singletonList(new FloodWorkerStatistics(name,1,1_000L,1_000L,0L,
+                new FloodHistogram(),null,FloodWorkerStatistics.Conclusion.COMPLETED)));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        // When
+        FloodProtocol.writeResult(new DataOutputStream(bytes),Collections.singletonList(statistics));
+        List<FloodStatistics> result = FloodProtocol.readResult(new DataInputStream(
+                new ByteArrayInputStream(bytes.toByteArray())),"agent-1");
+
+        // Then
+        assertEquals(1,result.size());
+        assertEquals(65535 / 3,result.get(0).getWorkers().get(0).getWorkerName().length());
+        assertEquals(1,result.get(0).getIterations());
+    }
+
+    @Test
+    public void testClose_AbortAgents_Pass() throws Exception {
+        // Given
+        Torrent torrent = Torrent.builder(SafeStatistics.class)
+                .withFloodgate("add",2,10,() -> safe.add(10))
+                .build();
+        FloodCoordinator coordinator = new FloodCoordinator();
+        Future<Map<String,List<?>>> agent = executor.submit(() -> new FloodAgent("agent-1","localhost",
+                coordinator.getPort(),torrent).flood());
+        coordinator.awaitAgents(1,10,TimeUnit.SECONDS);
+
+        // When
+        coordinator.close();
+        executor.shutdown();
+
+        // Then
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> agent.get(10,TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof IOException);
+        assertEquals(CLOSED,torrent.getState());
+        assertEquals(0,safe.getTotal());
+    }
+
+    private Future<Map<String,List<?>>> launch(final String name, final int port) {
+        Torrent torrent = Torrent.builder(SafeStatistics.class)
+                .withFloodgate("add",2,10,() -> safe.add(10))
+                .build();
+        return executor.submit(() -> new FloodAgent(name,"localhost",port,torrent).flood());
+    }
+
+    private Process launch(final int port) throws IOException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        return new ProcessBuilder(java,"-cp",System.getProperty("java.class.path"),
+                FloodAgentProcess.class.getName(),String.valueOf(port))
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                .start();
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FloodHistogramTest {
+
+    @Test
+    public void testRecord_SmallValues_Pass() {
+        // Given
+        FloodHistogram histogram = new FloodHistogram();
+
+        // When
+        for (int i = 1; i <= 100; i++)
+            histogram.record(i);
+
+        // Then
+        assertEquals(100, histogram.getCount());
+        assertEquals(1, histogram.getMin());
+        assertEquals(100, histogram.getMax());
+        assertEquals(50.5, histogram.getMean(), 0.0001);
+        assertEquals(50, histogram.getValueAtPercentile(50.0));
+        assertEquals(99, histogram.getValueAtPercentile(99.0));
+        assertEquals(100, histogram.getValueAtPercentile(100.0));
+        assertEquals(1, histogram.getValueAtPercentile(0.0));
+    }
+
+    @Test
+    public void testRecord_LargeValues_Pass() {
+        // Given
+        FloodHistogram histogram = new FloodHistogram();
+
+        // When
+        for (long i = 1; i <= 10000; i++)
+            histogram.record(i * 1000);
+
+        // Then
+        assertEquals(10000, histogram.getCount());
+        assertEquals(1000, histogram.getMin());
+        assertEquals(10_000_000, histogram.getMax());
+        assertEquals(5_000_000, histogram.getValueAtPercentile(50.0), 5_000_000 * 0.02);
+        assertEquals(9_900_000, histogram.getValueAtPercentile(99.0), 9_900_000 * 0.02);
+        assertEquals(Long.MAX_VALUE, new FloodHistogram().add(histogramOf(Long.MAX_VALUE)).getMax());
+    }
+
+    @Test
+    public void testAdd_MergeHistograms_Pass() {
+        // Given
+        FloodHistogram a = histogramOf(10, 20, 30);
+        FloodHistogram b = histogramOf(5, 4000);
+
+        // When
+        FloodHistogram merged = a.copy().add(b);
+
+        // Then
+        assertEquals(5, merged.getCount());
+        assertEquals(5, merged.getMin());
+        assertEquals(4000, merged.getMax());
+        assertEquals(3, a.getCount());
+        assertEquals(histogramOf(10, 20, 30, 5, 4000), merged);
+    }
+
+    @Test
+    public void testForEach_Buckets_Pass() {
+        // Given
+        FloodHistogram histogram = histogramOf(1, 1, 300, 301);
+        List<long[]> buckets = new ArrayList<>();
+
+        // When
+        histogram.forEach((low, high, count) -> buckets.add(new long[]{low, high, count}));
+
+        // Then
+        assertEquals(2, buckets.size());
+        assertArrayEquals(new long[]{1, 1, 2}, buckets.get(0));
+        assertArrayEquals(new long[]{300, 303, 2}, buckets.get(1));
+    }
+
+    @Test
+    public void testRecord_IllegalArgumentException_Fail() {
+        // Given
+        FloodHistogram histogram = new FloodHistogram();
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(-1));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(101.0));
+        assertEquals(0, histogram.getValueAtPercentile(50.0));
+        assertEquals(0, histogram.getMin());
+    }
+
+    private FloodHistogram histogramOf(long... values) {
+        FloodHistogram result = new FloodHistogram();
+        for (long value : values)
+            result.record(value);
+        return result;
+    }
+}
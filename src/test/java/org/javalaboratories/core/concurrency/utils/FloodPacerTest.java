@@ -0,0 +1,188 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FloodPacerTest extends AbstractResourceFloodStabilityTest {
+
+    @BeforeEach
+    public void setup() {
+        unsafe = new UnsafeStatistics();
+        safe = new SafeStatistics();
+    }
+
+    @Test
+    public void testInterval_Fixed_Pass() {
+        // Given
+        FloodPacer pacer = FloodPacer.fixed(5,TimeUnit.MILLISECONDS);
+
+        // Then
+        assertEquals(0L,FloodPacer.YIELD.interval(0));
+        assertEquals(5_000_000L,pacer.interval(0));
+        assertEquals(5_000_000L,pacer.interval(100));
+        assertThrows(IllegalArgumentException.class, () -> FloodPacer.fixed(-1,TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testInterval_Exponential_Pass() {
+        // Given
+        FloodPacer pacer = FloodPacer.exponential(1,TimeUnit.MILLISECONDS);
+
+        // When
+        double mean = IntStream.range(0,100_000)
+                .mapToLong(pacer::interval)
+                .peek(l -> assertTrue(l >= 0))
+                .average()
+                .orElse(0.0);
+
+        // Then
+        assertEquals(1_000_000.0,mean,50_000.0);
+        assertThrows(IllegalArgumentException.class, () -> FloodPacer.exponential(0,TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testInterval_Replay_Pass() throws IOException {
+        // Given
+        Path trace = Files.createTempFile("flood-trace",".txt");
+        try {
+            Files.write(trace,Arrays.asList("# Inter-arrival times in microseconds","100","","250"," 50 "),
+                    StandardCharsets.UTF_8);
+
+            // When
+            FloodPacer pacer = FloodPacer.replay(trace,TimeUnit.MICROSECONDS);
+
+            // Then
+            assertEquals(100_000L,pacer.interval(0));
+            assertEquals(250_000L,pacer.interval(1));
+            assertEquals(50_000L,pacer.interval(2));
+            assertEquals(100_000L,pacer.interval(3));
+        } finally {
+            Files.delete(trace);
+        }
+    }
+
+    @Test
+    public void testInterval_ReplayException_Fail() throws IOException {
+        // Given
+        Path trace = Files.createTempFile("flood-trace",".txt");
+        try {
+            // Then
+            Files.write(trace,Arrays.asList("# Empty"),StandardCharsets.UTF_8);
+            assertThrows(IllegalArgumentException.class, () -> FloodPacer.replay(trace,TimeUnit.MICROSECONDS));
+            Files.write(trace,Arrays.asList("100","1O0"),StandardCharsets.UTF_8);
+            assertThrows(IllegalArgumentException.class, () -> FloodPacer.replay(trace,TimeUnit.MICROSECONDS));
+            Files.write(trace,Arrays.asList("-100"),StandardCharsets.UTF_8);
+            assertThrows(IllegalArgumentException.class, () -> FloodPacer.replay(trace,TimeUnit.MICROSECONDS));
+        } finally {
+            Files.delete(trace);
+        }
+    }
+
+    @Test
+    public void testFlood_FixedPacerDriftCorrection_Pass() {
+        // Given
+        Floodgate<Integer> floodgate = new Floodgate<>(SafeStatistics.class,2,21,() -> {
+            sleep(3);
+            return safe.add(10);
+        });
+        floodgate.setPacer(FloodPacer.fixed(10,TimeUnit.MILLISECONDS));
+
+        // When
+        floodgate.open();
+        floodgate.flood();
+
+        // Then
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(floodgate.getFloodStatistics().getElapsedNanos());
+        assertEquals(42,floodgate.getFloodStatistics().getIterations());
+        // 20 intervals of 10ms, the 3ms invocation time is absorbed by the interval
+        assertTrue(elapsed >= 200,() -> "Elapsed " + elapsed);
+        assertTrue(elapsed < 250,() -> "Elapsed " + elapsed);
+    }
+
+    @Test
+    public void testFlood_FixedPacerScheduledLatency_Pass() {
+        // Given
+        AtomicInteger invocations = new AtomicInteger();
+        Floodgate<Integer> floodgate = new Floodgate<>(SafeStatistics.class,1,3,() -> {
+            if (invocations.getAndIncrement() == 0)
+                sleep(50);
+            return safe.add(10);
+        });
+        floodgate.setPacer(FloodPacer.fixed(10,TimeUnit.MILLISECONDS));
+
+        // When
+        floodgate.open();
+        floodgate.flood();
+
+        // Then
+        FloodHistogram latencies = floodgate.getFloodStatistics().getLatencies();
+        assertEquals(3,latencies.getCount());
+        // Invocations scheduled at 10ms and 20ms started late, at 50ms
+        assertTrue(latencies.getMin() >= TimeUnit.MILLISECONDS.toNanos(30),() -> "Latencies " + latencies);
+    }
+
+    @Test
+    public void testFlood_PacerStop_Pass() {
+        // Given
+        Floodgate<Integer> floodgate = new Floodgate<>(SafeStatistics.class,1,100,() -> safe.add(10));
+        floodgate.setPacer(FloodPacer.fixed(1,TimeUnit.SECONDS));
+
+        // When
+        floodgate.open();
+        long start = System.nanoTime();
+        floodgate.flood(100,TimeUnit.MILLISECONDS);
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        assertEquals(1,floodgate.getFloodStatistics().getIterations());
+        assertTrue(elapsed < 1000,() -> "Elapsed " + elapsed);
+        assertThrows(IllegalStateException.class, () -> floodgate.setPacer(FloodPacer.YIELD));
+        assertThrows(NullPointerException.class, () -> new Floodgate<>(SafeStatistics.class,() -> safe.add(10))
+                .setPacer(null));
+    }
+
+    @Test
+    public void testFlood_TorrentPacer_Pass() {
+        // Given
+        Torrent torrent = Torrent.builder(SafeStatistics.class)
+                .withPacer(FloodPacer.fixed(5,TimeUnit.MILLISECONDS))
+                .withFloodgate("add",2,5,() -> safe.add(10))
+                .build();
+
+        // When
+        torrent.open();
+        torrent.flood();
+
+        // Then
+        torrent.getFloodStatistics().values().forEach(s -> {
+            assertEquals(10,s.getIterations());
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(s.getElapsedNanos()) >= 20);
+        });
+    }
+}
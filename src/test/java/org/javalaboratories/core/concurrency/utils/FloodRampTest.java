@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FloodRampTest extends AbstractResourceFloodStabilityTest {
+
+    @BeforeEach
+    public void setup() {
+        unsafe = new UnsafeStatistics();
+        safe = new SafeStatistics();
+    }
+
+    @Test
+    public void testRamp_SerialisedResourcePlateau_Pass() {
+        // Given
+        Object lock = new Object();
+        FloodRamp<Void> ramp = FloodRamp.builder(SafeStatistics.class, () -> {
+                    synchronized (lock) {
+                        sleep(1);
+                    }
+                })
+                .withThreads(1, 16)
+                .withIterations(20)
+                .withPlateau(25.0)
+                .build();
+
+        // When
+        FloodRamp.Saturation saturation = ramp.ramp();
+
+        // Then
+        assertEquals(FloodRamp.Reason.PLATEAU, saturation.getReason());
+        assertTrue(saturation.getLevels().size() < 5);
+        assertTrue(saturation.getThreads() <= 4);
+        assertEquals(1, saturation.getLevels().get(0).getThreads());
+        assertEquals(20, saturation.getLevels().get(0).getStatistics().getIterations());
+    }
+
+    @Test
+    public void testRamp_LatencyObjective_Pass() {
+        // Given
+        FloodRamp<Void> ramp = FloodRamp.builder(SafeStatistics.class, () -> sleep(5))
+                .withThreads(2, 8)
+                .withIterations(2)
+                .withLatencyObjective(1, TimeUnit.MILLISECONDS)
+                .build();
+
+        // When
+        FloodRamp.Saturation saturation = ramp.ramp();
+
+        // Then
+        assertEquals(FloodRamp.Reason.LATENCY, saturation.getReason());
+        assertEquals(0, saturation.getThreads());
+        assertEquals(1, saturation.getLevels().size());
+    }
+
+    @Test
+    public void testRamp_MaximumThreadsIncremental_Pass() {
+        // Given
+        FloodRamp<Integer> ramp = FloodRamp.builder(SafeStatistics.class, () -> safe.add(10))
+                .withThreads(1, 3)
+                .withIncrement(1)
+                .withPlateau(0.0)
+                .withIterations(1)
+                .build();
+
+        // When
+        FloodRamp.Saturation saturation = ramp.ramp();
+
+        // Then
+        assertTrue(saturation.getLevels().size() <= 3);
+        assertTrue(saturation.getThreads() >= 1);
+        if (saturation.getReason() == FloodRamp.Reason.MAXIMUM_THREADS)
+            assertEquals(3, saturation.getLevels().size());
+    }
+
+    @Test
+    public void testRamp_UnstableTarget_Pass() {
+        // Given
+        FloodRamp<Float> ramp = FloodRamp.builder(UnsafeStatistics.class, () -> unsafe.div(-1))
+                .withThreads(1, 8)
+                .build();
+
+        // When
+        FloodRamp.Saturation saturation = ramp.ramp();
+
+        // Then
+        assertEquals(FloodRamp.Reason.UNSTABLE, saturation.getReason());
+        assertEquals(0, saturation.getThreads());
+    }
+
+    @Test
+    public void testBuilder_IllegalArgumentException_Fail() {
+        // Then
+        assertThrows(NullPointerException.class, () -> FloodRamp.builder(null, () -> safe.add(10)));
+        assertThrows(IllegalArgumentException.class, () -> FloodRamp.builder(SafeStatistics.class, () -> safe.add(10))
+                .withThreads(0, 4));
+        assertThrows(IllegalArgumentException.class, () -> FloodRamp.builder(SafeStatistics.class, () -> safe.add(10))
+                .withThreads(4, 2));
+        assertThrows(IllegalArgumentException.class, () -> FloodRamp.builder(SafeStatistics.class, () -> safe.add(10))
+                .withIncrement(0));
+    }
+}
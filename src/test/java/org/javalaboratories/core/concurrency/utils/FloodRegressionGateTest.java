@@ -0,0 +1,180 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.javalaboratories.core.concurrency.utils.FloodWorkerStatistics.Conclusion.*;
+import static org.javalaboratories.core.concurrency.utils.ResourceFloodStability.Target.Stability;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FloodRegressionGateTest extends AbstractResourceFloodStabilityTest {
+
+    @Test
+    public void testCompare_NoRegression_Pass() throws IOException {
+        // Given
+        String baseline = csv(statistics("{UnsafeStatistics-001}-(add)", Stability.STABLE, 1000, 100_000L, null));
+        String current = csv(statistics("{UnsafeStatistics-042}-(add)", Stability.STABLE, 1000, 105_000L, null));
+        FloodRegressionGate gate = FloodRegressionGate.builder().build();
+
+        // When
+        FloodVerdict verdict = gate.compare(new StringReader(baseline), new StringReader(current));
+
+        // Then
+        assertFalse(verdict.isRegressed());
+        assertEquals(FloodVerdict.Outcome.PASSED, verdict.getOutcome());
+        assertEquals(1, verdict.getDetails().size());
+        assertTrue(verdict.getDetails().get(0).startsWith("{UnsafeStatistics-042}-(add): p99 latency"));
+    }
+
+    @Test
+    public void testCompare_LatencyAndThroughputRegression_Fail() throws IOException {
+        // Given
+        String baseline = csv(statistics("{UnsafeStatistics-001}-(add)", Stability.STABLE, 1000, 100_000L, null));
+        String current = csv(statistics("{UnsafeStatistics-002}-(add)", Stability.STABLE, 500, 200_000L, null));
+        FloodRegressionGate gate = FloodRegressionGate.builder()
+                .withLatencyIncrease(50.0)
+                .withThroughputDecrease(25.0)
+                .build();
+
+        // When
+        FloodVerdict verdict = gate.compare(new StringReader(baseline), new StringReader(current));
+
+        // Then
+        assertTrue(verdict.isRegressed());
+        assertEquals(2, verdict.getRegressions().size());
+        assertTrue(verdict.getRegressions().get(0).contains("p99 latency increased by"));
+        assertTrue(verdict.getRegressions().get(1).contains("throughput decreased by 50.0%, allowed 25.0%"));
+    }
+
+    @Test
+    public void testCompare_NewExceptions_Fail() throws IOException {
+        // Given
+        String baseline = csv(statistics("{UnsafeStatistics-001}-(div)", Stability.STABLE, 1000, 100_000L, null));
+        FloodStatistics current = statistics("{UnsafeStatistics-009}-(div)", Stability.UNSTABLE, 1000, 100_000L,
+                new FloodError("Floodgate-Worker-1", IllegalArgumentException.class.getName(), "Positive only"));
+
+        // When
+        FloodVerdict verdict = FloodRegressionGate.builder().build()
+                .compare(new StringReader(baseline), Collections.singletonList(current));
+        FloodVerdict lenient = FloodRegressionGate.builder().withNewExceptions(false).build()
+                .compare(new StringReader(baseline), Collections.singletonList(current));
+
+        // Then
+        assertTrue(verdict.isRegressed());
+        assertEquals(Arrays.asList(
+                "{UnsafeStatistics-009}-(div): new exceptions raised [java.lang.IllegalArgumentException]",
+                "{UnsafeStatistics-009}-(div): target became unstable"), verdict.getRegressions());
+        assertFalse(lenient.isRegressed());
+    }
+
+    @Test
+    public void testCompare_FloodgateAgainstStoredBaseline_Pass() throws IOException {
+        // Given
+        unsafe = new UnsafeStatistics();
+        Path baseline = Files.createTempFile("flood-baseline", ".csv");
+        try {
+            Floodgate<Integer> floodgate = new Floodgate<>(UnsafeStatistics.class, () -> unsafe.add(10));
+            floodgate.open();
+            floodgate.flood();
+            try (FloodStatisticsExporter exporter = new CsvFloodStatisticsExporter(Files.newBufferedWriter(baseline))) {
+                exporter.export(floodgate.getFloodStatistics());
+            }
+
+            // When
+            FloodVerdict verdict = FloodRegressionGate.builder()
+                    .withLatencyIncrease(0.0)
+                    .withThroughputDecrease(0.0)
+                    .build()
+                    .compare(baseline, baseline);
+
+            // Then
+            assertFalse(verdict.isRegressed());
+            assertEquals(1, verdict.getDetails().size());
+        } finally {
+            Files.delete(baseline);
+        }
+    }
+
+    @Test
+    public void testCompare_UnmatchedTargets_Pass() throws IOException {
+        // Given
+        String baseline = csv(statistics("{UnsafeStatistics-001}-(add)", Stability.STABLE, 1000, 100_000L, null));
+        String current = csv(statistics("{UnsafeStatistics-001}-(print)", Stability.STABLE, 1000, 100_000L, null));
+
+        // When
+        FloodVerdict verdict = FloodRegressionGate.builder().withAbsentTargets(false).build()
+                .compare(new StringReader(baseline), new StringReader(current));
+
+        // Then
+        assertFalse(verdict.isRegressed());
+        assertEquals(Arrays.asList("{UnsafeStatistics-001}-(print): no baseline -- not compared",
+                "{UnsafeStatistics-001}-(add): absent from current run -- not compared"), verdict.getDetails());
+    }
+
+    @Test
+    public void testCompare_AbsentTargets_Fail() throws IOException {
+        // Given
+        String baseline = csv(statistics("{UnsafeStatistics-001}-(add)", Stability.STABLE, 1000, 100_000L, null));
+        String current = csv(statistics("{UnsafeStatistics-001}-(print)", Stability.STABLE, 1000, 100_000L, null));
+
+        // When
+        FloodVerdict verdict = FloodRegressionGate.builder().build()
+                .compare(new StringReader(baseline), new StringReader(current));
+
+        // Then
+        assertTrue(verdict.isRegressed());
+        assertEquals(Collections.singletonList("{UnsafeStatistics-001}-(add): absent from current run"),
+                verdict.getRegressions());
+        assertEquals(Collections.singletonList("{UnsafeStatistics-001}-(print): no baseline -- not compared"),
+                verdict.getDetails());
+    }
+
+    @Test
+    public void testCompare_IllegalArgumentException_Fail() {
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> FloodRegressionGate.builder().withLatencyIncrease(-1.0));
+        assertThrows(IllegalArgumentException.class, () -> FloodRegressionGate.builder().build()
+                .compare(new StringReader("target,throughput\n"), new StringReader("")));
+    }
+
+    private FloodStatistics statistics(String name, Stability stability, int iterations, long latency,
+                                       FloodError error) {
+        FloodHistogram latencies = new FloodHistogram();
+        latencies.record(latency, iterations);
+        List<FloodWorkerStatistics> workers = Collections.singletonList(new FloodWorkerStatistics(
+                "Floodgate-Worker-1", iterations, 1_000_000L, 1_000_000L, 1024L, latencies, error,
+                error == null ? COMPLETED : FAILED));
+        return new FloodStatistics(name, stability, 1_000_000_000L, 0, 0, workers);
+    }
+
+    private String csv(FloodStatistics statistics) throws IOException {
+        StringWriter writer = new StringWriter();
+        try (FloodStatisticsExporter exporter = new CsvFloodStatisticsExporter(writer)) {
+            exporter.export(statistics);
+        }
+        return writer.toString();
+    }
+}
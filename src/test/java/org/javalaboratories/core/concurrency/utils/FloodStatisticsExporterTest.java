@@ -0,0 +1,138 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import static org.javalaboratories.core.concurrency.utils.FloodWorkerStatistics.Conclusion.*;
+import static org.javalaboratories.core.concurrency.utils.ResourceFloodStability.Target.Stability.UNSTABLE;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FloodStatisticsExporterTest {
+
+    private FloodStatistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        FloodHistogram latencies1 = new FloodHistogram();
+        FloodHistogram latencies2 = new FloodHistogram();
+        for (int i = 1; i <= 100; i++) {
+            latencies1.record(i * 1000L);
+            latencies2.record(i * 2000L);
+        }
+        FloodWorkerStatistics worker1 = new FloodWorkerStatistics("Floodgate-Worker-1", 100, 2_000_000L,
+                1_500_000L, 4096L, latencies1, null, COMPLETED);
+        FloodWorkerStatistics worker2 = new FloodWorkerStatistics("Floodgate-Worker-2", 100, 3_000_000L,
+                2_500_000L, 8192L, latencies2,
+                new FloodError("Floodgate-Worker-2", IllegalArgumentException.class.getName(), "Positive, \"only\""), FAILED);
+        statistics = new FloodStatistics("{UnsafeStatistics-001}-(add,div)", UNSTABLE, 4_000_000L, 1, 3,
+                Arrays.asList(worker1, worker2));
+    }
+
+    @Test
+    public void testExport_Json_Pass() throws IOException {
+        // Given
+        StringWriter writer = new StringWriter();
+
+        // When
+        try (FloodStatisticsExporter exporter = new JsonFloodStatisticsExporter(writer)) {
+            exporter.export(statistics);
+            exporter.export(statistics);
+        }
+        String json = writer.toString();
+
+        // Then
+        assertTrue(json.startsWith("[{\"target\":\"{UnsafeStatistics-001}-(add,div)\",\"stability\":\"UNSTABLE\""));
+        assertTrue(json.trim().endsWith("}]"));
+        assertTrue(json.contains("\"iterations\":200,\"throughput\":50000.000"));
+        assertTrue(json.contains("\"allocatedBytes\":12288"));
+        assertTrue(json.contains("\"latencies\":{\"count\":200,\"min\":1000"));
+        assertTrue(json.contains("\"p999\":"));
+        assertTrue(json.contains("\"buckets\":[[1000,1007,1],"));
+        assertTrue(json.contains("\"message\":\"Positive, \\\"only\\\"\""));
+        assertTrue(json.contains("{\"name\":\"Floodgate-Worker-1\",\"iterations\":100,\"conclusion\":\"COMPLETED\","));
+        assertEquals(2, json.split("\\{\"target\"").length - 1);
+    }
+
+    @Test
+    public void testExport_JsonEmpty_Pass() throws IOException {
+        // Given
+        StringWriter writer = new StringWriter();
+
+        // When
+        new JsonFloodStatisticsExporter(writer).close();
+
+        // Then
+        assertEquals("[]", writer.toString().trim());
+    }
+
+    @Test
+    public void testExport_Csv_Pass() throws IOException {
+        // Given
+        StringWriter writer = new StringWriter();
+
+        // When
+        try (FloodStatisticsExporter exporter = new CsvFloodStatisticsExporter(writer)) {
+            exporter.export(Arrays.asList(statistics, statistics));
+        }
+        String[] lines = writer.toString().split("\n");
+
+        // Then
+        assertEquals(3, lines.length);
+        assertEquals("target,stability,elapsed_nanos,iterations,throughput,latency_count,latency_min,latency_mean," +
+                "latency_p50,latency_p90,latency_p99,latency_p99.9,latency_max,cpu_time_nanos,allocated_bytes," +
+                "gc_count,gc_millis,errors,error_types", lines[0]);
+        assertTrue(lines[1].startsWith("\"{UnsafeStatistics-001}-(add,div)\",UNSTABLE,4000000,200,50000.000,200,1000,"));
+        assertTrue(lines[1].endsWith(",4000000,12288,1,3,1,java.lang.IllegalArgumentException"));
+    }
+
+    @Test
+    public void testExport_Histogram_Pass() throws IOException {
+        // Given
+        StringWriter writer = new StringWriter();
+
+        // When
+        try (FloodStatisticsExporter exporter = new HistogramFloodStatisticsExporter(writer)) {
+            exporter.export(statistics);
+        }
+        String[] lines = writer.toString().split("\n");
+
+        // Then
+        assertEquals("#[Target = {UnsafeStatistics-001}-(add,div)]", lines[0]);
+        assertTrue(lines[1].trim().startsWith("Value"));
+        assertTrue(lines[3].trim().startsWith("1.007 0.005000000000          1"));
+        assertTrue(lines[lines.length - 4].trim().startsWith("200.000 1.000000000000        200"));
+        assertTrue(lines[lines.length - 2].startsWith("#[Max     =      200.000, Total count    =          200]"));
+    }
+
+    @Test
+    public void testExport_IllegalStateException_Fail() throws IOException {
+        // Given
+        FloodStatisticsExporter exporter = new CsvFloodStatisticsExporter(new StringWriter());
+
+        // When
+        exporter.close();
+
+        // Then
+        assertThrows(IllegalStateException.class, () -> exporter.export(statistics));
+        assertThrows(NullPointerException.class, () -> new CsvFloodStatisticsExporter((StringWriter) null));
+    }
+}
@@ -16,15 +16,29 @@
 package org.javalaboratories.core.concurrency.utils;
 
 import nl.altindag.log.LogCaptor;
+import org.javalaboratories.core.concurrency.utils.ResourceFloodStability.Target;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static org.javalaboratories.core.concurrency.utils.FloodWorkerStatistics.Conclusion.*;
 import static org.javalaboratories.core.concurrency.utils.ResourceFloodStability.States;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -73,6 +87,23 @@ public class FloodgateTest extends AbstractResourceFloodStabilityTest {
         assertThrows(IllegalArgumentException.class, () -> new Floodgate<>(UnsafeStatistics.class, -1, -1, () -> unsafe.add(10)));
     }
 
+    @Test
+    public void testNew_ConcurrentFloodgateTargetNames_Pass() {
+        // Given
+        int count = 5000;
+
+        // When
+        Set<String> names = IntStream.range(0, count)
+                .parallel()
+                .mapToObj(i -> new Floodgate<>(SafeStatistics.class, () -> safe.add(10)))
+                .map(fg -> fg.getTarget().getName())
+                .collect(Collectors.toSet());
+
+        // Then
+        assertEquals(count, names.size());
+        assertTrue(names.stream().allMatch(n -> n.startsWith("{SafeStatistics-")));
+    }
+
     @Test
     public void testOpen_State_Pass() {
         // Given
@@ -123,6 +154,31 @@ public class FloodgateTest extends AbstractResourceFloodStabilityTest {
         logger.info("UnsafeStatics state={}", unsafe);
     }
 
+    @Test
+    public void testFlood_FloodStatistics_Pass() {
+        // Given
+        Floodgate<Integer> floodgate = new Floodgate<>(UnsafeStatistics.class, () -> safe.add(10));
+
+        // When
+        floodgate.open();
+        floodgate.flood();
+        FloodStatistics statistics = floodgate.getFloodStatistics();
+
+        // Then
+        assertEquals(floodgate.getTarget().getName(), statistics.getTargetName());
+        assertEquals(5, statistics.getWorkers().size());
+        assertEquals(25, statistics.getIterations());
+        assertTrue(statistics.getElapsedNanos() > 0);
+        assertTrue(statistics.getThroughput() > 0.0);
+        assertTrue(statistics.getGarbageCollections() >= 0);
+        statistics.getWorkers().forEach(w -> {
+            assertEquals(5, w.getIterations());
+            assertTrue(w.getWorkerName().startsWith("Floodgate-Worker-"));
+            w.getLatencies().record(1L);
+            assertEquals(5, w.getLatencies().getCount());
+        });
+    }
+
     @Test
     public void testFlood_RestartingFlood_Fail() {
         // Given
@@ -149,10 +205,276 @@ public class FloodgateTest extends AbstractResourceFloodStabilityTest {
         // Then
         assertThrows(IllegalStateException.class, floodgate::flood);
         assertEquals(5, results.size());
+        assertEquals(0, floodgate.getFloodStatistics().getIterations());
 
         logger.info("UnsafeStatics state={}", unsafe);
     }
 
+    @Test
+    public void testFlood_TargetResourceStop_Pass() {
+        // Given
+        AtomicReference<Floodgate<Integer>> reference = new AtomicReference<>();
+        Floodgate<Integer> floodgate = new Floodgate<>(SafeStatistics.class,1,1_000_000,() -> {
+            int result = safe.add(10);
+            if (result == 1000)
+                reference.get().stop();
+            return result;
+        });
+        reference.set(floodgate);
+
+        // When
+        floodgate.open();
+        List<Integer> results = floodgate.flood();
+
+        // Then
+        FloodStatistics statistics = floodgate.getFloodStatistics();
+        assertEquals(States.FLOODED,floodgate.getState());
+        assertEquals(1,results.size());
+        assertEquals(1000,results.get(0));
+        assertEquals(100,statistics.getIterations());
+        assertTrue(statistics.isPartial());
+        assertEquals(STOPPED,statistics.getWorkers().get(0).getConclusion());
+        assertEquals(Target.Stability.STABLE,floodgate.getTarget().getStability());
+    }
+
+    @Test
+    public void testFlood_TargetResourceDeadline_Pass() {
+        // Given
+        LogCaptor captor = LogCaptor.forClass(FloodExecutorService.class);
+        Floodgate<Integer> floodgate = new Floodgate<>(SafeStatistics.class,3,1_000_000,() -> {
+            sleep(1);
+            return safe.add(10);
+        });
+
+        // When
+        floodgate.open();
+        long start = System.nanoTime();
+        List<Integer> results = floodgate.flood(100,TimeUnit.MILLISECONDS);
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        FloodStatistics statistics = floodgate.getFloodStatistics();
+        assertEquals(States.FLOODED,floodgate.getState());
+        assertEquals(3,results.size());
+        assertTrue(elapsed < 5000);
+        assertTrue(statistics.isPartial());
+        assertEquals(3,statistics.getWorkers().size());
+        statistics.getWorkers().forEach(w -> {
+            assertEquals(EXPIRED,w.getConclusion());
+            assertTrue(w.getIterations() > 0 && w.getIterations() < 1_000_000);
+        });
+        assertTrue(captor.getErrorLogs().stream()
+                .noneMatch(l -> l.contains("SHUTDOWN_TIMEOUT")));
+    }
+
+    @Test
+    public void testFlood_TargetResourceInterrupted_Pass() {
+        // Given
+        Floodgate<Integer> floodgate = new Floodgate<>(SafeStatistics.class,1,5,() -> {
+            Thread.currentThread().interrupt();
+            return safe.add(10);
+        });
+
+        // When
+        floodgate.open();
+        List<Integer> results = floodgate.flood();
+
+        // Then
+        FloodWorkerStatistics worker = floodgate.getFloodStatistics().getWorkers().get(0);
+        assertEquals(1,results.size());
+        assertEquals(INTERRUPTED,worker.getConclusion());
+        assertEquals(1,worker.getIterations());
+        assertFalse(worker.hasError());
+        assertEquals(Target.Stability.STABLE,floodgate.getTarget().getStability());
+    }
+
+    @Test
+    public void testReset_Floodgate_Pass() {
+        // Given
+        Floodgate<Integer> floodgate = new Floodgate<>(SafeStatistics.class,5,5,() -> safe.add(10));
+        String name = floodgate.getTarget().getName();
+
+        // When
+        floodgate.open();
+        List<Integer> results1 = floodgate.flood();
+        FloodStatistics statistics1 = floodgate.getFloodStatistics();
+        floodgate.reset();
+
+        // Then
+        assertEquals(States.CLOSED,floodgate.getState());
+        assertNull(floodgate.getFloodStatistics());
+
+        // When
+        floodgate.open();
+        List<Integer> results2 = floodgate.flood();
+
+        // Then
+        assertEquals(States.FLOODED,floodgate.getState());
+        assertEquals(name,floodgate.getTarget().getName());
+        assertEquals(5,results1.size());
+        assertEquals(5,results2.size());
+        assertEquals(25,statistics1.getIterations());
+        assertEquals(25,floodgate.getFloodStatistics().getIterations());
+        assertEquals(500,safe.getTotal());
+    }
+
+    @Test
+    public void testReset_UnstableTarget_Pass() {
+        // Given
+        Floodgate<Float> floodgate = new Floodgate<>(UnsafeStatistics.class,1,1,() -> unsafe.div(-1));
+
+        // When
+        floodgate.open();
+        floodgate.flood();
+        Target.Stability stability = floodgate.getTarget().getStability();
+        floodgate.reset();
+
+        // Then
+        assertEquals(Target.Stability.UNSTABLE,stability);
+        assertEquals(Target.Stability.STABLE,floodgate.getTarget().getStability());
+    }
+
+    @Test
+    public void testReset_IllegalStateException_Fail() {
+        // Given
+        Floodgate<Integer> floodgate = new Floodgate<>(SafeStatistics.class,() -> safe.add(10));
+
+        // Then
+        assertThrows(IllegalStateException.class, floodgate::reset);
+        floodgate.open();
+        try {
+            assertThrows(IllegalStateException.class, floodgate::reset);
+        } finally {
+            floodgate.close();
+        }
+    }
+
+    @Test
+    public void testReset_WarmFloodExecutorService_Pass() {
+        // Given
+        FloodThreadPoolExecutor service = new FloodThreadPoolExecutor(3);
+        service.prestartAllCoreThreads();
+        Set<String> workers = new HashSet<>();
+        Floodgate<Integer> floodgate = new Floodgate<>(SafeStatistics.class,3,10,() -> safe.add(10),service);
+
+        try {
+            // When
+            for (int i = 0; i < 3; i++) {
+                floodgate.open();
+                floodgate.flood();
+                floodgate.getFloodStatistics().getWorkers().forEach(w -> workers.add(w.getWorkerName()));
+                assertEquals(30,floodgate.getFloodStatistics().getIterations());
+                floodgate.reset();
+            }
+
+            // Then
+            assertFalse(service.isShutdown());
+            assertEquals(3,service.getLargestPoolSize());
+            assertEquals(3,workers.size());
+            assertEquals(900,safe.getTotal());
+        } finally {
+            service.close();
+        }
+        assertThrows(NullPointerException.class,
+                () -> new Floodgate<>(SafeStatistics.class,3,10,() -> safe.add(10),(FloodExecutorService) null));
+    }
+
+    @Test
+    public void testReset_StragglerWorkers_Pass() {
+        // Given
+        AtomicInteger phase = new AtomicInteger();
+        Floodgate<Integer> floodgate = new Floodgate<>(SafeStatistics.class,2,1,() -> {
+            if (phase.get() == 0) {
+                // Unresponsive to cancellation
+                while (phase.get() == 0)
+                    Thread.yield();
+            } else {
+                sleep(200);
+            }
+            return 1;
+        });
+
+        // When
+        floodgate.open();
+        List<Integer> results1 = floodgate.flood(100,TimeUnit.MILLISECONDS);
+        floodgate.reset();
+        floodgate.open();
+        phase.set(1);
+        List<Integer> results2 = floodgate.flood();
+
+        // Then
+        assertEquals(0,results1.size());
+        assertEquals(2,results2.size());
+        assertEquals(2,floodgate.getFloodStatistics().getIterations());
+        assertEquals(2,floodgate.getFloodStatistics().getWorkers().size());
+        assertTrue(floodgate.getFloodStatistics().getWorkers().stream()
+                .allMatch(w -> w.getConclusion() == COMPLETED));
+    }
+
+    @Test
+    public void testClose_SharedFloodExecutorService_Pass() throws InterruptedException {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        FloodThreadPoolExecutor service = new FloodThreadPoolExecutor(1);
+        List<Future<Integer>> futures = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> submitters = new ArrayList<>();
+        for (int i = 0; i < 4; i++)
+            submitters.add(new Thread(() -> IntStream.range(0,1000).forEach(j -> futures.add(service.submit(() -> {
+                release.await();
+                return j;
+            })))));
+
+        // When
+        submitters.forEach(Thread::start);
+        for (Thread submitter : submitters)
+            submitter.join();
+        service.close(true);
+        release.countDown();
+
+        // Then
+        assertEquals(4000,futures.size());
+        assertTrue(futures.stream().allMatch(Future::isDone));
+    }
+
+    @Test
+    public void testFlood_TargetResourceSink_Pass() {
+        // Given
+        FloodResultCollector<Integer,?,Integer> collector = new FloodResultCollector<>(Collectors.summingInt(i -> 1));
+        Floodgate<Integer> floodgate = new Floodgate<>(SafeStatistics.class,5,5,() -> safe.add(10),collector);
+
+        // When
+        floodgate.open();
+        List<Integer> results = floodgate.flood();
+
+        // Then
+        assertEquals(States.FLOODED,floodgate.getState());
+        assertEquals(0,results.size());
+        assertEquals(25,collector.getResult());
+        assertEquals(25,floodgate.getFloodStatistics().getIterations());
+        assertEquals(250,safe.getTotal());
+    }
+
+    @Test
+    public void testGetResult_RepeatedCalls_Pass() {
+        // Given
+        FloodResultCollector<Integer,?,List<Integer>> collector = new FloodResultCollector<>(Collectors.toList());
+        FloodResultCollector<Integer,?,Long> total = new FloodResultCollector<>(Collectors.summingLong(i -> 1));
+        Floodgate<Integer> floodgate = new Floodgate<>(SafeStatistics.class,3,4,() -> safe.add(10),
+                value -> { collector.accept(value); total.accept(value); });
+
+        // When
+        floodgate.open();
+        floodgate.flood();
+        List<Integer> first = collector.getResult();
+        first.clear();
+
+        // Then
+        assertEquals(12,collector.getResult().size());
+        assertEquals(12,collector.getResult().size());
+        assertEquals(12L,total.getResult());
+        assertEquals(12L,total.getResult());
+    }
+
     @Test
     public void testFlood_TargetResourceTimeouts_Fail() {
         // Given
@@ -168,7 +490,16 @@ public class FloodgateTest extends AbstractResourceFloodStabilityTest {
         // Then
         List<Void> results = floodgate.flood(10, TimeUnit.MILLISECONDS);
         assertEquals(States.FLOODED,floodgate.getState());
-        assertEquals(0,results.size());
+        // Forced shutdown interrupts the first request of each worker, which
+        // then concludes with its partial result, having exceeded the timeout
+        assertEquals(floodgate.getThreads(),results.size());
+        assertTrue(results.stream().allMatch(r -> r == null));
+        FloodStatistics statistics = floodgate.getFloodStatistics();
+        assertEquals(floodgate.getThreads(),statistics.getWorkers().size());
+        statistics.getWorkers().forEach(w -> {
+            assertEquals(EXPIRED,w.getConclusion());
+            assertEquals(1,w.getIterations());
+        });
 
         assertTrue(fgCaptor1.getErrorLogs().stream()
                 .anyMatch(l -> l.contains("Insufficient wait timeout specified, not all flood workers have completed their work")));
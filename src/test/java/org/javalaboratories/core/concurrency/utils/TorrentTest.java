@@ -21,6 +21,8 @@ import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.javalaboratories.core.concurrency.utils.ResourceFloodStability.States.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -223,6 +225,8 @@ public class TorrentTest extends AbstractResourceFloodStabilityTest {
         assertEquals(10,torrent.getThreads());
         assertEquals(50,torrent.getIterations());
         assertEquals(5.0,torrent.getAverageIterations());
+        assertEquals(result.keySet(),torrent.getFloodStatistics().keySet());
+        torrent.getFloodStatistics().values().forEach(s -> assertEquals(25,s.getIterations()));
 
         if (!unsafe.equals(expected)) {
             logger.info("Statistics corrupted this time, expected: {}, but got {}", expected, unsafe);
@@ -250,4 +254,52 @@ public class TorrentTest extends AbstractResourceFloodStabilityTest {
         }
     }
 
+    @Test
+    public void testFlood_TargetResourceSink_Pass() {
+        // Given
+        FloodResultCollector<Integer,?,Long> collector = new FloodResultCollector<>(Collectors.counting());
+        Torrent torrent = Torrent.builder(SafeStatistics.class)
+                .withFloodgate("print", () -> safe.print())
+                .withFloodgate("add",5,5,() -> safe.add(10),collector)
+                .build();
+
+        // When
+        torrent.open();
+        Map<String, List<?>> result = torrent.flood();
+
+        // Then
+        assertEquals(FLOODED, torrent.getState());
+        assertEquals(2, result.size());
+        assertTrue(result.entrySet().stream()
+                .anyMatch(e -> e.getKey().contains("add") && e.getValue().isEmpty()));
+        assertEquals(25L,collector.getResult());
+        assertThrows(NullPointerException.class, () -> Torrent.builder(SafeStatistics.class)
+                .withFloodgate("add",5,5,() -> safe.add(10),null));
+    }
+
+    @Test
+    public void testFlood_FloodStatisticsElapsed_Pass() {
+        // Given
+        Torrent torrent = Torrent.builder(SafeStatistics.class)
+                .withFloodgate("slow",2,5,() -> sleep(40))
+                .withFloodgate("fast",2,5,() -> sleep(10))
+                .build();
+
+        // When
+        torrent.open();
+        torrent.flood();
+
+        // Then -- second floodgate is flooded after the first concludes, but
+        // its workers were released simultaneously with the first
+        Map<String,FloodStatistics> statistics = torrent.getFloodStatistics();
+        assertEquals(2,statistics.size());
+        FloodStatistics slow = statistics.entrySet().stream()
+                .filter(e -> e.getKey().contains("slow")).findFirst().get().getValue();
+        FloodStatistics fast = statistics.entrySet().stream()
+                .filter(e -> e.getKey().contains("fast")).findFirst().get().getValue();
+        assertTrue(slow.getElapsedNanos() >= TimeUnit.MILLISECONDS.toNanos(200));
+        assertTrue(fast.getElapsedNanos() >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(fast.getElapsedNanos() < slow.getElapsedNanos());
+        assertTrue(fast.getThroughput() <= 10 / 0.05);
+    }
 }
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.concurrency.utils;
+
+import org.javalaboratories.core.concurrency.utils.ResourceFloodStability.Target;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkloadFloodgateTest extends AbstractResourceFloodStabilityTest {
+
+    @BeforeEach
+    public void setup() {
+        unsafe = new UnsafeStatistics();
+        safe = new SafeStatistics();
+    }
+
+    @Test
+    public void testNew_FloodWorkload_Pass() {
+        // Given
+        FloodWorkload workload = FloodWorkload.builder()
+                .withOperation("add",80,() -> safe.add(10))
+                .withOperation("div",15,() -> safe.div(2))
+                .withOperation("print",5,() -> safe.print())
+                .build();
+
+        // Then
+        assertEquals(3,workload.size());
+        assertEquals(100,workload.getTotalWeight());
+        assertEquals("add",workload.getOperations().get(0).getName());
+        assertEquals(5,workload.getOperations().get(2).getWeight());
+    }
+
+    @Test
+    public void testNew_FloodWorkloadException_Fail() {
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> FloodWorkload.builder().build());
+        assertThrows(IllegalArgumentException.class, () -> FloodWorkload.builder()
+                .withOperation("add",0,() -> safe.add(10)));
+        assertThrows(IllegalArgumentException.class, () -> FloodWorkload.builder()
+                .withOperation("add",10,() -> safe.add(10))
+                .withOperation("add",10,() -> safe.add(20)));
+        assertThrows(NullPointerException.class, () -> FloodWorkload.builder()
+                .withOperation(null,10,() -> safe.add(10)));
+        assertThrows(NullPointerException.class, () -> new WorkloadFloodgate(SafeStatistics.class,null));
+    }
+
+    @Test
+    public void testChoose_WeightedOperations_Pass() {
+        // Given
+        FloodWorkload workload = FloodWorkload.builder()
+                .withOperation("first",1,() -> {})
+                .withOperation("second",2,() -> {})
+                .withOperation("third",7,() -> {})
+                .build();
+        int[] counts = new int[workload.size()];
+
+        // When
+        for (int i = 0; i < 100_000; i++)
+            counts[workload.choose()]++;
+
+        // Then
+        assertEquals(100_000,Arrays.stream(counts).sum());
+        assertEquals(0.1,counts[0] / 100_000.0,0.01);
+        assertEquals(0.2,counts[1] / 100_000.0,0.01);
+        assertEquals(0.7,counts[2] / 100_000.0,0.01);
+    }
+
+    @Test
+    public void testFlood_MixedWorkload_Pass() {
+        // Given
+        FloodWorkload workload = FloodWorkload.builder()
+                .withOperation("add",80,() -> safe.add(10))
+                .withOperation("div",15,() -> safe.div(2))
+                .withOperation("print",5,() -> {})
+                .build();
+        WorkloadFloodgate floodgate = new WorkloadFloodgate(SafeStatistics.class,4,2500,workload);
+
+        // When
+        floodgate.open();
+        List<Object> results = floodgate.flood();
+
+        // Then
+        Map<String,FloodOperationStatistics> statistics = floodgate.getOperationStatistics();
+        assertEquals(4,results.size());
+        assertEquals(Arrays.asList("add","div","print"),Arrays.asList(statistics.keySet().toArray()));
+        assertEquals(10_000,statistics.values().stream()
+                .mapToLong(FloodOperationStatistics::getInvocations)
+                .sum());
+        assertEquals(10_000,floodgate.getFloodStatistics().getIterations());
+        assertEquals(0.80,statistics.get("add").getInvocations() / 10_000.0,0.05);
+        assertEquals(0.15,statistics.get("div").getInvocations() / 10_000.0,0.05);
+        assertEquals(statistics.get("add").getInvocations() * 10,safe.getTotal());
+        assertEquals(statistics.get("add").getInvocations(),statistics.get("add").getLatencies().getCount());
+        statistics.values().forEach(s -> assertEquals(0.0,s.getErrorRate()));
+    }
+
+    @Test
+    public void testFlood_MixedWorkloadErrors_Pass() {
+        // Given
+        FloodWorkload workload = FloodWorkload.builder()
+                .withOperation("add",50,() -> safe.add(10))
+                .withOperation("div",50,() -> safe.div(-1))
+                .build();
+        WorkloadFloodgate floodgate = new WorkloadFloodgate(SafeStatistics.class,2,1000,workload);
+
+        // When
+        floodgate.open();
+        floodgate.flood();
+
+        // Then
+        FloodOperationStatistics add = floodgate.getOperationStatistics().get("add");
+        FloodOperationStatistics div = floodgate.getOperationStatistics().get("div");
+        assertEquals(Target.Stability.UNSTABLE,floodgate.getTarget().getStability());
+        assertTrue(add.getErrors().isEmpty());
+        assertFalse(div.getErrors().isEmpty());
+        assertEquals(IllegalArgumentException.class.getName(),div.getErrors().get(0).getType());
+        assertEquals(1.0,div.getErrorRate());
+        assertEquals(div.getInvocations(),div.getErrors().size());
+        assertEquals(2000,add.getInvocations() + div.getInvocations());
+        assertTrue(div.getErrors().size() > 2);
+    }
+
+    @Test
+    public void testFlood_MixedWorkloadHaltOnError_Pass() {
+        // Given
+        FloodWorkload workload = FloodWorkload.builder()
+                .withOperation("add",50,() -> safe.add(10))
+                .withOperation("div",50,() -> safe.div(-1))
+                .build();
+        WorkloadFloodgate floodgate = new WorkloadFloodgate(SafeStatistics.class,2,1000,workload);
+        floodgate.setHaltOnError(true);
+
+        // When
+        floodgate.open();
+        floodgate.flood();
+
+        // Then
+        FloodOperationStatistics add = floodgate.getOperationStatistics().get("add");
+        FloodOperationStatistics div = floodgate.getOperationStatistics().get("div");
+        assertEquals(Target.Stability.UNSTABLE,floodgate.getTarget().getStability());
+        assertTrue(div.getErrors().size() <= 2);
+        assertTrue(add.getInvocations() + div.getInvocations() < 2000);
+    }
+
+    @Test
+    public void testFlood_PacedWorkloadScheduledLatency_Pass() {
+        // Given
+        AtomicInteger invocations = new AtomicInteger();
+        FloodWorkload workload = FloodWorkload.builder()
+                .withOperation("add",1,() -> {
+                    if (invocations.getAndIncrement() == 0)
+                        sleep(50);
+                    return safe.add(10);
+                })
+                .build();
+        WorkloadFloodgate floodgate = new WorkloadFloodgate(SafeStatistics.class,1,3,workload);
+        floodgate.setPacer(FloodPacer.fixed(10,TimeUnit.MILLISECONDS));
+
+        // When
+        floodgate.open();
+        floodgate.flood();
+
+        // Then
+        FloodHistogram latencies = floodgate.getOperationStatistics().get("add").getLatencies();
+        assertEquals(3,latencies.getCount());
+        // Invocations scheduled at 10ms and 20ms started late, at 50ms
+        assertTrue(latencies.getMin() >= TimeUnit.MILLISECONDS.toNanos(30),() -> "Latencies " + latencies);
+    }
+
+    @Test
+    public void testSetHaltOnError_Opened_Fail() {
+        // Given
+        FloodWorkload workload = FloodWorkload.builder()
+                .withOperation("add",1,() -> safe.add(10))
+                .build();
+        WorkloadFloodgate floodgate = new WorkloadFloodgate(SafeStatistics.class,2,10,workload);
+
+        // When
+        floodgate.open();
+
+        // Then
+        assertThrows(IllegalStateException.class,() -> floodgate.setHaltOnError(true));
+        floodgate.flood();
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.event;
+
+import org.javalaboratories.core.event.AsyncEventBroadcaster.OverflowPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.javalaboratories.core.event.CommonEvents.ACTION_EVENT;
+import static org.javalaboratories.core.event.CommonEvents.NOTIFY_EVENT;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncEventBroadcasterTest implements EventSource {
+
+    private ExecutorService executor;
+    private List<Runnable> tasks;
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newFixedThreadPool(2);
+        tasks = new ArrayList<>();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testNew_Publisher_Pass() {
+        // Given
+        AsyncEventBroadcaster<AsyncEventBroadcasterTest,String> publisher = new AsyncEventBroadcaster<>(this,executor);
+
+        // Then
+        assertEquals("[subscribers=0,source=AsyncEventBroadcasterTest]",publisher.toString());
+        assertThrows(NullPointerException.class, () -> new AsyncEventBroadcaster<>(null));
+        assertThrows(NullPointerException.class, () -> new AsyncEventBroadcaster<>(this,executor,1,null));
+        assertThrows(IllegalArgumentException.class, () -> new AsyncEventBroadcaster<>(this,executor,0,OverflowPolicy.BLOCK));
+    }
+
+    @Test
+    public void testPublish_SlowSubscriber_Pass() throws InterruptedException {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(6);
+        List<String> slow = Collections.synchronizedList(new ArrayList<>());
+        List<String> fast = Collections.synchronizedList(new ArrayList<>());
+        AsyncEventBroadcaster<AsyncEventBroadcasterTest,String> publisher = new AsyncEventBroadcaster<>(this,executor);
+        EventSubscriber<String> slowSubscriber = (event,value) -> {
+            await(release);
+            slow.add(value);
+            done.countDown();
+        };
+        EventSubscriber<String> fastSubscriber = (event,value) -> {
+            fast.add(value);
+            done.countDown();
+        };
+        publisher.subscribe(slowSubscriber,ACTION_EVENT);
+        publisher.subscribe(fastSubscriber,ACTION_EVENT);
+
+        // When
+        publisher.publish(ACTION_EVENT,"1");
+        publisher.publish(ACTION_EVENT,"2");
+        publisher.publish(ACTION_EVENT,"3");
+        release.countDown();
+
+        // Then
+        assertTrue(done.await(5,TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("1","2","3"),slow);
+        assertEquals(Arrays.asList("1","2","3"),fast);
+        assertEquals(3,publisher.getQueueStatistics(slowSubscriber).orElseThrow().getDelivered());
+    }
+
+    @Test
+    public void testPublish_DropNewestPolicy_Pass() {
+        // Given
+        List<String> received = new ArrayList<>();
+        EventSubscriber<String> subscriber = (event,value) -> received.add(value);
+        AsyncEventBroadcaster<AsyncEventBroadcasterTest,String> publisher =
+                new AsyncEventBroadcaster<>(this,tasks::add,2,OverflowPolicy.DROP_NEWEST);
+        publisher.subscribe(subscriber,ACTION_EVENT);
+
+        // When
+        Arrays.asList("1","2","3","4","5").forEach(v -> publisher.publish(ACTION_EVENT,v));
+        EventQueueStatistics before = publisher.getQueueStatistics(subscriber).orElseThrow();
+        tasks.forEach(Runnable::run);
+
+        // Then
+        assertEquals(1,tasks.size());
+        assertEquals(new EventQueueStatistics(2,2,0,3),before);
+        assertEquals(Arrays.asList("1","2"),received);
+        assertEquals(new EventQueueStatistics(2,0,2,3),publisher.getQueueStatistics(subscriber).orElseThrow());
+    }
+
+    @Test
+    public void testPublish_DropOldestPolicy_Pass() {
+        // Given
+        List<String> received = new ArrayList<>();
+        EventSubscriber<String> subscriber = (event,value) -> received.add(value);
+        AsyncEventBroadcaster<AsyncEventBroadcasterTest,String> publisher =
+                new AsyncEventBroadcaster<>(this,tasks::add,2,OverflowPolicy.DROP_OLDEST);
+        publisher.subscribe(subscriber,ACTION_EVENT);
+
+        // When
+        Arrays.asList("1","2","3","4","5").forEach(v -> publisher.publish(ACTION_EVENT,v));
+        tasks.forEach(Runnable::run);
+
+        // Then
+        assertEquals(Arrays.asList("4","5"),received);
+        assertEquals(new EventQueueStatistics(2,0,2,3),publisher.getQueueStatistics(subscriber).orElseThrow());
+    }
+
+    @Test
+    public void testPublish_BlockPolicy_Pass() throws InterruptedException {
+        // Given
+        CountDownLatch done = new CountDownLatch(100);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        EventSubscriber<Integer> subscriber = (event,value) -> {
+            received.add(value);
+            done.countDown();
+        };
+        AsyncEventBroadcaster<AsyncEventBroadcasterTest,Integer> publisher =
+                new AsyncEventBroadcaster<>(this,executor,1,OverflowPolicy.BLOCK);
+        publisher.subscribe(subscriber,ACTION_EVENT);
+
+        // When
+        for (int i = 0; i < 100; i++)
+            publisher.publish(ACTION_EVENT,i);
+
+        // Then
+        assertTrue(done.await(5,TimeUnit.SECONDS));
+        assertEquals(100,received.size());
+        for (int i = 0; i < 100; i++)
+            assertEquals(i,received.get(i));
+        assertEquals(0,publisher.getQueueStatistics(subscriber).orElseThrow().getDropped());
+    }
+
+    @Test
+    public void testPublish_ToxicSubscriber_Pass() {
+        // Given
+        List<String> received = new ArrayList<>();
+        EventSubscriber<String> toxic = (event,value) -> {
+            throw new IllegalStateException("Object state error -- toxic subscriber");
+        };
+        EventSubscriber<String> subscriber = (event,value) -> received.add(value);
+        AsyncEventBroadcaster<AsyncEventBroadcasterTest,String> publisher =
+                new AsyncEventBroadcaster<>(this,tasks::add,8,OverflowPolicy.BLOCK);
+        publisher.subscribe(toxic,ACTION_EVENT);
+        publisher.subscribe(subscriber,ACTION_EVENT,NOTIFY_EVENT);
+
+        // When
+        publisher.publish(ACTION_EVENT,"1");
+        publisher.publish(NOTIFY_EVENT,"2");
+        new ArrayList<>(tasks).forEach(Runnable::run);
+
+        // Then
+        assertEquals(Arrays.asList("1","2"),received);
+        assertEquals(1,publisher.subscribers());
+        assertFalse(publisher.getQueueStatistics(toxic).isPresent());
+    }
+
+    @Test
+    public void testSubscribe_SubscriberAlreadyExists_Fail() {
+        // Given
+        EventSubscriber<String> subscriber = (event,value) -> {};
+        AsyncEventBroadcaster<AsyncEventBroadcasterTest,String> publisher = new AsyncEventBroadcaster<>(this,executor);
+        publisher.subscribe(subscriber,ACTION_EVENT);
+
+        // Then
+        assertThrows(EventException.class, () -> publisher.subscribe(subscriber,NOTIFY_EVENT));
+        assertThrows(IllegalArgumentException.class, () -> publisher.subscribe((event,value) -> {}));
+        assertThrows(NullPointerException.class, () -> publisher.subscribe(null,ACTION_EVENT));
+        assertEquals(1,publisher.subscribers());
+    }
+
+    @Test
+    public void testUnsubscribe_OutstandingEvents_Pass() {
+        // Given
+        List<String> received = new ArrayList<>();
+        EventSubscriber<String> subscriber = (event,value) -> received.add(value);
+        AsyncEventBroadcaster<AsyncEventBroadcasterTest,String> publisher =
+                new AsyncEventBroadcaster<>(this,tasks::add,8,OverflowPolicy.BLOCK);
+        publisher.subscribe(subscriber,ACTION_EVENT);
+
+        // When
+        publisher.publish(ACTION_EVENT,"1");
+        boolean removed = publisher.unsubscribe(subscriber);
+        tasks.forEach(Runnable::run);
+
+        // Then
+        assertTrue(removed);
+        assertFalse(publisher.unsubscribe(subscriber));
+        assertTrue(received.isEmpty());
+        assertEquals(0,publisher.subscribers());
+        assertFalse(publisher.getQueueStatistics(subscriber).isPresent());
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5,TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
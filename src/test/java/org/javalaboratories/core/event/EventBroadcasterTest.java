@@ -7,6 +7,13 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.javalaboratories.core.event.CommonEvents.ACTION_EVENT;
 import static org.javalaboratories.core.event.CommonEvents.ANY_EVENT;
 import static org.javalaboratories.core.event.CommonEvents.NOTIFY_EVENT;
@@ -48,6 +55,18 @@ public class EventBroadcasterTest implements EventSubscriber<String>, EventSourc
         }
     }
 
+    static class TestEventD extends AbstractEvent {
+        private final transient AtomicInteger clones;
+        public TestEventD clone() throws CloneNotSupportedException {
+            clones.incrementAndGet();
+            return (TestEventD) super.clone();
+        }
+        public TestEventD(AtomicInteger clones) {
+            super();
+            this.clones = clones;
+        }
+    }
+
     @BeforeEach
     public void setup() {
         publisher = new EventBroadcaster<>(this);
@@ -169,6 +188,108 @@ public class EventBroadcasterTest implements EventSubscriber<String>, EventSourc
         assertTrue(TEST_EVENT_B.toString().contains("{TEST_EVENT_B}"));
     }
 
+    @Test
+    public void testPublish_SubscriptionOrder_Pass() {
+        // Given
+        List<String> received = new ArrayList<>();
+        EventSubscriber<String> subscriberD = (event,value) -> received.add("D");
+        EventSubscriber<String> subscriberE = (event,value) -> received.add("E");
+        EventSubscriber<String> subscriberF = (event,value) -> received.add("F");
+        publisher.subscribe(subscriberF,ACTION_EVENT);
+        publisher.subscribe(subscriberD,ACTION_EVENT);
+        publisher.subscribe(subscriberE,ACTION_EVENT);
+
+        // When
+        publisher.publish(ACTION_EVENT,"Hello World");
+        publisher.unsubscribe(subscriberD);
+        publisher.subscribe(subscriberD,ACTION_EVENT);
+        publisher.publish(ACTION_EVENT,"Hello World");
+
+        // Then
+        assertEquals(Arrays.asList("F","D","E","F","E","D"),received);
+        assertEquals(3,publisher.subscribers());
+    }
+
+    @Test
+    public void testPublish_InterestedSubscribersOnly_Pass() {
+        // Given
+        AtomicInteger notifications = new AtomicInteger();
+        List<EventSubscriber<String>> subscribers = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            EventSubscriber<String> subscriber = (event,value) -> notifications.incrementAndGet();
+            subscribers.add(subscriber);
+            publisher.subscribe(subscriber,i % 3 == 0 ? TEST_EVENT_A : i % 3 == 1 ? TEST_EVENT_B : NOTIFY_EVENT);
+        }
+        publisher.unsubscribe(subscribers.get(0));
+
+        // When
+        publisher.publish(TEST_EVENT_A,"Hello World, A");
+        publisher.publish(ACTION_EVENT,"Hello World, C");
+
+        // Then
+        assertEquals(99,notifications.get());
+        assertEquals(299,publisher.subscribers());
+    }
+
+    @Test
+    public void testPublish_SubscribeDuringNotification_Pass() {
+        // Given
+        List<String> received = new ArrayList<>();
+        EventSubscriber<String> subscriberE = (event,value) -> received.add("E");
+        EventSubscriber<String> subscriberD = (event,value) -> {
+            received.add("D");
+            publisher.subscribe(subscriberE,ACTION_EVENT);
+        };
+        publisher.subscribe(subscriberD,ACTION_EVENT);
+
+        // When
+        publisher.publish(ACTION_EVENT,"Hello World");
+        publisher.unsubscribe(subscriberD);
+        publisher.publish(ACTION_EVENT,"Hello World");
+
+        // Then
+        assertEquals(Arrays.asList("D","E"),received);
+        assertEquals(1,publisher.subscribers());
+    }
+
+    @Test
+    public void testPublish_AssignedEventReused_Pass() {
+        // Given
+        AtomicInteger clones = new AtomicInteger();
+        Event countingEvent = new TestEventD(clones);
+        List<Event> received = new ArrayList<>();
+        publisher.subscribe((event,value) -> received.add(event),countingEvent,TEST_EVENT_A);
+
+        // When
+        publisher.publish(countingEvent,"Hello World, D");
+        publisher.publish(countingEvent,"Hello World, D");
+        publisher.publish(TEST_EVENT_A,"Hello World, A");
+        publisher.publish(countingEvent,"Hello World, D");
+
+        // Then
+        assertEquals(1,clones.get());
+        assertEquals(4,received.size());
+        assertSame(received.get(0),received.get(1));
+        assertSame(received.get(0),received.get(3));
+        assertSame(this,received.get(0).getSource());
+        assertSame(this,received.get(2).getSource());
+        assertSame(EventSource.EVENT_SOURCE_UNKNOWN,countingEvent.getSource());
+    }
+
+    @Test
+    public void testEventId_CachedPerClass_Pass() {
+        // Given
+        Event event = new TestEventA();
+        Event assigned = event.assign(this);
+
+        // Then
+        assertEquals("{TEST_EVENT_A}",event.getEventId());
+        assertSame(TEST_EVENT_A.getEventId(),event.getEventId());
+        assertSame(event.getEventId(),assigned.getEventId());
+        assertSame(assigned,assigned.assign(this));
+        assertEquals("{TEST_EVENT_D}",new TestEventD(new AtomicInteger()).getEventId());
+    }
+
     @Test
     public void testSubscribe_CaptureEventsException_Fail() {
         assertThrows(NullPointerException.class,() -> publisher.subscribe(null));
@@ -253,8 +374,147 @@ public class EventBroadcasterTest implements EventSubscriber<String>, EventSourc
         logger.info("Publisher state: {}",publisher);
     }
 
+    @Test
+    public void testSubscribe_ConcurrentChurn_Pass() {
+        // Given
+        AtomicInteger notifications = new AtomicInteger();
+        publisher.subscribe(subscriberA,ACTION_EVENT);
+
+        Torrent torrent = Torrent.builder(EventPublisher.class)
+                .withFloodgate("Churn",8,500,() -> {
+                    EventSubscriber<String> subscriber = (event,value) -> notifications.incrementAndGet();
+                    publisher.subscribe(subscriber,ACTION_EVENT,TEST_EVENT_A);
+                    publisher2.subscribe(subscriber,TEST_EVENT_B);
+                    publisher.publish(TEST_EVENT_A,"Hello World, A");
+                    boolean removed = publisher.unsubscribe(subscriber) && publisher2.unsubscribe(subscriber);
+                    assertTrue(removed);
+                })
+                .build();
+
+        // When
+        torrent.open();
+        torrent.flood();
+
+        // Then
+        assertEquals(1,publisher.subscribers());
+        assertEquals(0,publisher2.subscribers());
+        assertTrue(notifications.get() >= 4000);
+        assertTrue(torrent.getFloodStatistics().values().stream().allMatch(stats -> stats.getErrors().isEmpty()));
+    }
+
+    @Test
+    public void testGetMetrics_SlowSubscriber_Pass() {
+        // Given
+        EventBroadcaster<EventBroadcasterTest,String> broadcaster = new EventBroadcaster<>(this,20,TimeUnit.MILLISECONDS);
+        EventSubscriber<String> slowSubscriber = (event,value) -> sleep(25);
+        broadcaster.subscribe(subscriberA,ACTION_EVENT,TEST_EVENT_A);
+        broadcaster.subscribe(slowSubscriber,ACTION_EVENT);
+        broadcaster.subscribe(subscriberC,TEST_EVENT_A); // <-- toxic subscriber
+
+        // When
+        broadcaster.publish(ACTION_EVENT,"Hello World, C");
+        broadcaster.publish(ACTION_EVENT,"Hello World, C");
+        broadcaster.publish(TEST_EVENT_A,"Hello World, A");
+        broadcaster.publish(NOTIFY_EVENT,"Hello World, N");
+        EventMetrics metrics = broadcaster.getMetrics().orElseThrow();
+
+        // Then
+        assertEquals(2,metrics.getSubscribers().size());
+        assertEquals(1,metrics.getSubscriberExceptions());
+        assertEquals(2L,metrics.getPublications().get("{ACTION_EVENT}"));
+        assertEquals(1L,metrics.getPublications().get("{TEST_EVENT_A}"));
+        assertEquals(1L,metrics.getPublications().get("{NOTIFY_EVENT}"));
+        assertTrue(metrics.getPublishRate("{ACTION_EVENT}") > 0.0);
+        assertEquals(0.0,metrics.getPublishRate("{TEST_EVENT_B}"));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(20),metrics.getSlowThresholdNanos());
+
+        SubscriberMetrics fast = metrics.getSubscribers().get(0);
+        SubscriberMetrics slow = metrics.getSlowSubscribers().get(0);
+        assertEquals(1,metrics.getSlowSubscribers().size());
+        assertEquals(3,fast.getDeliveries());
+        assertFalse(fast.isSlow());
+        assertEquals(2,slow.getDeliveries());
+        assertEquals(0,slow.getExceptions());
+        assertTrue(slow.getP99LatencyNanos() > metrics.getSlowThresholdNanos());
+        assertEquals(2,slow.getLatencies().getCount());
+        assertTrue(slow.toString().contains("slow=true"));
+
+        assertEquals(1,metrics.getCanceledSubscribers().size());
+        SubscriberMetrics toxic = metrics.getCanceledSubscribers().get(0);
+        assertEquals(1,toxic.getExceptions());
+        assertEquals(0,toxic.getDeliveries());
+        assertEquals(String.valueOf(subscriberC),toxic.getSubscriber());
+    }
+
+    @Test
+    public void testGetMetrics_NotRecorded_Pass() {
+        // Given
+        EventBroadcaster<EventBroadcasterTest,String> broadcaster = new EventBroadcaster<>(this);
+
+        // Then
+        assertFalse(broadcaster.getMetrics().isPresent());
+        assertThrows(NullPointerException.class, () -> new EventBroadcaster<>(this,1,null));
+        assertThrows(IllegalArgumentException.class, () -> new EventBroadcaster<>(this,-1,TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testSubscribeWeakly_CollectedSubscriber_Pass() {
+        // Given
+        List<String> received = new ArrayList<>();
+        EventBroadcaster<EventBroadcasterTest,String> broadcaster = new EventBroadcaster<>(this);
+        EventSubscriber<String> retained = (event,value) -> received.add("retained:" + value);
+        EventSubscriber<String> shortLived = (event,value) -> received.add("short-lived:" + value);
+        broadcaster.subscribeWeakly(retained,ACTION_EVENT);
+        broadcaster.subscribeWeakly(shortLived,ACTION_EVENT);
+        broadcaster.publish(ACTION_EVENT,"1");
+
+        // When
+        WeakReference<EventSubscriber<String>> reference = new WeakReference<>(shortLived);
+        shortLived = null;
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            sleep(20);
+        }
+        broadcaster.publish(ACTION_EVENT,"2");
+
+        // Then
+        assertNull(reference.get());
+        assertEquals(Arrays.asList("retained:1","short-lived:1","retained:2"),received);
+        assertEquals(1,broadcaster.subscribers());
+        assertEquals(1,broadcaster.getPurgedSubscriptions());
+        assertThrows(EventException.class, () -> broadcaster.subscribeWeakly(retained,ACTION_EVENT));
+        assertTrue(broadcaster.unsubscribe(retained));
+        assertEquals(1,broadcaster.getPurgedSubscriptions());
+    }
+
+    @Test
+    public void testSubscribeWeakly_ToxicSubscriber_Pass() {
+        // Given
+        EventBroadcaster<EventBroadcasterTest,String> broadcaster = new EventBroadcaster<>(this);
+        broadcaster.subscribeWeakly(subscriberA,ACTION_EVENT);
+        broadcaster.subscribeWeakly(subscriberC,ACTION_EVENT); // <-- toxic subscriber
+
+        // When
+        broadcaster.publish(ACTION_EVENT,"Hello World");
+
+        // Then
+        assertEquals(1,broadcaster.subscribers());
+        assertEquals(0,broadcaster.getPurgedSubscriptions());
+        assertFalse(broadcaster.unsubscribe(subscriberC));
+        assertThrows(IllegalArgumentException.class, () -> broadcaster.subscribeWeakly(subscriberB));
+        assertThrows(NullPointerException.class, () -> broadcaster.subscribeWeakly(null,ACTION_EVENT));
+    }
+
     @Override
     public void notify(Event event, String value) {
         logger.debug("(Subscriber - B) received value \"{}\" from event {}",value, event.getEventId());
     }
+
+    private static void sleep(final long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
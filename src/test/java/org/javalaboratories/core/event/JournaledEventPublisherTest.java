@@ -0,0 +1,225 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.javalaboratories.core.event.CommonEvents.ACTION_EVENT;
+import static org.javalaboratories.core.event.CommonEvents.NOTIFY_EVENT;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournaledEventPublisherTest {
+
+    private Path directory;
+    private EventJournal<String> journal;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("event-journal");
+        journal = newJournal(directory,EventJournal.DEFAULT_SEGMENT_SIZE);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        journal.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList()))
+                Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testSubscribe_ReplayThenLive_Pass() {
+        // Given
+        List<String> received = new ArrayList<>();
+        List<EventSource> sources = new ArrayList<>();
+        JournaledEventPublisher<String> publisher = new JournaledEventPublisher<>(new EventBroadcaster<>(),journal);
+        publisher.publish(ACTION_EVENT,"1");
+        publisher.publish(NOTIFY_EVENT,"2");
+        publisher.publish(ACTION_EVENT,null);
+
+        // When
+        long live = publisher.subscribe((event,value) -> {
+            received.add(value);
+            sources.add(event.getSource());
+        },0,ACTION_EVENT);
+        publisher.publish(ACTION_EVENT,"4");
+        publisher.publish(NOTIFY_EVENT,"5");
+
+        // Then
+        assertEquals(3,live);
+        assertEquals(5,journal.getNextOffset());
+        assertEquals(Arrays.asList("1",null,"4"),received);
+        assertSame(publisher,sources.get(0));
+        assertSame(publisher,sources.get(1));
+        assertEquals(1,publisher.subscribers());
+        assertTrue(publisher.toString().contains("next-offset=5"));
+    }
+
+    @Test
+    public void testSubscribe_ReplayFromOffset_Pass() {
+        // Given
+        List<String> received = new ArrayList<>();
+        JournaledEventPublisher<String> publisher = new JournaledEventPublisher<>(new EventBroadcaster<>(),journal);
+        IntStream.range(0,10).forEach(i -> publisher.publish(i % 2 == 0 ? ACTION_EVENT : NOTIFY_EVENT,String.valueOf(i)));
+
+        // When
+        publisher.subscribe((event,value) -> received.add(event.getEventId() + value),5,ACTION_EVENT,NOTIFY_EVENT);
+
+        // Then
+        assertEquals(Arrays.asList("{NOTIFY_EVENT}5","{ACTION_EVENT}6","{NOTIFY_EVENT}7","{ACTION_EVENT}8",
+                "{NOTIFY_EVENT}9"),received);
+        assertThrows(IllegalArgumentException.class, () -> publisher.subscribe((event,value) -> {},-1,ACTION_EVENT));
+        assertThrows(IllegalArgumentException.class, () -> publisher.subscribe((event,value) -> {},0L));
+    }
+
+    @Test
+    public void testJournal_ReopenAndSegments_Pass() throws IOException {
+        // Given
+        journal.close();
+        Files.createDirectory(directory.resolve("segments"));
+        journal = newJournal(directory.resolve("segments"),1024);
+        JournaledEventPublisher<String> publisher = new JournaledEventPublisher<>(new EventBroadcaster<>(),journal);
+        IntStream.range(0,200).forEach(i -> publisher.publish(ACTION_EVENT,String.valueOf(i)));
+        journal.close();
+
+        // When
+        journal = newJournal(directory.resolve("segments"),1024);
+        JournaledEventPublisher<String> reopened = new JournaledEventPublisher<>(new EventBroadcaster<>(),journal);
+        reopened.publish(ACTION_EVENT,"200");
+        List<String> received = new ArrayList<>();
+        reopened.subscribe((event,value) -> received.add(value),0,ACTION_EVENT);
+
+        // Then
+        assertTrue(journal.getSegmentCount() > 1);
+        assertEquals(201,journal.getNextOffset());
+        assertEquals(IntStream.range(0,201).mapToObj(String::valueOf).collect(Collectors.toList()),received);
+    }
+
+    @Test
+    public void testSubscribe_ConcurrentPublication_Pass() throws InterruptedException {
+        // Given
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        JournaledEventPublisher<String> publisher = new JournaledEventPublisher<>(new EventBroadcaster<>(),journal);
+        Thread thread = new Thread(() -> IntStream.range(0,20_000)
+                .forEach(i -> publisher.publish(ACTION_EVENT,String.valueOf(i))));
+
+        // When
+        thread.start();
+        while (journal.getNextOffset() < 1_000)
+            Thread.yield();
+        publisher.subscribe((event,value) -> received.add(value),0,ACTION_EVENT);
+        thread.join();
+
+        // Then
+        assertEquals(IntStream.range(0,20_000).mapToObj(String::valueOf).collect(Collectors.toList()),received);
+    }
+
+    @Test
+    public void testSubscribe_ToxicReplay_Fail() {
+        // Given
+        JournaledEventPublisher<String> publisher = new JournaledEventPublisher<>(new EventBroadcaster<>(),journal);
+        publisher.publish(ACTION_EVENT,"1");
+
+        // When
+        EventException exception = assertThrows(EventException.class, () -> publisher.subscribe((event,value) -> {
+            throw new IllegalStateException("Object state error -- toxic subscriber");
+        },0,ACTION_EVENT));
+
+        // Then
+        assertEquals(0,publisher.subscribers());
+        assertTrue(exception.getEvent().isPresent());
+    }
+
+    @Test
+    public void testSubscribe_DuplicateSubscriber_Fail() {
+        // Given
+        List<String> received = new ArrayList<>();
+        EventSubscriber<String> subscriber = (event,value) -> received.add(value);
+        JournaledEventPublisher<String> publisher = new JournaledEventPublisher<>(new EventBroadcaster<>(),journal);
+        publisher.publish(ACTION_EVENT,"1");
+        publisher.subscribe(subscriber,0,ACTION_EVENT);
+
+        // When
+        assertThrows(EventException.class, () -> publisher.subscribe(subscriber,0,ACTION_EVENT));
+
+        // Then
+        assertEquals(Collections.singletonList("1"),received);
+        assertTrue(publisher.isSubscribed(subscriber));
+        assertEquals(1,publisher.subscribers());
+    }
+
+    @Test
+    public void testSubscribe_WhilstPublishing_Fail() {
+        // Given
+        AtomicReference<Exception> exception = new AtomicReference<>();
+        EventSubscriber<String> late = (event,value) -> {};
+        JournaledEventPublisher<String> publisher = new JournaledEventPublisher<>(new EventBroadcaster<>(),journal);
+        publisher.subscribe((event,value) -> {
+            try {
+                publisher.subscribe(late,0,ACTION_EVENT);
+            } catch (Exception e) {
+                exception.set(e);
+            }
+        },ACTION_EVENT);
+
+        // When
+        publisher.publish(ACTION_EVENT,"1");
+
+        // Then
+        assertTrue(exception.get() instanceof IllegalStateException);
+        assertFalse(publisher.isSubscribed(late));
+        assertEquals(1,publisher.subscribers());
+    }
+
+    @Test
+    public void testJournal_Closed_Fail() {
+        // Given
+        JournaledEventPublisher<String> publisher = new JournaledEventPublisher<>(new EventBroadcaster<>(),journal);
+        journal.close();
+
+        // Then
+        assertThrows(IllegalStateException.class, () -> publisher.publish(ACTION_EVENT,"1"));
+        assertThrows(IllegalStateException.class, journal::sync);
+        assertThrows(NullPointerException.class, () -> EventJournal.<String>builder(directory).build());
+        assertThrows(IllegalArgumentException.class, () -> EventJournal.builder(directory).withSegmentSize(1023));
+        assertThrows(IllegalArgumentException.class, () -> EventJournal.builder(directory).withSyncBatch(0));
+        assertThrows(NullPointerException.class, () -> new JournaledEventPublisher<>(null,journal));
+    }
+
+    private EventJournal<String> newJournal(final Path path, final int segmentSize) {
+        return EventJournal.<String>builder(path)
+                .withSerializer(EventValueSerializer.serializable())
+                .withSegmentSize(segmentSize)
+                .withSyncBatch(64)
+                .build();
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.event;
+
+import org.javalaboratories.core.concurrency.utils.FloodHistogram;
+import org.javalaboratories.core.concurrency.utils.FloodStatistics;
+import org.javalaboratories.core.concurrency.utils.Floodgate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.javalaboratories.core.event.CommonEvents.ACTION_EVENT;
+import static org.javalaboratories.core.event.CommonEvents.NOTIFY_EVENT;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RingBufferEventBusTest implements EventSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(RingBufferEventBusTest.class);
+
+    private static final int BENCHMARK_THREADS = 4;
+    private static final int BENCHMARK_ITERATIONS = 25_000;
+
+    private ExecutorService executor;
+    private List<Runnable> tasks;
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newFixedThreadPool(4);
+        tasks = new ArrayList<>();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testNew_Publisher_Pass() {
+        // Given
+        RingBufferEventBus<RingBufferEventBusTest,String> publisher = new RingBufferEventBus<>(this,executor,8);
+
+        // Then
+        assertEquals(8,publisher.getCapacity());
+        assertEquals(RingBufferEventBus.DEFAULT_CAPACITY,new RingBufferEventBus<>(executor).getCapacity());
+        assertEquals("[subscribers=0,source=RingBufferEventBusTest,capacity=8]",publisher.toString());
+        assertThrows(NullPointerException.class, () -> new RingBufferEventBus<>(null));
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferEventBus<>(this,executor,0));
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferEventBus<>(this,executor,6));
+    }
+
+    @Test
+    public void testPublish_CapturedEvents_Pass() {
+        // Given
+        List<String> receivedA = new ArrayList<>();
+        List<String> receivedB = new ArrayList<>();
+        List<EventSource> sources = new ArrayList<>();
+        RingBufferEventBus<RingBufferEventBusTest,String> publisher = new RingBufferEventBus<>(this,tasks::add,8);
+        publisher.publish(ACTION_EVENT,"0"); // No subscribers
+        publisher.subscribe((event,value) -> {
+            receivedA.add(value);
+            sources.add(event.getSource());
+        },ACTION_EVENT);
+        publisher.subscribe((event,value) -> receivedB.add(value),ACTION_EVENT,NOTIFY_EVENT);
+
+        // When
+        publisher.publish(ACTION_EVENT,"1");
+        publisher.publish(NOTIFY_EVENT,"2");
+        publisher.publish(ACTION_EVENT,"3");
+        run(tasks);
+
+        // Then
+        assertEquals(Arrays.asList("1","3"),receivedA);
+        assertEquals(Arrays.asList("1","2","3"),receivedB);
+        sources.forEach(s -> assertSame(this,s));
+        assertEquals(2,publisher.subscribers());
+    }
+
+    @Test
+    public void testPublish_SlowSubscriber_Pass() throws InterruptedException {
+        // Given
+        CountDownLatch done = new CountDownLatch(1000);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        RingBufferEventBus<RingBufferEventBusTest,Integer> publisher = new RingBufferEventBus<>(this,executor,4);
+        publisher.subscribe((event,value) -> {
+            if (value % 100 == 0)
+                sleep(10);
+            received.add(value);
+            done.countDown();
+        },ACTION_EVENT);
+
+        // When
+        for (int i = 0; i < 1000; i++)
+            publisher.publish(ACTION_EVENT,i);
+
+        // Then
+        assertTrue(done.await(5,TimeUnit.SECONDS));
+        for (int i = 0; i < 1000; i++)
+            assertEquals(i,received.get(i));
+    }
+
+    @Test
+    public void testPublish_ToxicSubscriber_Pass() {
+        // Given
+        List<String> received = new ArrayList<>();
+        EventSubscriber<String> toxic = (event,value) -> {
+            throw new IllegalStateException("Object state error -- toxic subscriber");
+        };
+        RingBufferEventBus<RingBufferEventBusTest,String> publisher = new RingBufferEventBus<>(this,tasks::add,8);
+        publisher.subscribe(toxic,ACTION_EVENT);
+        publisher.subscribe((event,value) -> received.add(value),ACTION_EVENT);
+
+        // When
+        publisher.publish(ACTION_EVENT,"1");
+        run(tasks);
+        for (int i = 2; i < 20; i++) {
+            publisher.publish(ACTION_EVENT,String.valueOf(i));
+            run(tasks);
+        }
+
+        // Then
+        assertEquals(19,received.size());
+        assertEquals(1,publisher.subscribers());
+        assertFalse(publisher.unsubscribe(toxic));
+    }
+
+    @Test
+    public void testSubscribe_SubscriberAlreadyExists_Fail() {
+        // Given
+        EventSubscriber<String> subscriber = (event,value) -> {};
+        RingBufferEventBus<RingBufferEventBusTest,String> publisher = new RingBufferEventBus<>(this,executor);
+        publisher.subscribe(subscriber,ACTION_EVENT);
+
+        // Then
+        assertThrows(EventException.class, () -> publisher.subscribe(subscriber,NOTIFY_EVENT));
+        assertThrows(IllegalArgumentException.class, () -> publisher.subscribe((event,value) -> {}));
+        assertThrows(NullPointerException.class, () -> publisher.subscribe(null,ACTION_EVENT));
+        assertTrue(publisher.unsubscribe(subscriber));
+        assertFalse(publisher.unsubscribe(subscriber));
+        assertEquals(0,publisher.subscribers());
+    }
+
+    @Test
+    public void testPublish_ThroughputLatencyBenchmark_Pass() {
+        // Given
+        EventBroadcaster<RingBufferEventBusTest,Long> broadcaster = new EventBroadcaster<>(this);
+        AsyncEventBroadcaster<RingBufferEventBusTest,Long> async = new AsyncEventBroadcaster<>(this,executor);
+        RingBufferEventBus<RingBufferEventBusTest,Long> ringBuffer = new RingBufferEventBus<>(this,executor);
+
+        // Then
+        benchmark("EventBroadcaster",broadcaster);
+        benchmark("AsyncEventBroadcaster",async);
+        benchmark("RingBufferEventBus",ringBuffer);
+    }
+
+    private void benchmark(final String name, final EventPublisher<Long> publisher) {
+        // Each subscriber is notified serially, and so may record into its own histogram.
+        long events = (long) BENCHMARK_THREADS * BENCHMARK_ITERATIONS;
+        CountDownLatch done = new CountDownLatch(1);
+        FloodHistogram latencies = new FloodHistogram();
+        publisher.subscribe((event,value) -> {
+            latencies.record(System.nanoTime() - value);
+            if (latencies.getCount() == events)
+                done.countDown();
+        },ACTION_EVENT);
+
+        Floodgate<Void> floodgate = new Floodgate<>(EventPublisher.class,BENCHMARK_THREADS,BENCHMARK_ITERATIONS,
+                () -> publisher.publish(ACTION_EVENT,System.nanoTime()));
+        floodgate.open();
+        floodgate.flood();
+
+        try {
+            assertTrue(done.await(30,TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e);
+        }
+        FloodStatistics statistics = floodgate.getFloodStatistics();
+        logger.info("{}: throughput={}/s, publish p50={}ns p99={}ns, delivery p50={}ns p99={}ns",name,
+                Math.round(statistics.getThroughput()),
+                statistics.getLatencies().getValueAtPercentile(50.0),
+                statistics.getLatencies().getValueAtPercentile(99.0),
+                latencies.getValueAtPercentile(50.0),
+                latencies.getValueAtPercentile(99.0));
+        assertEquals(events,latencies.getCount());
+    }
+
+    private static void run(final List<Runnable> tasks) {
+        while (!tasks.isEmpty())
+            tasks.remove(0).run();
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
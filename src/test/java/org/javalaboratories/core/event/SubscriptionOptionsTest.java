@@ -0,0 +1,308 @@
+/*
+ * Copyright 2020 Kevin Henry
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.javalaboratories.core.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.javalaboratories.core.event.CommonEvents.ACTION_EVENT;
+import static org.javalaboratories.core.event.CommonEvents.NOTIFY_EVENT;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SubscriptionOptionsTest implements EventSource {
+
+    private ScheduledExecutorService scheduler;
+    private ExecutorService executor;
+    private CountDownLatch release;
+
+    @BeforeEach
+    public void setup() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        executor = Executors.newFixedThreadPool(2);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testBuild_Options_Pass() {
+        // Given
+        SubscriptionOptions<String> immediate = SubscriptionOptions.<String>builder().build();
+        SubscriptionOptions<String> options = SubscriptionOptions.<String>builder()
+                .withBatchSize(10)
+                .withWindow(5,TimeUnit.MILLISECONDS)
+                .withCoalescing(String::length)
+                .build();
+
+        // Then
+        assertTrue(immediate.isImmediate());
+        assertFalse(immediate.isCoalescing());
+        assertFalse(options.isImmediate());
+        assertTrue(options.isCoalescing());
+        assertEquals(10,options.getBatchSize());
+        assertEquals(5_000_000L,options.getWindowNanos());
+        assertThrows(IllegalArgumentException.class, () -> SubscriptionOptions.builder().withBatchSize(0));
+        assertThrows(IllegalArgumentException.class, () -> SubscriptionOptions.builder().withWindow(0,TimeUnit.SECONDS));
+        assertThrows(NullPointerException.class, () -> SubscriptionOptions.builder().withWindow(1,null));
+        assertThrows(NullPointerException.class, () -> SubscriptionOptions.builder().withCoalescing(null));
+        assertThrows(NullPointerException.class, () -> SubscriptionOptions.builder().withScheduler(null));
+    }
+
+    @Test
+    public void testSubscribe_BatchSize_Pass() throws InterruptedException {
+        // Given
+        CountDownLatch done = new CountDownLatch(2);
+        List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        EventPublisher<String> publisher = new EventBroadcaster<>(this);
+        EventBatchSubscriber<String> subscriber = notifications -> {
+            batches.add(values(notifications));
+            done.countDown();
+        };
+        publisher.subscribe(subscriber,SubscriptionOptions.<String>builder()
+                .withBatchSize(3)
+                .withScheduler(scheduler)
+                .build(),ACTION_EVENT);
+
+        // When
+        Arrays.asList("1","2","3","4","5","6","7").forEach(v -> publisher.publish(ACTION_EVENT,v));
+
+        // Then
+        assertTrue(done.await(5,TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(Arrays.asList("1","2","3"),Arrays.asList("4","5","6")),batches);
+    }
+
+    @Test
+    public void testSubscribe_BatchWindowAfterFlush_Pass() throws InterruptedException {
+        // Given
+        CountDownLatch done = new CountDownLatch(2);
+        List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        List<Long> delivered = Collections.synchronizedList(new ArrayList<>());
+        EventPublisher<String> publisher = new EventBroadcaster<>(this);
+        publisher.subscribe((EventBatchSubscriber<String>) notifications -> {
+            batches.add(values(notifications));
+            delivered.add(System.nanoTime());
+            done.countDown();
+        },SubscriptionOptions.<String>builder()
+                .withBatchSize(3)
+                .withWindow(200,TimeUnit.MILLISECONDS)
+                .withScheduler(scheduler)
+                .build(),ACTION_EVENT);
+
+        // When
+        Arrays.asList("1","2","3").forEach(v -> publisher.publish(ACTION_EVENT,v));
+        Thread.sleep(100);
+        long published = System.nanoTime();
+        publisher.publish(ACTION_EVENT,"4");
+
+        // Then
+        assertTrue(done.await(5,TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(Arrays.asList("1","2","3"),Collections.singletonList("4")),batches);
+        assertTrue(delivered.get(1) - published >= TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    @Test
+    public void testSubscribe_BatchWindow_Pass() throws InterruptedException {
+        // Given
+        CountDownLatch done = new CountDownLatch(1);
+        List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        EventPublisher<String> publisher = new EventBroadcaster<>(this);
+        publisher.subscribe((EventBatchSubscriber<String>) notifications -> {
+            batches.add(values(notifications));
+            done.countDown();
+        },SubscriptionOptions.<String>builder()
+                .withWindow(10,TimeUnit.MILLISECONDS)
+                .withScheduler(scheduler)
+                .build(),ACTION_EVENT,NOTIFY_EVENT);
+
+        // When
+        blockScheduler();
+        Arrays.asList("1","2","3","4","5").forEach(v -> publisher.publish(ACTION_EVENT,v));
+        publisher.publish(NOTIFY_EVENT,"6");
+        release.countDown();
+
+        // Then
+        assertTrue(done.await(5,TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList(Arrays.asList("1","2","3","4","5","6")),batches);
+    }
+
+    @Test
+    public void testSubscribe_Coalescing_Pass() throws InterruptedException {
+        // Given
+        CountDownLatch done = new CountDownLatch(3);
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        EventPublisher<String> publisher = new EventBroadcaster<>(this);
+        publisher.subscribe((event,value) -> {
+            received.add(value);
+            done.countDown();
+        },SubscriptionOptions.<String>builder()
+                .withCoalescing(value -> value.charAt(0))
+                .withScheduler(scheduler)
+                .build(),ACTION_EVENT,NOTIFY_EVENT);
+
+        // When
+        blockScheduler();
+        Arrays.asList("a1","b1","a2","a3","b2").forEach(v -> publisher.publish(ACTION_EVENT,v));
+        publisher.publish(NOTIFY_EVENT,"a4");
+        release.countDown();
+
+        // Then
+        assertTrue(done.await(5,TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("a3","b2","a4"),received);
+    }
+
+    @Test
+    public void testSubscribe_CoalescingByEvent_Pass() throws InterruptedException {
+        // Given
+        CountDownLatch done = new CountDownLatch(1);
+        List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        RingBufferEventBus<SubscriptionOptionsTest,String> publisher = new RingBufferEventBus<>(this,executor,8);
+        publisher.subscribe((EventBatchSubscriber<String>) notifications -> {
+            batches.add(values(notifications));
+            done.countDown();
+        },SubscriptionOptions.<String>builder()
+                .withCoalescing()
+                .withScheduler(scheduler)
+                .build(),ACTION_EVENT,NOTIFY_EVENT);
+
+        // When
+        blockScheduler();
+        for (int i = 0; i < 100; i++)
+            publisher.publish(i % 2 == 0 ? ACTION_EVENT : NOTIFY_EVENT,String.valueOf(i));
+        awaitDelivery(publisher);
+        release.countDown();
+
+        // Then
+        assertTrue(done.await(5,TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList(Arrays.asList("98","99")),batches);
+    }
+
+    @Test
+    public void testUnsubscribe_OutstandingEvents_Pass() throws Exception {
+        // Given
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        EventSubscriber<String> subscriber = (event,value) -> received.add(value);
+        AsyncEventBroadcaster<SubscriptionOptionsTest,String> publisher = new AsyncEventBroadcaster<>(this,executor);
+        publisher.subscribe(subscriber,SubscriptionOptions.<String>builder()
+                .withBatchSize(2)
+                .withScheduler(scheduler)
+                .build(),ACTION_EVENT);
+
+        // When
+        blockScheduler();
+        publisher.publish(ACTION_EVENT,"1");
+        publisher.publish(ACTION_EVENT,"2");
+        TimeUnit.MILLISECONDS.sleep(50);
+        boolean removed = publisher.unsubscribe(subscriber);
+        release.countDown();
+        scheduler.submit(() -> {}).get();
+
+        // Then
+        assertTrue(removed);
+        assertTrue(received.isEmpty());
+        assertEquals(0,publisher.subscribers());
+    }
+
+    @Test
+    public void testSubscribe_ToxicSubscriber_Pass() throws Exception {
+        // Given
+        EventPublisher<String> publisher = new EventBroadcaster<>(this);
+        publisher.subscribe((event,value) -> {
+            throw new IllegalStateException("Object state error -- toxic subscriber");
+        },SubscriptionOptions.<String>builder()
+                .withWindow(1,TimeUnit.MILLISECONDS)
+                .withScheduler(scheduler)
+                .build(),ACTION_EVENT);
+
+        // When
+        publisher.publish(ACTION_EVENT,"1");
+        TimeUnit.MILLISECONDS.sleep(50);
+        scheduler.submit(() -> {}).get();
+
+        // Then
+        assertEquals(0,publisher.subscribers());
+    }
+
+    @Test
+    public void testSubscribe_UnsupportedOptions_Fail() {
+        // Given
+        List<EventSubscriber<String>> subscribed = new ArrayList<>();
+        EventSubscriber<String> subscriber = (event,value) -> {};
+        EventPublisher<String> publisher = new EventPublisher<String>() {
+            public void publish(Event event, String value) {}
+            public void subscribe(EventSubscriber<String> subscriber, Event... captureEvents) {
+                subscribed.add(subscriber);
+            }
+            public boolean unsubscribe(EventSubscriber<String> subscriber) { return false; }
+            public int subscribers() { return 0; }
+        };
+        EventPublisher<String> broadcaster = new EventBroadcaster<>(this);
+
+        // When
+        publisher.subscribe(subscriber,SubscriptionOptions.<String>builder().build(),ACTION_EVENT);
+
+        // Then
+        assertEquals(Collections.singletonList(subscriber),subscribed);
+        assertThrows(UnsupportedOperationException.class, () -> publisher.isSubscribed(subscriber));
+        assertThrows(UnsupportedOperationException.class, () -> publisher.subscribe((event,value) -> {},
+                SubscriptionOptions.<String>builder().withBatchSize(2).build(),ACTION_EVENT));
+        assertThrows(NullPointerException.class, () -> publisher.subscribe((event,value) -> {},
+                (SubscriptionOptions<String>) null,ACTION_EVENT));
+        assertThrows(NullPointerException.class, () -> broadcaster.subscribe((event,value) -> {},
+                (SubscriptionOptions<String>) null,ACTION_EVENT));
+        assertThrows(IllegalArgumentException.class, () -> broadcaster.subscribe((event,value) -> {},
+                SubscriptionOptions.<String>builder().build()));
+    }
+
+    private void blockScheduler() {
+        scheduler.submit(() -> {
+            try {
+                release.await(5,TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    private static void awaitDelivery(final RingBufferEventBus<?,?> publisher) throws InterruptedException {
+        // Consumers release slots as they buffer events; a full lap means all were read.
+        for (int i = 0; i < publisher.getCapacity(); i++)
+            publisher.publish(CommonEvents.ANY_EVENT,null);
+        TimeUnit.MILLISECONDS.sleep(50);
+    }
+
+    private static List<String> values(final List<EventNotification<String>> notifications) {
+        return notifications.stream()
+                .map(EventNotification::getValue)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,115 @@
+package org.javalaboratories.core.statistics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.DoubleStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings("WeakerAccess")
+public class DoublePrimitiveStatisticalCalculatorsTest {
+    private DoublePrimitiveStatisticalCalculators calculators;
+
+    private double[] terms = {17.0,19.0,21.0,13.0,16.0,18.0,24.0,22.0,21.0,21.0};
+
+    @BeforeEach
+    public void setup() {
+        calculators = new DoublePrimitiveStatisticalCalculators();
+        DoubleStream.of(terms).forEach(calculators);
+    }
+
+    @Test
+    public void testGetCount_Pass() {
+        assertEquals(10L,calculators.getCount());
+    }
+
+    @Test
+    public void testGetMin_Pass() {
+        assertEquals(13.0,calculators.getMin());
+    }
+
+    @Test
+    public void testGetMax_Pass() {
+        assertEquals(24.0,calculators.getMax());
+    }
+
+    @Test
+    public void testGetSum_Pass() {
+        assertEquals(192.0,calculators.getSum());
+    }
+
+    @Test
+    public void testGetAverage_Pass() {
+        assertEquals(19.2, calculators.getAverage());
+    }
+
+    @Test
+    public void testGetMode_Pass() {
+        assertEquals(21.0, calculators.getMode().get());
+    }
+
+    @Test
+    public void testGetMedian_Pass() {
+        assertEquals(20.0, calculators.getMedian());
+    }
+
+    @Test
+    public void testGetStandardDeviation_Pass() {
+        assertEquals(3.0919249667480617, calculators.getStandardDeviation());
+    }
+
+    @Test
+    public void testGetVariance_Pass() {
+        assertEquals(9.560000000000002, calculators.getVariance());
+    }
+
+    @Test
+    public void testCombine_Pass() {
+        // Given
+        DoublePrimitiveStatisticalCalculators left = DoubleStream.of(terms)
+                .limit(5)
+                .collect(DoublePrimitiveStatisticalCalculators::new,DoublePrimitiveStatisticalCalculators::accept,
+                        DoublePrimitiveStatisticalCalculators::combine);
+        DoublePrimitiveStatisticalCalculators right = DoubleStream.of(terms)
+                .skip(5)
+                .collect(DoublePrimitiveStatisticalCalculators::new,DoublePrimitiveStatisticalCalculators::accept,
+                        DoublePrimitiveStatisticalCalculators::combine);
+
+        // When
+        left.combine(right);
+
+        // Then
+        assertEquals(calculators.toString(),left.toString());
+    }
+
+    @Test
+    public void testAccept_LargePopulation_Pass() {
+        // Given
+        DoublePrimitiveStatisticalCalculators large = new DoublePrimitiveStatisticalCalculators();
+
+        // When
+        DoubleStream.iterate(0.0,d -> d + 1.0).limit(100_000).forEach(large);
+        large.accept(7.0);
+
+        // Then
+        assertEquals(100_001L,large.getCount());
+        assertEquals(49_999.0,large.getMedian());
+        assertEquals(7.0,large.getMode().get());
+    }
+
+    @Test
+    public void testGetResult_Fail() {
+        // Given
+        DoublePrimitiveStatisticalCalculators empty = new DoublePrimitiveStatisticalCalculators();
+        DoublePrimitiveStatisticalCalculators uniform = new DoublePrimitiveStatisticalCalculators();
+        DoubleStream.of(1.0,2.0,3.0).forEach(uniform);
+
+        // Then
+        assertFalse(uniform.getMode().isPresent());
+        assertThrows(InsufficientPopulationException.class, empty::getMedian);
+        assertThrows(InsufficientPopulationException.class, empty::getMode);
+        assertThrows(InsufficientPopulationException.class, empty::getVariance);
+        assertThrows(InsufficientPopulationException.class, empty::getStandardDeviation);
+    }
+}
@@ -7,6 +7,8 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SuppressWarnings("WeakerAccess")
 public class DoubleStatisticalCalculatorsTest {
@@ -71,4 +73,35 @@ public class DoubleStatisticalCalculatorsTest {
                 "mode=Maybe[21.0], median=20.000000, variance=9.560000, standard-deviation=3.091925}", calculators.toString());
     }
 
+    @Test
+    public void testGetMedian_Streaming_Pass() {
+        // Given
+        DoubleStatisticalCalculators streaming = new DoubleStatisticalCalculators(ComprehensiveStatisticalCalculators.Calculation.STREAMING);
+        DoubleStatisticalCalculators other = new DoubleStatisticalCalculators(ComprehensiveStatisticalCalculators.Calculation.STREAMING);
+        terms.subList(0,5).forEach(streaming);
+        terms.subList(5,terms.size()).forEach(other);
+
+        // When
+        streaming.combine(other);
+
+        // Then
+        assertEquals(ComprehensiveStatisticalCalculators.Calculation.STREAMING, streaming.getCalculation());
+        assertEquals(10L, streaming.getCount());
+        assertEquals(20.0, streaming.getMedian());
+        assertEquals(9.56, streaming.getVariance(), 1e-12);
+        assertFalse(streaming.getMode().isPresent());
+    }
+
+    @Test
+    public void testCombine_MixedCalculation_Fail() {
+        // Given
+        DoubleStatisticalCalculators streaming = new DoubleStatisticalCalculators(ComprehensiveStatisticalCalculators.Calculation.STREAMING);
+        terms.forEach(streaming);
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> calculators.combine(streaming));
+        assertThrows(IllegalArgumentException.class, () -> streaming.combine(calculators));
+        assertEquals(10L, calculators.getCount());
+        assertEquals(10L, streaming.getCount());
+    }
 }
@@ -0,0 +1,115 @@
+package org.javalaboratories.core.statistics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings("WeakerAccess")
+public class IntPrimitiveStatisticalCalculatorsTest {
+    private IntPrimitiveStatisticalCalculators calculators;
+
+    private int[] terms = {17,19,21,13,16,18,24,22,21,21};
+
+    @BeforeEach
+    public void setup() {
+        calculators = new IntPrimitiveStatisticalCalculators();
+        IntStream.of(terms).forEach(calculators);
+    }
+
+    @Test
+    public void testGetCount_Pass() {
+        assertEquals(10L,calculators.getCount());
+    }
+
+    @Test
+    public void testGetMin_Pass() {
+        assertEquals(13,calculators.getMin());
+    }
+
+    @Test
+    public void testGetMax_Pass() {
+        assertEquals(24,calculators.getMax());
+    }
+
+    @Test
+    public void testGetSum_Pass() {
+        assertEquals(192L,calculators.getSum());
+    }
+
+    @Test
+    public void testGetAverage_Pass() {
+        assertEquals(19.2, calculators.getAverage());
+    }
+
+    @Test
+    public void testGetMode_Pass() {
+        assertEquals(21.0, calculators.getMode().get());
+    }
+
+    @Test
+    public void testGetMedian_Pass() {
+        assertEquals(20.0, calculators.getMedian());
+    }
+
+    @Test
+    public void testGetStandardDeviation_Pass() {
+        assertEquals(3.0919249667480617, calculators.getStandardDeviation());
+    }
+
+    @Test
+    public void testGetVariance_Pass() {
+        assertEquals(9.560000000000002, calculators.getVariance());
+    }
+
+    @Test
+    public void testCombine_Pass() {
+        // Given
+        IntPrimitiveStatisticalCalculators left = IntStream.of(terms)
+                .limit(5)
+                .collect(IntPrimitiveStatisticalCalculators::new,IntPrimitiveStatisticalCalculators::accept,
+                        IntPrimitiveStatisticalCalculators::combine);
+        IntPrimitiveStatisticalCalculators right = IntStream.of(terms)
+                .skip(5)
+                .collect(IntPrimitiveStatisticalCalculators::new,IntPrimitiveStatisticalCalculators::accept,
+                        IntPrimitiveStatisticalCalculators::combine);
+
+        // When
+        left.combine(right);
+
+        // Then
+        assertEquals(calculators.toString(),left.toString());
+    }
+
+    @Test
+    public void testAccept_LargePopulation_Pass() {
+        // Given
+        IntPrimitiveStatisticalCalculators large = new IntPrimitiveStatisticalCalculators();
+
+        // When
+        IntStream.range(0,100_000).forEach(large);
+        large.accept(7);
+
+        // Then
+        assertEquals(100_001L,large.getCount());
+        assertEquals(49_999.0,large.getMedian());
+        assertEquals(7.0,large.getMode().get());
+    }
+
+    @Test
+    public void testGetResult_Fail() {
+        // Given
+        IntPrimitiveStatisticalCalculators empty = new IntPrimitiveStatisticalCalculators();
+        IntPrimitiveStatisticalCalculators uniform = new IntPrimitiveStatisticalCalculators();
+        IntStream.of(1,2,3).forEach(uniform);
+
+        // Then
+        assertFalse(uniform.getMode().isPresent());
+        assertThrows(InsufficientPopulationException.class, empty::getMedian);
+        assertThrows(InsufficientPopulationException.class, empty::getMode);
+        assertThrows(InsufficientPopulationException.class, empty::getVariance);
+        assertThrows(InsufficientPopulationException.class, empty::getStandardDeviation);
+    }
+}
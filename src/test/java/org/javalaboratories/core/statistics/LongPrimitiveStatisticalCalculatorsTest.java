@@ -0,0 +1,115 @@
+package org.javalaboratories.core.statistics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings("WeakerAccess")
+public class LongPrimitiveStatisticalCalculatorsTest {
+    private LongPrimitiveStatisticalCalculators calculators;
+
+    private long[] terms = {17L,19L,21L,13L,16L,18L,24L,22L,21L,21L};
+
+    @BeforeEach
+    public void setup() {
+        calculators = new LongPrimitiveStatisticalCalculators();
+        LongStream.of(terms).forEach(calculators);
+    }
+
+    @Test
+    public void testGetCount_Pass() {
+        assertEquals(10L,calculators.getCount());
+    }
+
+    @Test
+    public void testGetMin_Pass() {
+        assertEquals(13L,calculators.getMin());
+    }
+
+    @Test
+    public void testGetMax_Pass() {
+        assertEquals(24L,calculators.getMax());
+    }
+
+    @Test
+    public void testGetSum_Pass() {
+        assertEquals(192L,calculators.getSum());
+    }
+
+    @Test
+    public void testGetAverage_Pass() {
+        assertEquals(19.2, calculators.getAverage());
+    }
+
+    @Test
+    public void testGetMode_Pass() {
+        assertEquals(21.0, calculators.getMode().get());
+    }
+
+    @Test
+    public void testGetMedian_Pass() {
+        assertEquals(20.0, calculators.getMedian());
+    }
+
+    @Test
+    public void testGetStandardDeviation_Pass() {
+        assertEquals(3.0919249667480617, calculators.getStandardDeviation());
+    }
+
+    @Test
+    public void testGetVariance_Pass() {
+        assertEquals(9.560000000000002, calculators.getVariance());
+    }
+
+    @Test
+    public void testCombine_Pass() {
+        // Given
+        LongPrimitiveStatisticalCalculators left = LongStream.of(terms)
+                .limit(5)
+                .collect(LongPrimitiveStatisticalCalculators::new,LongPrimitiveStatisticalCalculators::accept,
+                        LongPrimitiveStatisticalCalculators::combine);
+        LongPrimitiveStatisticalCalculators right = LongStream.of(terms)
+                .skip(5)
+                .collect(LongPrimitiveStatisticalCalculators::new,LongPrimitiveStatisticalCalculators::accept,
+                        LongPrimitiveStatisticalCalculators::combine);
+
+        // When
+        left.combine(right);
+
+        // Then
+        assertEquals(calculators.toString(),left.toString());
+    }
+
+    @Test
+    public void testAccept_LargePopulation_Pass() {
+        // Given
+        LongPrimitiveStatisticalCalculators large = new LongPrimitiveStatisticalCalculators();
+
+        // When
+        LongStream.range(0,100_000).forEach(large);
+        large.accept(7L);
+
+        // Then
+        assertEquals(100_001L,large.getCount());
+        assertEquals(49_999.0,large.getMedian());
+        assertEquals(7.0,large.getMode().get());
+    }
+
+    @Test
+    public void testGetResult_Fail() {
+        // Given
+        LongPrimitiveStatisticalCalculators empty = new LongPrimitiveStatisticalCalculators();
+        LongPrimitiveStatisticalCalculators uniform = new LongPrimitiveStatisticalCalculators();
+        LongStream.of(1L,2L,3L).forEach(uniform);
+
+        // Then
+        assertFalse(uniform.getMode().isPresent());
+        assertThrows(InsufficientPopulationException.class, empty::getMedian);
+        assertThrows(InsufficientPopulationException.class, empty::getMode);
+        assertThrows(InsufficientPopulationException.class, empty::getVariance);
+        assertThrows(InsufficientPopulationException.class, empty::getStandardDeviation);
+    }
+}
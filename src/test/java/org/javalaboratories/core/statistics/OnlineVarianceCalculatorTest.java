@@ -0,0 +1,82 @@
+package org.javalaboratories.core.statistics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OnlineVarianceCalculatorTest {
+    private OnlineVarianceCalculator<Long> varianceCalculator1;
+    private OnlineVarianceCalculator<Long> varianceCalculator2;
+    private OnlineStandardDeviationCalculator<Long> standardDeviationCalculator;
+
+    private final List<Long> terms1 = Arrays.asList(17L,19L,21L,13L,16L,18L,24L,20L,20L);
+
+    @BeforeEach
+    public void setup() {
+        varianceCalculator1 = new OnlineVarianceCalculator<>();
+        terms1.forEach(t -> varianceCalculator1.accept(t));
+
+        varianceCalculator2 = new OnlineVarianceCalculator<>();
+
+        standardDeviationCalculator = new OnlineStandardDeviationCalculator<>();
+        terms1.forEach(t -> standardDeviationCalculator.accept(t));
+    }
+
+    @Test
+    public void testAdd_Pass() {
+        assertEquals(9, varianceCalculator1.getCount());
+        assertEquals(0, varianceCalculator1.getData().size());
+    }
+
+    @Test
+    public void testGetResult_Pass() {
+        assertEquals(8.8888888888888,varianceCalculator1.getResult(),1e-12);
+        assertEquals(Math.sqrt(8.8888888888888),standardDeviationCalculator.getResult(),1e-12);
+        assertEquals(18.666666666666668,varianceCalculator1.getMean(),1e-12);
+    }
+
+    @Test
+    public void testGetResult_LargeMagnitude_Pass() {
+        // Given
+        OnlineVarianceCalculator<Double> online = new OnlineVarianceCalculator<>();
+        VarianceCalculator<Double> naive = new VarianceCalculator<>();
+
+        // When
+        terms1.forEach(t -> {
+            online.accept(1e9 + t);
+            naive.accept(1e9 + t);
+        });
+
+        // Then
+        assertEquals(8.8888888888888,online.getResult(),1e-6);
+        assertNotEquals(8.8888888888888,naive.getResult(),1e-6);
+    }
+
+    @Test
+    public void testCombine_Pass() {
+        // Given
+        OnlineVarianceCalculator<Long> left = new OnlineVarianceCalculator<>();
+        OnlineVarianceCalculator<Long> right = new OnlineVarianceCalculator<>();
+        terms1.subList(0,4).forEach(left);
+        terms1.subList(4,terms1.size()).forEach(right);
+
+        // When
+        left.combine(right);
+        left.combine(varianceCalculator2);
+
+        // Then
+        assertEquals(9, left.getCount());
+        assertEquals(varianceCalculator1.getResult(),left.getResult(),1e-12);
+        assertThrows(IllegalArgumentException.class, () -> left.combine(new QuantileCalculator<>()));
+    }
+
+    @Test
+    public void testGetResult_Fail() {
+        assertThrows(InsufficientPopulationException.class, () -> varianceCalculator2.getResult());
+        assertThrows(InsufficientPopulationException.class, () -> new OnlineStandardDeviationCalculator<Long>().getResult());
+    }
+}
@@ -0,0 +1,112 @@
+package org.javalaboratories.core.statistics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings("WeakerAccess")
+public class QuantileCalculatorTest {
+
+    private QuantileCalculator<Long> quantileCalculator1;
+    private QuantileCalculator<Long> quantileCalculator2;
+    private QuantileCalculator<Long> quantileCalculator3;
+    private QuantileCalculator<Long> quantileCalculator4;
+
+    @BeforeEach
+    public void setup() {
+        List<Long> terms1 = Arrays.asList(17L,19L,21L,13L,16L,18L,24L,22L,20L);
+        List<Long> terms2 = Arrays.asList(18L,16L,14L,11L,13L,10L,9L,20L);
+        List<Long> terms3 = Arrays.asList(18L,16L);
+
+        // Odd number of terms
+        quantileCalculator1 = new QuantileCalculator<>();
+        terms1.forEach(t -> quantileCalculator1.accept(t));
+
+        // Even number of terms
+        quantileCalculator2 = new QuantileCalculator<>();
+        terms2.forEach(t -> quantileCalculator2.accept(t));
+
+        quantileCalculator3 = new QuantileCalculator<>();
+        terms3.forEach(t -> quantileCalculator3.accept(t));
+
+        quantileCalculator4 = new QuantileCalculator<>();
+    }
+
+    @Test
+    public void testAdd_Pass() {
+        assertEquals(9,quantileCalculator1.getCount());
+        assertEquals(8,quantileCalculator2.getCount());
+        assertEquals(0,quantileCalculator4.getCount());
+        assertEquals(0,quantileCalculator1.getData().size());
+    }
+
+    @Test
+    public void testGetResult_Pass() {
+        // Small populations are exact
+        assertEquals(19.0,quantileCalculator1.getResult());
+        assertEquals(13.5,quantileCalculator2.getResult());
+        assertEquals(17.0,quantileCalculator3.getResult());
+
+        assertEquals(13.0,quantileCalculator1.getQuantile(0.0));
+        assertEquals(24.0,quantileCalculator1.getQuantile(1.0));
+    }
+
+    @Test
+    public void testGetResult_LargePopulation_Pass() {
+        // Given
+        Random random = new Random(42);
+        double[] latencies = new double[1_000_000];
+        QuantileCalculator<Double> median = new QuantileCalculator<>();
+        QuantileCalculator<Double> percentile = new QuantileCalculator<>(0.99);
+
+        // When
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = Math.exp(random.nextGaussian()); // Log-normal
+            median.accept(latencies[i]);
+            percentile.accept(latencies[i]);
+        }
+        Arrays.sort(latencies);
+
+        // Then -- estimates within 0.1% rank of the exact quantiles
+        assertTrue(median.getResult() >= latencies[499_000] && median.getResult() <= latencies[501_000]);
+        assertTrue(percentile.getResult() >= latencies[989_000] && percentile.getResult() <= latencies[991_000]);
+        assertTrue(median.getCentroids() <= 100);
+    }
+
+    @Test
+    public void testCombine_Pass() {
+        // Given
+        Random random = new Random(7);
+        QuantileCalculator<Double> all = new QuantileCalculator<>(0.9,200);
+        QuantileCalculator<Double> left = new QuantileCalculator<>(0.9,200);
+        QuantileCalculator<Double> right = new QuantileCalculator<>(0.9,200);
+
+        // When
+        for (int i = 0; i < 100_000; i++) {
+            double value = random.nextDouble() * 1000.0;
+            all.accept(value);
+            (i % 2 == 0 ? left : right).accept(value);
+        }
+        left.combine(right);
+
+        // Then
+        assertEquals(100_000,left.getCount());
+        assertEquals(900.0,left.getResult(),5.0);
+        assertEquals(all.getResult(),left.getResult(),5.0);
+        assertThrows(IllegalArgumentException.class, () -> left.combine(new QuantileCalculator<>()));
+    }
+
+    @Test
+    public void testGetResult_Fail() {
+        assertThrows(InsufficientPopulationException.class, () ->  quantileCalculator4.getResult());
+        assertThrows(IllegalArgumentException.class, () -> quantileCalculator1.getQuantile(1.1));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileCalculator<Long>(-0.1));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileCalculator<Long>(0.5,5.0));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileCalculator<Double>().accept(Double.NaN));
+    }
+}